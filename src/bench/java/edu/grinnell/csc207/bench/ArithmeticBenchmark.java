@@ -0,0 +1,143 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.DoubleMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the arithmetic on <code>DoubleMatrix</code>. Each multiplication adds its
+ * floating-point operations (two per multiply-add) to the <code>flops</code> counter. Since
+ * scores are per nanosecond, that counter reads directly in GFLOP/s. For example,
+ *
+ * <pre>
+ *   mvn -B -P bench -DskipTests verify -Djmh.args="ArithmeticBenchmark -p size=64,256,1024"
+ * </pre>
+ *
+ * <p>The naive product at 4096 takes minutes per call, so leave it out of larger runs with
+ * <code>-e naive</code>.
+ *
+ * @author Your Name Here
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArithmeticBenchmark {
+  // +------------+--------------------------------------------------
+  // | Parameters |
+  // +------------+
+
+  /** The width and height of the matrices. */
+  @Param({"64", "256", "1024", "4096"})
+  public int size;
+
+  // +----------+----------------------------------------------------
+  // | Fixtures |
+  // +----------+
+
+  /** The left-hand operand. */
+  DoubleMatrix left;
+
+  /** The right-hand operand. */
+  DoubleMatrix right;
+
+  /** Counts floating-point operations, reported per nanosecond. */
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class Flops {
+    /** The operations so far in this iteration. */
+    public long flops;
+
+    /** Start each iteration from zero. */
+    @Setup(Level.Iteration)
+    public void reset() {
+      this.flops = 0;
+    } // reset()
+  } // class Flops
+
+  /** Build random operands. */
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(207);
+    this.left = new DoubleMatrix(this.size, this.size);
+    this.right = new DoubleMatrix(this.size, this.size);
+    this.left.fillRegionWith(0, 0, this.size, this.size, (row, col) -> random.nextDouble());
+    this.right.fillRegionWith(0, 0, this.size, this.size, (row, col) -> random.nextDouble());
+  } // setup()
+
+  // +------------+--------------------------------------------------
+  // | Benchmarks |
+  // +------------+
+
+  /**
+   * Multiply with the tiled, parallel product.
+   *
+   * @param counter Counts the operations.
+   * @return the product.
+   */
+  @Benchmark
+  public DoubleMatrix multiply(Flops counter) {
+    counter.flops += 2L * this.size * this.size * this.size;
+    return this.left.multiply(this.right);
+  } // multiply(Flops)
+
+  /**
+   * Multiply with a triple loop over <code>get</code> and <code>set</code>, as callers had to
+   * before <code>multiply</code>.
+   *
+   * @param counter Counts the operations.
+   * @return the product.
+   */
+  @Benchmark
+  public DoubleMatrix naive(Flops counter) {
+    DoubleMatrix product = new DoubleMatrix(this.size, this.size);
+    for (int row = 0; row < this.size; row++) {
+      for (int col = 0; col < this.size; col++) {
+        double sum = 0.0;
+        for (int k = 0; k < this.size; k++) {
+          sum += this.left.get(row, k) * this.right.get(k, col);
+        } // for k
+        product.set(row, col, sum);
+      } // for col
+    } // for row
+    counter.flops += 2L * this.size * this.size * this.size;
+    return product;
+  } // naive(Flops)
+
+  /**
+   * Add two matrices.
+   *
+   * @param counter Counts the operations.
+   * @return the sum.
+   */
+  @Benchmark
+  public DoubleMatrix add(Flops counter) {
+    counter.flops += (long) this.size * this.size;
+    return this.left.add(this.right);
+  } // add(Flops)
+
+  /**
+   * Transpose a matrix.
+   *
+   * @return the transpose.
+   */
+  @Benchmark
+  public DoubleMatrix transpose() {
+    return this.left.transpose();
+  } // transpose()
+} // class ArithmeticBenchmark
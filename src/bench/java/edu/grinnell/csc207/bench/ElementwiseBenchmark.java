@@ -0,0 +1,182 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.DoubleMatrix;
+import edu.grinnell.csc207.util.IntMatrix;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the element-wise arithmetic on <code>IntMatrix</code> and
+ * <code>DoubleMatrix</code>, comparing the SIMD kernels with the scalar ones. Each combination
+ * of parameters runs in its own fork, so the <code>kernels</code> parameter can pick the kernels
+ * before the matrices first use them. By default only the scalar kernels run, so that the
+ * benchmarks work in a plain <code>bench</code> build. The SIMD kernels need the
+ * <code>vector</code> profile, and must be asked for:
+ *
+ * <pre>
+ *   mvn -B -P bench,vector -DskipTests verify \
+ *       -Djmh.args="ElementwiseBenchmark -p kernels=scalar,vector"
+ * </pre>
+ *
+ * @author Your Name Here
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementwiseBenchmark {
+  // +------------+--------------------------------------------------
+  // | Parameters |
+  // +------------+
+
+  /** The width and height of the matrices. */
+  @Param({"256", "1024"})
+  public int size;
+
+  /** Which kernels to use: "scalar" or, with the vector profile, "vector". */
+  @Param({"scalar"})
+  public String kernels;
+
+  // +----------+----------------------------------------------------
+  // | Fixtures |
+  // +----------+
+
+  /** A matrix of doubles. */
+  DoubleMatrix doubles;
+
+  /** Another matrix of doubles. */
+  DoubleMatrix otherDoubles;
+
+  /** A matrix of ints. */
+  IntMatrix ints;
+
+  /** Another matrix of ints. */
+  IntMatrix otherInts;
+
+  /**
+   * Pick the kernels and build random matrices.
+   *
+   * @throws IllegalStateException If the vector kernels are wanted but cannot be used.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    if ("vector".equals(this.kernels)) {
+      if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+        throw new IllegalStateException("Run with -P bench,vector to use the vector kernels");
+      } // if
+    } else {
+      System.setProperty("edu.grinnell.csc207.util.kernels", this.kernels);
+    } // if/else
+    Random random = new Random(207);
+    this.doubles = new DoubleMatrix(this.size, this.size);
+    this.otherDoubles = new DoubleMatrix(this.size, this.size);
+    this.ints = new IntMatrix(this.size, this.size);
+    this.otherInts = new IntMatrix(this.size, this.size);
+    this.doubles.fillRegionWith(0, 0, this.size, this.size, (row, col) -> random.nextGaussian());
+    this.otherDoubles.fillRegionWith(
+        0, 0, this.size, this.size, (row, col) -> random.nextGaussian());
+    this.ints.fillRegionWith(0, 0, this.size, this.size, (row, col) -> random.nextInt());
+    this.otherInts.fillRegionWith(0, 0, this.size, this.size, (row, col) -> random.nextInt());
+  } // setup()
+
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  /**
+   * Add two matrices of doubles.
+   *
+   * @return the sum.
+   */
+  @Benchmark
+  public DoubleMatrix addDoubles() {
+    return this.doubles.add(this.otherDoubles);
+  } // addDoubles()
+
+  /**
+   * Multiply and add matrices of doubles.
+   *
+   * @return the result.
+   */
+  @Benchmark
+  public DoubleMatrix multiplyAddDoubles() {
+    return this.doubles.multiplyAdd(this.otherDoubles, this.doubles);
+  } // multiplyAddDoubles()
+
+  /**
+   * Take the minima of two matrices of doubles.
+   *
+   * @return the minima.
+   */
+  @Benchmark
+  public DoubleMatrix minDoubles() {
+    return this.doubles.min(this.otherDoubles);
+  } // minDoubles()
+
+  /**
+   * Replace large doubles. The values are unchanged after the first call, but each call still
+   * compares every cell.
+   */
+  @Benchmark
+  public void thresholdDoubles() {
+    this.doubles.threshold(3.0, 3.0);
+  } // thresholdDoubles()
+
+  /**
+   * Add up a matrix of doubles.
+   *
+   * @return the sum.
+   */
+  @Benchmark
+  public double sumDoubles() {
+    return this.doubles.sum();
+  } // sumDoubles()
+
+  // +----------+----------------------------------------------------
+  // | Integers |
+  // +----------+
+
+  /**
+   * Add two matrices of ints.
+   *
+   * @return the sum.
+   */
+  @Benchmark
+  public IntMatrix addInts() {
+    return this.ints.add(this.otherInts);
+  } // addInts()
+
+  /**
+   * Take the maxima of two matrices of ints.
+   *
+   * @return the maxima.
+   */
+  @Benchmark
+  public IntMatrix maxInts() {
+    return this.ints.max(this.otherInts);
+  } // maxInts()
+
+  /**
+   * Add up a matrix of ints.
+   *
+   * @return the sum.
+   */
+  @Benchmark
+  public long sumInts() {
+    return this.ints.sum();
+  } // sumInts()
+} // class ElementwiseBenchmark
@@ -0,0 +1,108 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.ConcurrentMatrix;
+import edu.grinnell.csc207.util.DoubleMatrix;
+import edu.grinnell.csc207.util.IntMatrix;
+import edu.grinnell.csc207.util.Matrix;
+import edu.grinnell.csc207.util.MatrixV0;
+import edu.grinnell.csc207.util.MatrixV1;
+import edu.grinnell.csc207.util.QuadTreeMatrix;
+import edu.grinnell.csc207.util.RenderCache;
+import edu.grinnell.csc207.util.SparseMatrix;
+import edu.grinnell.csc207.util.VersionedMatrix;
+
+/**
+ * Builds the matrices that the benchmarks compare. To benchmark a new implementation, add a case
+ * to <code>create</code> and its name to the <code>impl</code> parameter of the benchmarks.
+ *
+ * @author Your Name Here
+ */
+public class Matrices {
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Nothing to construct; everything is static. */
+  private Matrices() {
+  } // Matrices()
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Build a matrix.
+   *
+   * @param impl The name of the implementation. "Primitive" means <code>IntMatrix</code> or
+   *     <code>DoubleMatrix</code>, depending on the type.
+   * @param type The element type, "Integer" or "Double".
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @return a matrix filled with the type's zero.
+   * @throws IllegalArgumentException If the implementation or type is unknown.
+   */
+  @SuppressWarnings("unchecked")
+  public static Matrix<Object> create(String impl, String type, int width, int height) {
+    Object zero = value(type, 0);
+    switch (impl) {
+      case "MatrixV0":
+        return new MatrixV0<Object>(width, height, zero);
+      case "MatrixV1":
+        return new MatrixV1<Object>(width, height, zero);
+      case "SparseMatrix":
+        return new SparseMatrix<Object>(width, height, zero);
+      case "QuadTreeMatrix":
+        return new QuadTreeMatrix<Object>(width, height, zero);
+      case "ConcurrentMatrix":
+        return new ConcurrentMatrix<Object>(width, height, zero);
+      case "VersionedMatrix":
+        return new VersionedMatrix<Object>(width, height, zero);
+      case "RenderCache":
+        return new RenderCache<Object>(new MatrixV0<Object>(width, height, zero));
+      case "Primitive":
+        Matrix<?> result = "Double".equals(type)
+            ? new DoubleMatrix(width, height)
+            : new IntMatrix(width, height);
+        return (Matrix<Object>) result;
+      default:
+        throw new IllegalArgumentException("Unknown implementation: " + impl);
+    } // switch
+  } // create(String, String, int, int)
+
+  /**
+   * Build a matrix with varied contents, so that scans cannot cheat.
+   *
+   * @param impl The name of the implementation.
+   * @param type The element type.
+   * @param size The width and height of the matrix.
+   * @return the matrix.
+   */
+  public static Matrix<Object> filled(String impl, String type, int size) {
+    Matrix<Object> result = create(impl, type, size, size);
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        result.set(row, col, value(type, (row * 31 + col) % 17));
+      } // for col
+    } // for row
+    return result;
+  } // filled(String, String, int)
+
+  /**
+   * Build an element.
+   *
+   * @param type The element type, "Integer" or "Double".
+   * @param i A number that determines the value.
+   * @return the element.
+   * @throws IllegalArgumentException If the type is unknown.
+   */
+  public static Object value(String type, int i) {
+    switch (type) {
+      case "Integer":
+        return Integer.valueOf(i);
+      case "Double":
+        return Double.valueOf(i);
+      default:
+        throw new IllegalArgumentException("Unknown element type: " + type);
+    } // switch
+  } // value(String, int)
+} // class Matrices
@@ -0,0 +1,241 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.Matrix;
+import edu.grinnell.csc207.util.MatrixV0;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the non-structural operations in the <code>Matrix</code> interface: point reads
+ * and writes, fills, and whole-matrix operations. To compare two implementations, run
+ *
+ * <pre>
+ *   mvn -B -P bench -DskipTests verify -Djmh.args="MatrixBenchmark -p impl=MatrixV0,MatrixV1"
+ * </pre>
+ *
+ * @author Your Name Here
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark extends MatrixState {
+  // +-----------+---------------------------------------------------
+  // | Point ops |
+  // +-----------+
+
+  /**
+   * Read one cell.
+   *
+   * @return the cell.
+   */
+  @Benchmark
+  public Object get() {
+    int pos = this.next();
+    return this.matrix.get(pos / this.size, pos % this.size);
+  } // get()
+
+  /** Write one cell. */
+  @Benchmark
+  public void set() {
+    int pos = this.next();
+    this.matrix.set(pos / this.size, pos % this.size, this.vals[pos & 1]);
+  } // set()
+
+  // +------------+--------------------------------------------------
+  // | Bulk fills |
+  // +------------+
+
+  /** Fill the middle quarter of the matrix. */
+  @Benchmark
+  public void fillRegion() {
+    int quarter = this.size / 4;
+    this.matrix.fillRegion(
+        quarter, quarter, 3 * quarter, 3 * quarter, this.vals[this.next() & 1]);
+  } // fillRegion()
+
+  /** Fill the whole matrix with values computed from the positions. */
+  @Benchmark
+  public void fillRegionGenerated() {
+    Object[] choices = this.vals;
+    this.matrix.fillRegionWith(
+        0, 0, this.size, this.size, (row, col) -> choices[(row + col) & 1]);
+  } // fillRegionGenerated()
+
+  /** Fill a horizontal line. */
+  @Benchmark
+  public void fillLineHorizontal() {
+    int row = this.next() % this.size;
+    this.matrix.fillLine(row, 0, 0, 1, row + 1, this.size, this.vals[row & 1]);
+  } // fillLineHorizontal()
+
+  /** Fill the main diagonal. */
+  @Benchmark
+  public void fillLineDiagonal() {
+    this.matrix.fillLine(0, 0, 1, 1, this.size, this.size, this.vals[this.next() & 1]);
+  } // fillLineDiagonal()
+
+  /** Fill every third cell of a row. */
+  @Benchmark
+  public void fillLineStrided() {
+    int row = this.next() % this.size;
+    this.matrix.fillLine(row, 0, 0, 3, row + 1, this.size, this.vals[row & 1]);
+  } // fillLineStrided()
+
+  /** Draw a batch of segments between random cells, as on a canvas. */
+  @Benchmark
+  public void drawLines() {
+    this.matrix.drawLines(this.segments, SEGMENTS, this.vals[this.next() & 1]);
+  } // drawLines()
+
+  // +---------------+-----------------------------------------------
+  // | Bulk transfer |
+  // +---------------+
+
+  /**
+   * Copy one row out.
+   *
+   * @return the row.
+   * @throws Exception If the row is the wrong size, which it is not.
+   */
+  @Benchmark
+  public Object[] getRow() throws Exception {
+    this.matrix.getRow(this.next() % this.size, this.rowVals);
+    return this.rowVals;
+  } // getRow()
+
+  /** Copy the top half of the twin into the bottom half of the matrix. */
+  @Benchmark
+  public void copyRegion() {
+    int half = this.size / 2;
+    this.matrix.copyRegion(this.twin, 0, 0, half, 0, half, this.size);
+  } // copyRegion()
+
+  // +--------------+------------------------------------------------
+  // | Whole matrix |
+  // +--------------+
+
+  /**
+   * Copy the matrix.
+   *
+   * @return the copy.
+   */
+  @Benchmark
+  public Object cloneMatrix() {
+    return this.matrix.clone();
+  } // cloneMatrix()
+
+  /**
+   * Compare with an equal matrix that was built separately.
+   *
+   * @return the result of the comparison.
+   */
+  @Benchmark
+  public boolean equalsMatrix() {
+    return this.matrix.equals(this.twin);
+  } // equalsMatrix()
+
+  /**
+   * Hash the matrix.
+   *
+   * @return the hash code.
+   */
+  @Benchmark
+  public int hashCodeMatrix() {
+    return this.matrix.hashCode();
+  } // hashCodeMatrix()
+
+  /**
+   * Visit every cell with nested loops over get, as callers had to before forEachCell.
+   *
+   * @return the number of non-null cells.
+   */
+  @Benchmark
+  public int traverseGet() {
+    int count = 0;
+    for (int row = 0; row < this.size; row++) {
+      for (int col = 0; col < this.size; col++) {
+        count += (this.matrix.get(row, col) != null) ? 1 : 0;
+      } // for col
+    } // for row
+    return count;
+  } // traverseGet()
+
+  /**
+   * Visit every cell with forEachCell.
+   *
+   * @return the number of non-null cells.
+   */
+  @Benchmark
+  public int traverseForEach() {
+    int[] count = new int[1];
+    this.matrix.forEachCell((row, col, val) -> count[0] += (val != null) ? 1 : 0);
+    return count[0];
+  } // traverseForEach()
+
+  /**
+   * Count the non-null cells with a parallel stream.
+   *
+   * @return the number of non-null cells.
+   */
+  @Benchmark
+  public long traverseParallel() {
+    return this.matrix.cells().parallel().filter((val) -> val != null).count();
+  } // traverseParallel()
+
+  /** Print the matrix, with labels, to a pen that discards the output. */
+  @Benchmark
+  public void print() {
+    Matrix.print(this.pen, this.matrix, true);
+  } // print()
+
+  /** Change one cell, then print the matrix again. */
+  @Benchmark
+  public void setAndPrint() {
+    int pos = this.next();
+    this.matrix.set(pos / this.size, pos % this.size, this.vals[pos & 1]);
+    Matrix.print(this.pen, this.matrix, true);
+  } // setAndPrint()
+
+  // +-----------+---------------------------------------------------
+  // | Pipelines |
+  // +-----------+
+
+  /**
+   * Run map, map, zip with a full intermediate matrix after each step.
+   *
+   * @return the result.
+   */
+  @Benchmark
+  public Matrix<Integer> pipelineEager() {
+    MatrixV0<Integer> hashes = new MatrixV0<Integer>(this.size, this.size);
+    hashes.fillRegionWith(0, 0, this.size, this.size,
+        (row, col) -> Objects.hashCode(this.matrix.get(row, col)));
+    MatrixV0<Integer> scaled = new MatrixV0<Integer>(this.size, this.size);
+    scaled.fillRegionWith(0, 0, this.size, this.size, (row, col) -> hashes.get(row, col) * 31);
+    MatrixV0<Integer> result = new MatrixV0<Integer>(this.size, this.size);
+    result.fillRegionWith(0, 0, this.size, this.size,
+        (row, col) -> scaled.get(row, col) + hashes.get(row, col));
+    return result;
+  } // pipelineEager()
+
+  /**
+   * Run the same pipeline lazily, materializing once.
+   *
+   * @return the result.
+   */
+  @Benchmark
+  public Matrix<Integer> pipelineLazy() {
+    Matrix<Integer> hashes = this.matrix.map(Objects::hashCode);
+    return hashes.map((hash) -> hash * 31).zipWith(hashes, Integer::sum)
+        .materialize(new MatrixV0<Integer>(this.size, this.size), true);
+  } // pipelineLazy()
+} // class MatrixBenchmark
@@ -0,0 +1,108 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.Matrix;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The parameters and fixtures shared by the matrix benchmarks: matrix size, element type, and
+ * implementation.
+ *
+ * @author Your Name Here
+ */
+@State(Scope.Thread)
+public abstract class MatrixState {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of line segments to draw in one batch. */
+  static final int SEGMENTS = 1000;
+
+  // +------------+--------------------------------------------------
+  // | Parameters |
+  // +------------+
+
+  /** The width and height of the matrix. */
+  @Param({"64", "512"})
+  public int size;
+
+  /** The element type. */
+  @Param({"Integer", "Double"})
+  public String type;
+
+  /** The implementation. */
+  @Param({"MatrixV0", "MatrixV1", "SparseMatrix", "QuadTreeMatrix", "ConcurrentMatrix",
+      "VersionedMatrix", "RenderCache", "Primitive"})
+  public String impl;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix under test. */
+  Matrix<Object> matrix;
+
+  /** An equal matrix, built separately. */
+  Matrix<Object> twin;
+
+  /** A row of values to insert, as an array of the element type. */
+  Object[] rowVals;
+
+  /** A column of values to insert, as an array of the element type. */
+  Object[] colVals;
+
+  /** Values to store. */
+  Object[] vals;
+
+  /** The ends of line segments to draw, four numbers per segment. */
+  int[] segments;
+
+  /** Where the next point operation happens. */
+  int cursor;
+
+  /** A pen that discards its output. */
+  PrintWriter pen;
+
+  // +----------+----------------------------------------------------
+  // | Fixtures |
+  // +----------+
+
+  /** Build the matrices. */
+  @Setup(Level.Trial)
+  public void setup() {
+    this.matrix = Matrices.filled(this.impl, this.type, this.size);
+    this.twin = Matrices.filled(this.impl, this.type, this.size);
+    // The arrays must have the element type, since IntMatrix and its kin take Integer[].
+    Class<?> elementType = Matrices.value(this.type, 0).getClass();
+    this.rowVals = (Object[]) Array.newInstance(elementType, this.size);
+    this.colVals = (Object[]) Array.newInstance(elementType, this.size);
+    for (int i = 0; i < this.size; i++) {
+      this.rowVals[i] = Matrices.value(this.type, i);
+      this.colVals[i] = Matrices.value(this.type, -i);
+    } // for
+    this.vals = new Object[] {Matrices.value(this.type, 1), Matrices.value(this.type, 2)};
+    this.pen = new PrintWriter(Writer.nullWriter());
+    this.segments = new int[4 * SEGMENTS];
+    for (int i = 0; i < this.segments.length; i++) {
+      this.segments[i] = this.next() % this.size;
+    } // for
+  } // setup()
+
+  /**
+   * Pick the next position for a point operation. Strides through the matrix so that successive
+   * operations do not hit the same cache line.
+   *
+   * @return the position, as row * size + col.
+   */
+  int next() {
+    this.cursor = (this.cursor + 7919) % (this.size * this.size);
+    return this.cursor;
+  } // next()
+} // class MatrixState
@@ -0,0 +1,87 @@
+package edu.grinnell.csc207.bench;
+
+import edu.grinnell.csc207.util.ArraySizeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the structural operations in the <code>Matrix</code> interface.
+ *
+ * <p>Each operation is undone in a per-invocation teardown (which is not timed), so that the
+ * matrix keeps its size from one invocation to the next. JMH's timer overhead matters for
+ * per-invocation fixtures when an operation takes well under a microsecond, so the smallest
+ * sizes are less precise here than in <code>MatrixBenchmark</code>.
+ *
+ * @author Your Name Here
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructureBenchmark extends MatrixState {
+  // +----------------+----------------------------------------------
+  // | Structural ops |
+  // +----------------+
+
+  /** Insert a row in the middle. Deleted again, untimed, by restoreSize. */
+  @Benchmark
+  public void insertRow() {
+    this.matrix.insertRow(this.size / 2);
+  } // insertRow()
+
+  /** Insert a row of values in the middle. Deleted again, untimed, by restoreSize. */
+  @Benchmark
+  public void insertRowVals() throws ArraySizeException {
+    this.matrix.insertRow(this.size / 2, this.rowVals);
+  } // insertRowVals()
+
+  /** Insert a column in the middle. Deleted again, untimed, by restoreSize. */
+  @Benchmark
+  public void insertCol() {
+    this.matrix.insertCol(this.size / 2);
+  } // insertCol()
+
+  /** Insert a column of values in the middle. Deleted again, untimed, by restoreSize. */
+  @Benchmark
+  public void insertColVals() throws ArraySizeException {
+    this.matrix.insertCol(this.size / 2, this.colVals);
+  } // insertColVals()
+
+  /** Delete a row from the middle. Restored, untimed, by restoreSize. */
+  @Benchmark
+  public void deleteRow() {
+    this.matrix.deleteRow(this.size / 2);
+  } // deleteRow()
+
+  /** Delete a column from the middle. Restored, untimed, by restoreSize. */
+  @Benchmark
+  public void deleteCol() {
+    this.matrix.deleteCol(this.size / 2);
+  } // deleteCol()
+
+  /** Undo any row insertion or deletion from the last invocation. */
+  @TearDown(Level.Invocation)
+  public void restoreSize() {
+    while (this.matrix.height() > this.size) {
+      this.matrix.deleteRow(this.size / 2);
+    } // while
+    while (this.matrix.height() < this.size) {
+      this.matrix.insertRow(this.size / 2);
+    } // while
+    while (this.matrix.width() > this.size) {
+      this.matrix.deleteCol(this.size / 2);
+    } // while
+    while (this.matrix.width() < this.size) {
+      this.matrix.insertCol(this.size / 2);
+    } // while
+  } // restoreSize()
+} // class StructureBenchmark
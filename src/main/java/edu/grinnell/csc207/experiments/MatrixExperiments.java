@@ -3,6 +3,7 @@ package edu.grinnell.csc207.experiments;
 import edu.grinnell.csc207.util.ArraySizeException;
 import edu.grinnell.csc207.util.Matrix;
 import edu.grinnell.csc207.util.MatrixV0;
+import edu.grinnell.csc207.util.RenderCache;
 import java.io.PrintWriter;
 
 /**
@@ -42,7 +43,8 @@ public class MatrixExperiments {
    * @param pen The pen used to print out the results.
    */
   static void assignmentSample(PrintWriter pen) {
-    Matrix<String> sample = new MatrixV0<String>(5, 6, "O");
+    // Each figure reprints the whole matrix, so we keep the rows that did not change.
+    Matrix<String> sample = new RenderCache<String>(new MatrixV0<String>(5, 6, "O"));
     for (int row = 0; row < 6; row++) {
       for (int col = 0; col < 5; col++) {
         sample.set(row, col, "X");
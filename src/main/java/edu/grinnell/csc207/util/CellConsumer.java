@@ -0,0 +1,19 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * An action to perform on each cell of a matrix, given its position and value.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values in the matrix.
+ */
+@FunctionalInterface
+public interface CellConsumer<T> {
+  /**
+   * Act on a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The value in the cell.
+   */
+  void accept(int row, int col, T val);
+} // interface CellConsumer
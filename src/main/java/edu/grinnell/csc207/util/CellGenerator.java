@@ -0,0 +1,21 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Computes the value of a cell from its position, for filling a region of a matrix. Generators
+ * may be called in any order, and from several threads at once, so they should not depend on
+ * shared mutable state.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values generated.
+ */
+@FunctionalInterface
+public interface CellGenerator<T> {
+  /**
+   * Compute the value for a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @return the value to store there.
+   */
+  T apply(int row, int col);
+} // interface CellGenerator
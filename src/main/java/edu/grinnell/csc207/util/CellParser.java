@@ -0,0 +1,111 @@
+package edu.grinnell.csc207.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns the bytes of one field of a delimited text file into the value of a cell. Parsers read
+ * straight from the importer's buffer, so they need not build a string unless the value is one.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values parsed.
+ */
+@FunctionalInterface
+public interface CellParser<T> {
+  /**
+   * Parse a field.
+   *
+   * @param bytes The buffer that holds the field.
+   * @param start The index of the first byte of the field.
+   * @param end The index just after the last byte of the field.
+   * @return the value of the cell.
+   * @throws NumberFormatException If the field does not hold a value of the right kind.
+   */
+  T parse(byte[] bytes, int start, int end);
+
+  /**
+   * Get a parser for fields that hold decimal integers, with an optional sign.
+   *
+   * @return the parser.
+   */
+  static CellParser<Integer> integers() {
+    return (bytes, start, end) -> {
+      int i = start;
+      boolean negative = (i < end) && bytes[i] == '-';
+      if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+        i++;
+      } // if
+      if (i == end) {
+        throw new NumberFormatException("Not an integer");
+      } // if
+      // Accumulate negatively, since there is one more negative int than positive.
+      long result = 0;
+      for (int j = i; j < end; j++) {
+        int digit = bytes[j] - '0';
+        if (digit < 0 || digit > 9) {
+          throw new NumberFormatException("Not an integer");
+        } // if
+        result = result * 10 - digit;
+        if (result < Integer.MIN_VALUE) {
+          throw new NumberFormatException("Integer out of range");
+        } // if
+      } // for
+      if (!negative && result == Integer.MIN_VALUE) {
+        throw new NumberFormatException("Integer out of range");
+      } // if
+      return (int) (negative ? result : -result);
+    };
+  } // integers()
+
+  /**
+   * Get a parser for fields that hold real numbers, in any form that
+   * <code>Double.parseDouble</code> accepts. Plain decimals with at most fifteen significant
+   * digits are converted directly, which is exact; anything else goes through
+   * <code>Double.parseDouble</code>.
+   *
+   * @return the parser.
+   */
+  static CellParser<Double> doubles() {
+    return (bytes, start, end) -> {
+      int i = start;
+      boolean negative = (i < end) && bytes[i] == '-';
+      if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+        i++;
+      } // if
+      long mantissa = 0;
+      int figures = 0;
+      int significant = 0;
+      int scale = 0;
+      boolean point = false;
+      boolean simple = true;
+      for (int j = i; j < end && simple; j++) {
+        int digit = bytes[j] - '0';
+        if (digit >= 0 && digit <= 9) {
+          mantissa = mantissa * 10 + digit;
+          figures++;
+          significant += (mantissa == 0) ? 0 : 1;
+          scale += point ? 1 : 0;
+        } else if (bytes[j] == '.' && !point) {
+          point = true;
+        } else {
+          simple = false;
+        } // if/else
+      } // for
+      if (simple && figures > 0 && significant <= 15 && scale <= 22) {
+        // Both the mantissa and the power of ten are exact doubles, so one division rounds
+        // correctly.
+        double result = (scale == 0) ? mantissa : mantissa / Math.pow(10, scale);
+        return negative ? -result : result;
+      } // if
+      return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+    };
+  } // doubles()
+
+  /**
+   * Get a parser that keeps each field as a string, decoded from UTF-8.
+   *
+   * @return the parser.
+   */
+  static CellParser<String> strings() {
+    return (bytes, start, end) -> new String(bytes, start, end - start, StandardCharsets.UTF_8);
+  } // strings()
+} // interface CellParser
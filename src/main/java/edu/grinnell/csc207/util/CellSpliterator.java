@@ -0,0 +1,163 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Visits the values in a band of rows of a matrix, in row-major order. Splitting hands the first
+ * half of the remaining rows to a new spliterator, so a parallel stream works on bands of whole
+ * rows and each thread walks along rows.
+ *
+ * <p>When the rows of the matrix are available as an array, the spliterator reads them directly
+ * rather than calling <code>get</code> for each cell.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values in the matrix.
+ */
+class CellSpliterator<T> implements Spliterator<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of cells below which we do not bother to split. */
+  static final int MIN_SPLIT = 1 << 12;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix, used if rows is null. */
+  final Matrix<T> matrix;
+
+  /** The rows of the matrix, or null. */
+  final T[][] rows;
+
+  /** The number of columns. */
+  final int width;
+
+  /** The row of the next cell. */
+  int row;
+
+  /** The column of the next cell. */
+  int col;
+
+  /** The row just after the band. */
+  int bottom;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a spliterator for a band of rows.
+   *
+   * @param source The matrix.
+   * @param values The rows of the matrix, or null to use <code>get</code>.
+   * @param top The first row of the band.
+   * @param end The row just after the band.
+   */
+  CellSpliterator(Matrix<T> source, T[][] values, int top, int end) {
+    this.matrix = source;
+    this.rows = values;
+    this.width = (top < end) ? source.width() : 0;
+    this.row = top;
+    this.col = 0;
+    this.bottom = end;
+  } // CellSpliterator(Matrix<T>, T[][], int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Visit the next cell, if there is one.
+   *
+   * @param action What to do with its value.
+   * @return true if there was a cell to visit and false otherwise.
+   */
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (this.row >= this.bottom || this.width == 0) {
+      return false;
+    } // if
+    action.accept(this.cell(this.row, this.col));
+    if (++this.col == this.width) {
+      this.col = 0;
+      this.row++;
+    } // if
+    return true;
+  } // tryAdvance(Consumer<? super T>)
+
+  /**
+   * Visit all of the remaining cells.
+   *
+   * @param action What to do with their values.
+   */
+  public void forEachRemaining(Consumer<? super T> action) {
+    int first = this.col;
+    for (int i = this.row; i < this.bottom; i++) {
+      if (this.rows != null) {
+        T[] values = this.rows[i];
+        for (int j = first; j < this.width; j++) {
+          action.accept(values[j]);
+        } // for j
+      } else {
+        for (int j = first; j < this.width; j++) {
+          action.accept(this.matrix.get(i, j));
+        } // for j
+      } // if/else
+      first = 0;
+    } // for i
+    this.row = this.bottom;
+    this.col = 0;
+  } // forEachRemaining(Consumer<? super T>)
+
+  /**
+   * Split off the first half of the remaining rows, if there are enough cells to be worth it.
+   *
+   * @return a spliterator for the first half, or null.
+   */
+  public Spliterator<T> trySplit() {
+    int mid = (this.row + 1 + this.bottom) >>> 1;
+    if (mid >= this.bottom || (long) (this.bottom - this.row) * this.width < MIN_SPLIT) {
+      return null;
+    } // if
+    CellSpliterator<T> prefix = new CellSpliterator<T>(this.matrix, this.rows, this.row, mid);
+    prefix.col = this.col;
+    this.row = mid;
+    this.col = 0;
+    return prefix;
+  } // trySplit()
+
+  /**
+   * Determine how many cells are left.
+   *
+   * @return the number of cells.
+   */
+  public long estimateSize() {
+    return (this.row >= this.bottom) ? 0 : (long) (this.bottom - this.row) * this.width - this.col;
+  } // estimateSize()
+
+  /**
+   * Describe the cells.
+   *
+   * @return the characteristics: the cells are ordered and the sizes exact.
+   */
+  public int characteristics() {
+    return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+  } // characteristics()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Get the value of a cell.
+   *
+   * @param i The row of the cell.
+   * @param j The column of the cell.
+   * @return the value.
+   */
+  private T cell(int i, int j) {
+    return (this.rows != null) ? this.rows[i][j] : this.matrix.get(i, j);
+  } // cell(int, int)
+} // class CellSpliterator
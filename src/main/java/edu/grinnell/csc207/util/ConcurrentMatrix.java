@@ -0,0 +1,652 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe implementation of two-dimensional matrices.
+ *
+ * <p>Rows are guarded by a fixed set of lock stripes; row r belongs to stripe r mod STRIPES.
+ * <code>get</code> uses an optimistic read, which writes nothing to shared memory and so scales
+ * with the number of readers, and only falls back to a read lock if a writer got in the way.
+ * <code>set</code> locks just the stripe of its row, so writers to different stripes proceed in
+ * parallel. <code>fillRegion</code> and <code>fillLine</code> lock every stripe they touch (in
+ * increasing order, to avoid deadlock), so each fill appears atomic. The structural operations,
+ * as well as <code>clone</code>, <code>equals</code>, and <code>hashCode</code>, lock every
+ * stripe.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class ConcurrentMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of lock stripes. Must be a power of two, and at most 64. */
+  static final int STRIPES = 64;
+
+  /** A mask that selects all of the stripes. */
+  static final long ALL_STRIPES = -1L >>> (64 - STRIPES);
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The rows of the matrix. */
+  Object[][] rows;
+
+  /** The number of rows. */
+  int rowCount;
+
+  /** The number of columns. */
+  int colCount;
+
+  /** The lock stripes. */
+  final StampedLock[] stripes;
+
+  /** Default value. */
+  final T defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public ConcurrentMatrix(int width, int height, T def) {
+    this.rows = new Object[height][width];
+    this.rowCount = height;
+    this.colCount = width;
+    this.defaultVal = def;
+    for (Object[] row : this.rows) {
+      Arrays.fill(row, def);
+    } // for
+    this.stripes = new StampedLock[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      this.stripes[i] = new StampedLock();
+    } // for
+  } // ConcurrentMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public ConcurrentMatrix(int width, int height) {
+    this(width, height, null);
+  } // ConcurrentMatrix(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column. Does not block unless a writer holds the row's
+   * stripe.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    StampedLock lock = this.stripes[row & (STRIPES - 1)];
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      // Everything we read here may be stale or inconsistent until we validate.
+      Object[][] data = this.rows;
+      boolean inBounds = this.inBounds(row, col) && row < data.length;
+      Object[] cells = inBounds ? data[row] : null;
+      Object val = (cells != null && col < cells.length) ? cells[col] : null;
+      if (lock.validate(stamp)) {
+        if (!inBounds) {
+          throw new IndexOutOfBoundsException();
+        } // if
+        return (T) val;
+      } // if
+    } // if
+    stamp = lock.readLock();
+    try {
+      this.checkBounds(row, col);
+      return (T) this.rows[row][col];
+    } finally {
+      lock.unlockRead(stamp);
+    } // try/finally
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column. Locks only the row's stripe.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    StampedLock lock = this.stripes[row & (STRIPES - 1)];
+    long stamp = lock.writeLock();
+    try {
+      this.checkBounds(row, col);
+      this.rows[row][col] = val;
+    } finally {
+      lock.unlockWrite(stamp);
+    } // try/finally
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    StampedLock lock = this.stripes[0];
+    long stamp = lock.tryOptimisticRead();
+    int result = this.rowCount;
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      result = this.rowCount;
+      lock.unlockRead(stamp);
+    } // if
+    return result;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    StampedLock lock = this.stripes[0];
+    long stamp = lock.tryOptimisticRead();
+    int result = this.colCount;
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      result = this.colCount;
+      lock.unlockRead(stamp);
+    } // if
+    return result;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    long[] stamps = this.lockAll();
+    try {
+      Object[] newRow = new Object[this.colCount];
+      Arrays.fill(newRow, this.defaultVal);
+      this.insertRowUnlocked(row, newRow);
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    long[] stamps = this.lockAll();
+    try {
+      if (vals.length != this.colCount) {
+        throw new ArraySizeException();
+      } // if
+      this.insertRowUnlocked(row, Arrays.copyOf(vals, vals.length, Object[].class));
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    long[] stamps = this.lockAll();
+    try {
+      Object[] newCol = new Object[this.rowCount];
+      Arrays.fill(newCol, this.defaultVal);
+      this.insertColUnlocked(col, newCol);
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    long[] stamps = this.lockAll();
+    try {
+      if (vals.length != this.rowCount) {
+        throw new ArraySizeException();
+      } // if
+      this.insertColUnlocked(col, vals);
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    long[] stamps = this.lockAll();
+    try {
+      if (row < 0 || row >= this.rowCount) {
+        throw new IndexOutOfBoundsException();
+      } // if
+      Object[][] newRows = new Object[this.rowCount - 1][];
+      System.arraycopy(this.rows, 0, newRows, 0, row);
+      System.arraycopy(this.rows, row + 1, newRows, row, this.rowCount - row - 1);
+      this.rows = newRows;
+      this.rowCount--;
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    long[] stamps = this.lockAll();
+    try {
+      if (col < 0 || col >= this.colCount) {
+        throw new IndexOutOfBoundsException();
+      } // if
+      for (int row = 0; row < this.rowCount; row++) {
+        Object[] newRow = new Object[this.colCount - 1];
+        System.arraycopy(this.rows[row], 0, newRow, 0, col);
+        System.arraycopy(this.rows[row], col + 1, newRow, col, this.colCount - col - 1);
+        this.rows[row] = newRow;
+      } // for
+      this.colCount--;
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix. Locks the stripes of the rows in the region, so
+   * other threads see either none or all of the fill.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    this.fill(startRow, startCol, endRow, endCol, val, null);
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values. The generator runs first,
+   * without any locks, so it may read this matrix; the values are then copied in while holding
+   * the stripes of the rows in the region, so other threads see either none or all of the fill.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    this.fill(startRow, startCol, endRow, endCol, null, gen);
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal). Locks the stripes of the rows on the line, so
+   * other threads see either none or all of the fill.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    if (steps == 0) {
+      return;
+    } // if
+    long mask = ALL_STRIPES;
+    if (steps <= STRIPES) {
+      mask = 0;
+      for (int n = 0, i = startRow; n < steps; n++, i += deltaRow) {
+        mask |= 1L << (i & (STRIPES - 1));
+      } // for
+    } // if
+    int lastRow = startRow + (steps - 1) * deltaRow;
+    int lastCol = startCol + (steps - 1) * deltaCol;
+    long[] stamps = this.lock(mask);
+    try {
+      // The shape may have changed before we locked; a straight line fits if its ends do.
+      this.checkBounds(startRow, startCol);
+      this.checkBounds(lastRow, lastCol);
+      int i = startRow;
+      int j = startCol;
+      for (int n = steps; n > 0; n--) {
+        this.rows[i][j] = val;
+        i += deltaRow;
+        j += deltaCol;
+      } // for
+    } finally {
+      this.unlock(mask, stamps);
+    } // try/finally
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy a row into an array. The copy is consistent, since it holds the row's stripe.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    StampedLock lock = this.stripes[row & (STRIPES - 1)];
+    long stamp = lock.readLock();
+    try {
+      if (row < 0 || row >= this.rowCount) {
+        throw new IndexOutOfBoundsException();
+      } // if
+      if (dest.length != this.colCount) {
+        throw new ArraySizeException();
+      } // if
+      System.arraycopy(this.rows[row], 0, dest, 0, dest.length);
+    } finally {
+      lock.unlockRead(stamp);
+    } // try/finally
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row, atomically.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    StampedLock lock = this.stripes[row & (STRIPES - 1)];
+    long stamp = lock.writeLock();
+    try {
+      if (row < 0 || row >= this.rowCount) {
+        throw new IndexOutOfBoundsException();
+      } // if
+      if (vals.length != this.colCount) {
+        throw new ArraySizeException();
+      } // if
+      System.arraycopy(vals, 0, this.rows[row], 0, vals.length);
+    } finally {
+      lock.unlockWrite(stamp);
+    } // try/finally
+  } // setRow(int, T[])
+
+  /**
+   * Make a consistent copy of the matrix. Shares references to the elements.
+   *
+   * @return a copy of the matrix.
+   */
+  public ConcurrentMatrix<T> clone() {
+    long[] stamps = this.lockAll();
+    try {
+      ConcurrentMatrix<T> copy = new ConcurrentMatrix<T>(0, 0, this.defaultVal);
+      copy.rows = new Object[this.rowCount][];
+      for (int row = 0; row < this.rowCount; row++) {
+        copy.rows[row] = this.rows[row].clone();
+      } // for
+      copy.rowCount = this.rowCount;
+      copy.colCount = this.colCount;
+      return copy;
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Compares against a consistent copy of
+   * this matrix; the other matrix is the caller's responsibility.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } // if
+    return (other instanceof Matrix) && Matrix.contentEquals(this.clone(), (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for a consistent view of this matrix, using <code>ContentHash</code> as
+   * every matrix does, so that equal matrices have equal hash codes.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    long[] stamps = this.lockAll();
+    try {
+      int code = 0;
+      for (int row = this.rowCount - 1; row >= 0; row--) {
+        code = code * ContentHash.ROW_BASE + ContentHash.row(this.rows[row]);
+      } // for
+      return ContentHash.shape(this.colCount, this.rowCount) + code;
+    } finally {
+      this.unlockAll(stamps);
+    } // try/finally
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine if a position is within the matrix. Callers must hold a lock or validate.
+   *
+   * @param row The row.
+   * @param col The column.
+   * @return true if the position is in bounds and false otherwise.
+   */
+  private boolean inBounds(int row, int col) {
+    return row >= 0 && row < this.rowCount && col >= 0 && col < this.colCount;
+  } // inBounds(int, int)
+
+  /**
+   * Make sure that a position is within the matrix. Callers must hold a lock.
+   *
+   * @param row The row.
+   * @param col The column.
+   * @throws IndexOutOfBoundsException If it is not.
+   */
+  private void checkBounds(int row, int col) {
+    if (!this.inBounds(row, col)) {
+      throw new IndexOutOfBoundsException();
+    } // if
+  } // checkBounds(int, int)
+
+  /**
+   * Fill a rectangular region with a value or with generated values, holding the stripes of its
+   * rows.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store, if gen is null.
+   * @param gen Computes the values to store, or null.
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  private void fill(int startRow, int startCol, int endRow, int endCol, T val,
+      CellGenerator<? extends T> gen) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    Object[][] block = null;
+    if (gen != null) {
+      // The generator may read this matrix, and our locks are not reentrant, so it runs first.
+      Matrix.checkRegion(this, startRow, startCol, endRow - startRow, endCol - startCol);
+      block = new Object[endRow - startRow][endCol - startCol];
+      for (int row = startRow; row < endRow; row++) {
+        for (int col = startCol; col < endCol; col++) {
+          block[row - startRow][col - startCol] = gen.apply(row, col);
+        } // for col
+      } // for row
+    } // if
+    long mask = ALL_STRIPES;
+    if (endRow - startRow < STRIPES) {
+      mask = 0;
+      for (int row = startRow; row < endRow; row++) {
+        mask |= 1L << (row & (STRIPES - 1));
+      } // for
+    } // if
+    long[] stamps = this.lock(mask);
+    try {
+      if (startRow < 0 || endRow > this.rowCount || startCol < 0 || endCol > this.colCount) {
+        throw new IndexOutOfBoundsException();
+      } // if
+      for (int row = startRow; row < endRow; row++) {
+        if (block == null) {
+          Arrays.fill(this.rows[row], startCol, endCol, val);
+        } else {
+          System.arraycopy(block[row - startRow], 0, this.rows[row], startCol, endCol - startCol);
+        } // if/else
+      } // for row
+    } finally {
+      this.unlock(mask, stamps);
+    } // try/finally
+  } // fill(int, int, int, int, T, CellGenerator<? extends T>)
+
+  /**
+   * Write-lock a set of stripes, in increasing order.
+   *
+   * @param mask The stripes to lock, one bit per stripe.
+   * @return the stamps, indexed by stripe.
+   */
+  private long[] lock(long mask) {
+    long[] stamps = new long[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      if ((mask & (1L << i)) != 0) {
+        stamps[i] = this.stripes[i].writeLock();
+      } // if
+    } // for
+    return stamps;
+  } // lock(long)
+
+  /**
+   * Release the stripes acquired by <code>lock</code>.
+   *
+   * @param mask The stripes to unlock.
+   * @param stamps The stamps returned by lock.
+   */
+  private void unlock(long mask, long[] stamps) {
+    for (int i = STRIPES - 1; i >= 0; i--) {
+      if ((mask & (1L << i)) != 0) {
+        this.stripes[i].unlockWrite(stamps[i]);
+      } // if
+    } // for
+  } // unlock(long, long[])
+
+  /**
+   * Write-lock every stripe, for exclusive access.
+   *
+   * @return the stamps.
+   */
+  private long[] lockAll() {
+    return this.lock(ALL_STRIPES);
+  } // lockAll()
+
+  /**
+   * Release every stripe.
+   *
+   * @param stamps The stamps returned by lockAll.
+   */
+  private void unlockAll(long[] stamps) {
+    this.unlock(ALL_STRIPES, stamps);
+  } // unlockAll(long[])
+
+  /**
+   * Insert a row. Callers must hold every stripe.
+   *
+   * @param row The position of the new row.
+   * @param newRow The new row, which the matrix now owns.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  private void insertRowUnlocked(int row, Object[] newRow) {
+    if (row < 0 || row > this.rowCount) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    Object[][] newRows = new Object[this.rowCount + 1][];
+    System.arraycopy(this.rows, 0, newRows, 0, row);
+    System.arraycopy(this.rows, row, newRows, row + 1, this.rowCount - row);
+    newRows[row] = newRow;
+    this.rows = newRows;
+    this.rowCount++;
+  } // insertRowUnlocked(int, Object[])
+
+  /**
+   * Insert a column. Callers must hold every stripe.
+   *
+   * @param col The position of the new column.
+   * @param vals The values in the new column.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  private void insertColUnlocked(int col, Object[] vals) {
+    if (col < 0 || col > this.colCount) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < this.rowCount; row++) {
+      Object[] newRow = new Object[this.colCount + 1];
+      System.arraycopy(this.rows[row], 0, newRow, 0, col);
+      newRow[col] = vals[row];
+      System.arraycopy(this.rows[row], col, newRow, col + 1, this.colCount - col);
+      this.rows[row] = newRow;
+    } // for
+    this.colCount++;
+  } // insertColUnlocked(int, Object[])
+} // class ConcurrentMatrix
@@ -0,0 +1,225 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The hash code that every matrix uses, so that equal matrices of different kinds have equal
+ * hash codes. The hash of a matrix is
+ *
+ * <pre>
+ *   width + 7 * height + sum over cells of hash(cell) * ROW_BASE^row * COL_BASE^col
+ * </pre>
+ *
+ * <p>with int arithmetic that wraps, and with null hashing to 0. Since each cell contributes
+ * separately, a matrix can keep its hash up to date as cells change, by adding the change in
+ * one cell's contribution. Summing a row with Horner's rule gives its hash without any powers,
+ * and rows combine the same way.
+ *
+ * @author Your Name Here
+ */
+final class ContentHash {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The weight of each step down. Odd, so that multiplying by it loses nothing. */
+  static final int ROW_BASE = 0x01000193;
+
+  /** The weight of each step right. Odd, so that multiplying by it loses nothing. */
+  static final int COL_BASE = 31;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** ROW_BASE^i, for as many i as anyone has needed. Replaced, never changed, when it grows. */
+  private static volatile int[] rowPowers = {1};
+
+  /** COL_BASE^i, for as many i as anyone has needed. Replaced, never changed, when it grows. */
+  private static volatile int[] colPowers = {1};
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Nothing to construct; everything is static. */
+  private ContentHash() {
+  } // ContentHash()
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Hash a whole matrix, one cell at a time.
+   *
+   * @param matrix The matrix.
+   * @return the hash code.
+   */
+  static int of(Matrix<?> matrix) {
+    int height = matrix.height();
+    int width = matrix.width();
+    int code = 0;
+    for (int row = height - 1; row >= 0; row--) {
+      int rowCode = 0;
+      for (int col = width - 1; col >= 0; col--) {
+        rowCode = rowCode * COL_BASE + Objects.hashCode(matrix.get(row, col));
+      } // for col
+      code = code * ROW_BASE + rowCode;
+    } // for row
+    return shape(width, height) + code;
+  } // of(Matrix<?>)
+
+  /**
+   * Compute the part of the hash that depends only on the shape.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @return that part.
+   */
+  static int shape(int width, int height) {
+    return width + 7 * height;
+  } // shape(int, int)
+
+  /**
+   * Hash a row, as the sum of hash(cell) * COL_BASE^col.
+   *
+   * @param row The values in the row.
+   * @return the hash of the row.
+   */
+  static int row(Object[] row) {
+    return segment(row, 0, row.length);
+  } // row(Object[])
+
+  /**
+   * Hash part of a row, with each cell weighted by its position in the whole row.
+   *
+   * @param row The values in the row.
+   * @param from The first column of the part (inclusive).
+   * @param to The last column of the part (exclusive).
+   * @return the sum of hash(cell) * COL_BASE^col over the part.
+   */
+  static int segment(Object[] row, int from, int to) {
+    int code = 0;
+    for (int col = to - 1; col >= from; col--) {
+      code = code * COL_BASE + Objects.hashCode(row[col]);
+    } // for
+    return (from == 0) ? code : code * colPower(from);
+  } // segment(Object[], int, int)
+
+  /**
+   * Hash a row of ints.
+   *
+   * @param row The values in the row.
+   * @return the hash of the row.
+   */
+  static int row(int[] row) {
+    int code = 0;
+    for (int col = row.length - 1; col >= 0; col--) {
+      code = code * COL_BASE + Integer.hashCode(row[col]);
+    } // for
+    return code;
+  } // row(int[])
+
+  /**
+   * Hash a row of doubles.
+   *
+   * @param row The values in the row.
+   * @return the hash of the row.
+   */
+  static int row(double[] row) {
+    int code = 0;
+    for (int col = row.length - 1; col >= 0; col--) {
+      code = code * COL_BASE + Double.hashCode(row[col]);
+    } // for
+    return code;
+  } // row(double[])
+
+  /**
+   * Combine the hashes of rows, as the sum of rowHash * ROW_BASE^row.
+   *
+   * @param rowHashes The hashes of the rows.
+   * @param count The number of rows, from the start of rowHashes.
+   * @return the combined hash, without the shape.
+   */
+  static int rows(int[] rowHashes, int count) {
+    int code = 0;
+    for (int row = count - 1; row >= 0; row--) {
+      code = code * ROW_BASE + rowHashes[row];
+    } // for
+    return code;
+  } // rows(int[], int)
+
+  /**
+   * Get ROW_BASE^row.
+   *
+   * @param row The exponent.
+   * @return the power.
+   */
+  static int rowPower(int row) {
+    int[] powers = rowPowers;
+    if (row >= powers.length) {
+      powers = grow(powers, ROW_BASE, row + 1);
+      rowPowers = powers;
+    } // if
+    return powers[row];
+  } // rowPower(int)
+
+  /**
+   * Get COL_BASE^col.
+   *
+   * @param col The exponent.
+   * @return the power.
+   */
+  static int colPower(int col) {
+    int[] powers = colPowers;
+    if (col >= powers.length) {
+      powers = grow(powers, COL_BASE, col + 1);
+      colPowers = powers;
+    } // if
+    return powers[col];
+  } // colPower(int)
+
+  /**
+   * Compute 1 + base + base^2 + ... + base^(count-1), in O(log count) steps.
+   *
+   * @param base The base.
+   * @param count The number of terms.
+   * @return the sum.
+   */
+  static int powerSum(int base, long count) {
+    // Adding a term is x -> x * base + 1; square the step rather than repeating it.
+    int series = 0;
+    int stepBase = base;
+    int stepSeries = 1;
+    for (long n = count; n > 0; n >>>= 1) {
+      if ((n & 1) != 0) {
+        series = series * stepBase + stepSeries;
+      } // if
+      stepSeries = stepSeries * stepBase + stepSeries;
+      stepBase *= stepBase;
+    } // for
+    return series;
+  } // powerSum(int, long)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Extend a table of powers.
+   *
+   * @param powers The table so far.
+   * @param base The base.
+   * @param size The smallest acceptable size.
+   * @return a larger table.
+   */
+  private static int[] grow(int[] powers, int base, int size) {
+    int[] result = Arrays.copyOf(powers, Math.max(size, 2 * powers.length));
+    for (int i = powers.length; i < result.length; i++) {
+      result[i] = result[i - 1] * base;
+    } // for
+    return result;
+  } // grow(int[], int, int)
+} // class ContentHash
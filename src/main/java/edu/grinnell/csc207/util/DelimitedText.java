@@ -0,0 +1,587 @@
+package edu.grinnell.csc207.util;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming import and export of matrices as delimited text, such as CSV or TSV files.
+ *
+ * <p>Both directions work on bytes in a single reusable buffer, so the size of a file does not
+ * matter and no string is built for a line. The importer hands each field to a
+ * <code>CellParser</code> straight from the buffer, and appends rows to the matrix in batches
+ * with <code>appendRows</code>.
+ *
+ * <p>Fields that contain the delimiter, a quotation mark, or a line break are enclosed in
+ * quotation marks, with quotation marks inside doubled, as in RFC 4180. Lines may end with either
+ * LF or CRLF. An empty field stands for null; the empty string is written as <code>""</code>.
+ * Text is UTF-8.
+ *
+ * @author Your Name Here
+ */
+public class DelimitedText {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The delimiter for CSV files. */
+  public static final byte COMMA = ',';
+
+  /** The delimiter for TSV files. */
+  public static final byte TAB = '\t';
+
+  /** The initial size of the buffers. */
+  static final int BUFFER_SIZE = 1 << 16;
+
+  /** The number of rows the importer appends at a time. */
+  static final int BATCH_ROWS = 1024;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Nothing to construct; everything is static.
+   */
+  private DelimitedText() {
+  } // DelimitedText()
+
+  // +-----------+---------------------------------------------------
+  // | Importing |
+  // +-----------+
+
+  /**
+   * Read a matrix from delimited text. The first line determines the width.
+   *
+   * @param <T> The type of values in the matrix.
+   * @param source Where to read the text from, which should be a blocking channel.
+   * @param delimiter The byte between fields, such as <code>COMMA</code>.
+   * @param type The class of the values.
+   * @param parser Converts each non-empty field to a value.
+   * @param def The default value of the new matrix.
+   * @return the matrix.
+   * @throws IOException If the text cannot be read, is empty, has lines of different lengths,
+   *     or has a field that the parser rejects.
+   */
+  public static <T> MatrixV0<T> read(ReadableByteChannel source, byte delimiter, Class<T> type,
+      CellParser<? extends T> parser, T def) throws IOException {
+    FieldReader reader = new FieldReader(source, delimiter);
+    T[] first = reader.row(type, -1, parser);
+    if (first == null) {
+      throw new IOException("No rows to read");
+    } // if
+    MatrixV0<T> result = new MatrixV0<T>(first.length, 1, def);
+    try {
+      result.setRow(0, first);
+    } catch (ArraySizeException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    append(reader, result, type, parser);
+    return result;
+  } // read(ReadableByteChannel, byte, Class<T>, CellParser<? extends T>, T)
+
+  /**
+   * Read rows of delimited text and append them to the bottom of a matrix. Every line must have
+   * as many fields as the matrix has columns.
+   *
+   * @param <T> The type of values in the matrix.
+   * @param source Where to read the text from, which should be a blocking channel.
+   * @param target The matrix to append to.
+   * @param delimiter The byte between fields, such as <code>COMMA</code>.
+   * @param type The class of the values.
+   * @param parser Converts each non-empty field to a value.
+   * @throws IOException If the text cannot be read, has a line of the wrong length, or has a
+   *     field that the parser rejects. Rows before the bad line may already have been appended.
+   */
+  public static <T> void append(ReadableByteChannel source, Matrix<T> target, byte delimiter,
+      Class<T> type, CellParser<? extends T> parser) throws IOException {
+    append(new FieldReader(source, delimiter), target, type, parser);
+  } // append(ReadableByteChannel, Matrix<T>, byte, Class<T>, CellParser<? extends T>)
+
+  // +-----------+---------------------------------------------------
+  // | Exporting |
+  // +-----------+
+
+  /**
+   * Write a matrix as delimited text, one line per row. Integers are written digit by digit;
+   * other values are written as their <code>toString</code>.
+   *
+   * @param sink Where to write the text.
+   * @param matrix The matrix.
+   * @param delimiter The byte between fields, such as <code>COMMA</code>.
+   * @throws IOException If the text cannot be written.
+   */
+  public static void write(WritableByteChannel sink, Matrix<?> matrix, byte delimiter)
+      throws IOException {
+    FieldWriter out = new FieldWriter(sink);
+    IntMatrix ints = (matrix instanceof IntMatrix) ? (IntMatrix) matrix : null;
+    int height = matrix.height();
+    int width = matrix.width();
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        if (col > 0) {
+          out.put(delimiter);
+        } // if
+        if (ints != null) {
+          out.number(ints.getInt(row, col));
+        } else {
+          out.cell(matrix.get(row, col), delimiter);
+        } // if/else
+      } // for col
+      out.put((byte) '\n');
+    } // for row
+    out.drain();
+  } // write(WritableByteChannel, Matrix<?>, byte)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Read the remaining rows and append them to a matrix, in batches.
+   *
+   * @param <T> The type of values in the matrix.
+   * @param reader Where the rows come from.
+   * @param target The matrix to append to.
+   * @param type The class of the values.
+   * @param parser Converts each non-empty field to a value.
+   * @throws IOException If the rows cannot be read.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> void append(FieldReader reader, Matrix<T> target, Class<T> type,
+      CellParser<? extends T> parser) throws IOException {
+    int width = target.width();
+    // The array of rows must have the right type, since IntMatrix and its kin take Integer[][].
+    T[][] batch = (T[][]) Array.newInstance(type.arrayType(), BATCH_ROWS);
+    int count = 0;
+    T[] row = reader.row(type, width, parser);
+    while (row != null) {
+      batch[count++] = row;
+      if (count == BATCH_ROWS) {
+        appendBatch(target, batch, count);
+        count = 0;
+      } // if
+      row = reader.row(type, width, parser);
+    } // while
+    appendBatch(target, batch, count);
+  } // append(FieldReader, Matrix<T>, Class<T>, CellParser<? extends T>)
+
+  /**
+   * Append a batch of rows that are known to be the right width.
+   *
+   * @param <T> The type of values in the matrix.
+   * @param target The matrix to append to.
+   * @param batch The rows.
+   * @param count The number of rows to append.
+   */
+  private static <T> void appendBatch(Matrix<T> target, T[][] batch, int count) {
+    try {
+      target.appendRows(batch, count);
+    } catch (ArraySizeException e) {
+      // The reader has already checked the widths.
+      throw new AssertionError(e);
+    } // try/catch
+  } // appendBatch(Matrix<T>, T[][], int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * Splits delimited text into fields, reading it through a buffer that grows only if a single
+   * field does not fit.
+   */
+  static class FieldReader {
+    /** The result of reading a field that ends with the delimiter. */
+    static final int DELIMITER = 0;
+
+    /** The result of reading a field that ends with a line break. */
+    static final int LINE = 1;
+
+    /** The result of reading a field that ends with the text. */
+    static final int END = 2;
+
+    /** Where the text comes from. */
+    final ReadableByteChannel channel;
+
+    /** The byte between fields. */
+    final byte delimiter;
+
+    /** The buffered text. */
+    byte[] buffer;
+
+    /** A view of the buffer, for reading into it. */
+    ByteBuffer window;
+
+    /** The position of the next unread byte in the buffer. */
+    int pos;
+
+    /** The number of bytes in the buffer. */
+    int limit;
+
+    /** Whether the channel has run out. */
+    boolean eof;
+
+    /** Whether the last line ended with CR, so that a following LF belongs to it. */
+    boolean pendingCr;
+
+    /** The unescaped text of the last quoted field. */
+    byte[] scratch;
+
+    /** The bytes of the last field: either buffer or scratch. */
+    byte[] fieldBytes;
+
+    /** The start of the last field in fieldBytes. */
+    int fieldStart;
+
+    /** The end of the last field in fieldBytes. */
+    int fieldEnd;
+
+    /** Whether the last field was quoted. */
+    boolean quoted;
+
+    /** The number of the line being read, for error messages. */
+    int line;
+
+    /**
+     * Create a reader.
+     *
+     * @param source Where the text comes from.
+     * @param delim The byte between fields.
+     */
+    FieldReader(ReadableByteChannel source, byte delim) {
+      this.channel = source;
+      this.delimiter = delim;
+      this.buffer = new byte[BUFFER_SIZE];
+      this.window = ByteBuffer.wrap(this.buffer);
+      this.scratch = new byte[64];
+      this.line = 1;
+    } // FieldReader(ReadableByteChannel, byte)
+
+    /**
+     * Read and parse one line.
+     *
+     * @param <T> The type of values.
+     * @param type The class of the values.
+     * @param width The number of fields the line should have, or -1 if any number will do.
+     * @param parser Converts each non-empty field to a value.
+     * @return the values, or null if there are no more lines.
+     * @throws IOException If the line cannot be read, has the wrong number of fields, or has a
+     *     field that the parser rejects.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T[] row(Class<T> type, int width, CellParser<? extends T> parser) throws IOException {
+      if (this.pendingCr) {
+        this.pendingCr = false;
+        this.ensure();
+        if (this.pos < this.limit && this.buffer[this.pos] == '\n') {
+          this.pos++;
+        } // if
+      } // if
+      this.ensure();
+      if (this.pos == this.limit) {
+        return null;
+      } // if
+      T[] result = (T[]) Array.newInstance(type, (width < 0) ? 8 : width);
+      int count = 0;
+      int end = DELIMITER;
+      while (end == DELIMITER) {
+        end = this.field();
+        if (count == result.length) {
+          if (width >= 0) {
+            throw new IOException("Line " + this.line + " has more than " + width + " fields");
+          } // if
+          result = Arrays.copyOf(result, count * 2);
+        } // if
+        if (this.quoted || this.fieldStart < this.fieldEnd) {
+          try {
+            result[count] = parser.parse(this.fieldBytes, this.fieldStart, this.fieldEnd);
+          } catch (NumberFormatException e) {
+            throw new IOException(
+                "Line " + this.line + ", field " + (count + 1) + ": " + e.getMessage(), e);
+          } // try/catch
+        } // if
+        count++;
+      } // while
+      if (width < 0) {
+        result = Arrays.copyOf(result, count);
+      } else if (count != width) {
+        throw new IOException(
+            "Line " + this.line + " has " + count + " fields rather than " + width);
+      } // if/else
+      this.line++;
+      return result;
+    } // row(Class<T>, int, CellParser<? extends T>)
+
+    /**
+     * Read the next field, leaving its bytes in fieldBytes.
+     *
+     * @return how the field ended: DELIMITER, LINE, or END.
+     * @throws IOException If the text cannot be read or is badly quoted.
+     */
+    int field() throws IOException {
+      this.ensure();
+      if (this.pos < this.limit && this.buffer[this.pos] == '"') {
+        return this.quotedField();
+      } // if
+      this.quoted = false;
+      int start = this.pos;
+      while (true) {
+        while (this.pos < this.limit) {
+          byte b = this.buffer[this.pos];
+          if (b == this.delimiter || b == '\n' || b == '\r') {
+            this.fieldBytes = this.buffer;
+            this.fieldStart = start;
+            this.fieldEnd = this.pos;
+            return this.terminator();
+          } // if
+          this.pos++;
+        } // while
+        if (this.eof) {
+          this.fieldBytes = this.buffer;
+          this.fieldStart = start;
+          this.fieldEnd = this.pos;
+          return END;
+        } // if
+        start = this.fill(start);
+      } // while
+    } // field()
+
+    /**
+     * Read a field that starts with a quotation mark, unescaping it into scratch.
+     *
+     * @return how the field ended: DELIMITER, LINE, or END.
+     * @throws IOException If the text cannot be read or is badly quoted.
+     */
+    int quotedField() throws IOException {
+      this.pos++;
+      int length = 0;
+      while (true) {
+        if (this.pos == this.limit) {
+          if (this.eof) {
+            throw new IOException("Line " + this.line + " has an unterminated quotation");
+          } // if
+          this.fill(this.pos);
+          continue;
+        } // if
+        byte b = this.buffer[this.pos++];
+        if (b == '"') {
+          this.ensure();
+          if (this.pos == this.limit || this.buffer[this.pos] != '"') {
+            break;
+          } // if
+          this.pos++;
+        } // if
+        if (length == this.scratch.length) {
+          this.scratch = Arrays.copyOf(this.scratch, length * 2);
+        } // if
+        this.scratch[length++] = b;
+      } // while
+      this.fieldBytes = this.scratch;
+      this.fieldStart = 0;
+      this.fieldEnd = length;
+      this.quoted = true;
+      if (this.pos < this.limit) {
+        byte b = this.buffer[this.pos];
+        if (b != this.delimiter && b != '\n' && b != '\r') {
+          throw new IOException("Line " + this.line + " has text after a closing quotation");
+        } // if
+      } // if
+      return this.terminator();
+    } // quotedField()
+
+    /**
+     * Skip the byte that ends a field, if there is one. The buffer must not be refilled before
+     * the field is parsed, so a LF after a CR is left for the next line to skip.
+     *
+     * @return how the field ended: DELIMITER, LINE, or END.
+     */
+    int terminator() {
+      if (this.pos == this.limit) {
+        return END;
+      } // if
+      byte b = this.buffer[this.pos++];
+      if (b == this.delimiter) {
+        return DELIMITER;
+      } // if
+      this.pendingCr = (b == '\r');
+      return LINE;
+    } // terminator()
+
+    /**
+     * Make sure there is an unread byte in the buffer, unless the text has run out.
+     *
+     * @throws IOException If the text cannot be read.
+     */
+    void ensure() throws IOException {
+      if (this.pos == this.limit && !this.eof) {
+        this.fill(this.pos);
+      } // if
+    } // ensure()
+
+    /**
+     * Read more text, discarding everything in the buffer before a given position and growing
+     * the buffer if nothing can be discarded.
+     *
+     * @param keep The position of the first byte to keep.
+     * @return the new position of that byte.
+     * @throws IOException If the text cannot be read.
+     */
+    int fill(int keep) throws IOException {
+      System.arraycopy(this.buffer, keep, this.buffer, 0, this.limit - keep);
+      this.limit -= keep;
+      this.pos -= keep;
+      if (this.limit == this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        this.window = ByteBuffer.wrap(this.buffer);
+      } // if
+      this.window.limit(this.buffer.length).position(this.limit);
+      int count = this.channel.read(this.window);
+      if (count < 0) {
+        this.eof = true;
+      } else {
+        this.limit += count;
+      } // if/else
+      return 0;
+    } // fill(int)
+  } // class FieldReader
+
+  /**
+   * Encodes fields into a buffer, writing the buffer out whenever it fills.
+   */
+  static class FieldWriter {
+    /** Where the text goes. */
+    final WritableByteChannel channel;
+
+    /** The encoded text. */
+    final byte[] buffer;
+
+    /** A view of the buffer, for writing it out. */
+    final ByteBuffer window;
+
+    /** The number of bytes in the buffer. */
+    int count;
+
+    /** Room for the digits of a long. */
+    final byte[] digits;
+
+    /**
+     * Create a writer.
+     *
+     * @param sink Where the text goes.
+     */
+    FieldWriter(WritableByteChannel sink) {
+      this.channel = sink;
+      this.buffer = new byte[BUFFER_SIZE];
+      this.window = ByteBuffer.wrap(this.buffer);
+      this.digits = new byte[20];
+    } // FieldWriter(WritableByteChannel)
+
+    /**
+     * Add a byte.
+     *
+     * @param b The byte.
+     * @throws IOException If the buffer is full and cannot be written out.
+     */
+    void put(byte b) throws IOException {
+      if (this.count == this.buffer.length) {
+        this.drain();
+      } // if
+      this.buffer[this.count++] = b;
+    } // put(byte)
+
+    /**
+     * Add an integer, in decimal.
+     *
+     * @param val The integer.
+     * @throws IOException If the text cannot be written.
+     */
+    void number(long val) throws IOException {
+      // Work with the negation, since there is one more negative long than positive.
+      long rest = val;
+      if (rest < 0) {
+        this.put((byte) '-');
+      } else {
+        rest = -rest;
+      } // if/else
+      int i = this.digits.length;
+      do {
+        this.digits[--i] = (byte) ('0' - (rest % 10));
+        rest /= 10;
+      } while (rest != 0);
+      while (i < this.digits.length) {
+        this.put(this.digits[i++]);
+      } // while
+    } // number(long)
+
+    /**
+     * Add the field for a value.
+     *
+     * @param val The value, which may be null.
+     * @param delimiter The byte between fields, which must be quoted.
+     * @throws IOException If the text cannot be written.
+     */
+    void cell(Object val, byte delimiter) throws IOException {
+      if (val == null) {
+        return;
+      } else if (val instanceof Integer || val instanceof Long || val instanceof Short
+          || val instanceof Byte) {
+        this.number(((Number) val).longValue());
+        return;
+      } // if/else
+      String str = val.toString();
+      boolean ascii = true;
+      boolean quote = str.isEmpty();
+      for (int i = 0; i < str.length(); i++) {
+        char ch = str.charAt(i);
+        ascii &= ch < 0x80;
+        quote |= ch == delimiter || ch == '"' || ch == '\n' || ch == '\r';
+      } // for
+      if (quote) {
+        this.put((byte) '"');
+      } // if
+      if (ascii) {
+        for (int i = 0; i < str.length(); i++) {
+          this.escaped((byte) str.charAt(i));
+        } // for
+      } else {
+        for (byte b : str.getBytes(StandardCharsets.UTF_8)) {
+          this.escaped(b);
+        } // for
+      } // if/else
+      if (quote) {
+        this.put((byte) '"');
+      } // if
+    } // cell(Object, byte)
+
+    /**
+     * Add a byte of a field, doubling quotation marks.
+     *
+     * @param b The byte.
+     * @throws IOException If the text cannot be written.
+     */
+    void escaped(byte b) throws IOException {
+      if (b == '"') {
+        this.put(b);
+      } // if
+      this.put(b);
+    } // escaped(byte)
+
+    /**
+     * Write out everything in the buffer and empty it.
+     *
+     * @throws IOException If the text cannot be written.
+     */
+    void drain() throws IOException {
+      this.window.limit(this.count).position(0);
+      while (this.window.hasRemaining()) {
+        this.channel.write(this.window);
+      } // while
+      this.count = 0;
+    } // drain()
+  } // class FieldWriter
+} // class DelimitedText
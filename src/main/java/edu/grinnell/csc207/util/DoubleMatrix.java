@@ -0,0 +1,776 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Two-dimensional matrices of real numbers, stored without boxing. Each cell takes eight bytes,
+ * rather than the twenty or so that a boxed <code>Double</code> in a <code>MatrixV0</code>
+ * takes.
+ *
+ * <p>The <code>Matrix</code> methods box and unbox at the boundary. Loops that care about
+ * performance should use <code>getDouble</code> and <code>setDouble</code> instead.
+ *
+ * <p>The arithmetic methods other than <code>threshold</code> build new matrices. The
+ * element-wise ones run through <code>Kernels</code>, which uses SIMD instructions when it can.
+ * <code>multiply</code> works in tiles of <code>TILE</code> by <code>TILE</code> cells, so that
+ * the pieces of both operands it is working on stay in cache, and splits the rows of the product
+ * across the common fork/join pool.
+ *
+ * @author Your Name Here
+ */
+public class DoubleMatrix implements Matrix<Double> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The width and height of the tiles that multiply and transpose work in. */
+  static final int TILE = 64;
+
+  /** The number of multiply-adds below which a product is not worth splitting. */
+  static final long MIN_WORK = 1L << 20;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The rows of the matrix. */
+  double[][] values;
+
+  /** The number of columns (kept separately so that we can have zero rows). */
+  int columns;
+
+  /** Default value. */
+  final double defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public DoubleMatrix(int width, int height, double def) {
+    this.values = new double[height][width];
+    this.columns = width;
+    this.defaultVal = def;
+    if (def != 0.0) {
+      fillRegion(0, 0, height, width, def);
+    } // if
+  } // DoubleMatrix(int, int, double)
+
+  /**
+   * Create a new matrix of the specified width and height with 0.0 as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public DoubleMatrix(int width, int height) {
+    this(width, height, 0);
+  } // DoubleMatrix(int, int)
+
+  // +-------------------+-------------------------------------------
+  // | Unboxed accessors |
+  // +-------------------+
+
+  /**
+   * Get the real number at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public double getDouble(int row, int col) {
+    return this.values[row][col];
+  } // getDouble(int, int)
+
+  /**
+   * Set the real number at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void setDouble(int row, int col, double val) {
+    this.values[row][col] = val;
+  } // setDouble(int, int, double)
+
+  // +------------+--------------------------------------------------
+  // | Arithmetic |
+  // +------------+
+
+  /**
+   * Compute the matrix product of this matrix and another.
+   *
+   * @param other The right-hand operand.
+   * @return the product, whose height is our height and whose width is the other's width.
+   * @throws IllegalArgumentException If our width is not the other's height.
+   */
+  public DoubleMatrix multiply(DoubleMatrix other) {
+    int inner = this.columns;
+    if (inner != other.values.length) {
+      throw new IllegalArgumentException("Cannot multiply a " + this.columns + "x"
+          + this.values.length + " matrix by a " + other.columns + "x" + other.values.length
+          + " matrix");
+    } // if
+    DoubleMatrix product = new DoubleMatrix(other.columns, this.values.length);
+    // With the right-hand operand transposed, each cell of the product is the dot product of
+    // two rows, and the innermost loop walks through both in order.
+    Product task = new Product(this.values, other.transpose().values, product.values, inner);
+    if ((long) this.values.length * other.columns * inner < MIN_WORK) {
+      task.compute();
+    } else {
+      ForkJoinPool.commonPool().invoke(task);
+    } // if/else
+    return product;
+  } // multiply(DoubleMatrix)
+
+  /**
+   * Add another matrix to this one, cell by cell.
+   *
+   * @param other The matrix to add.
+   * @return the sum.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public DoubleMatrix add(DoubleMatrix other) {
+    Matrix.checkShape(this, other);
+    DoubleMatrix result = blank(this.columns, this.values.length,
+        this.defaultVal + other.defaultVal);
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.add(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // add(DoubleMatrix)
+
+  /**
+   * Multiply this matrix by another, cell by cell. (For the matrix product, use
+   * <code>multiply</code>.)
+   *
+   * @param other The matrix to multiply by.
+   * @return the products.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public DoubleMatrix multiplyCells(DoubleMatrix other) {
+    Matrix.checkShape(this, other);
+    DoubleMatrix result = blank(this.columns, this.values.length,
+        this.defaultVal * other.defaultVal);
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.multiply(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // multiplyCells(DoubleMatrix)
+
+  /**
+   * Multiply this matrix by another and add a third, cell by cell, rounding once per cell.
+   *
+   * @param factor The matrix to multiply by.
+   * @param addend The matrix to add.
+   * @return the results.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public DoubleMatrix multiplyAdd(DoubleMatrix factor, DoubleMatrix addend) {
+    Matrix.checkShape(this, factor);
+    Matrix.checkShape(this, addend);
+    DoubleMatrix result = blank(this.columns, this.values.length,
+        Math.fma(this.defaultVal, factor.defaultVal, addend.defaultVal));
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.multiplyAdd(
+          this.values[row], factor.values[row], addend.values[row], result.values[row]);
+    } // for
+    return result;
+  } // multiplyAdd(DoubleMatrix, DoubleMatrix)
+
+  /**
+   * Multiply every cell by a constant.
+   *
+   * @param factor The constant.
+   * @return the scaled matrix.
+   */
+  public DoubleMatrix scale(double factor) {
+    DoubleMatrix result = blank(this.columns, this.values.length, this.defaultVal * factor);
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.scale(this.values[row], factor, result.values[row]);
+    } // for
+    return result;
+  } // scale(double)
+
+  /**
+   * Take the smaller of corresponding cells of this matrix and another.
+   *
+   * @param other The other matrix.
+   * @return the minima.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public DoubleMatrix min(DoubleMatrix other) {
+    Matrix.checkShape(this, other);
+    DoubleMatrix result = blank(this.columns, this.values.length,
+        Math.min(this.defaultVal, other.defaultVal));
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.min(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // min(DoubleMatrix)
+
+  /**
+   * Take the larger of corresponding cells of this matrix and another.
+   *
+   * @param other The other matrix.
+   * @return the maxima.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public DoubleMatrix max(DoubleMatrix other) {
+    Matrix.checkShape(this, other);
+    DoubleMatrix result = blank(this.columns, this.values.length,
+        Math.max(this.defaultVal, other.defaultVal));
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.max(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // max(DoubleMatrix)
+
+  /**
+   * Replace every cell greater than a limit, in place.
+   *
+   * @param limit The limit.
+   * @param val The replacement.
+   */
+  public void threshold(double limit, double val) {
+    for (double[] row : this.values) {
+      Kernels.INSTANCE.threshold(row, limit, val);
+    } // for
+  } // threshold(double, double)
+
+  /**
+   * Add up every cell.
+   *
+   * @return the sum.
+   */
+  public double sum() {
+    double sum = 0.0;
+    for (double[] row : this.values) {
+      sum += Kernels.INSTANCE.sum(row);
+    } // for
+    return sum;
+  } // sum()
+
+  /**
+   * Build the transpose of this matrix, in which rows are columns and columns are rows. Unlike
+   * <code>transposeView</code>, the result is a separate copy. The copy is made a tile at a time,
+   * so that both matrices are walked in cache-sized pieces.
+   *
+   * @return the transpose.
+   */
+  public DoubleMatrix transpose() {
+    int height = this.values.length;
+    DoubleMatrix result = blank(height, this.columns, this.defaultVal);
+    for (int row0 = 0; row0 < height; row0 += TILE) {
+      int row1 = Math.min(row0 + TILE, height);
+      for (int col0 = 0; col0 < this.columns; col0 += TILE) {
+        int col1 = Math.min(col0 + TILE, this.columns);
+        for (int row = row0; row < row1; row++) {
+          double[] vals = this.values[row];
+          for (int col = col0; col < col1; col++) {
+            result.values[col][row] = vals[col];
+          } // for col
+        } // for row
+      } // for col0
+    } // for row0
+    return result;
+  } // transpose()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public Double get(int row, int col) {
+    return this.values[row][col];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws NullPointerException If val is null.
+   */
+  public void set(int row, int col, Double val) {
+    this.values[row][col] = val;
+  } // set(int, int, Double)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.values.length;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.columns;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    double[] newRow = new double[this.columns];
+    if (this.defaultVal != 0.0) {
+      Arrays.fill(newRow, this.defaultVal);
+    } // if
+    this.insertRawRow(row, newRow);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertRow(int row, Double[] vals) throws ArraySizeException {
+    if (vals.length != this.columns) {
+      throw new ArraySizeException();
+    } // if
+    double[] newRow = new double[this.columns];
+    for (int col = 0; col < this.columns; col++) {
+      newRow[col] = vals[col];
+    } // for
+    this.insertRawRow(row, newRow);
+  } // insertRow(int, Double[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    if (col < 0 || col > this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < this.values.length; row++) {
+      this.values[row] = widen(this.values[row], col, this.defaultVal);
+    } // for
+    this.columns++;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertCol(int col, Double[] vals) throws ArraySizeException {
+    if (vals.length != this.values.length) {
+      throw new ArraySizeException();
+    } // if
+    if (col < 0 || col > this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    // Unbox everything first, so that a null leaves the matrix unchanged.
+    double[] newCol = new double[vals.length];
+    for (int row = 0; row < vals.length; row++) {
+      newCol[row] = vals[row];
+    } // for
+    for (int row = 0; row < this.values.length; row++) {
+      this.values[row] = widen(this.values[row], col, newCol[row]);
+    } // for
+    this.columns++;
+  } // insertCol(int, Double[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    int height = this.values.length;
+    if (row < 0 || row >= height) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    double[][] newValues = new double[height - 1][];
+    System.arraycopy(this.values, 0, newValues, 0, row);
+    System.arraycopy(this.values, row + 1, newValues, row, height - row - 1);
+    this.values = newValues;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < this.values.length; row++) {
+      double[] newRow = new double[this.columns - 1];
+      System.arraycopy(this.values[row], 0, newRow, 0, col);
+      System.arraycopy(this.values[row], col + 1, newRow, col, this.columns - col - 1);
+      this.values[row] = newRow;
+    } // for
+    this.columns--;
+  } // deleteCol(int)
+
+  /**
+   * Append rows to the bottom of the matrix, growing the array of rows just once.
+   *
+   * @param rows The rows to append.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void appendRows(Double[][] rows, int count) throws ArraySizeException {
+    Matrix.checkRows(rows, count, this.columns);
+    int height = this.values.length;
+    double[][] newValues = Arrays.copyOf(this.values, height + count);
+    for (int i = 0; i < count; i++) {
+      double[] newRow = new double[this.columns];
+      for (int col = 0; col < this.columns; col++) {
+        newRow[col] = rows[i][col];
+      } // for col
+      newValues[height + i] = newRow;
+    } // for i
+    this.values = newValues;
+  } // appendRows(Double[][], int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Double val) {
+    double v = val;
+    if (startCol >= endCol) {
+      return;
+    } // if
+    for (int row = startRow; row < endRow; row++) {
+      Arrays.fill(this.values[row], startCol, endCol, v);
+    } // for
+  } // fillRegion(int, int, int, int, Double)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol,
+      Double val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    double v = val;
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.values[i][j] = v;
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, Double)
+
+  /**
+   * Make a copy of the matrix. Since the elements are primitive, the copy shares nothing with the
+   * original.
+   *
+   * @return a copy of the matrix.
+   */
+  public DoubleMatrix clone() {
+    DoubleMatrix copy = new DoubleMatrix(0, 0, this.defaultVal);
+    copy.columns = this.columns;
+    copy.values = new double[this.values.length][];
+    for (int row = 0; row < this.values.length; row++) {
+      copy.values[row] = this.values[row].clone();
+    } // for
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    if (other instanceof DoubleMatrix) {
+      DoubleMatrix that = (DoubleMatrix) other;
+      return this.columns == that.columns && Arrays.deepEquals(this.values, that.values);
+    } // if
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix. Equal matrices have equal hash codes, even if one of
+   * them is not an <code>DoubleMatrix</code>.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    int code = 0;
+    for (int row = this.values.length - 1; row >= 0; row--) {
+      code = code * ContentHash.ROW_BASE + ContentHash.row(this.values[row]);
+    } // for
+    return ContentHash.shape(this.columns, this.values.length) + code;
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Insert an already-built row.
+   *
+   * @param row The number of the row to insert.
+   * @param newRow The row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  private void insertRawRow(int row, double[] newRow) {
+    int height = this.values.length;
+    if (row < 0 || row > height) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    double[][] newValues = new double[height + 1][];
+    System.arraycopy(this.values, 0, newValues, 0, row);
+    System.arraycopy(this.values, row, newValues, row + 1, height - row);
+    newValues[row] = newRow;
+    this.values = newValues;
+  } // insertRawRow(int, double[])
+
+  /**
+   * Build a matrix of zeros for the caller to fill in, without filling it with the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value.
+   * @return the matrix.
+   */
+  private static DoubleMatrix blank(int width, int height, double def) {
+    DoubleMatrix result = new DoubleMatrix(0, 0, def);
+    result.columns = width;
+    result.values = new double[height][width];
+    return result;
+  } // blank(int, int, double)
+
+  /**
+   * Build a copy of a row with one additional value.
+   *
+   * @param old The original row.
+   * @param col The position of the new value.
+   * @param val The new value.
+   * @return the widened row.
+   */
+  private static double[] widen(double[] old, int col, double val) {
+    double[] result = new double[old.length + 1];
+    System.arraycopy(old, 0, result, 0, col);
+    result[col] = val;
+    System.arraycopy(old, col, result, col + 1, old.length - col);
+    return result;
+  } // widen(double[], int, double)
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * Computes a band of rows of a product, splitting the band in half while it has more than
+   * <code>MIN_WORK</code> multiply-adds. Within a band, the work goes a tile at a time.
+   */
+  @SuppressWarnings("serial")
+  static class Product extends RecursiveAction {
+    /** The rows of the left-hand operand. */
+    final double[][] left;
+
+    /** The rows of the transpose of the right-hand operand. */
+    final double[][] packed;
+
+    /** The rows of the product, which we add to. */
+    final double[][] result;
+
+    /** The width of the left-hand operand and of the packed rows. */
+    final int inner;
+
+    /** The first of our rows (inclusive). */
+    final int lo;
+
+    /** The last of our rows (exclusive). */
+    final int hi;
+
+    /**
+     * Create a task for a whole product.
+     *
+     * @param leftRows The rows of the left-hand operand.
+     * @param packedRows The rows of the transpose of the right-hand operand.
+     * @param resultRows The rows of the product, which should be zero.
+     * @param length The width of the left-hand operand.
+     */
+    Product(double[][] leftRows, double[][] packedRows, double[][] resultRows, int length) {
+      this.left = leftRows;
+      this.packed = packedRows;
+      this.result = resultRows;
+      this.inner = length;
+      this.lo = 0;
+      this.hi = resultRows.length;
+    } // Product(double[][], double[][], double[][], int)
+
+    /**
+     * Create a task for part of a band.
+     *
+     * @param parent The task for the whole band.
+     * @param from The first row (inclusive).
+     * @param to The last row (exclusive).
+     */
+    Product(Product parent, int from, int to) {
+      this.left = parent.left;
+      this.packed = parent.packed;
+      this.result = parent.result;
+      this.inner = parent.inner;
+      this.lo = from;
+      this.hi = to;
+    } // Product(Product, int, int)
+
+    /** Compute our band, splitting it if it is big. */
+    @Override
+    protected void compute() {
+      int cols = this.packed.length;
+      if (this.hi - this.lo > TILE
+          && (long) (this.hi - this.lo) * cols * this.inner > MIN_WORK) {
+        int mid = (this.lo + this.hi) >>> 1;
+        invokeAll(new Product(this, this.lo, mid), new Product(this, mid, this.hi));
+        return;
+      } // if
+      for (int row0 = this.lo; row0 < this.hi; row0 += TILE) {
+        int row1 = Math.min(row0 + TILE, this.hi);
+        for (int k0 = 0; k0 < this.inner; k0 += TILE) {
+          int k1 = Math.min(k0 + TILE, this.inner);
+          for (int col0 = 0; col0 < cols; col0 += TILE) {
+            this.tile(row0, row1, k0, k1, col0, Math.min(col0 + TILE, cols));
+          } // for col0
+        } // for k0
+      } // for row0
+    } // compute()
+
+    /**
+     * Add the contribution of one tile of each operand to one tile of the product. The cells
+     * are computed two rows by two columns at a time, so that each value loaded takes part in
+     * two multiply-adds and the four sums proceed independently. Each sum picks up where the
+     * previous stretch of the inner dimension left off, so every cell adds its terms in order,
+     * exactly as the naive product does, and the result does not depend on the tiling.
+     *
+     * @param row0 The top of the tile (inclusive).
+     * @param row1 The bottom of the tile (exclusive).
+     * @param k0 The start of the stretch of the inner dimension (inclusive).
+     * @param k1 The end of the stretch of the inner dimension (exclusive).
+     * @param col0 The left of the tile (inclusive).
+     * @param col1 The right of the tile (exclusive).
+     */
+    void tile(int row0, int row1, int k0, int k1, int col0, int col1) {
+      int row = row0;
+      while (row + 1 < row1) {
+        double[] a0 = this.left[row];
+        double[] a1 = this.left[row + 1];
+        double[] c0 = this.result[row];
+        double[] c1 = this.result[row + 1];
+        int col = col0;
+        while (col + 1 < col1) {
+          double[] b0 = this.packed[col];
+          double[] b1 = this.packed[col + 1];
+          double sum00 = c0[col];
+          double sum01 = c0[col + 1];
+          double sum10 = c1[col];
+          double sum11 = c1[col + 1];
+          for (int k = k0; k < k1; k++) {
+            sum00 += a0[k] * b0[k];
+            sum01 += a0[k] * b1[k];
+            sum10 += a1[k] * b0[k];
+            sum11 += a1[k] * b1[k];
+          } // for k
+          c0[col] = sum00;
+          c0[col + 1] = sum01;
+          c1[col] = sum10;
+          c1[col + 1] = sum11;
+          col += 2;
+        } // while
+        if (col < col1) {
+          c0[col] = dot(c0[col], a0, this.packed[col], k0, k1);
+          c1[col] = dot(c1[col], a1, this.packed[col], k0, k1);
+        } // if
+        row += 2;
+      } // while
+      if (row < row1) {
+        for (int col = col0; col < col1; col++) {
+          this.result[row][col] =
+              dot(this.result[row][col], this.left[row], this.packed[col], k0, k1);
+        } // for
+      } // if
+    } // tile(int, int, int, int, int, int)
+
+    /**
+     * Continue the dot product of two rows over part of their length.
+     *
+     * @param start The sum of the products so far.
+     * @param a One row.
+     * @param b The other row.
+     * @param k0 The start of the part (inclusive).
+     * @param k1 The end of the part (exclusive).
+     * @return start plus the sum of the products of corresponding values, added in order.
+     */
+    static double dot(double start, double[] a, double[] b, int k0, int k1) {
+      double sum = start;
+      for (int k = k0; k < k1; k++) {
+        sum += a[k] * b[k];
+      } // for
+      return sum;
+    } // dot(double, double[], double[], int, int)
+  } // class Product
+} // class DoubleMatrix
@@ -0,0 +1,155 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A mapping from logical indices (row or column numbers) to stable physical ids. Inserting or
+ * removing an index shifts the later indices, but the ids stay put, so anything keyed by id does
+ * not need to be touched. Ids of removed indices are recycled once released.
+ *
+ * @author Your Name Here
+ */
+class IndexMap {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The ids, in logical order. Only the first size entries are meaningful. */
+  int[] ids;
+
+  /** The number of logical indices. */
+  int size;
+
+  /** Released ids, available for reuse. */
+  int[] free;
+
+  /** The number of released ids. */
+  int freeCount;
+
+  /** The next never-used id. */
+  int nextId;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a mapping in which index i has id i.
+   *
+   * @param initialSize The number of indices.
+   * @throws NegativeArraySizeException If initialSize is negative.
+   */
+  IndexMap(int initialSize) {
+    this.ids = new int[initialSize];
+    for (int i = 0; i < initialSize; i++) {
+      this.ids[i] = i;
+    } // for
+    this.size = initialSize;
+    this.free = new int[0];
+    this.freeCount = 0;
+    this.nextId = initialSize;
+  } // IndexMap(int)
+
+  /**
+   * Create a copy of another mapping.
+   *
+   * @param other The mapping to copy.
+   */
+  IndexMap(IndexMap other) {
+    this.ids = other.ids.clone();
+    this.size = other.size;
+    this.free = other.free.clone();
+    this.freeCount = other.freeCount;
+    this.nextId = other.nextId;
+  } // IndexMap(IndexMap)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the number of logical indices.
+   *
+   * @return the number of indices.
+   */
+  int size() {
+    return this.size;
+  } // size()
+
+  /**
+   * Get the id for a logical index.
+   *
+   * @param index The logical index.
+   * @return the id.
+   * @throws IndexOutOfBoundsException If the index is negative or at least the size.
+   */
+  int get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException(index);
+    } // if
+    return this.ids[index];
+  } // get(int)
+
+  /**
+   * Insert a new logical index, shifting later indices up by one.
+   *
+   * @param index The index to insert.
+   * @return the id of the new index.
+   * @throws IndexOutOfBoundsException If the index is negative or greater than the size.
+   */
+  int insert(int index) {
+    if (index < 0 || index > this.size) {
+      throw new IndexOutOfBoundsException(index);
+    } // if
+    if (this.size == this.ids.length) {
+      this.ids = Arrays.copyOf(this.ids, Math.max(4, this.size * 2));
+    } // if
+    System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+    int id = (this.freeCount > 0) ? this.free[--this.freeCount] : this.nextId++;
+    this.ids[index] = id;
+    this.size++;
+    return id;
+  } // insert(int)
+
+  /**
+   * Remove a logical index, shifting later indices down by one. The id is not reused until it is
+   * released.
+   *
+   * @param index The index to remove.
+   * @return the id of the removed index.
+   * @throws IndexOutOfBoundsException If the index is negative or at least the size.
+   */
+  int remove(int index) {
+    int id = this.get(index);
+    System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+    this.size--;
+    return id;
+  } // remove(int)
+
+  /**
+   * Make an id available for reuse. The caller is responsible for making sure that nothing still
+   * refers to it.
+   *
+   * @param id The id to release.
+   */
+  void release(int id) {
+    if (this.freeCount == this.free.length) {
+      this.free = Arrays.copyOf(this.free, Math.max(4, this.freeCount * 2));
+    } // if
+    this.free[this.freeCount++] = id;
+  } // release(int)
+
+  /**
+   * Build the inverse mapping.
+   *
+   * @return an array that maps each id to its logical index, or to -1 for ids not in use.
+   */
+  int[] positions() {
+    int[] result = new int[this.nextId];
+    Arrays.fill(result, -1);
+    for (int i = 0; i < this.size; i++) {
+      result[this.ids[i]] = i;
+    } // for
+    return result;
+  } // positions()
+} // class IndexMap
@@ -0,0 +1,520 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * Two-dimensional matrices of integers, stored without boxing. Each cell takes four bytes,
+ * rather than the twenty or so that a boxed <code>Integer</code> in a <code>MatrixV0</code>
+ * takes.
+ *
+ * <p>The <code>Matrix</code> methods box and unbox at the boundary. Loops that care about
+ * performance should use <code>getInt</code> and <code>setInt</code> instead.
+ *
+ * <p>The arithmetic methods other than <code>threshold</code> build new matrices, and run
+ * through <code>Kernels</code>, which uses SIMD instructions when it can. Like Java's
+ * <code>int</code> arithmetic, they wrap on overflow.
+ *
+ * @author Your Name Here
+ */
+public class IntMatrix implements Matrix<Integer> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The rows of the matrix. */
+  int[][] values;
+
+  /** The number of columns (kept separately so that we can have zero rows). */
+  int columns;
+
+  /** Default value. */
+  final int defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public IntMatrix(int width, int height, int def) {
+    this.values = new int[height][width];
+    this.columns = width;
+    this.defaultVal = def;
+    if (def != 0) {
+      fillRegion(0, 0, height, width, def);
+    } // if
+  } // IntMatrix(int, int, int)
+
+  /**
+   * Create a new matrix of the specified width and height with 0 as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public IntMatrix(int width, int height) {
+    this(width, height, 0);
+  } // IntMatrix(int, int)
+
+  // +-------------------+-------------------------------------------
+  // | Unboxed accessors |
+  // +-------------------+
+
+  /**
+   * Get the integer at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public int getInt(int row, int col) {
+    return this.values[row][col];
+  } // getInt(int, int)
+
+  /**
+   * Set the integer at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void setInt(int row, int col, int val) {
+    this.values[row][col] = val;
+  } // setInt(int, int, int)
+
+  // +------------+--------------------------------------------------
+  // | Arithmetic |
+  // +------------+
+
+  /**
+   * Add another matrix to this one, cell by cell.
+   *
+   * @param other The matrix to add.
+   * @return the sum.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public IntMatrix add(IntMatrix other) {
+    Matrix.checkShape(this, other);
+    IntMatrix result = blank(this.columns, this.values.length,
+        this.defaultVal + other.defaultVal);
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.add(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // add(IntMatrix)
+
+  /**
+   * Multiply this matrix by another, cell by cell.
+   *
+   * @param other The matrix to multiply by.
+   * @return the products.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public IntMatrix multiplyCells(IntMatrix other) {
+    Matrix.checkShape(this, other);
+    IntMatrix result = blank(this.columns, this.values.length,
+        this.defaultVal * other.defaultVal);
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.multiply(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // multiplyCells(IntMatrix)
+
+  /**
+   * Take the smaller of corresponding cells of this matrix and another.
+   *
+   * @param other The other matrix.
+   * @return the minima.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public IntMatrix min(IntMatrix other) {
+    Matrix.checkShape(this, other);
+    IntMatrix result = blank(this.columns, this.values.length,
+        Math.min(this.defaultVal, other.defaultVal));
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.min(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // min(IntMatrix)
+
+  /**
+   * Take the larger of corresponding cells of this matrix and another.
+   *
+   * @param other The other matrix.
+   * @return the maxima.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  public IntMatrix max(IntMatrix other) {
+    Matrix.checkShape(this, other);
+    IntMatrix result = blank(this.columns, this.values.length,
+        Math.max(this.defaultVal, other.defaultVal));
+    for (int row = 0; row < this.values.length; row++) {
+      Kernels.INSTANCE.max(this.values[row], other.values[row], result.values[row]);
+    } // for
+    return result;
+  } // max(IntMatrix)
+
+  /**
+   * Replace every cell greater than a limit, in place.
+   *
+   * @param limit The limit.
+   * @param val The replacement.
+   */
+  public void threshold(int limit, int val) {
+    for (int[] row : this.values) {
+      Kernels.INSTANCE.threshold(row, limit, val);
+    } // for
+  } // threshold(int, int)
+
+  /**
+   * Add up every cell.
+   *
+   * @return the sum, which does not overflow.
+   */
+  public long sum() {
+    long sum = 0;
+    for (int[] row : this.values) {
+      sum += Kernels.INSTANCE.sum(row);
+    } // for
+    return sum;
+  } // sum()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public Integer get(int row, int col) {
+    return this.values[row][col];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws NullPointerException If val is null.
+   */
+  public void set(int row, int col, Integer val) {
+    this.values[row][col] = val;
+  } // set(int, int, Integer)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.values.length;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.columns;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    int[] newRow = new int[this.columns];
+    if (this.defaultVal != 0) {
+      Arrays.fill(newRow, this.defaultVal);
+    } // if
+    this.insertRawRow(row, newRow);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertRow(int row, Integer[] vals) throws ArraySizeException {
+    if (vals.length != this.columns) {
+      throw new ArraySizeException();
+    } // if
+    int[] newRow = new int[this.columns];
+    for (int col = 0; col < this.columns; col++) {
+      newRow[col] = vals[col];
+    } // for
+    this.insertRawRow(row, newRow);
+  } // insertRow(int, Integer[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    if (col < 0 || col > this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < this.values.length; row++) {
+      this.values[row] = widen(this.values[row], col, this.defaultVal);
+    } // for
+    this.columns++;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertCol(int col, Integer[] vals) throws ArraySizeException {
+    if (vals.length != this.values.length) {
+      throw new ArraySizeException();
+    } // if
+    if (col < 0 || col > this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    // Unbox everything first, so that a null leaves the matrix unchanged.
+    int[] newCol = new int[vals.length];
+    for (int row = 0; row < vals.length; row++) {
+      newCol[row] = vals[row];
+    } // for
+    for (int row = 0; row < this.values.length; row++) {
+      this.values[row] = widen(this.values[row], col, newCol[row]);
+    } // for
+    this.columns++;
+  } // insertCol(int, Integer[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    int height = this.values.length;
+    if (row < 0 || row >= height) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    int[][] newValues = new int[height - 1][];
+    System.arraycopy(this.values, 0, newValues, 0, row);
+    System.arraycopy(this.values, row + 1, newValues, row, height - row - 1);
+    this.values = newValues;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.columns) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < this.values.length; row++) {
+      int[] newRow = new int[this.columns - 1];
+      System.arraycopy(this.values[row], 0, newRow, 0, col);
+      System.arraycopy(this.values[row], col + 1, newRow, col, this.columns - col - 1);
+      this.values[row] = newRow;
+    } // for
+    this.columns--;
+  } // deleteCol(int)
+
+  /**
+   * Append rows to the bottom of the matrix, growing the array of rows just once.
+   *
+   * @param rows The rows to append.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void appendRows(Integer[][] rows, int count) throws ArraySizeException {
+    Matrix.checkRows(rows, count, this.columns);
+    int height = this.values.length;
+    int[][] newValues = Arrays.copyOf(this.values, height + count);
+    for (int i = 0; i < count; i++) {
+      int[] newRow = new int[this.columns];
+      for (int col = 0; col < this.columns; col++) {
+        newRow[col] = rows[i][col];
+      } // for col
+      newValues[height + i] = newRow;
+    } // for i
+    this.values = newValues;
+  } // appendRows(Integer[][], int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Integer val) {
+    int v = val;
+    if (startCol >= endCol) {
+      return;
+    } // if
+    for (int row = startRow; row < endRow; row++) {
+      Arrays.fill(this.values[row], startCol, endCol, v);
+    } // for
+  } // fillRegion(int, int, int, int, Integer)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol,
+      Integer val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    int v = val;
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.values[i][j] = v;
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, Integer)
+
+  /**
+   * Make a copy of the matrix. Since the elements are primitive, the copy shares nothing with the
+   * original.
+   *
+   * @return a copy of the matrix.
+   */
+  public IntMatrix clone() {
+    IntMatrix copy = new IntMatrix(0, 0, this.defaultVal);
+    copy.columns = this.columns;
+    copy.values = new int[this.values.length][];
+    for (int row = 0; row < this.values.length; row++) {
+      copy.values[row] = this.values[row].clone();
+    } // for
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    if (other instanceof IntMatrix) {
+      IntMatrix that = (IntMatrix) other;
+      return this.columns == that.columns && Arrays.deepEquals(this.values, that.values);
+    } // if
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix. Equal matrices have equal hash codes, even if one of
+   * them is not an <code>IntMatrix</code>.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    int code = 0;
+    for (int row = this.values.length - 1; row >= 0; row--) {
+      code = code * ContentHash.ROW_BASE + ContentHash.row(this.values[row]);
+    } // for
+    return ContentHash.shape(this.columns, this.values.length) + code;
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Insert an already-built row.
+   *
+   * @param row The number of the row to insert.
+   * @param newRow The row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  private void insertRawRow(int row, int[] newRow) {
+    int height = this.values.length;
+    if (row < 0 || row > height) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    int[][] newValues = new int[height + 1][];
+    System.arraycopy(this.values, 0, newValues, 0, row);
+    System.arraycopy(this.values, row, newValues, row + 1, height - row);
+    newValues[row] = newRow;
+    this.values = newValues;
+  } // insertRawRow(int, int[])
+
+  /**
+   * Build a matrix of zeros for the caller to fill in, without filling it with the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value.
+   * @return the matrix.
+   */
+  private static IntMatrix blank(int width, int height, int def) {
+    IntMatrix result = new IntMatrix(0, 0, def);
+    result.columns = width;
+    result.values = new int[height][width];
+    return result;
+  } // blank(int, int, int)
+
+  /**
+   * Build a copy of a row with one additional value.
+   *
+   * @param old The original row.
+   * @param col The position of the new value.
+   * @param val The new value.
+   * @return the widened row.
+   */
+  private static int[] widen(int[] old, int col, int val) {
+    int[] result = new int[old.length + 1];
+    System.arraycopy(old, 0, result, 0, col);
+    result[col] = val;
+    System.arraycopy(old, col, result, col + 1, old.length - col);
+    return result;
+  } // widen(int[], int, int)
+} // class IntMatrix
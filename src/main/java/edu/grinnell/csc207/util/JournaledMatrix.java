@@ -0,0 +1,1148 @@
+package edu.grinnell.csc207.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A matrix that can undo and redo the changes made to it.
+ *
+ * <p>A journaled matrix wraps another matrix and keeps a journal of edits. Each edit records just
+ * enough to reverse itself and to happen again: a <code>set</code> keeps the old and new values,
+ * a fill keeps the values it overwrote, run-length encoded, and <code>deleteRow</code> keeps the
+ * row it removed. Hence the journal grows with the size of the edits, not of the matrix, and
+ * undoing or redoing an edit takes time proportional to the edit. Runs are made of identical
+ * objects, so undo restores the very same objects that were there before.
+ *
+ * <p>The changes in an <code>update</code> form a single edit. Making a new edit forgets
+ * everything that was undone. All changes must go through the journaled matrix; changes made
+ * directly to the wrapped matrix confuse the journal.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class JournaledMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we wrap. */
+  final Matrix<T> inner;
+
+  /** The edits that may be undone, oldest first. */
+  ArrayList<Edit<T>> done;
+
+  /** The edits that may be redone, most recently undone last. */
+  ArrayList<Edit<T>> undone;
+
+  /** The edits of the update in progress, or null. */
+  private ArrayList<Edit<T>> group;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Wrap a matrix, with an empty journal.
+   *
+   * @param matrix The matrix to wrap. Later changes should go through the journaled matrix.
+   */
+  public JournaledMatrix(Matrix<T> matrix) {
+    this.inner = matrix;
+    this.done = new ArrayList<Edit<T>>();
+    this.undone = new ArrayList<Edit<T>>();
+    this.group = null;
+  } // JournaledMatrix(Matrix<T>)
+
+  // +---------+-----------------------------------------------------
+  // | Journal |
+  // +---------+
+
+  /**
+   * Determine if there is an edit to undo.
+   *
+   * @return true if there is and false otherwise.
+   */
+  public boolean canUndo() {
+    return !this.done.isEmpty();
+  } // canUndo()
+
+  /**
+   * Determine if there is an edit to redo.
+   *
+   * @return true if there is and false otherwise.
+   */
+  public boolean canRedo() {
+    return !this.undone.isEmpty();
+  } // canRedo()
+
+  /**
+   * Undo the most recent edit.
+   *
+   * @return true if there was an edit to undo and false otherwise.
+   * @throws IllegalStateException If an update is in progress.
+   */
+  public boolean undo() {
+    this.checkIdle();
+    if (this.done.isEmpty()) {
+      return false;
+    } // if
+    Edit<T> edit = this.done.remove(this.done.size() - 1);
+    edit.undo(this.inner);
+    this.undone.add(edit);
+    return true;
+  } // undo()
+
+  /**
+   * Redo the most recently undone edit.
+   *
+   * @return true if there was an edit to redo and false otherwise.
+   * @throws IllegalStateException If an update is in progress.
+   */
+  public boolean redo() {
+    this.checkIdle();
+    if (this.undone.isEmpty()) {
+      return false;
+    } // if
+    Edit<T> edit = this.undone.remove(this.undone.size() - 1);
+    edit.redo(this.inner);
+    this.done.add(edit);
+    return true;
+  } // redo()
+
+  /**
+   * Forget every edit, so that there is nothing to undo or redo.
+   *
+   * @throws IllegalStateException If an update is in progress.
+   */
+  public void clearJournal() {
+    this.checkIdle();
+    this.done.clear();
+    this.undone.clear();
+  } // clearJournal()
+
+  /**
+   * Make a batch of changes that undo and redo as one edit. If <code>edits</code> throws an
+   * exception, the changes it made are undone. Batches may nest.
+   *
+   * @param edits The changes to make, which should go through the matrix they are given.
+   */
+  public void update(Consumer<? super Matrix<T>> edits) {
+    ArrayList<Edit<T>> outer = this.group;
+    ArrayList<Edit<T>> batch = new ArrayList<Edit<T>>();
+    this.group = batch;
+    boolean finished = false;
+    try {
+      edits.accept(this);
+      finished = true;
+    } finally {
+      this.group = outer;
+      if (!finished) {
+        new Group<T>(batch).undo(this.inner);
+      } // if
+    } // try/finally
+    if (batch.size() == 1) {
+      this.record(batch.get(0));
+    } else if (!batch.isEmpty()) {
+      this.record(new Group<T>(batch));
+    } // if/else
+  } // update(Consumer<? super Matrix<T>>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.inner.get(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    T old = this.inner.get(row, col);
+    this.inner.set(row, col, val);
+    this.record(new CellEdit<T>(row, col, old, val));
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.inner.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.inner.width();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.inner.insertRow(row);
+    this.record(new RowEdit<T>(true, row, null));
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    T[] copy = vals.clone();
+    this.inner.insertRow(row, vals);
+    this.record(new RowEdit<T>(true, row, copy));
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.inner.insertCol(col);
+    this.record(new ColEdit<T>(true, col, null));
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    T[] copy = vals.clone();
+    this.inner.insertCol(col, vals);
+    this.record(new ColEdit<T>(true, col, copy));
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. The journal keeps just that row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  @SuppressWarnings("unchecked")
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.inner.height()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    T[] removed = (T[]) new Object[this.inner.width()];
+    try {
+      this.inner.getRow(row, removed);
+    } catch (ArraySizeException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    this.inner.deleteRow(row);
+    this.record(new RowEdit<T>(false, row, removed));
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. The journal keeps just that column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  @SuppressWarnings("unchecked")
+  public void deleteCol(int col) {
+    int height = this.inner.height();
+    if (col < 0 || height == 0 || col >= this.inner.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    T[] removed = (T[]) new Object[height];
+    try {
+      this.inner.getCol(col, removed);
+    } catch (ArraySizeException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    this.inner.deleteCol(col);
+    this.record(new ColEdit<T>(false, col, removed));
+  } // deleteCol(int)
+
+  /**
+   * Append rows to the bottom of the matrix.
+   *
+   * @param rows The rows to append.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public void appendRows(T[][] rows, int count) throws ArraySizeException {
+    int height = this.inner.height();
+    T[][] copies = (T[][]) new Object[count][];
+    for (int i = 0; i < count; i++) {
+      copies[i] = rows[i].clone();
+    } // for
+    this.inner.appendRows(rows, count);
+    if (count > 0) {
+      this.record(new AppendEdit<T>(height, copies));
+    } // if
+  } // appendRows(T[][], int)
+
+  /**
+   * Fill a rectangular region of the matrix. The journal keeps the overwritten values,
+   * run-length encoded, and the new value.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    Runs old = Runs.read(this.inner, startRow, startCol, endRow, endCol);
+    try {
+      this.inner.fillRegion(startRow, startCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      old.write(this.inner, startRow, startCol, endCol - startCol);
+      throw e;
+    } // try/catch
+    Runs now = new Runs();
+    now.add(val, (endRow - startRow) * (endCol - startCol));
+    this.record(new RegionEdit<T>(startRow, startCol, endCol - startCol, old, now));
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values. The journal keeps the
+   * overwritten values and the computed values, both run-length encoded. If the generator throws
+   * an exception, the region is restored.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    Runs old = Runs.read(this.inner, startRow, startCol, endRow, endCol);
+    try {
+      this.inner.fillRegionWith(startRow, startCol, endRow, endCol, gen);
+    } catch (RuntimeException e) {
+      old.write(this.inner, startRow, startCol, endCol - startCol);
+      throw e;
+    } // try/catch
+    Runs now = Runs.read(this.inner, startRow, startCol, endRow, endCol);
+    this.record(new RegionEdit<T>(startRow, startCol, endCol - startCol, old, now));
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal). The journal keeps the overwritten values,
+   * run-length encoded.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this.inner, startRow, startCol, deltaRow, deltaCol, steps);
+    LineEdit<T> edit = new LineEdit<T>(startRow, startCol, deltaRow, deltaCol, endRow, endCol,
+        val);
+    edit.old = new Runs();
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      edit.old.add(this.inner.get(i, j), 1);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+    if (edit.old.count > 0) {
+      edit.redo(this.inner);
+      this.record(edit);
+    } // if
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Draw a straight line from one cell to another, including both ends, choosing the cells with
+   * Bresenham's algorithm.
+   *
+   * @param startRow The row of one end.
+   * @param startCol The column of one end.
+   * @param endRow The row of the other end.
+   * @param endCol The column of the other end.
+   * @param val The value to store.
+   * @throws IndexOutOfBoundsException If either end is outside the matrix, in which case nothing
+   *     is drawn.
+   */
+  public void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    // The line undoes as one edit.
+    this.update((matrix) -> Matrix.super.drawLine(startRow, startCol, endRow, endCol, val));
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw a batch of straight lines, as with <code>drawLine</code>. Segment i runs from
+   * (ends[4i], ends[4i+1]) to (ends[4i+2], ends[4i+3]).
+   *
+   * @param ends The ends of the segments, four numbers per segment.
+   * @param count The number of segments to draw.
+   * @param val The value to store.
+   * @throws IllegalArgumentException If ends holds fewer than count segments.
+   * @throws IndexOutOfBoundsException If any end is outside the matrix, in which case nothing is
+   *     drawn.
+   */
+  public void drawLines(int[] ends, int count, T val) {
+    this.update((matrix) -> Matrix.super.drawLines(ends, count, val));
+  } // drawLines(int[], int, T)
+
+  /**
+   * Copy a row into an array.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    this.inner.getRow(row, dest);
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.inner.width()) {
+      throw new ArraySizeException();
+    } // if
+    Runs old = Runs.read(this.inner, row, 0, row + 1, vals.length);
+    this.inner.setRow(row, vals);
+    this.record(new RegionEdit<T>(row, 0, vals.length, old, Runs.of(vals)));
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column into an array.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    this.inner.getCol(col, dest);
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void setCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.inner.height()) {
+      throw new ArraySizeException();
+    } // if
+    Runs old = Runs.read(this.inner, 0, col, vals.length, col + 1);
+    this.inner.setCol(col, vals);
+    this.record(new RegionEdit<T>(0, col, 1, old, Runs.of(vals)));
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this matrix. The journal keeps the overwritten
+   * values and the copied values, both run-length encoded.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    Matrix.checkRegion(src, srcRow, srcCol, height, width);
+    Matrix.checkRegion(this, dstRow, dstCol, height, width);
+    if (height == 0 || width == 0) {
+      return;
+    } // if
+    Runs old = Runs.read(this.inner, dstRow, dstCol, dstRow + height, dstCol + width);
+    this.inner.copyRegion((src == this) ? this.inner : src, srcRow, srcCol, dstRow, dstCol,
+        height, width);
+    Runs now = Runs.read(this.inner, dstRow, dstCol, dstRow + height, dstCol + width);
+    this.record(new RegionEdit<T>(dstRow, dstCol, width, old, now));
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Perform an action on every cell, in row-major order.
+   *
+   * @param action What to do with each cell.
+   */
+  public void forEachCell(CellConsumer<? super T> action) {
+    this.inner.forEachCell(action);
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells, in row-major order.
+   *
+   * @return the stream.
+   */
+  public Stream<T> cells() {
+    return this.inner.cells();
+  } // cells()
+
+  /**
+   * Get a stream of the rows, from top to bottom.
+   *
+   * @return the stream.
+   */
+  public Stream<List<T>> rows() {
+    return this.inner.rows();
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    return this.inner.reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * Make a copy of the matrix, with an empty journal.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public JournaledMatrix<T> clone() {
+    return new JournaledMatrix<T>((Matrix<T>) this.inner.clone());
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this.inner, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, which is that of the matrix we wrap.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return this.inner.hashCode();
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Add an edit to the journal, or to the update in progress.
+   *
+   * @param edit The edit, which has already been made.
+   */
+  private void record(Edit<T> edit) {
+    if (this.group != null) {
+      this.group.add(edit);
+    } else {
+      this.done.add(edit);
+      this.undone.clear();
+    } // if/else
+  } // record(Edit<T>)
+
+  /**
+   * Make sure that no update is in progress.
+   *
+   * @throws IllegalStateException If one is.
+   */
+  private void checkIdle() {
+    if (this.group != null) {
+      throw new IllegalStateException("Cannot undo or redo during an update");
+    } // if
+  } // checkIdle()
+
+  // +-------+-------------------------------------------------------
+  // | Edits |
+  // +-------+
+
+  /**
+   * One entry in the journal.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  interface Edit<T> {
+    /**
+     * Reverse the edit.
+     *
+     * @param matrix The matrix, as it was just after the edit.
+     */
+    void undo(Matrix<T> matrix);
+
+    /**
+     * Make the edit again.
+     *
+     * @param matrix The matrix, as it was just before the edit.
+     */
+    void redo(Matrix<T> matrix);
+  } // interface Edit
+
+  /**
+   * Several edits that undo and redo together.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class Group<T> implements Edit<T> {
+    /** The edits, in the order they were made. */
+    final ArrayList<Edit<T>> edits;
+
+    /**
+     * Group some edits.
+     *
+     * @param members The edits, in the order they were made.
+     */
+    Group(ArrayList<Edit<T>> members) {
+      this.edits = members;
+    } // Group(ArrayList<Edit<T>>)
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      for (int i = this.edits.size() - 1; i >= 0; i--) {
+        this.edits.get(i).undo(matrix);
+      } // for
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      for (Edit<T> edit : this.edits) {
+        edit.redo(matrix);
+      } // for
+    } // redo(Matrix<T>)
+  } // class Group
+
+  /**
+   * A change to one cell.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class CellEdit<T> implements Edit<T> {
+    /** The row of the cell. */
+    final int row;
+
+    /** The column of the cell. */
+    final int col;
+
+    /** The value before. */
+    final T old;
+
+    /** The value after. */
+    final T val;
+
+    /**
+     * Record a change to one cell.
+     *
+     * @param r The row of the cell.
+     * @param c The column of the cell.
+     * @param before The value before.
+     * @param after The value after.
+     */
+    CellEdit(int r, int c, T before, T after) {
+      this.row = r;
+      this.col = c;
+      this.old = before;
+      this.val = after;
+    } // CellEdit(int, int, T, T)
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      matrix.set(this.row, this.col, this.old);
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      matrix.set(this.row, this.col, this.val);
+    } // redo(Matrix<T>)
+  } // class CellEdit
+
+  /**
+   * A change to a rectangle of cells.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class RegionEdit<T> implements Edit<T> {
+    /** The top edge of the rectangle. */
+    final int top;
+
+    /** The left edge of the rectangle. */
+    final int left;
+
+    /** The width of the rectangle. */
+    final int width;
+
+    /** The values before, in row-major order. */
+    final Runs old;
+
+    /** The values after, in row-major order. */
+    final Runs now;
+
+    /**
+     * Record a change to a rectangle of cells.
+     *
+     * @param r The top edge of the rectangle.
+     * @param c The left edge of the rectangle.
+     * @param w The width of the rectangle.
+     * @param before The values before, in row-major order.
+     * @param after The values after, in row-major order.
+     */
+    RegionEdit(int r, int c, int w, Runs before, Runs after) {
+      this.top = r;
+      this.left = c;
+      this.width = w;
+      this.old = before;
+      this.now = after;
+    } // RegionEdit(int, int, int, Runs, Runs)
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      this.old.write(matrix, this.top, this.left, this.width);
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      this.now.write(matrix, this.top, this.left, this.width);
+    } // redo(Matrix<T>)
+  } // class RegionEdit
+
+  /**
+   * A filled line.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class LineEdit<T> implements Edit<T> {
+    /** The first row. */
+    final int startRow;
+
+    /** The first column. */
+    final int startCol;
+
+    /** The step between rows. */
+    final int deltaRow;
+
+    /** The step between columns. */
+    final int deltaCol;
+
+    /** The row to stop with (exclusive). */
+    final int endRow;
+
+    /** The column to stop with (exclusive). */
+    final int endCol;
+
+    /** The value stored. */
+    final T val;
+
+    /** The values before, along the line. */
+    Runs old;
+
+    /**
+     * Record a filled line.
+     *
+     * @param r0 The first row.
+     * @param c0 The first column.
+     * @param dr The step between rows.
+     * @param dc The step between columns.
+     * @param r1 The row to stop with (exclusive).
+     * @param c1 The column to stop with (exclusive).
+     * @param value The value stored.
+     */
+    LineEdit(int r0, int c0, int dr, int dc, int r1, int c1, T value) {
+      this.startRow = r0;
+      this.startCol = c0;
+      this.deltaRow = dr;
+      this.deltaCol = dc;
+      this.endRow = r1;
+      this.endCol = c1;
+      this.val = value;
+    } // LineEdit(int, int, int, int, int, int, T)
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void undo(Matrix<T> matrix) {
+      int i = this.startRow;
+      int j = this.startCol;
+      for (int run = 0; run < this.old.count; run++) {
+        T value = (T) this.old.values[run];
+        for (int n = 0; n < this.old.lengths[run]; n++) {
+          matrix.set(i, j, value);
+          i += this.deltaRow;
+          j += this.deltaCol;
+        } // for
+      } // for
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      matrix.fillLine(this.startRow, this.startCol, this.deltaRow, this.deltaCol, this.endRow,
+          this.endCol, this.val);
+    } // redo(Matrix<T>)
+  } // class LineEdit
+
+  /**
+   * An inserted or deleted row.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class RowEdit<T> implements Edit<T> {
+    /** Whether the row was inserted, rather than deleted. */
+    final boolean inserted;
+
+    /** The number of the row. */
+    final int row;
+
+    /** The values in the row, or null for a row of default values. */
+    final T[] vals;
+
+    /**
+     * Record an inserted or deleted row.
+     *
+     * @param insert Whether the row was inserted, rather than deleted.
+     * @param r The number of the row.
+     * @param values The values in the row, or null for a row of default values.
+     */
+    RowEdit(boolean insert, int r, T[] values) {
+      this.inserted = insert;
+      this.row = r;
+      this.vals = values;
+    } // RowEdit(boolean, int, T[])
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      if (this.inserted) {
+        matrix.deleteRow(this.row);
+      } else {
+        this.insert(matrix);
+      } // if/else
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      if (this.inserted) {
+        this.insert(matrix);
+      } else {
+        matrix.deleteRow(this.row);
+      } // if/else
+    } // redo(Matrix<T>)
+
+    /**
+     * Put the row in.
+     *
+     * @param matrix The matrix.
+     */
+    void insert(Matrix<T> matrix) {
+      if (this.vals == null) {
+        matrix.insertRow(this.row);
+      } else {
+        try {
+          // Matrices may keep the array, so they get their own.
+          matrix.insertRow(this.row, this.vals.clone());
+        } catch (ArraySizeException e) {
+          throw new AssertionError(e);
+        } // try/catch
+      } // if/else
+    } // insert(Matrix<T>)
+  } // class RowEdit
+
+  /**
+   * An inserted or deleted column.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class ColEdit<T> implements Edit<T> {
+    /** Whether the column was inserted, rather than deleted. */
+    final boolean inserted;
+
+    /** The number of the column. */
+    final int col;
+
+    /** The values in the column, or null for a column of default values. */
+    final T[] vals;
+
+    /**
+     * Record an inserted or deleted column.
+     *
+     * @param insert Whether the column was inserted, rather than deleted.
+     * @param c The number of the column.
+     * @param values The values in the column, or null for a column of default values.
+     */
+    ColEdit(boolean insert, int c, T[] values) {
+      this.inserted = insert;
+      this.col = c;
+      this.vals = values;
+    } // ColEdit(boolean, int, T[])
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      if (this.inserted) {
+        matrix.deleteCol(this.col);
+      } else {
+        this.insert(matrix);
+      } // if/else
+    } // undo(Matrix<T>)
+
+    @Override
+    public void redo(Matrix<T> matrix) {
+      if (this.inserted) {
+        this.insert(matrix);
+      } else {
+        matrix.deleteCol(this.col);
+      } // if/else
+    } // redo(Matrix<T>)
+
+    /**
+     * Put the column in.
+     *
+     * @param matrix The matrix.
+     */
+    void insert(Matrix<T> matrix) {
+      if (this.vals == null) {
+        matrix.insertCol(this.col);
+      } else {
+        try {
+          matrix.insertCol(this.col, this.vals.clone());
+        } catch (ArraySizeException e) {
+          throw new AssertionError(e);
+        } // try/catch
+      } // if/else
+    } // insert(Matrix<T>)
+  } // class ColEdit
+
+  /**
+   * Rows appended to the bottom.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  static class AppendEdit<T> implements Edit<T> {
+    /** The height before the rows were appended. */
+    final int height;
+
+    /** The rows. */
+    final T[][] rows;
+
+    /**
+     * Record appended rows.
+     *
+     * @param h The height before the rows were appended.
+     * @param appended The rows.
+     */
+    AppendEdit(int h, T[][] appended) {
+      this.height = h;
+      this.rows = appended;
+    } // AppendEdit(int, T[][])
+
+    @Override
+    public void undo(Matrix<T> matrix) {
+      for (int i = this.rows.length - 1; i >= 0; i--) {
+        matrix.deleteRow(this.height + i);
+      } // for
+    } // undo(Matrix<T>)
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void redo(Matrix<T> matrix) {
+      T[][] copies = (T[][]) new Object[this.rows.length][];
+      for (int i = 0; i < copies.length; i++) {
+        copies[i] = this.rows[i].clone();
+      } // for
+      try {
+        matrix.appendRows(copies, copies.length);
+      } catch (ArraySizeException e) {
+        throw new AssertionError(e);
+      } // try/catch
+    } // redo(Matrix<T>)
+  } // class AppendEdit
+
+  /**
+   * A run-length encoded sequence of values. Neighbouring values share a run if they are the
+   * same object, or if they are equal integers or doubles. <code>IntMatrix</code> and
+   * <code>DoubleMatrix</code> box a new object on every <code>get</code>, and no one can tell
+   * one box from another, so only those are compared by value; other objects keep their
+   * identity through an undo.
+   */
+  static class Runs {
+    /** The value of each run. */
+    Object[] values;
+
+    /** The length of each run. */
+    int[] lengths;
+
+    /** The number of runs. */
+    int count;
+
+    /** Create an empty sequence. */
+    Runs() {
+      this.values = new Object[4];
+      this.lengths = new int[4];
+      this.count = 0;
+    } // Runs()
+
+    /**
+     * Encode the values in a rectangle of a matrix, in row-major order.
+     *
+     * @param matrix The matrix.
+     * @param top The top edge (inclusive).
+     * @param left The left edge (inclusive).
+     * @param bottom The bottom edge (exclusive).
+     * @param right The right edge (exclusive).
+     * @return the encoded values.
+     * @throws IndexOutOfBoundsException If the rectangle does not fit in the matrix.
+     */
+    static Runs read(Matrix<?> matrix, int top, int left, int bottom, int right) {
+      Runs result = new Runs();
+      for (int row = top; row < bottom; row++) {
+        for (int col = left; col < right; col++) {
+          result.add(matrix.get(row, col), 1);
+        } // for col
+      } // for row
+      return result;
+    } // read(Matrix<?>, int, int, int, int)
+
+    /**
+     * Encode the values in an array.
+     *
+     * @param vals The values.
+     * @return the encoded values.
+     */
+    static Runs of(Object[] vals) {
+      Runs result = new Runs();
+      for (Object val : vals) {
+        result.add(val, 1);
+      } // for
+      return result;
+    } // of(Object[])
+
+    /**
+     * Add values to the end.
+     *
+     * @param val The value.
+     * @param length How many times it repeats.
+     */
+    void add(Object val, int length) {
+      if (this.count > 0 && same(this.values[this.count - 1], val)) {
+        this.lengths[this.count - 1] += length;
+        return;
+      } // if
+      if (this.count == this.values.length) {
+        this.values = Arrays.copyOf(this.values, 2 * this.count);
+        this.lengths = Arrays.copyOf(this.lengths, 2 * this.count);
+      } // if
+      this.values[this.count] = val;
+      this.lengths[this.count] = length;
+      this.count++;
+    } // add(Object, int)
+
+    /**
+     * Determine if two neighbouring values can share a run.
+     *
+     * @param prev The earlier value.
+     * @param val The later value.
+     * @return true if they are the same object or equal boxed numbers.
+     */
+    static boolean same(Object prev, Object val) {
+      return (prev == val)
+          || (((val instanceof Integer) || (val instanceof Double)) && val.equals(prev));
+    } // same(Object, Object)
+
+    /**
+     * Write the values into a rectangle of a matrix, in row-major order, filling a row segment
+     * at a time.
+     *
+     * @param <T> The type of values stored in the matrix.
+     * @param matrix The matrix.
+     * @param top The top edge of the rectangle.
+     * @param left The left edge of the rectangle.
+     * @param width The width of the rectangle.
+     */
+    @SuppressWarnings("unchecked")
+    <T> void write(Matrix<T> matrix, int top, int left, int width) {
+      int pos = 0;
+      for (int run = 0; run < this.count; run++) {
+        T val = (T) this.values[run];
+        int remaining = this.lengths[run];
+        while (remaining > 0) {
+          int row = top + pos / width;
+          int col = left + pos % width;
+          int length = Math.min(remaining, width - pos % width);
+          if (length == 1) {
+            matrix.set(row, col, val);
+          } else {
+            matrix.fillRegion(row, col, row + 1, col + length, val);
+          } // if/else
+          pos += length;
+          remaining -= length;
+        } // while
+      } // for
+    } // write(Matrix<T>, int, int, int)
+  } // class Runs
+} // class JournaledMatrix
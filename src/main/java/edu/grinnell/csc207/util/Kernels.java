@@ -0,0 +1,184 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Element-wise loops over rows of numbers, used by the arithmetic in <code>IntMatrix</code> and
+ * <code>DoubleMatrix</code>. The binary operations read their operands and write dst, which may
+ * be one of the operands; each works on the first <code>dst.length</code> values.
+ *
+ * <p>When the tree is built with the <code>vector</code> profile and run with the
+ * <code>jdk.incubator.vector</code> module, <code>INSTANCE</code> is a
+ * <code>VectorKernels</code>, which uses SIMD instructions. Otherwise, or if the system property
+ * <code>edu.grinnell.csc207.util.kernels</code> is <code>scalar</code>, it is a
+ * <code>ScalarKernels</code>. The two give identical results, except that <code>sum</code> of
+ * doubles may add in a different order and so differ in the last few bits.
+ *
+ * @author Your Name Here
+ */
+interface Kernels {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The system property that can force the scalar kernels. */
+  String PROPERTY = "edu.grinnell.csc207.util.kernels";
+
+  /** The kernels that the matrices use. */
+  Kernels INSTANCE = Kernels.choose();
+
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  /**
+   * Add corresponding values.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the sums.
+   */
+  void add(double[] a, double[] b, double[] dst);
+
+  /**
+   * Multiply corresponding values.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the products.
+   */
+  void multiply(double[] a, double[] b, double[] dst);
+
+  /**
+   * Multiply corresponding values and add a third, with a single rounding, as
+   * <code>Math.fma</code> does.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param c The values to add.
+   * @param dst Where to put the results.
+   */
+  void multiplyAdd(double[] a, double[] b, double[] c, double[] dst);
+
+  /**
+   * Multiply every value by a constant.
+   *
+   * @param a The values.
+   * @param factor The constant.
+   * @param dst Where to put the products.
+   */
+  void scale(double[] a, double factor, double[] dst);
+
+  /**
+   * Take the smaller of corresponding values, as <code>Math.min</code> does.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the minima.
+   */
+  void min(double[] a, double[] b, double[] dst);
+
+  /**
+   * Take the larger of corresponding values, as <code>Math.max</code> does.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the maxima.
+   */
+  void max(double[] a, double[] b, double[] dst);
+
+  /**
+   * Replace every value greater than a limit.
+   *
+   * @param a The values, which we change.
+   * @param limit The limit.
+   * @param val The replacement.
+   */
+  void threshold(double[] a, double limit, double val);
+
+  /**
+   * Add up the values.
+   *
+   * @param a The values.
+   * @return their sum.
+   */
+  double sum(double[] a);
+
+  // +----------+----------------------------------------------------
+  // | Integers |
+  // +----------+
+
+  /**
+   * Add corresponding values, wrapping on overflow.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the sums.
+   */
+  void add(int[] a, int[] b, int[] dst);
+
+  /**
+   * Multiply corresponding values, wrapping on overflow.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the products.
+   */
+  void multiply(int[] a, int[] b, int[] dst);
+
+  /**
+   * Take the smaller of corresponding values.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the minima.
+   */
+  void min(int[] a, int[] b, int[] dst);
+
+  /**
+   * Take the larger of corresponding values.
+   *
+   * @param a The left operands.
+   * @param b The right operands.
+   * @param dst Where to put the maxima.
+   */
+  void max(int[] a, int[] b, int[] dst);
+
+  /**
+   * Replace every value greater than a limit.
+   *
+   * @param a The values, which we change.
+   * @param limit The limit.
+   * @param val The replacement.
+   */
+  void threshold(int[] a, int limit, int val);
+
+  /**
+   * Add up the values, without overflow.
+   *
+   * @param a The values.
+   * @return their sum.
+   */
+  long sum(int[] a);
+
+  // +----------------+----------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Pick the fastest kernels available.
+   *
+   * @return the kernels.
+   */
+  static Kernels choose() {
+    if ("scalar".equals(System.getProperty(PROPERTY))) {
+      return new ScalarKernels();
+    } // if
+    try {
+      return (Kernels) Class.forName("edu.grinnell.csc207.util.VectorKernels")
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // Built without the vector profile, run without the incubator module, or on hardware
+      // without useful vectors.
+      return new ScalarKernels();
+    } // try/catch
+  } // choose()
+} // interface Kernels
@@ -0,0 +1,278 @@
+package edu.grinnell.csc207.util;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An unevaluated, read-only matrix whose cells are computed on demand from other matrices, as
+ * built by <code>map</code> and <code>zipWith</code>. Reads see the current contents of the
+ * sources. Mapping or zipping a lazy matrix composes the computations rather than stacking
+ * views, so a chain of steps still reads each source cell once per cell and allocates nothing
+ * until <code>materialize</code> sweeps the whole pipeline into a target.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values computed.
+ */
+class LazyMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix whose shape we share. */
+  final Matrix<?> shape;
+
+  /** Computes each cell. */
+  final CellGenerator<? extends T> cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a lazy matrix.
+   *
+   * @param source The matrix whose shape we share.
+   * @param compute Computes each cell from its position.
+   */
+  LazyMatrix(Matrix<?> source, CellGenerator<? extends T> compute) {
+    this.shape = source;
+    this.cells = compute;
+  } // LazyMatrix(Matrix<?>, CellGenerator<? extends T>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Compute the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.cells.apply(row, col);
+  } // get(int, int)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.shape.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.shape.width();
+  } // width()
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void set(int row, int col, T val) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // set(int, int, T)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param row The number of the row to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // insertRow(int)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // insertRow(int, T[])
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param col The number of the column to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // insertCol(int)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // insertCol(int, T[])
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param row The number of the row to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // deleteRow(int)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param col The number of the column to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // deleteCol(int)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Lazy matrices are read-only.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Lazy matrices are read-only");
+  } // fillLine(int, int, int, int, int, int, T)
+
+  // +------------+--------------------------------------------------
+  // | Pipelining |
+  // +------------+
+
+  /**
+   * Apply a function to every cell, fused with the computation of this matrix.
+   *
+   * @param <R> The type of the results.
+   * @param fn The function.
+   * @return a lazy matrix of the results.
+   */
+  public <R> Matrix<R> map(Function<? super T, ? extends R> fn) {
+    CellGenerator<? extends T> inner = this.cells;
+    return new LazyMatrix<R>(this.shape, (row, col) -> fn.apply(inner.apply(row, col)));
+  } // map(Function<? super T, ? extends R>)
+
+  /**
+   * Combine corresponding cells of this matrix and another, fused with the computations of
+   * both if the other is also lazy.
+   *
+   * @param <U> The type of values in the other matrix.
+   * @param <R> The type of the results.
+   * @param other The other matrix.
+   * @param fn Combines a cell of this matrix with the corresponding cell of the other.
+   * @return a lazy matrix of the results.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  @SuppressWarnings("unchecked")
+  public <U, R> Matrix<R> zipWith(
+      Matrix<? extends U> other, BiFunction<? super T, ? super U, ? extends R> fn) {
+    Matrix.checkShape(this, other);
+    CellGenerator<? extends T> inner = this.cells;
+    CellGenerator<? extends U> outer = (other instanceof LazyMatrix)
+        ? ((LazyMatrix<? extends U>) other).cells
+        : other::get;
+    return new LazyMatrix<R>(this.shape,
+        (row, col) -> fn.apply(inner.apply(row, col), outer.apply(row, col)));
+  } // zipWith(Matrix<? extends U>, BiFunction<? super T, ? super U, ? extends R>)
+
+  /**
+   * Evaluate every cell into a target matrix, in one sweep. A parallel sweep hands the
+   * computation to the target's generated fill, which may call it from several threads.
+   *
+   * @param <M> The type of the target.
+   * @param target The matrix to fill, with the same shape as this one.
+   * @param parallel Whether the cells may be computed in parallel.
+   * @return the target.
+   * @throws IllegalArgumentException If the target has a different shape.
+   */
+  public <M extends Matrix<? super T>> M materialize(M target, boolean parallel) {
+    Matrix.checkShape(this, target);
+    int height = this.height();
+    int width = this.width();
+    if (parallel) {
+      target.fillRegionWith(0, 0, height, width, this.cells);
+    } else {
+      for (int row = 0; row < height; row++) {
+        for (int col = 0; col < width; col++) {
+          target.set(row, col, this.cells.apply(row, col));
+        } // for col
+      } // for row
+    } // if/else
+    return target;
+  } // materialize(M, boolean)
+
+  // +----------------+----------------------------------------------
+  // | Object methods |
+  // +----------------+
+
+  /**
+   * Evaluate this matrix into a new matrix.
+   *
+   * @return the values, in a <code>MatrixV0</code>.
+   */
+  public MatrixV0<T> clone() {
+    return this.materialize(new MatrixV0<T>(this.width(), this.height()), false);
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+} // class LazyMatrix
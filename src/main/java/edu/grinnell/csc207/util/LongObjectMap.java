@@ -0,0 +1,277 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from non-negative <code>long</code> keys to objects. Keys are
+ * stored unboxed and probed linearly; removal shifts later entries back rather than leaving
+ * tombstones, so lookups never slow down as entries come and go.
+ *
+ * @author Your Name Here
+ * @param <V> The type of values stored in the map.
+ */
+class LongObjectMap<V> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The key that marks an empty slot. */
+  static final long EMPTY = -1L;
+
+  /** The smallest table we build. */
+  static final int MIN_CAPACITY = 16;
+
+  /** A multiplier for spreading keys across the table (the golden ratio, in fixed point). */
+  static final long SPREAD = 0x9E3779B97F4A7C15L;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The keys, with EMPTY in unused slots. */
+  long[] keys;
+
+  /** The values, parallel to keys. */
+  Object[] vals;
+
+  /** The number of entries. */
+  int size;
+
+  /** The number of bits to shift a spread key to get a slot. */
+  int shift;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Create an empty map. */
+  LongObjectMap() {
+    this.allocate(MIN_CAPACITY);
+  } // LongObjectMap()
+
+  /**
+   * Create a copy of another map.
+   *
+   * @param other The map to copy.
+   */
+  LongObjectMap(LongObjectMap<V> other) {
+    this.keys = other.keys.clone();
+    this.vals = other.vals.clone();
+    this.size = other.size;
+    this.shift = other.shift;
+  } // LongObjectMap(LongObjectMap<V>)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the number of entries.
+   *
+   * @return the number of entries.
+   */
+  int size() {
+    return this.size;
+  } // size()
+
+  /**
+   * Get the number of slots in the table. Slots may be visited with <code>keyAt</code> and
+   * <code>valueAt</code>.
+   *
+   * @return the number of slots.
+   */
+  int capacity() {
+    return this.keys.length;
+  } // capacity()
+
+  /**
+   * Get the key in a slot.
+   *
+   * @param slot The slot.
+   * @return the key, or EMPTY if the slot is unused.
+   */
+  long keyAt(int slot) {
+    return this.keys[slot];
+  } // keyAt(int)
+
+  /**
+   * Get the value in a slot.
+   *
+   * @param slot The slot.
+   * @return the value.
+   */
+  @SuppressWarnings("unchecked")
+  V valueAt(int slot) {
+    return (V) this.vals[slot];
+  } // valueAt(int)
+
+  /**
+   * Determine if a key is in the map.
+   *
+   * @param key The key.
+   * @return true if the key has a value and false otherwise.
+   */
+  boolean containsKey(long key) {
+    return this.keys[this.find(key)] == key;
+  } // containsKey(long)
+
+  /**
+   * Look up a key.
+   *
+   * @param key The key.
+   * @param otherwise The value to return if the key is not in the map.
+   * @return the value associated with key, or otherwise if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  V getOrDefault(long key, V otherwise) {
+    int slot = this.find(key);
+    return (this.keys[slot] == key) ? (V) this.vals[slot] : otherwise;
+  } // getOrDefault(long, V)
+
+  /**
+   * Associate a value with a key.
+   *
+   * @param key The key; must not be negative.
+   * @param val The value.
+   */
+  void put(long key, V val) {
+    int slot = this.find(key);
+    if (this.keys[slot] == key) {
+      this.vals[slot] = val;
+      return;
+    } // if
+    this.keys[slot] = key;
+    this.vals[slot] = val;
+    if (++this.size * 4 > this.keys.length * 3) {
+      this.rehash(this.keys.length * 2);
+    } // if
+  } // put(long, V)
+
+  /**
+   * Remove a key, if it is present.
+   *
+   * @param key The key.
+   * @return true if the key was present and false otherwise.
+   */
+  boolean remove(long key) {
+    int slot = this.find(key);
+    if (this.keys[slot] != key) {
+      return false;
+    } // if
+    this.removeSlot(slot);
+    return true;
+  } // remove(long)
+
+  /**
+   * Remove every key whose upper or lower half matches a given id.
+   *
+   * @param id The id to look for.
+   * @param upper True to match the upper 32 bits of each key and false to match the lower 32.
+   */
+  void removeHalf(int id, boolean upper) {
+    int slot = 0;
+    while (slot < this.keys.length) {
+      long key = this.keys[slot];
+      int half = upper ? (int) (key >>> 32) : (int) key;
+      if (key != EMPTY && half == id) {
+        // Something else may shift into this slot, so look at it again.
+        this.removeSlot(slot);
+      } else {
+        slot++;
+      } // if/else
+    } // while
+  } // removeHalf(int, boolean)
+
+  /** Remove every entry. */
+  void clear() {
+    Arrays.fill(this.keys, EMPTY);
+    Arrays.fill(this.vals, null);
+    this.size = 0;
+  } // clear()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Set up an empty table.
+   *
+   * @param capacity The number of slots; must be a power of two.
+   */
+  private void allocate(int capacity) {
+    this.keys = new long[capacity];
+    Arrays.fill(this.keys, EMPTY);
+    this.vals = new Object[capacity];
+    this.size = 0;
+    this.shift = Long.numberOfLeadingZeros(capacity - 1);
+  } // allocate(int)
+
+  /**
+   * Find the home slot for a key.
+   *
+   * @param key The key.
+   * @return the slot at which probing starts.
+   */
+  private int home(long key) {
+    return (int) ((key * SPREAD) >>> this.shift);
+  } // home(long)
+
+  /**
+   * Find the slot that holds a key or, if the key is absent, the empty slot where it belongs.
+   *
+   * @param key The key.
+   * @return the slot.
+   */
+  private int find(long key) {
+    int mask = this.keys.length - 1;
+    int slot = this.home(key);
+    while (this.keys[slot] != key && this.keys[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    } // while
+    return slot;
+  } // find(long)
+
+  /**
+   * Empty a slot and shift back any entries that probed past it.
+   *
+   * @param slot The slot to empty.
+   */
+  private void removeSlot(int slot) {
+    int mask = this.keys.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (this.keys[next] != EMPTY) {
+      int home = this.home(this.keys[next]);
+      // Move the entry if its home is not cyclically in (hole, next].
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        this.keys[hole] = this.keys[next];
+        this.vals[hole] = this.vals[next];
+        hole = next;
+      } // if
+      next = (next + 1) & mask;
+    } // while
+    this.keys[hole] = EMPTY;
+    this.vals[hole] = null;
+    this.size--;
+  } // removeSlot(int)
+
+  /**
+   * Move every entry into a table of a different size.
+   *
+   * @param capacity The new number of slots; must be a power of two.
+   */
+  private void rehash(int capacity) {
+    long[] oldKeys = this.keys;
+    Object[] oldVals = this.vals;
+    int count = this.size;
+    this.allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = this.find(oldKeys[i]);
+        this.keys[slot] = oldKeys[i];
+        this.vals[slot] = oldVals[i];
+      } // if
+    } // for
+    this.size = count;
+  } // rehash(int)
+} // class LongObjectMap
@@ -0,0 +1,599 @@
+package edu.grinnell.csc207.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Two-dimensional matrices of real numbers whose cells live in a memory-mapped file rather than
+ * on the heap. The operating system pages the file in and out as cells are used, so a matrix can
+ * be far larger than the heap, or even than physical memory.
+ *
+ * <p>The file is divided into slots of <code>stride</code> cells, one per physical row. Two
+ * <code>IndexMap</code>s give the physical row and column of each logical row and column, so
+ * inserting or deleting a row or column shifts an array of ids and never moves bytes in the file.
+ * The only exception is inserting a column when every slot is full, which widens the slots and
+ * so rewrites the file. Slots grow by a quarter at a time, so that is rare.
+ *
+ * <p>A single mapping can cover at most 2 GB, so the file is mapped in chunks. Chunks are a power
+ * of two in size, so no cell straddles two chunks.
+ *
+ * <p>The file is scratch storage for the matrix, not a saved copy of it; the mapping from logical
+ * to physical rows lives only in memory. Call <code>close</code> when done with the matrix.
+ *
+ * @author Your Name Here
+ */
+public class MappedDoubleMatrix implements Matrix<Double>, AutoCloseable {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** log2 of the default chunk size. */
+  static final int CHUNK_SHIFT = 30;
+
+  /** The smallest number of slots or columns we add when we run out. */
+  static final int MIN_GROWTH = 16;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The file. */
+  FileChannel channel;
+
+  /** log2 of the number of bytes in each chunk. */
+  final int chunkShift;
+
+  /** The mapped chunks of the file. */
+  MappedByteBuffer[] chunks;
+
+  /** The physical ids of the rows. */
+  IndexMap rowIds;
+
+  /** The physical ids of the columns. */
+  IndexMap colIds;
+
+  /** The number of cells in each slot. */
+  int stride;
+
+  /** The number of slots in the file. */
+  int slots;
+
+  /** Default value. */
+  final double defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default,
+   * stored in a file. Anything already in the file is lost.
+   *
+   * @param file The file.
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws IOException If the file cannot be created.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public MappedDoubleMatrix(Path file, int width, int height, double def) throws IOException {
+    this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+        width, height, def, CHUNK_SHIFT);
+  } // MappedDoubleMatrix(Path, int, int, double)
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default,
+   * stored in a temporary file that is deleted when the matrix is closed.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws IOException If the file cannot be created.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public MappedDoubleMatrix(int width, int height, double def) throws IOException {
+    this(width, height, def, CHUNK_SHIFT);
+  } // MappedDoubleMatrix(int, int, double)
+
+  /**
+   * Create a new matrix in a temporary file, with chunks of a given size. Small chunks let the
+   * tests cross chunk boundaries without huge files.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @param shift log2 of the chunk size, at least 3.
+   * @throws IOException If the file cannot be created.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  MappedDoubleMatrix(int width, int height, double def, int shift) throws IOException {
+    this(temporary(), width, height, def, shift);
+  } // MappedDoubleMatrix(int, int, double, int)
+
+  /**
+   * Create a new matrix in an open, empty file.
+   *
+   * @param file The file.
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @param shift log2 of the chunk size, at least 3.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  private MappedDoubleMatrix(FileChannel file, int width, int height, double def, int shift) {
+    if (width < 0 || height < 0) {
+      throw new NegativeArraySizeException();
+    } // if
+    this.channel = file;
+    this.chunkShift = shift;
+    this.chunks = new MappedByteBuffer[0];
+    this.rowIds = new IndexMap(height);
+    this.colIds = new IndexMap(width);
+    this.stride = width;
+    this.slots = height;
+    this.defaultVal = def;
+    this.map((long) height * width * Double.BYTES);
+    if (def != 0.0) {
+      this.fillRegion(0, 0, height, width, def);
+    } // if
+  } // MappedDoubleMatrix(FileChannel, int, int, double, int)
+
+  // +-------------------+-------------------------------------------
+  // | Unboxed accessors |
+  // +-------------------+
+
+  /**
+   * Get the real number at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public double getDouble(int row, int col) {
+    return this.read(this.rowIds.get(row), this.colIds.get(col));
+  } // getDouble(int, int)
+
+  /**
+   * Set the real number at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void setDouble(int row, int col, double val) {
+    this.write(this.rowIds.get(row), this.colIds.get(col), val);
+  } // setDouble(int, int, double)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public Double get(int row, int col) {
+    return this.getDouble(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws NullPointerException If val is null.
+   */
+  public void set(int row, int col, Double val) {
+    this.setDouble(row, col, val);
+  } // set(int, int, Double)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rowIds.size();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.colIds.size();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    int id = this.newRow(row);
+    for (int col = 0; col < this.colIds.size; col++) {
+      this.write(id, this.colIds.ids[col], this.defaultVal);
+    } // for
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertRow(int row, Double[] vals) throws ArraySizeException {
+    if (vals.length != this.colIds.size) {
+      throw new ArraySizeException();
+    } // if
+    if (row < 0 || row > this.rowIds.size) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    double[] unboxed = new double[vals.length];
+    for (int col = 0; col < vals.length; col++) {
+      unboxed[col] = vals[col];
+    } // for
+    int id = this.newRow(row);
+    for (int col = 0; col < unboxed.length; col++) {
+      this.write(id, this.colIds.ids[col], unboxed[col]);
+    } // for
+  } // insertRow(int, Double[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    int id = this.newCol(col);
+    for (int row = 0; row < this.rowIds.size; row++) {
+      this.write(this.rowIds.ids[row], id, this.defaultVal);
+    } // for
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  public void insertCol(int col, Double[] vals) throws ArraySizeException {
+    if (vals.length != this.rowIds.size) {
+      throw new ArraySizeException();
+    } // if
+    if (col < 0 || col > this.colIds.size) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    double[] unboxed = new double[vals.length];
+    for (int row = 0; row < vals.length; row++) {
+      unboxed[row] = vals[row];
+    } // for
+    int id = this.newCol(col);
+    for (int row = 0; row < unboxed.length; row++) {
+      this.write(this.rowIds.ids[row], id, unboxed[row]);
+    } // for
+  } // insertCol(int, Double[])
+
+  /**
+   * Delete a row. Its slot is reused by the next inserted row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    this.rowIds.release(this.rowIds.remove(row));
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. Its place in each slot is reused by the next inserted column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    this.colIds.release(this.colIds.remove(col));
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Double val) {
+    double v = val;
+    if (startCol >= endCol || startRow >= endRow) {
+      return;
+    } // if
+    this.colIds.get(startCol);
+    this.colIds.get(endCol - 1);
+    for (int row = startRow; row < endRow; row++) {
+      int id = this.rowIds.get(row);
+      for (int col = startCol; col < endCol; col++) {
+        this.write(id, this.colIds.ids[col], v);
+      } // for col
+    } // for row
+  } // fillRegion(int, int, int, int, Double)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol,
+      Double val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    double v = val;
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.setDouble(i, j, v);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, Double)
+
+  /**
+   * Make a copy of the matrix, in a new temporary file. The copy keeps the physical layout of the
+   * original, so copying is a straight copy of the mapped chunks.
+   *
+   * @return a copy of the matrix.
+   * @throws UncheckedIOException If the new file cannot be created.
+   */
+  public MappedDoubleMatrix clone() {
+    MappedDoubleMatrix copy;
+    try {
+      copy = new MappedDoubleMatrix(0, 0, this.defaultVal, this.chunkShift);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } // try/catch
+    copy.rowIds = new IndexMap(this.rowIds);
+    copy.colIds = new IndexMap(this.colIds);
+    copy.stride = this.stride;
+    copy.slots = this.slots;
+    copy.map(this.bytes());
+    for (int i = 0; i < copy.chunks.length; i++) {
+      copy.chunks[i].put(0, this.chunks[i], 0, copy.chunks[i].capacity());
+    } // for
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix. Equal matrices have equal hash codes, even if one of
+   * them is not a <code>MappedDoubleMatrix</code>.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    int code = 0;
+    for (int row = this.rowIds.size - 1; row >= 0; row--) {
+      int id = this.rowIds.ids[row];
+      int rowCode = 0;
+      for (int col = this.colIds.size - 1; col >= 0; col--) {
+        rowCode = rowCode * ContentHash.COL_BASE
+            + Double.hashCode(this.read(id, this.colIds.ids[col]));
+      } // for col
+      code = code * ContentHash.ROW_BASE + rowCode;
+    } // for row
+    return ContentHash.shape(this.colIds.size, this.rowIds.size) + code;
+  } // hashCode()
+
+  // +---------------+-----------------------------------------------
+  // | Other methods |
+  // +---------------+
+
+  /**
+   * Make sure that every change so far has reached the file.
+   */
+  public void flush() {
+    for (MappedByteBuffer chunk : this.chunks) {
+      chunk.force();
+    } // for
+  } // flush()
+
+  /**
+   * Close the file, deleting it if it is temporary. The matrix must not be used afterwards.
+   *
+   * @throws IOException If the file cannot be closed.
+   */
+  public void close() throws IOException {
+    this.chunks = new MappedByteBuffer[0];
+    this.channel.close();
+  } // close()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Open a temporary file that goes away when it is closed.
+   *
+   * @return the file.
+   * @throws IOException If the file cannot be created.
+   */
+  private static FileChannel temporary() throws IOException {
+    return FileChannel.open(Files.createTempFile("matrix", ".bin"), StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+  } // temporary()
+
+  /**
+   * Read a cell.
+   *
+   * @param rowId The physical row.
+   * @param colId The physical column.
+   * @return the value.
+   */
+  private double read(int rowId, int colId) {
+    return this.readAt((long) rowId * this.stride + colId);
+  } // read(int, int)
+
+  /**
+   * Write a cell.
+   *
+   * @param rowId The physical row.
+   * @param colId The physical column.
+   * @param val The value.
+   */
+  private void write(int rowId, int colId, double val) {
+    this.writeAt((long) rowId * this.stride + colId, val);
+  } // write(int, int, double)
+
+  /**
+   * Read the cell at a position in the file.
+   *
+   * @param index The position, counted in cells.
+   * @return the value.
+   */
+  private double readAt(long index) {
+    long offset = index * Double.BYTES;
+    return this.chunks[(int) (offset >>> this.chunkShift)]
+        .getDouble((int) (offset & ((1L << this.chunkShift) - 1)));
+  } // readAt(long)
+
+  /**
+   * Write the cell at a position in the file.
+   *
+   * @param index The position, counted in cells.
+   * @param val The value.
+   */
+  private void writeAt(long index, double val) {
+    long offset = index * Double.BYTES;
+    this.chunks[(int) (offset >>> this.chunkShift)]
+        .putDouble((int) (offset & ((1L << this.chunkShift) - 1)), val);
+  } // writeAt(long, double)
+
+  /**
+   * Determine how many bytes of the file hold slots.
+   *
+   * @return the number of bytes.
+   */
+  private long bytes() {
+    return (long) this.slots * this.stride * Double.BYTES;
+  } // bytes()
+
+  /**
+   * Make sure that the first bytes of the file are mapped, growing the file if necessary.
+   * Chunks that are already mapped far enough are left alone.
+   *
+   * @param bytes The number of bytes.
+   * @throws UncheckedIOException If the file cannot be mapped.
+   */
+  private void map(long bytes) {
+    long chunkSize = 1L << this.chunkShift;
+    int count = (int) ((bytes + chunkSize - 1) >>> this.chunkShift);
+    if (count > this.chunks.length) {
+      this.chunks = Arrays.copyOf(this.chunks, count);
+    } // if
+    try {
+      for (int i = 0; i < count; i++) {
+        long start = (long) i << this.chunkShift;
+        long length = Math.min(chunkSize, bytes - start);
+        if (this.chunks[i] == null || this.chunks[i].capacity() < length) {
+          this.chunks[i] = this.channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+        } // if
+      } // for
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } // try/catch
+  } // map(long)
+
+  /**
+   * Insert a logical row, growing the file if there is no free slot.
+   *
+   * @param row The number of the row to insert.
+   * @return the physical id of the new row.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  private int newRow(int row) {
+    int id = this.rowIds.insert(row);
+    if (id >= this.slots) {
+      this.slots += Math.max(MIN_GROWTH, this.slots >> 2);
+      this.map(this.bytes());
+    } // if
+    return id;
+  } // newRow(int)
+
+  /**
+   * Insert a logical column, widening the slots if they are full.
+   *
+   * @param col The number of the column to insert.
+   * @return the physical id of the new column.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  private int newCol(int col) {
+    int id = this.colIds.insert(col);
+    if (id >= this.stride) {
+      this.restride(this.stride + Math.max(MIN_GROWTH, this.stride >> 2));
+    } // if
+    return id;
+  } // newCol(int)
+
+  /**
+   * Widen every slot, moving the cells to their new places. Since each cell moves to a place at
+   * or after its old one, working backward from the end never overwrites a cell that has yet to
+   * move.
+   *
+   * @param newStride The new number of cells in each slot.
+   */
+  private void restride(int newStride) {
+    int oldStride = this.stride;
+    this.map((long) this.slots * newStride * Double.BYTES);
+    for (int rowId = this.slots - 1; rowId >= 0; rowId--) {
+      for (int colId = oldStride - 1; colId >= 0; colId--) {
+        double val = this.readAt((long) rowId * oldStride + colId);
+        this.writeAt((long) rowId * newStride + colId, val);
+      } // for colId
+    } // for rowId
+    this.stride = newStride;
+  } // restride(int)
+} // class MappedDoubleMatrix
@@ -0,0 +1,355 @@
+package edu.grinnell.csc207.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only view of a numeric matrix file, as written by {@link MatrixFiles}, whose cells stay
+ * in the file. The operating system pages the file in as cells are read, so opening a matrix
+ * takes the same time whatever its size, and the matrix never occupies the heap.
+ *
+ * <p>A single mapping can cover at most 2 GB, so the payload is mapped in chunks of
+ * <code>CHUNK_SIZE</code> bytes. Chunks start at multiples of the chunk size, which is a multiple
+ * of every cell size, so no cell straddles two chunks.
+ *
+ * <p>All of the mutators throw <code>UnsupportedOperationException</code>.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix, <code>Integer</code> or
+ *     <code>Double</code>.
+ */
+public class MappedMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** log2 of the chunk size. */
+  static final int CHUNK_SHIFT = 30;
+
+  /** The number of bytes in each mapped chunk. */
+  static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The mapped payload, in chunks. */
+  final ByteBuffer[] chunks;
+
+  /** The element type, one of the type codes in MatrixFiles. */
+  final byte type;
+
+  /** The number of bytes in each cell. */
+  final int cellSize;
+
+  /** The number of rows. */
+  final int rowCount;
+
+  /** The number of columns. */
+  final int colCount;
+
+  /** The default value recorded in the file. */
+  final T defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view of a mapped payload.
+   *
+   * @param payload The payload, in chunks.
+   * @param elementType The element type.
+   * @param width The number of columns.
+   * @param height The number of rows.
+   * @param def The default value recorded in the file.
+   */
+  MappedMatrix(ByteBuffer[] payload, byte elementType, int width, int height, T def) {
+    this.chunks = payload;
+    this.type = elementType;
+    this.cellSize = MatrixFiles.cellSize(elementType);
+    this.colCount = width;
+    this.rowCount = height;
+    this.defaultVal = def;
+  } // MappedMatrix(ByteBuffer[], byte, int, int, T)
+
+  // +------------------+--------------------------------------------
+  // | Unboxed accesses |
+  // +------------------+
+
+  /**
+   * Get a cell of a matrix of integers.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws UnsupportedOperationException If the matrix does not hold integers.
+   */
+  public int getInt(int row, int col) {
+    if (this.type != MatrixFiles.INT) {
+      throw new UnsupportedOperationException("Not a matrix of integers");
+    } // if
+    long offset = this.offset(row, col);
+    return this.chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & (CHUNK_SIZE - 1)));
+  } // getInt(int, int)
+
+  /**
+   * Get a cell of a matrix of doubles.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws UnsupportedOperationException If the matrix does not hold doubles.
+   */
+  public double getDouble(int row, int col) {
+    if (this.type != MatrixFiles.DOUBLE) {
+      throw new UnsupportedOperationException("Not a matrix of doubles");
+    } // if
+    long offset = this.offset(row, col);
+    return this.chunks[(int) (offset >>> CHUNK_SHIFT)]
+        .getDouble((int) (offset & (CHUNK_SIZE - 1)));
+  } // getDouble(int, int)
+
+  /**
+   * Copy a row of a matrix of integers into an array, in bulk where possible.
+   *
+   * @param row The number of the row.
+   * @param dest The array, which must be at least as long as the width.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   */
+  public void readRow(int row, int[] dest) {
+    if (this.colCount == 0) {
+      return;
+    } // if
+    long start = this.offset(row, 0);
+    long end = start + (long) this.colCount * Integer.BYTES;
+    if ((start >>> CHUNK_SHIFT) == ((end - 1) >>> CHUNK_SHIFT)) {
+      this.chunks[(int) (start >>> CHUNK_SHIFT)]
+          .slice((int) (start & (CHUNK_SIZE - 1)), (int) (end - start))
+          .asIntBuffer()
+          .get(dest, 0, this.colCount);
+    } else {
+      for (int col = 0; col < this.colCount; col++) {
+        dest[col] = this.getInt(row, col);
+      } // for
+    } // if/else
+  } // readRow(int, int[])
+
+  /**
+   * Copy a row of a matrix of doubles into an array, in bulk where possible.
+   *
+   * @param row The number of the row.
+   * @param dest The array, which must be at least as long as the width.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   */
+  public void readRow(int row, double[] dest) {
+    if (this.colCount == 0) {
+      return;
+    } // if
+    long start = this.offset(row, 0);
+    long end = start + (long) this.colCount * Double.BYTES;
+    if ((start >>> CHUNK_SHIFT) == ((end - 1) >>> CHUNK_SHIFT)) {
+      this.chunks[(int) (start >>> CHUNK_SHIFT)]
+          .slice((int) (start & (CHUNK_SIZE - 1)), (int) (end - start))
+          .asDoubleBuffer()
+          .get(dest, 0, this.colCount);
+    } else {
+      for (int col = 0; col < this.colCount; col++) {
+        dest[col] = this.getDouble(row, col);
+      } // for
+    } // if/else
+  } // readRow(int, double[])
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    if (this.type == MatrixFiles.INT) {
+      return (T) Integer.valueOf(this.getInt(row, col));
+    } else {
+      return (T) Double.valueOf(this.getDouble(row, col));
+    } // if/else
+  } // get(int, int)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rowCount;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.colCount;
+  } // width()
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void set(int row, int col, T val) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // set(int, int, T)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param row The number of the row to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // insertRow(int)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // insertRow(int, T[])
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param col The number of the column to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // insertCol(int)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // insertCol(int, T[])
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param row The number of the row to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // deleteRow(int)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param col The number of the column to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // deleteCol(int)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Mapped matrices are read-only.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Mapped matrices are read-only");
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy the matrix. Since mapped matrices never change, the matrix itself will do.
+   *
+   * @return this matrix.
+   */
+  public MappedMatrix<T> clone() {
+    return this;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find a cell in the payload.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @return the offset of the cell from the start of the payload.
+   * @throws IndexOutOfBoundsException If either the row or column is out of bounds.
+   */
+  private long offset(int row, int col) {
+    if (row < 0 || row >= this.rowCount || col < 0 || col >= this.colCount) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    return ((long) row * this.colCount + col) * this.cellSize;
+  } // offset(int, int)
+} // class MappedMatrix
@@ -1,6 +1,16 @@
 package edu.grinnell.csc207.util;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Two-dimensional matrices.
@@ -28,6 +38,30 @@ public interface Matrix<T> extends Cloneable {
     } // if/else
   } // toString(Object)
 
+  /**
+   * Determine if two matrices have the same width, height, and equal elements. Works for any pair
+   * of implementations, so it is a reasonable fallback for <code>equals</code>.
+   *
+   * @param left One of the matrices.
+   * @param right The other matrix.
+   * @return true if the two matrices have the same contents and false otherwise.
+   */
+  static boolean contentEquals(Matrix<?> left, Matrix<?> right) {
+    int width = left.width();
+    int height = left.height();
+    if (height != right.height() || width != right.width()) {
+      return false;
+    } // if
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        if (!Objects.equals(left.get(row, col), right.get(row, col))) {
+          return false;
+        } // if
+      } // for col
+    } // for row
+    return true;
+  } // contentEquals(Matrix<?>, Matrix<?>)
+
   /**
    * Print the row separator in a matrix.
    *
@@ -80,50 +114,27 @@ public interface Matrix<T> extends Cloneable {
    * @param includeLabels Set to true if you want labels and false otherwise.
    */
   public static <T> void print(PrintWriter pen, Matrix<T> matrix, boolean includeLabels) {
-    int width = matrix.width();
-    int height = matrix.height();
-
-    // Find the maximum width of cells.
-    int cellWidth = 0;
-    for (int row = 0; row < height; row++) {
-      for (int col = 0; col < width; col++) {
-        T val = matrix.get(row, col);
-        int valWidth = toString(val).length();
-        cellWidth = Math.max(cellWidth, valWidth);
-      } // for col
-    } // for row
-
-    // Add some space on the sides
-    cellWidth += 2;
-
-    // Print everything out
-    if (includeLabels) {
-      pen.print(" ".repeat(4));
-      for (int col = 0; col < width; col++) {
-        printCell(pen, String.format("%2d", col), cellWidth + 1);
-      } // for
-      pen.println();
-    } // if
+    matrix.print(pen, includeLabels);
+  } // print(PrintWriter, Matrix<T>, boolean)
 
-    for (int row = 0; row < height; row++) {
-      if (includeLabels) {
-        pen.print(" ".repeat(4));
-      } // if
-      printRowSeparator(pen, cellWidth, width);
-      if (includeLabels) {
-        pen.printf(" %2d ", row);
-      } // if
-      for (int col = 0; col < width; col++) {
-        pen.print("|");
-        printCell(pen, toString(matrix.get(row, col)), cellWidth);
-      } // for col
-      pen.println("|");
-    } // for row
-    if (includeLabels) {
-      pen.print(" ".repeat(4));
-    } // if
-    printRowSeparator(pen, cellWidth, width);
-  } // print(PrintWriter, Matrix)
+  /**
+   * Print a viewport of a matrix, with or without labels. The labels give the positions in the
+   * whole matrix.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param pen The PrintWriter to use for printing.
+   * @param matrix The matrix to print.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   * @param top The first row to print.
+   * @param left The first column to print.
+   * @param rows The number of rows to print.
+   * @param cols The number of columns to print.
+   * @throws IndexOutOfBoundsException If the viewport does not fit in the matrix.
+   */
+  public static <T> void print(PrintWriter pen, Matrix<T> matrix, boolean includeLabels,
+      int top, int left, int rows, int cols) {
+    new MatrixRenderer().render(pen, matrix, includeLabels, top, left, rows, cols);
+  } // print(PrintWriter, Matrix<T>, boolean, int, int, int, int)
 
   // +--------------+------------------------------------------------
   // | Core methods |
@@ -217,6 +228,23 @@ public interface Matrix<T> extends Cloneable {
    */
   public void deleteCol(int col);
 
+  /**
+   * Append rows to the bottom of the matrix. Nothing is appended unless every row is the right
+   * size. Implementations that can grow their array of rows once for the whole batch, rather than
+   * once per row, should override this.
+   *
+   * @param rows The rows to append. The matrix may keep the arrays themselves.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   */
+  default void appendRows(T[][] rows, int count) throws ArraySizeException {
+    Matrix.checkRows(rows, count, this.width());
+    for (int i = 0; i < count; i++) {
+      this.insertRow(this.height(), rows[i]);
+    } // for
+  } // appendRows(T[][], int)
+
   /**
    * Fill a rectangular region of the matrix.
    *
@@ -229,6 +257,399 @@ public interface Matrix<T> extends Cloneable {
    */
   public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val);
 
+  /**
+   * Fill a rectangular region of the matrix with computed values. Implementations may call the
+   * generator in any order, and from several threads.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  default void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    for (int i = startRow; i < endRow; i++) {
+      for (int j = startCol; j < endCol; j++) {
+        this.set(i, j, gen.apply(i, j));
+      } // for j
+    } // for i
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Copy a row into an array.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  default void getRow(int row, T[] dest) throws ArraySizeException {
+    if (dest.length != this.width()) {
+      throw new ArraySizeException();
+    } // if
+    for (int col = 0; col < dest.length; col++) {
+      dest[col] = this.get(row, col);
+    } // for
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  default void setRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.width()) {
+      throw new ArraySizeException();
+    } // if
+    for (int col = 0; col < vals.length; col++) {
+      this.set(row, col, vals[col]);
+    } // for
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column into an array.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  default void getCol(int col, T[] dest) throws ArraySizeException {
+    if (dest.length != this.height()) {
+      throw new ArraySizeException();
+    } // if
+    for (int row = 0; row < dest.length; row++) {
+      dest[row] = this.get(row, col);
+    } // for
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  default void setCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.height()) {
+      throw new ArraySizeException();
+    } // if
+    for (int row = 0; row < vals.length; row++) {
+      this.set(row, col, vals[row]);
+    } // for
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this matrix. The source may be this matrix, in
+   * which case the regions may overlap; the result is as if the region were first copied to a
+   * temporary matrix.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  default void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    Matrix.checkRegion(src, srcRow, srcCol, height, width);
+    Matrix.checkRegion(this, dstRow, dstCol, height, width);
+    // Walking backwards when moving down or right keeps overlapping copies from clobbering the
+    // cells they have yet to read.
+    boolean rowsBackward = dstRow > srcRow;
+    boolean colsBackward = dstCol > srcCol;
+    for (int i = 0; i < height; i++) {
+      int r = rowsBackward ? height - 1 - i : i;
+      for (int j = 0; j < width; j++) {
+        int c = colsBackward ? width - 1 - j : j;
+        this.set(dstRow + r, dstCol + c, src.get(srcRow + r, srcCol + c));
+      } // for j
+    } // for i
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Get a live view of a rectangular region of this matrix. The view is made in constant time
+   * and shares this matrix's cells: changes to either show in the other. The view cannot change
+   * shape, and its <code>clone</code> copies the region into a new matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @return the view.
+   * @throws IndexOutOfBoundsException If the region does not fit in the matrix.
+   */
+  default Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol) {
+    return new SubMatrix<T>(this, startRow, startCol, endRow, endCol);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Get a live view of the transpose of this matrix, in which rows are columns and columns are
+   * rows. The view is made in constant time and shares this matrix's cells: changes to either,
+   * including inserting and deleting rows and columns, show in the other. Its
+   * <code>clone</code> copies the transpose into a new matrix.
+   *
+   * @return the view.
+   */
+  default Matrix<T> transposeView() {
+    return new TransposedMatrix<T>(this);
+  } // transposeView()
+
+  /**
+   * Apply a function to every cell, lazily. Nothing is computed until cells are read or the
+   * result is materialized, and the result reads the current contents of this matrix. Maps and
+   * zips of the result fuse with it, so a chain of steps evaluates in a single pass.
+   *
+   * @param <R> The type of the results.
+   * @param fn The function.
+   * @return a read-only matrix of the results.
+   */
+  default <R> Matrix<R> map(Function<? super T, ? extends R> fn) {
+    return new LazyMatrix<R>(this, (row, col) -> fn.apply(this.get(row, col)));
+  } // map(Function<? super T, ? extends R>)
+
+  /**
+   * Combine corresponding cells of this matrix and another, lazily, as for <code>map</code>.
+   *
+   * @param <U> The type of values in the other matrix.
+   * @param <R> The type of the results.
+   * @param other The other matrix.
+   * @param fn Combines a cell of this matrix with the corresponding cell of the other.
+   * @return a read-only matrix of the results.
+   * @throws IllegalArgumentException If the matrices have different shapes.
+   */
+  default <U, R> Matrix<R> zipWith(
+      Matrix<? extends U> other, BiFunction<? super T, ? super U, ? extends R> fn) {
+    Matrix.checkShape(this, other);
+    return new LazyMatrix<R>(this,
+        (row, col) -> fn.apply(this.get(row, col), other.get(row, col)));
+  } // zipWith(Matrix<? extends U>, BiFunction<? super T, ? super U, ? extends R>)
+
+  /**
+   * Copy every cell into a target matrix of the same shape, one at a time.
+   *
+   * @param <M> The type of the target.
+   * @param target The matrix to fill.
+   * @return the target.
+   * @throws IllegalArgumentException If the target has a different shape.
+   */
+  default <M extends Matrix<? super T>> M materialize(M target) {
+    return this.materialize(target, false);
+  } // materialize(M)
+
+  /**
+   * Copy every cell into a target matrix of the same shape. For lazy matrices, this evaluates
+   * the whole pipeline in one sweep; if parallel is true, the target may compute the cells from
+   * several threads, so the functions in the pipeline must be safe to call concurrently.
+   *
+   * @param <M> The type of the target.
+   * @param target The matrix to fill.
+   * @param parallel Whether the cells may be computed in parallel.
+   * @return the target.
+   * @throws IllegalArgumentException If the target has a different shape.
+   */
+  default <M extends Matrix<? super T>> M materialize(M target, boolean parallel) {
+    Matrix.checkShape(this, target);
+    target.copyRegion(this, 0, 0, 0, 0, this.height(), this.width());
+    return target;
+  } // materialize(M, boolean)
+
+  /**
+   * Make sure that a region fits within a matrix.
+   *
+   * @param matrix The matrix.
+   * @param row The top edge of the region.
+   * @param col The left edge of the region.
+   * @param height The number of rows in the region.
+   * @param width The number of columns in the region.
+   * @throws IndexOutOfBoundsException If it does not.
+   */
+  static void checkRegion(Matrix<?> matrix, int row, int col, int height, int width) {
+    if (height < 0 || width < 0 || row < 0 || col < 0
+        || (height > 0 && (row + height > matrix.height() || col + width > matrix.width()))) {
+      throw new IndexOutOfBoundsException();
+    } // if
+  } // checkRegion(Matrix<?>, int, int, int, int)
+
+  /**
+   * Determine how many cells <code>fillLine</code> visits, without visiting them. The line stops
+   * as soon as either coordinate reaches its end, so only the deltas that move towards their end
+   * matter.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @return the number of cells on the line.
+   * @throws IllegalArgumentException If the line is not empty and would never end.
+   */
+  static int lineLength(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return 0;
+    } // if
+    long steps = Long.MAX_VALUE;
+    if (deltaRow > 0) {
+      steps = ((long) endRow - startRow + deltaRow - 1) / deltaRow;
+    } // if
+    if (deltaCol > 0) {
+      steps = Math.min(steps, ((long) endCol - startCol + deltaCol - 1) / deltaCol);
+    } // if
+    if (steps == Long.MAX_VALUE) {
+      throw new IllegalArgumentException("The line never ends");
+    } // if
+    return (int) steps;
+  } // lineLength(int, int, int, int, int, int)
+
+  /**
+   * Make sure that a line of the given length fits in a matrix. A straight line fits if both of
+   * its ends do.
+   *
+   * @param matrix The matrix.
+   * @param startRow The row to start with.
+   * @param startCol The column to start with.
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param steps The number of cells on the line, as computed by <code>lineLength</code>.
+   * @throws IndexOutOfBoundsException If it does not.
+   */
+  static void checkLine(Matrix<?> matrix, int startRow, int startCol, int deltaRow, int deltaCol,
+      int steps) {
+    if (steps > 0) {
+      long lastRow = startRow + (steps - 1L) * deltaRow;
+      long lastCol = startCol + (steps - 1L) * deltaCol;
+      if (startRow < 0 || startCol < 0 || lastRow < 0 || lastCol < 0
+          || Math.max(startRow, lastRow) >= matrix.height()
+          || Math.max(startCol, lastCol) >= matrix.width()) {
+        throw new IndexOutOfBoundsException();
+      } // if
+    } // if
+  } // checkLine(Matrix<?>, int, int, int, int, int)
+
+  /**
+   * Make sure that a batch of segments, four numbers per segment, is complete and fits in a
+   * matrix.
+   *
+   * @param matrix The matrix.
+   * @param ends The ends of the segments.
+   * @param count The number of segments.
+   * @throws IllegalArgumentException If ends holds fewer than count segments.
+   * @throws IndexOutOfBoundsException If any end is outside the matrix.
+   */
+  static void checkSegments(Matrix<?> matrix, int[] ends, int count) {
+    if (count < 0 || 4L * count > ends.length) {
+      throw new IllegalArgumentException("Expected " + count + " segments");
+    } // if
+    int height = matrix.height();
+    int width = (height == 0) ? 0 : matrix.width();
+    for (int i = 0; i < 4 * count; i += 2) {
+      if (ends[i] < 0 || ends[i] >= height || ends[i + 1] < 0 || ends[i + 1] >= width) {
+        throw new IndexOutOfBoundsException();
+      } // if
+    } // for
+  } // checkSegments(Matrix<?>, int[], int)
+
+  /**
+   * Make sure that two matrices have the same shape.
+   *
+   * @param left One matrix.
+   * @param right The other matrix.
+   * @throws IllegalArgumentException If they do not.
+   */
+  static void checkShape(Matrix<?> left, Matrix<?> right) {
+    if (left.width() != right.width() || left.height() != right.height()) {
+      throw new IllegalArgumentException("Matrices must have the same shape");
+    } // if
+  } // checkShape(Matrix<?>, Matrix<?>)
+
+  /**
+   * Make sure that a batch of rows all have the same width.
+   *
+   * @param rows The rows.
+   * @param count The number of rows that matter, from the start of rows.
+   * @param width The width they should have.
+   * @throws ArraySizeException If any of them does not.
+   */
+  static void checkRows(Object[][] rows, int count, int width) throws ArraySizeException {
+    for (int i = 0; i < count; i++) {
+      if (rows[i].length != width) {
+        throw new ArraySizeException();
+      } // if
+    } // for
+  } // checkRows(Object[][], int, int)
+
+  /**
+   * Perform an action on every cell, in row-major order.
+   *
+   * @param action What to do with each cell.
+   */
+  default void forEachCell(CellConsumer<? super T> action) {
+    int height = this.height();
+    int width = this.width();
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        action.accept(row, col, this.get(row, col));
+      } // for col
+    } // for row
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells, in row-major order. A parallel stream splits the
+   * matrix into bands of rows. The matrix should not change while the stream is in use.
+   *
+   * @return the stream.
+   */
+  default Stream<T> cells() {
+    return StreamSupport.stream(new CellSpliterator<T>(this, null, 0, this.height()), false);
+  } // cells()
+
+  /**
+   * Get a stream of the rows, from top to bottom. Each row is a read-only list. The matrix should
+   * not change while the stream is in use.
+   *
+   * @return the stream.
+   */
+  default Stream<List<T>> rows() {
+    return IntStream.range(0, this.height()).mapToObj((row) -> {
+      List<T> result = new ArrayList<T>(this.width());
+      for (int col = 0; col < this.width(); col++) {
+        result.add(this.get(row, col));
+      } // for
+      return Collections.unmodifiableList(result);
+    });
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells. As with <code>Stream.reduce</code>, the identity must
+   * be an identity for the combiner, and the accumulator and combiner must be associative and
+   * agree with each other, so that implementations are free to work in parallel.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  default <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    return this.cells().reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
   /**
    * Fill a line (horizontal, vertical, diagonal).
    *
@@ -244,6 +665,77 @@ public interface Matrix<T> extends Cloneable {
   public void fillLine(
       int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val);
 
+  /**
+   * Draw a straight line from one cell to another, including both ends, choosing the cells with
+   * Bresenham's algorithm. Horizontal and vertical lines are filled as regions.
+   *
+   * @param startRow The row of one end.
+   * @param startCol The column of one end.
+   * @param endRow The row of the other end.
+   * @param endCol The column of the other end.
+   * @param val The value to store.
+   * @throws IndexOutOfBoundsException If either end is outside the matrix, in which case nothing
+   *     is drawn.
+   */
+  default void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    int height = Math.abs(endRow - startRow);
+    int width = Math.abs(endCol - startCol);
+    Matrix.checkRegion(this, Math.min(startRow, endRow), Math.min(startCol, endCol), height + 1,
+        width + 1);
+    if (height == 0 || width == 0) {
+      this.fillRegion(Math.min(startRow, endRow), Math.min(startCol, endCol),
+          Math.max(startRow, endRow) + 1, Math.max(startCol, endCol) + 1, val);
+      return;
+    } // if
+    int stepRow = (startRow < endRow) ? 1 : -1;
+    int stepCol = (startCol < endCol) ? 1 : -1;
+    int err = width - height;
+    int row = startRow;
+    int col = startCol;
+    for (int remaining = Math.max(width, height); remaining >= 0; remaining--) {
+      this.set(row, col, val);
+      int twice = 2 * err;
+      if (twice > -height) {
+        err -= height;
+        col += stepCol;
+      } // if
+      if (twice < width) {
+        err += width;
+        row += stepRow;
+      } // if
+    } // for
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw a batch of straight lines, as with <code>drawLine</code>. Segment i runs from
+   * (ends[4i], ends[4i+1]) to (ends[4i+2], ends[4i+3]). Every segment is checked before any is
+   * drawn.
+   *
+   * @param ends The ends of the segments, four numbers per segment.
+   * @param count The number of segments to draw.
+   * @param val The value to store.
+   * @throws IllegalArgumentException If ends holds fewer than count segments.
+   * @throws IndexOutOfBoundsException If any end is outside the matrix, in which case nothing is
+   *     drawn.
+   */
+  default void drawLines(int[] ends, int count, T val) {
+    Matrix.checkSegments(this, ends, count);
+    for (int i = 0; i < 4 * count; i += 4) {
+      this.drawLine(ends[i], ends[i + 1], ends[i + 2], ends[i + 3], val);
+    } // for
+  } // drawLines(int[], int, T)
+
+  /**
+   * Print the matrix, with or without labels, as <code>Matrix.print</code> does. Matrices that
+   * can print themselves faster, such as <code>RenderCache</code>, override this.
+   *
+   * @param pen The PrintWriter to use for printing.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   */
+  default void print(PrintWriter pen, boolean includeLabels) {
+    new MatrixRenderer().render(pen, this, includeLabels);
+  } // print(PrintWriter, boolean)
+
   /**
    * A make a copy of the matrix. May share references (e.g., if individual elements are mutable,
    * mutating them in one matrix may affect the other matrix) or may not.
@@ -0,0 +1,169 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * One change to a matrix, as reported by a <code>TrackedMatrix</code>. Every change covers a
+ * rectangle: the cells whose values may have changed, or the rows or columns that were inserted
+ * or deleted, which span the whole width or height of the matrix at the time.
+ *
+ * <p>Coordinates are those of the matrix just before the change, so a batch of changes should be
+ * applied in order. A change of cells may cover some cells that kept their values, but never
+ * misses one that did not.
+ *
+ * @author Your Name Here
+ */
+public final class MatrixChange {
+  // +-------+-------------------------------------------------------
+  // | Kinds |
+  // +-------+
+
+  /** The kinds of change. */
+  public enum Kind {
+    /** The values in some cells changed. */
+    CELLS,
+    /** Rows were inserted, and now occupy the rows of the rectangle. */
+    ROWS_INSERTED,
+    /** The rows of the rectangle were deleted. */
+    ROWS_DELETED,
+    /** Columns were inserted, and now occupy the columns of the rectangle. */
+    COLS_INSERTED,
+    /** The columns of the rectangle were deleted. */
+    COLS_DELETED
+  } // enum Kind
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** What happened. */
+  final Kind kind;
+
+  /** The top edge (inclusive). */
+  final int startRow;
+
+  /** The left edge (inclusive). */
+  final int startCol;
+
+  /** The bottom edge (exclusive). */
+  final int endRow;
+
+  /** The right edge (exclusive). */
+  final int endCol;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Describe a change.
+   *
+   * @param what What happened.
+   * @param top The top edge (inclusive).
+   * @param left The left edge (inclusive).
+   * @param bottom The bottom edge (exclusive).
+   * @param right The right edge (exclusive).
+   */
+  MatrixChange(Kind what, int top, int left, int bottom, int right) {
+    this.kind = what;
+    this.startRow = top;
+    this.startCol = left;
+    this.endRow = bottom;
+    this.endCol = right;
+  } // MatrixChange(Kind, int, int, int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Determine what happened.
+   *
+   * @return the kind of change.
+   */
+  public Kind kind() {
+    return this.kind;
+  } // kind()
+
+  /**
+   * Get the top edge of the rectangle.
+   *
+   * @return the first row (inclusive).
+   */
+  public int startRow() {
+    return this.startRow;
+  } // startRow()
+
+  /**
+   * Get the left edge of the rectangle.
+   *
+   * @return the first column (inclusive).
+   */
+  public int startCol() {
+    return this.startCol;
+  } // startCol()
+
+  /**
+   * Get the bottom edge of the rectangle.
+   *
+   * @return the last row (exclusive).
+   */
+  public int endRow() {
+    return this.endRow;
+  } // endRow()
+
+  /**
+   * Get the right edge of the rectangle.
+   *
+   * @return the last column (exclusive).
+   */
+  public int endCol() {
+    return this.endCol;
+  } // endCol()
+
+  /**
+   * Count the cells in the rectangle.
+   *
+   * @return the area.
+   */
+  public long area() {
+    return (long) (this.endRow - this.startRow) * (this.endCol - this.startCol);
+  } // area()
+
+  /**
+   * Determine if this change is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a change of the same kind with the same rectangle.
+   */
+  public boolean equals(Object other) {
+    if (!(other instanceof MatrixChange)) {
+      return false;
+    } // if
+    MatrixChange that = (MatrixChange) other;
+    return this.kind == that.kind && this.startRow == that.startRow
+        && this.startCol == that.startCol && this.endRow == that.endRow
+        && this.endCol == that.endCol;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this change.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    int code = this.kind.hashCode();
+    code = code * 31 + this.startRow;
+    code = code * 31 + this.startCol;
+    code = code * 31 + this.endRow;
+    return code * 31 + this.endCol;
+  } // hashCode()
+
+  /**
+   * Describe this change, as in <code>CELLS [2,3)x[0,5)</code>.
+   *
+   * @return the description.
+   */
+  public String toString() {
+    return this.kind + " [" + this.startRow + "," + this.endRow + ")x[" + this.startCol + ","
+        + this.endCol + ")";
+  } // toString()
+} // class MatrixChange
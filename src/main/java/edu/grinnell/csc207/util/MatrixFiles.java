@@ -0,0 +1,444 @@
+package edu.grinnell.csc207.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes matrices in a compact binary format.
+ *
+ * <p>A matrix file is a header followed by the cells in row-major order. All numbers are
+ * big-endian.
+ *
+ * <pre>
+ *   offset  size  contents
+ *        0     4  MAGIC, "MTRX"
+ *        4     2  VERSION
+ *        6     1  element type: INT, DOUBLE, or STRING
+ *        7     1  reserved, zero
+ *        8     4  height
+ *       12     4  width
+ *       16     -  the default value, encoded as a cell
+ *        -     -  the cells
+ * </pre>
+ *
+ * <p>Integers take four bytes and doubles eight. A string is a four-byte length followed by that
+ * many bytes of UTF-8; a length of -1 means null. Since numeric cells all have the same size,
+ * numeric files can be mapped into memory with <code>map</code> and read in place.
+ *
+ * @author Your Name Here
+ */
+public class MatrixFiles {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The first four bytes of every matrix file. */
+  static final int MAGIC = 0x4D545258;
+
+  /** The version of the format that we write. */
+  static final short VERSION = 1;
+
+  /** The size of the fixed part of the header. */
+  static final int HEADER_SIZE = 16;
+
+  /** The type code for integers. */
+  static final byte INT = 1;
+
+  /** The type code for doubles. */
+  static final byte DOUBLE = 2;
+
+  /** The type code for strings. */
+  static final byte STRING = 3;
+
+  /** The size of the buffer we write through. */
+  static final int BUFFER_SIZE = 1 << 16;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Nothing to construct; everything is static. */
+  private MatrixFiles() {
+  } // MatrixFiles()
+
+  // +---------+-----------------------------------------------------
+  // | Writing |
+  // +---------+
+
+  /**
+   * Write a matrix of integers to a file, replacing anything that was there.
+   *
+   * @param file The file.
+   * @param matrix The matrix.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void write(Path file, IntMatrix matrix) throws IOException {
+    try (FileChannel channel = create(file)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      header(buffer, INT, matrix.width(), matrix.height());
+      buffer.putInt(matrix.defaultVal);
+      for (int[] row : matrix.values) {
+        int col = 0;
+        while (col < row.length) {
+          if (buffer.remaining() < Integer.BYTES) {
+            drain(channel, buffer);
+          } // if
+          int count = Math.min(row.length - col, buffer.remaining() / Integer.BYTES);
+          buffer.asIntBuffer().put(row, col, count);
+          buffer.position(buffer.position() + count * Integer.BYTES);
+          col += count;
+        } // while
+      } // for
+      drain(channel, buffer);
+    } // try
+  } // write(Path, IntMatrix)
+
+  /**
+   * Write a matrix of doubles to a file, replacing anything that was there.
+   *
+   * @param file The file.
+   * @param matrix The matrix.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void write(Path file, DoubleMatrix matrix) throws IOException {
+    try (FileChannel channel = create(file)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      header(buffer, DOUBLE, matrix.width(), matrix.height());
+      buffer.putDouble(matrix.defaultVal);
+      for (double[] row : matrix.values) {
+        int col = 0;
+        while (col < row.length) {
+          if (buffer.remaining() < Double.BYTES) {
+            drain(channel, buffer);
+          } // if
+          int count = Math.min(row.length - col, buffer.remaining() / Double.BYTES);
+          buffer.asDoubleBuffer().put(row, col, count);
+          buffer.position(buffer.position() + count * Double.BYTES);
+          col += count;
+        } // while
+      } // for
+      drain(channel, buffer);
+    } // try
+  } // write(Path, DoubleMatrix)
+
+  /**
+   * Write a matrix of integers, doubles, or strings to a file, replacing anything that was there.
+   * The element type comes from the default value or, if that is null, from the first cell that
+   * is not. Only strings may be null, so a matrix of numbers needs a default value. The cells are
+   * checked before the file is opened, so a matrix we cannot store leaves the file alone.
+   *
+   * @param file The file.
+   * @param matrix The matrix.
+   * @throws IOException If the file cannot be written.
+   * @throws IllegalArgumentException If the cells are not all integers, all doubles, or all
+   *     strings (or null, for strings), or if the cells are numbers and the default is null.
+   */
+  public static void write(Path file, MatrixV0<?> matrix) throws IOException {
+    Object[][] rows = matrix.values;
+    int height = rows.length;
+    int width = (height == 0) ? 0 : rows[0].length;
+    byte type = typeOf(matrix);
+    try (FileChannel channel = create(file)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      header(buffer, type, width, height);
+      putCell(channel, buffer, type, matrix.defaultVal);
+      for (Object[] row : rows) {
+        for (Object val : row) {
+          putCell(channel, buffer, type, val);
+        } // for
+      } // for
+      drain(channel, buffer);
+    } // try
+  } // write(Path, MatrixV0<?>)
+
+  // +---------+-----------------------------------------------------
+  // | Reading |
+  // +---------+
+
+  /**
+   * Map a numeric matrix file into memory. Takes time proportional to the number of gigabytes in
+   * the file, not to the number of cells, and reads no cells.
+   *
+   * @param <T> The type of the cells.
+   * @param file The file.
+   * @param type The type of the cells, <code>Integer.class</code> or <code>Double.class</code>.
+   * @return a read-only view of the matrix.
+   * @throws IOException If the file cannot be read, is not a matrix file, or does not hold the
+   *     given type of cell.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> MappedMatrix<T> map(Path file, Class<T> type) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = readHeader(channel);
+      byte code = header.get(6);
+      if (!(code == INT && type == Integer.class) && !(code == DOUBLE && type == Double.class)) {
+        throw new IOException(file + " does not hold cells of type " + type.getSimpleName());
+      } // if
+      int height = header.getInt(8);
+      int width = header.getInt(12);
+      T def = (T) ((code == INT) ? (Object) header.getInt(HEADER_SIZE)
+          : (Object) header.getDouble(HEADER_SIZE));
+      long start = HEADER_SIZE + cellSize(code);
+      long length = (long) height * width * cellSize(code);
+      if (channel.size() < start + length) {
+        throw new IOException(file + " is truncated");
+      } // if
+      ByteBuffer[] chunks = new ByteBuffer[(int) ((length + MappedMatrix.CHUNK_SIZE - 1)
+          >>> MappedMatrix.CHUNK_SHIFT)];
+      for (int i = 0; i < chunks.length; i++) {
+        long offset = (long) i << MappedMatrix.CHUNK_SHIFT;
+        long size = Math.min(MappedMatrix.CHUNK_SIZE, length - offset);
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + offset, size);
+      } // for
+      return new MappedMatrix<T>(chunks, code, width, height, def);
+    } // try
+  } // map(Path, Class<T>)
+
+  /**
+   * Read a matrix file into the heap. Integers become an <code>IntMatrix</code>, doubles a
+   * <code>DoubleMatrix</code>, and strings a <code>MatrixV0</code>.
+   *
+   * @param file The file.
+   * @return the matrix.
+   * @throws IOException If the file cannot be read or is not a matrix file.
+   */
+  public static Matrix<?> load(Path file) throws IOException {
+    byte code;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      code = readHeader(channel).get(6);
+    } // try
+    if (code == INT) {
+      MappedMatrix<Integer> mapped = map(file, Integer.class);
+      IntMatrix result = new IntMatrix(mapped.width(), mapped.height(), mapped.defaultVal);
+      for (int row = 0; row < mapped.height(); row++) {
+        mapped.readRow(row, result.values[row]);
+      } // for
+      return result;
+    } else if (code == DOUBLE) {
+      MappedMatrix<Double> mapped = map(file, Double.class);
+      DoubleMatrix result = new DoubleMatrix(mapped.width(), mapped.height(), mapped.defaultVal);
+      for (int row = 0; row < mapped.height(); row++) {
+        mapped.readRow(row, result.values[row]);
+      } // for
+      return result;
+    } else {
+      return loadStrings(file);
+    } // if/else
+  } // load(Path)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine the size of a cell.
+   *
+   * @param type The type code.
+   * @return the size in bytes, or -1 if cells vary in size.
+   */
+  static int cellSize(byte type) {
+    switch (type) {
+      case INT:
+        return Integer.BYTES;
+      case DOUBLE:
+        return Double.BYTES;
+      default:
+        return -1;
+    } // switch
+  } // cellSize(byte)
+
+  /**
+   * Open a file for writing, replacing anything that is there.
+   *
+   * @param file The file.
+   * @return a channel that writes to it.
+   * @throws IOException If the file cannot be opened.
+   */
+  private static FileChannel create(Path file) throws IOException {
+    return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  } // create(Path)
+
+  /**
+   * Put the fixed part of the header in a buffer.
+   *
+   * @param buffer The buffer.
+   * @param type The element type.
+   * @param width The number of columns.
+   * @param height The number of rows.
+   */
+  private static void header(ByteBuffer buffer, byte type, int width, int height) {
+    buffer.putInt(MAGIC).putShort(VERSION).put(type).put((byte) 0).putInt(height).putInt(width);
+  } // header(ByteBuffer, byte, int, int)
+
+  /**
+   * Read and check the header of a file, along with a numeric default value.
+   *
+   * @param channel The file, positioned at its start.
+   * @return a buffer holding the header.
+   * @throws IOException If the file does not start with a header we understand.
+   */
+  private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + Double.BYTES);
+    int count = 0;
+    while (header.hasRemaining() && count >= 0) {
+      count = channel.read(header);
+    } // while
+    if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+      throw new IOException("Not a matrix file");
+    } // if
+    if (header.getShort(4) != VERSION) {
+      throw new IOException("Unsupported matrix file version " + header.getShort(4));
+    } // if
+    byte type = header.get(6);
+    if (type != INT && type != DOUBLE && type != STRING) {
+      throw new IOException("Unknown element type " + type);
+    } // if
+    if (header.getInt(8) < 0 || header.getInt(12) < 0) {
+      throw new IOException("Negative dimensions");
+    } // if
+    return header;
+  } // readHeader(FileChannel)
+
+  /**
+   * Determine the element type of a matrix, and check that every cell has it.
+   *
+   * @param matrix The matrix.
+   * @return the type code.
+   * @throws IllegalArgumentException If the type is not one we can store, the cells do not all
+   *     have it, or the cells are numbers and the default is null.
+   */
+  private static byte typeOf(MatrixV0<?> matrix) {
+    Object sample = matrix.defaultVal;
+    for (int row = 0; sample == null && row < matrix.values.length; row++) {
+      for (int col = 0; sample == null && col < matrix.values[row].length; col++) {
+        sample = matrix.values[row][col];
+      } // for
+    } // for
+    byte type;
+    if (sample == null || sample instanceof String) {
+      type = STRING;
+    } else if (sample instanceof Integer) {
+      type = INT;
+    } else if (sample instanceof Double) {
+      type = DOUBLE;
+    } else {
+      throw new IllegalArgumentException("Cannot store cells of " + sample.getClass());
+    } // if/else
+    if (type != STRING && matrix.defaultVal == null) {
+      throw new IllegalArgumentException("A matrix of numbers needs a default value, not null");
+    } // if
+    Class<?> expected = (type == STRING) ? String.class : sample.getClass();
+    for (Object[] row : matrix.values) {
+      for (Object val : row) {
+        if ((val == null) ? type != STRING : val.getClass() != expected) {
+          throw new IllegalArgumentException("Cells must all have the same type");
+        } // if
+      } // for
+    } // for
+    return type;
+  } // typeOf(MatrixV0<?>)
+
+  /**
+   * Add one cell to a buffer, writing the buffer out first if the cell does not fit.
+   *
+   * @param channel Where the buffer goes.
+   * @param buffer The buffer.
+   * @param type The element type.
+   * @param val The cell.
+   * @throws IOException If the channel cannot be written.
+   */
+  private static void putCell(FileChannel channel, ByteBuffer buffer, byte type, Object val)
+      throws IOException {
+    if (type == INT) {
+      if (buffer.remaining() < Integer.BYTES) {
+        drain(channel, buffer);
+      } // if
+      buffer.putInt((Integer) val);
+    } else if (type == DOUBLE) {
+      if (buffer.remaining() < Double.BYTES) {
+        drain(channel, buffer);
+      } // if
+      buffer.putDouble((Double) val);
+    } else {
+      byte[] bytes = (val == null) ? null : ((String) val).getBytes(StandardCharsets.UTF_8);
+      if (buffer.remaining() < Integer.BYTES) {
+        drain(channel, buffer);
+      } // if
+      buffer.putInt((bytes == null) ? -1 : bytes.length);
+      int i = 0;
+      while (bytes != null && i < bytes.length) {
+        if (!buffer.hasRemaining()) {
+          drain(channel, buffer);
+        } // if
+        int count = Math.min(bytes.length - i, buffer.remaining());
+        buffer.put(bytes, i, count);
+        i += count;
+      } // while
+    } // if/else
+  } // putCell(FileChannel, ByteBuffer, byte, Object)
+
+  /**
+   * Write out everything in a buffer and empty it.
+   *
+   * @param channel Where it goes.
+   * @param buffer The buffer.
+   * @throws IOException If the channel cannot be written.
+   */
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    } // while
+    buffer.clear();
+  } // drain(FileChannel, ByteBuffer)
+
+  /**
+   * Read a file of strings into the heap. Strings vary in size, so we stream through the file
+   * rather than mapping it.
+   *
+   * @param file The file.
+   * @return the matrix.
+   * @throws IOException If the file cannot be read or is malformed.
+   */
+  @SuppressWarnings("unchecked")
+  private static MatrixV0<String> loadStrings(Path file) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+      in.skipNBytes(8);
+      int height = in.readInt();
+      int width = in.readInt();
+      // MatrixV0 keeps its rows as Object[], so we fill them through an untyped reference.
+      MatrixV0<Object> result = new MatrixV0<Object>(width, height, readString(in));
+      for (Object[] cells : result.values) {
+        for (int col = 0; col < width; col++) {
+          cells[col] = readString(in);
+        } // for
+      } // for
+      result.rehash();
+      return (MatrixV0<String>) (MatrixV0<?>) result;
+    } // try
+  } // loadStrings(Path)
+
+  /**
+   * Read one string cell.
+   *
+   * @param in Where to read it from.
+   * @return the string, or null.
+   * @throws IOException If the input ends early.
+   */
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    } // if
+    return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+  } // readString(DataInputStream)
+} // class MatrixFiles
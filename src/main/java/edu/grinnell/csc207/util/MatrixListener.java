@@ -0,0 +1,18 @@
+package edu.grinnell.csc207.util;
+
+import java.util.List;
+
+/**
+ * Something that wants to hear about changes to a <code>TrackedMatrix</code>.
+ *
+ * @author Your Name Here
+ */
+@FunctionalInterface
+public interface MatrixListener {
+  /**
+   * Hear about a batch of changes, which were made in the order given.
+   *
+   * @param changes The changes. The list cannot be modified.
+   */
+  void changed(List<MatrixChange> changes);
+} // interface MatrixListener
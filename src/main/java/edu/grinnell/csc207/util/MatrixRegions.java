@@ -0,0 +1,413 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Regions of equal cells: flood fills ("paint bucket") and connected-component labeling. Two
+ * cells are connected if they hold equal values (as in <code>Objects.equals</code>) and are
+ * neighbours, either sharing an edge (4-connectivity) or, if diagonals count, a corner as well
+ * (8-connectivity).
+ *
+ * <p>Nothing here recurses, so large regions cannot overflow the stack. A <code>MatrixV0</code>
+ * is read straight from its rows; other matrices are read through <code>get</code> (for fills)
+ * or copied a row at a time (for labeling).
+ *
+ * @author Your Name Here
+ */
+public final class MatrixRegions {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of cells below which labeling stays on the calling thread. */
+  static final int PARALLEL_THRESHOLD = MatrixV0.PARALLEL_THRESHOLD;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Nothing to construct; everything is static. */
+  private MatrixRegions() {
+  } // MatrixRegions()
+
+  // +-------------+-------------------------------------------------
+  // | Flood fills |
+  // +-------------+
+
+  /**
+   * Replace the 4-connected region that contains a cell with a value.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix to fill.
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The value to store.
+   * @return the number of cells changed.
+   * @throws IndexOutOfBoundsException If the cell is not in the matrix.
+   */
+  public static <T> int floodFill(Matrix<T> matrix, int row, int col, T val) {
+    return floodFill(matrix, row, col, val, false);
+  } // floodFill(Matrix<T>, int, int, T)
+
+  /**
+   * Replace the region that contains a cell with a value. The region is filled one horizontal
+   * span at a time with <code>fillRegion</code>, so decorators such as
+   * <code>TrackedMatrix</code> see one change per span; use their <code>update</code> to see
+   * the whole fill as one.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix to fill.
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param val The value to store.
+   * @param diagonal Whether cells that share only a corner are connected.
+   * @return the number of cells changed.
+   * @throws IndexOutOfBoundsException If the cell is not in the matrix.
+   */
+  public static <T> int floodFill(Matrix<T> matrix, int row, int col, T val, boolean diagonal) {
+    T target = matrix.get(row, col);
+    if (Objects.equals(target, val)) {
+      // Nothing would change, and the filled cells would still match.
+      return 0;
+    } // if
+    int height = matrix.height();
+    int width = matrix.width();
+    int reach = diagonal ? 1 : 0;
+    int[] stack = new int[64];
+    stack[0] = row;
+    stack[1] = col;
+    int size = 2;
+    int count = 0;
+    while (size > 0) {
+      size -= 2;
+      int r = stack[size];
+      int c = stack[size + 1];
+      T[][] cells = direct(matrix);
+      if (!matches(matrix, cells, r, c, target)) {
+        // An earlier span already filled it.
+        continue;
+      } // if
+      int left = c;
+      while (left > 0 && matches(matrix, cells, r, left - 1, target)) {
+        left--;
+      } // while
+      int right = c + 1;
+      while (right < width && matches(matrix, cells, r, right, target)) {
+        right++;
+      } // while
+      matrix.fillRegion(r, left, r + 1, right, val);
+      count += right - left;
+      cells = direct(matrix);
+      int from = Math.max(left - reach, 0);
+      int to = Math.min(right + reach, width);
+      for (int next = r - 1; next <= r + 1; next += 2) {
+        if (next < 0 || next >= height) {
+          continue;
+        } // if
+        // Push the first cell of each run of matching cells next to the span.
+        boolean inRun = false;
+        for (int j = from; j < to; j++) {
+          boolean match = matches(matrix, cells, next, j, target);
+          if (match && !inRun) {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, 2 * size);
+            } // if
+            stack[size++] = next;
+            stack[size++] = j;
+          } // if
+          inRun = match;
+        } // for
+      } // for
+    } // while
+    return count;
+  } // floodFill(Matrix<T>, int, int, T, boolean)
+
+  // +----------+----------------------------------------------------
+  // | Labeling |
+  // +----------+
+
+  /**
+   * Label the connected regions of a matrix. Each region gets its own label, from 1 up to the
+   * number of regions, numbered in the order that their first cells appear in row-major order.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix to label.
+   * @param diagonal Whether cells that share only a corner are connected.
+   * @return a matrix of the same shape that holds the label of each cell.
+   */
+  public static <T> IntMatrix label(Matrix<T> matrix, boolean diagonal) {
+    return label(matrix, diagonal, false);
+  } // label(Matrix<T>, boolean)
+
+  /**
+   * Label the connected regions of a matrix, as in <code>label(matrix, diagonal)</code>. If
+   * parallel, large matrices are split into bands of rows that are linked on separate threads
+   * and then stitched together.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix to label.
+   * @param diagonal Whether cells that share only a corner are connected.
+   * @param parallel Whether to use several threads.
+   * @return a matrix of the same shape that holds the label of each cell.
+   */
+  public static <T> IntMatrix label(Matrix<T> matrix, boolean diagonal, boolean parallel) {
+    int height = matrix.height();
+    int width = (height == 0) ? 0 : matrix.width();
+    int[] parent = link(rowsOf(matrix, width), width, diagonal, parallel);
+    IntMatrix result = new IntMatrix(width, height);
+    int[][] labels = result.values;
+    int count = 0;
+    for (int r = 0; r < height; r++) {
+      int[] rowLabels = labels[r];
+      int base = r * width;
+      for (int c = 0; c < width; c++) {
+        int root = find(parent, base + c);
+        if (root == base + c) {
+          rowLabels[c] = ++count;
+        } else {
+          // Roots are the first cells of their regions, so they already have labels.
+          rowLabels[c] = labels[root / width][root % width];
+        } // if/else
+      } // for c
+    } // for r
+    return result;
+  } // label(Matrix<T>, boolean, boolean)
+
+  /**
+   * Count the connected regions of a matrix.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param diagonal Whether cells that share only a corner are connected.
+   * @param parallel Whether to use several threads.
+   * @return the number of regions.
+   */
+  public static <T> int countRegions(Matrix<T> matrix, boolean diagonal, boolean parallel) {
+    int height = matrix.height();
+    int width = (height == 0) ? 0 : matrix.width();
+    int[] parent = link(rowsOf(matrix, width), width, diagonal, parallel);
+    int count = 0;
+    for (int i = 0; i < parent.length; i++) {
+      if (parent[i] == i) {
+        count++;
+      } // if
+    } // for
+    return count;
+  } // countRegions(Matrix<T>, boolean, boolean)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Get the rows of a matrix that we can read directly, if it has any.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @return the rows, or null if the matrix must be read through get.
+   */
+  static <T> T[][] direct(Matrix<T> matrix) {
+    return (matrix instanceof MatrixV0) ? ((MatrixV0<T>) matrix).values : null;
+  } // direct(Matrix<T>)
+
+  /**
+   * Determine if a cell holds the target value.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param cells The rows of the matrix, or null to read through get.
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param target The value to look for.
+   * @return true if the cell holds the target, false otherwise.
+   */
+  static <T> boolean matches(Matrix<T> matrix, T[][] cells, int row, int col, T target) {
+    return Objects.equals((cells == null) ? matrix.get(row, col) : cells[row][col], target);
+  } // matches(Matrix<T>, T[][], int, int, T)
+
+  /**
+   * Get every row of a matrix as an array, reading a <code>MatrixV0</code> in place and copying
+   * anything else.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param width The width of the matrix.
+   * @return the rows, which must not be changed.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T[][] rowsOf(Matrix<T> matrix, int width) {
+    T[][] rows = direct(matrix);
+    if (rows == null) {
+      rows = (T[][]) new Object[matrix.height()][width];
+      try {
+        for (int r = 0; r < rows.length; r++) {
+          matrix.getRow(r, rows[r]);
+        } // for
+      } catch (ArraySizeException e) {
+        // The rows are exactly as wide as the matrix.
+        throw new AssertionError(e);
+      } // try/catch
+    } // if
+    return rows;
+  } // rowsOf(Matrix<T>, int)
+
+  /**
+   * Link every cell to its region. Cell (r, c) is node r * width + c, and each region's root is
+   * its first cell in row-major order.
+   *
+   * @param rows The rows of the matrix.
+   * @param width The width of the matrix.
+   * @param diagonal Whether cells that share only a corner are connected.
+   * @param parallel Whether to use several threads.
+   * @return the parent of each node.
+   * @throws ArithmeticException If the matrix has too many cells.
+   */
+  static int[] link(Object[][] rows, int width, boolean diagonal, boolean parallel) {
+    int[] parent = new int[Math.multiplyExact(rows.length, width)];
+    BandLabel task = new BandLabel(rows, parent, width, diagonal, 0, rows.length);
+    if (!parallel || parent.length < PARALLEL_THRESHOLD) {
+      task.linkBand();
+    } else {
+      ForkJoinPool.commonPool().invoke(task);
+    } // if/else
+    return parent;
+  } // link(Object[][], int, boolean, boolean)
+
+  /**
+   * Find the root of a node, halving the path as we go.
+   *
+   * @param parent The parent of each node.
+   * @param node The node.
+   * @return the root.
+   */
+  static int find(int[] parent, int node) {
+    while (parent[node] != node) {
+      parent[node] = parent[parent[node]];
+      node = parent[node];
+    } // while
+    return node;
+  } // find(int[], int)
+
+  /**
+   * Join the regions of two nodes, keeping the smaller root.
+   *
+   * @param parent The parent of each node.
+   * @param one One node.
+   * @param other The other node.
+   */
+  static void union(int[] parent, int one, int other) {
+    int first = find(parent, one);
+    int second = find(parent, other);
+    if (first < second) {
+      parent[second] = first;
+    } else if (second < first) {
+      parent[first] = second;
+    } // if/else
+  } // union(int[], int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Parallel work |
+  // +---------------+
+
+  /**
+   * Links the cells in a band of rows. Large bands are split in two; once both halves are
+   * linked, the row where they meet is linked to the row above it. Since every root is the
+   * smallest node in its region, linking a band never touches nodes outside it.
+   */
+  @SuppressWarnings("serial")
+  static class BandLabel extends RecursiveAction {
+    /** The rows of the matrix. */
+    final Object[][] rows;
+
+    /** The parent of each node. */
+    final int[] parent;
+
+    /** The width of the matrix. */
+    final int width;
+
+    /** Whether cells that share only a corner are connected. */
+    final boolean diagonal;
+
+    /** The first of our rows (inclusive). */
+    final int lo;
+
+    /** The last of our rows (exclusive). */
+    final int hi;
+
+    /**
+     * Create a task for a band of rows.
+     *
+     * @param cells The rows of the matrix.
+     * @param links The parent of each node.
+     * @param columns The width of the matrix.
+     * @param corners Whether cells that share only a corner are connected.
+     * @param from The first row (inclusive).
+     * @param to The last row (exclusive).
+     */
+    BandLabel(Object[][] cells, int[] links, int columns, boolean corners, int from, int to) {
+      this.rows = cells;
+      this.parent = links;
+      this.width = columns;
+      this.diagonal = corners;
+      this.lo = from;
+      this.hi = to;
+    } // BandLabel(Object[][], int[], int, boolean, int, int)
+
+    @Override
+    protected void compute() {
+      if (this.hi - this.lo < 2 || (long) (this.hi - this.lo) * this.width < PARALLEL_THRESHOLD) {
+        this.linkBand();
+        return;
+      } // if
+      int mid = (this.lo + this.hi) >>> 1;
+      invokeAll(new BandLabel(this.rows, this.parent, this.width, this.diagonal, this.lo, mid),
+          new BandLabel(this.rows, this.parent, this.width, this.diagonal, mid, this.hi));
+      this.linkAbove(mid);
+    } // compute()
+
+    /** Link our rows on this thread. */
+    void linkBand() {
+      for (int r = this.lo; r < this.hi; r++) {
+        Object[] row = this.rows[r];
+        int base = r * this.width;
+        for (int c = 0; c < this.width; c++) {
+          this.parent[base + c] = base + c;
+          if (c > 0 && Objects.equals(row[c], row[c - 1])) {
+            union(this.parent, base + c, base + c - 1);
+          } // if
+        } // for
+        if (r > this.lo) {
+          this.linkAbove(r);
+        } // if
+      } // for
+    } // linkBand()
+
+    /**
+     * Link a row to the row above it.
+     *
+     * @param r The row, which must not be the first.
+     */
+    void linkAbove(int r) {
+      Object[] row = this.rows[r];
+      Object[] above = this.rows[r - 1];
+      int base = r * this.width;
+      for (int c = 0; c < this.width; c++) {
+        Object val = row[c];
+        if (Objects.equals(val, above[c])) {
+          union(this.parent, base + c, base + c - this.width);
+        } else if (this.diagonal) {
+          // If the cell above matched, the corners are already in its region.
+          if (c > 0 && Objects.equals(val, above[c - 1])) {
+            union(this.parent, base + c, base + c - this.width - 1);
+          } // if
+          if (c + 1 < this.width && Objects.equals(val, above[c + 1])) {
+            union(this.parent, base + c, base + c - this.width + 1);
+          } // if
+        } // if/else
+      } // for
+    } // linkAbove(int)
+  } // class BandLabel
+} // class MatrixRegions
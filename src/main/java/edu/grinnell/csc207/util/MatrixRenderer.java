@@ -0,0 +1,305 @@
+package edu.grinnell.csc207.util;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Draws matrices as text, in the format of <code>Matrix.print</code>.
+ *
+ * <p>Each cell is converted to a string exactly once. Lines are assembled in a reusable buffer
+ * and handed to the pen in large blocks, and padding comes from preallocated runs of spaces
+ * rather than new strings. A renderer can also draw a viewport, a rectangle of rows and columns,
+ * so that callers can page through huge matrices without formatting all of them.
+ *
+ * <p>Renderers are not thread-safe, but may be reused.
+ *
+ * @author Your Name Here
+ */
+public class MatrixRenderer {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The width of the row labels. */
+  static final int LABEL_WIDTH = 4;
+
+  /** How many characters we collect before we pass them on to the pen. */
+  static final int BLOCK_SIZE = 8192;
+
+  /** The line separator, as used by <code>PrintWriter.println</code>. */
+  static final String NEWLINE = System.lineSeparator();
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The text we have not yet passed on to the pen. */
+  private final StringBuilder block;
+
+  /** Room to move the block to on its way to the pen. */
+  private char[] chars;
+
+  /** A run of spaces, for padding. */
+  private char[] spaces;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /** Create a new renderer. */
+  public MatrixRenderer() {
+    this.block = new StringBuilder(BLOCK_SIZE + 256);
+    this.chars = new char[BLOCK_SIZE + 256];
+    this.spaces = new char[16];
+    Arrays.fill(this.spaces, ' ');
+  } // MatrixRenderer()
+
+  // +----------------+----------------------------------------------
+  // | Public methods |
+  // +----------------+
+
+  /**
+   * Draw a whole matrix.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param pen The PrintWriter to use for printing.
+   * @param matrix The matrix to print.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   */
+  public <T> void render(PrintWriter pen, Matrix<T> matrix, boolean includeLabels) {
+    int width = matrix.width();
+    int height = matrix.height();
+    this.render(pen, matrix, includeLabels, 0, 0, height, width);
+  } // render(PrintWriter, Matrix<T>, boolean)
+
+  /**
+   * Draw part of a matrix. The columns are as wide as the widest cell in the viewport, and the
+   * labels, if any, give the positions in the whole matrix.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param pen The PrintWriter to use for printing.
+   * @param matrix The matrix to print.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   * @param top The first row to draw.
+   * @param left The first column to draw.
+   * @param rows The number of rows to draw.
+   * @param cols The number of columns to draw.
+   * @throws IndexOutOfBoundsException If the viewport does not fit in the matrix.
+   */
+  public <T> void render(PrintWriter pen, Matrix<T> matrix, boolean includeLabels, int top,
+      int left, int rows, int cols) {
+    Matrix.checkRegion(matrix, top, left, rows, cols);
+    String[][] cells = this.format(matrix, top, left, rows, cols);
+
+    // Find the maximum width of cells, and add some space on the sides.
+    int cellWidth = 0;
+    for (String[] row : cells) {
+      for (String cell : row) {
+        cellWidth = Math.max(cellWidth, cell.length());
+      } // for cell
+    } // for row
+    cellWidth += 2;
+    String separator = separator(includeLabels, cellWidth, cols);
+
+    if (includeLabels) {
+      this.write(pen, this.header(left, cols, cellWidth));
+    } // if
+    StringBuilder line = new StringBuilder();
+    for (int row = 0; row < rows; row++) {
+      line.setLength(0);
+      this.appendRow(line, cells[row], cellWidth);
+      this.writeRow(pen, separator, includeLabels ? top + row : -1, line);
+    } // for
+    this.write(pen, separator);
+    this.finish(pen);
+  } // render(PrintWriter, Matrix<T>, boolean, int, int, int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Convert the cells in a viewport to strings.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param top The first row.
+   * @param left The first column.
+   * @param rows The number of rows.
+   * @param cols The number of columns.
+   * @return the strings, by row.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> String[][] format(Matrix<T> matrix, int top, int left, int rows, int cols) {
+    String[][] result = new String[rows][cols];
+    // Whole rows can come out in bulk.
+    T[] buffer = (rows > 0 && cols == matrix.width()) ? (T[]) new Object[cols] : null;
+    for (int row = 0; row < rows; row++) {
+      if (buffer != null) {
+        try {
+          matrix.getRow(top + row, buffer);
+        } catch (ArraySizeException e) {
+          throw new AssertionError(e);
+        } // try/catch
+      } // if
+      for (int col = 0; col < cols; col++) {
+        T val = (buffer != null) ? buffer[col] : matrix.get(top + row, left + col);
+        result[row][col] = Matrix.toString(val);
+      } // for col
+    } // for row
+    return result;
+  } // format(Matrix<T>, int, int, int, int)
+
+  /**
+   * Build the line that separates rows, including its line separator.
+   *
+   * @param includeLabels Whether there is space for labels on the left.
+   * @param cellWidth The width of a cell.
+   * @param cols The number of columns.
+   * @return the line.
+   */
+  static String separator(boolean includeLabels, int cellWidth, int cols) {
+    StringBuilder line = new StringBuilder((cellWidth + 1) * cols + LABEL_WIDTH + 4);
+    if (includeLabels) {
+      line.append("    ");
+    } // if
+    String dashes = "-".repeat(cellWidth);
+    for (int i = 0; i < cols; i++) {
+      line.append('+').append(dashes);
+    } // for
+    return line.append('+').append(NEWLINE).toString();
+  } // separator(boolean, int, int)
+
+  /**
+   * Build the line of column labels, including its line separator.
+   *
+   * @param left The number of the first column.
+   * @param cols The number of columns.
+   * @param cellWidth The width of a cell.
+   * @return the line.
+   */
+  String header(int left, int cols, int cellWidth) {
+    this.ensureSpaces(Math.max(cellWidth + 1, LABEL_WIDTH));
+    StringBuilder line = new StringBuilder((cellWidth + 1) * cols + LABEL_WIDTH + 2);
+    line.append(this.spaces, 0, LABEL_WIDTH);
+    for (int col = left; col < left + cols; col++) {
+      this.appendCell(line, label(col), cellWidth + 1);
+    } // for
+    return line.append(NEWLINE).toString();
+  } // header(int, int, int)
+
+  /**
+   * Add the cells of a row, each centered in a box and preceded by a bar, and a final bar.
+   *
+   * @param line Where to add them.
+   * @param cells The cells.
+   * @param cellWidth The width of a cell.
+   */
+  void appendRow(StringBuilder line, String[] cells, int cellWidth) {
+    this.ensureSpaces(cellWidth);
+    for (String cell : cells) {
+      line.append('|');
+      this.appendCell(line, cell, cellWidth);
+    } // for
+    line.append('|');
+  } // appendRow(StringBuilder, String[], int)
+
+  /**
+   * Format a row or column number, as <code>String.format("%2d", num)</code> does.
+   *
+   * @param num The number.
+   * @return the label.
+   */
+  static String label(int num) {
+    return (num >= 0 && num < 10) ? " " + num : Integer.toString(num);
+  } // label(int)
+
+  /**
+   * Add a string centered in a box. As <code>Matrix.printCell</code> does, truncates strings that
+   * are too wide and ends the line after them.
+   *
+   * @param line Where to add the string.
+   * @param str The string.
+   * @param boxWidth The width of the box.
+   */
+  private void appendCell(StringBuilder line, String str, int boxWidth) {
+    int len = str.length();
+    if (len > boxWidth) {
+      line.append(str, 0, boxWidth).append(NEWLINE);
+    } else {
+      int before = (boxWidth - len) / 2;
+      line.append(this.spaces, 0, before)
+          .append(str)
+          .append(this.spaces, 0, boxWidth - before - len);
+    } // if/else
+  } // appendCell(StringBuilder, String, int)
+
+  /**
+   * Make sure that we have enough spaces for padding.
+   *
+   * @param count The number of spaces we need.
+   */
+  private void ensureSpaces(int count) {
+    if (this.spaces.length < count) {
+      this.spaces = new char[count];
+      Arrays.fill(this.spaces, ' ');
+    } // if
+  } // ensureSpaces(int)
+
+  /**
+   * Send a separator and a row to the pen.
+   *
+   * @param pen The pen.
+   * @param separator The separator that goes above the row.
+   * @param label The number to label the row with, or -1 for no label.
+   * @param line The cells of the row, as built by appendRow.
+   */
+  void writeRow(PrintWriter pen, String separator, int label, CharSequence line) {
+    this.block.append(separator);
+    if (label >= 0) {
+      this.block.append(' ').append(label(label)).append(' ');
+    } // if
+    this.block.append(line).append(NEWLINE);
+    if (this.block.length() >= BLOCK_SIZE) {
+      this.drain(pen);
+    } // if
+  } // writeRow(PrintWriter, String, int, CharSequence)
+
+  /**
+   * Send some text to the pen.
+   *
+   * @param pen The pen.
+   * @param text The text.
+   */
+  void write(PrintWriter pen, CharSequence text) {
+    this.block.append(text);
+    if (this.block.length() >= BLOCK_SIZE) {
+      this.drain(pen);
+    } // if
+  } // write(PrintWriter, CharSequence)
+
+  /**
+   * Send everything that is left to the pen, and flush it.
+   *
+   * @param pen The pen.
+   */
+  void finish(PrintWriter pen) {
+    this.drain(pen);
+    pen.flush();
+  } // finish(PrintWriter)
+
+  /**
+   * Pass the collected text on to the pen.
+   *
+   * @param pen The pen.
+   */
+  private void drain(PrintWriter pen) {
+    int len = this.block.length();
+    if (this.chars.length < len) {
+      this.chars = new char[len];
+    } // if
+    this.block.getChars(0, len, this.chars, 0);
+    pen.write(this.chars, 0, len);
+    this.block.setLength(0);
+  } // drain(PrintWriter)
+} // class MatrixRenderer
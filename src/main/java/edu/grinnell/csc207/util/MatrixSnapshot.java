@@ -0,0 +1,260 @@
+package edu.grinnell.csc207.util;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, consistent view of one version of a {@link VersionedMatrix}. Reading a snapshot
+ * never takes a lock, and the writers of the matrix it came from never change it. All of the
+ * mutators throw <code>UnsupportedOperationException</code>.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class MatrixSnapshot<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The version we show. Nobody writes to it once it is published. */
+  final MatrixV0<T> version;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a snapshot of a published version.
+   *
+   * @param published The version, which must never be written to again.
+   */
+  MatrixSnapshot(MatrixV0<T> published) {
+    this.version = published;
+  } // MatrixSnapshot(MatrixV0<T>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.version.get(row, col);
+  } // get(int, int)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.version.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.version.width();
+  } // width()
+
+  /**
+   * Perform an action on every cell of the snapshot, in row-major order.
+   *
+   * @param action What to do with each cell.
+   */
+  public void forEachCell(CellConsumer<? super T> action) {
+    this.version.forEachCell(action);
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells of the snapshot, in row-major order.
+   *
+   * @return the stream.
+   */
+  public Stream<T> cells() {
+    return this.version.cells();
+  } // cells()
+
+  /**
+   * Get a stream of the rows of the snapshot, from top to bottom.
+   *
+   * @return the stream.
+   */
+  public Stream<List<T>> rows() {
+    return this.version.rows();
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells of the snapshot.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    return this.version.reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void set(int row, int col, T val) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // set(int, int, T)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param row The number of the row to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // insertRow(int)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // insertRow(int, T[])
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param col The number of the column to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // insertCol(int)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // insertCol(int, T[])
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param row The number of the row to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // deleteRow(int)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param col The number of the column to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // deleteCol(int)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Snapshots are immutable.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    throw new UnsupportedOperationException("Snapshots are read-only");
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy the snapshot. Since snapshots never change, the snapshot itself will do.
+   *
+   * @return this snapshot.
+   */
+  public MatrixSnapshot<T> clone() {
+    return this;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this snapshot, using the same scheme as <code>MatrixV0</code>.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return this.version.hashCode();
+  } // hashCode()
+} // class MatrixSnapshot
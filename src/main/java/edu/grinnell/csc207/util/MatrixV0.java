@@ -1,15 +1,49 @@
 package edu.grinnell.csc207.util;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An implementation of two-dimensional matrices.
  *
+ * <p>Clones share rows copy-on-write. Each row records the ownership token of the matrix that
+ * may write to it in place; cloning gives both matrices fresh tokens, so every row becomes
+ * read-only to both, and a row is copied the first time either matrix writes to it. The array of
+ * rows is shared the same way until the first mutation. Hence <code>clone</code> is O(1), and
+ * row insertion and deletion keep sharing the rows they do not touch.
+ *
+ * <p>Fills of more than <code>PARALLEL_THRESHOLD</code> cells are split into bands of rows that
+ * are filled in parallel on the common <code>ForkJoinPool</code>. Reductions of that many cells
+ * are split the same way.
+ *
+ * <p>The matrix keeps its <code>ContentHash</code> up to date as it changes, a row at a time, so
+ * <code>hashCode</code> takes O(1) time and <code>equals</code> can usually reject a different
+ * matrix without looking at its cells. As with the keys of a <code>HashMap</code>, the values in
+ * the cells must not change their own hash codes while they are in the matrix. If a mutable cell
+ * does change, the matrix keeps its old hash code, and <code>equals</code> reports that it
+ * differs from other <code>MatrixV0</code>s with the same contents. To change such a cell, take
+ * it out with <code>set</code> first and put it back afterwards.
+ *
  * @author Your Name Here
  * @author Samuel A. Rebelsky
  * @param <T> The type of values stored in the matrix.
  */
 public class MatrixV0<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The number of cells below which fills stay on the calling thread. */
+  static final int PARALLEL_THRESHOLD = 1 << 16;
+
   // +--------+------------------------------------------------------
   // | Fields |
   // +--------+
@@ -17,6 +51,16 @@ public class MatrixV0<T> implements Matrix<T> {
   T[][] values;
   /** Default value. */
   final T defaultVal;
+  /** The ownership token of each row; rows owned by someone else must be copied before writing. */
+  Object[] owners;
+  /** Our ownership token. */
+  Object token;
+  /** Whether values, owners, and rowHashes are shared with a clone (or an original). */
+  boolean shared;
+  /** The hash of each row, as in <code>ContentHash.row</code>. */
+  int[] rowHashes;
+  /** The hash of the cells, as in <code>ContentHash.rows</code>, without the shape. */
+  int cellHash;
 
   // +--------------+------------------------------------------------
   // | Constructors |
@@ -34,6 +78,12 @@ public class MatrixV0<T> implements Matrix<T> {
   public MatrixV0(int width, int height, T def) {
     this.values = (T[][]) new Object[height][width];
     this.defaultVal = def;
+    this.token = new Object();
+    this.owners = new Object[height];
+    Arrays.fill(this.owners, this.token);
+    this.shared = false;
+    this.rowHashes = new int[height];
+    this.cellHash = 0;
     fillRegion(0, 0, height, width, def);
   } // MatrixV0(int, int, T)
 
@@ -73,7 +123,9 @@ public class MatrixV0<T> implements Matrix<T> {
    * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
    */
   public void set(int row, int col, T val) {
-    this.values[row][col] = val;
+    T[] vals = this.writableRow(row);
+    this.rehashCell(row, col, vals[col], val);
+    vals[col] = val;
   } // set(int, int, T)
 
   /**
@@ -106,6 +158,8 @@ public class MatrixV0<T> implements Matrix<T> {
       T[] li = (T[]) new Object[this.width()];
       Arrays.fill(li, this.defaultVal);
       this.insertRow(row, li);
+      // Nobody else has li, so we may write to it in place.
+      this.owners[row] = this.token;
     } catch (ArraySizeException e) {
     } // try/catch
   } // insertRow(int)
@@ -114,7 +168,8 @@ public class MatrixV0<T> implements Matrix<T> {
    * Insert a row filled with the specified values.
    *
    * @param row The number of the row to insert.
-   * @param vals The values to insert.
+   * @param vals The values to insert. The matrix keeps the array itself, so the caller must not
+   *     change it afterwards.
    * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
    * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
    */
@@ -127,15 +182,26 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException();
     } // index check
 
-    T[][] newMatrix = (T[][]) new Object[this.height() + 1][this.width()];
-    for (int i = 0; i < row; ++i) {
-      newMatrix[i] = this.values[i];
-    } // for 0 to row
-    for (int i = row + 1; i < newMatrix.length; ++i) {
-      newMatrix[i] = this.values[i - 1];
-    } // for row + 1 to new height
+    // Only the array of rows is new; the rows themselves keep their owners.
+    int height = this.height();
+    T[][] newMatrix = (T[][]) new Object[height + 1][];
+    Object[] newOwners = new Object[height + 1];
+    System.arraycopy(this.values, 0, newMatrix, 0, row);
+    System.arraycopy(this.owners, 0, newOwners, 0, row);
+    System.arraycopy(this.values, row, newMatrix, row + 1, height - row);
+    System.arraycopy(this.owners, row, newOwners, row + 1, height - row);
+    // The caller still holds vals, so we treat it as someone else's row.
     newMatrix[row] = vals;
+    newOwners[row] = null;
+    int[] newHashes = new int[height + 1];
+    System.arraycopy(this.rowHashes, 0, newHashes, 0, row);
+    System.arraycopy(this.rowHashes, row, newHashes, row + 1, height - row);
+    newHashes[row] = ContentHash.row(vals);
     this.values = newMatrix;
+    this.owners = newOwners;
+    this.rowHashes = newHashes;
+    this.cellHash = ContentHash.rows(newHashes, height + 1);
+    this.shared = false;
   } // insertRow(int, T[])
 
   /**
@@ -172,7 +238,7 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException();
     } // index check
 
-    T[][] newMatrix = (T[][]) new Object[this.height()][this.width() + 1];
+    T[][] newMatrix = (T[][]) new Object[this.height()][];
 
     for (int i = 0; i < this.height(); ++i) {
       T[] newRow = (T[]) new Object[this.width() + 1];
@@ -180,13 +246,13 @@ public class MatrixV0<T> implements Matrix<T> {
         newRow[j] = this.values[i][j];
       } // for 0 to col
       newRow[col] = vals[i];
-      for (int j = col + 1; j < newMatrix[0].length; ++j) {
+      for (int j = col + 1; j < newRow.length; ++j) {
         newRow[j] = this.values[i][j - 1];
       } // for col + 1 to new width
       newMatrix[i] = newRow;
     } // for each row
 
-    this.values = newMatrix;
+    this.replaceAllRows(newMatrix);
   } // insertCol(int, T[])
 
   /**
@@ -202,14 +268,21 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException();
     } // index check
 
-    T[][] newMatrix = (T[][]) new Object[this.height() - 1][this.width()];
-    for (int i = 0; i < row; ++i) {
-      newMatrix[i] = this.values[i];
-    } // for 0 to row
-    for (int i = row + 1; i < this.height(); ++i) {
-      newMatrix[i - 1] = this.values[i];
-    } // for row + 1 to height
+    int height = this.height();
+    T[][] newMatrix = (T[][]) new Object[height - 1][];
+    Object[] newOwners = new Object[height - 1];
+    System.arraycopy(this.values, 0, newMatrix, 0, row);
+    System.arraycopy(this.owners, 0, newOwners, 0, row);
+    System.arraycopy(this.values, row + 1, newMatrix, row, height - row - 1);
+    System.arraycopy(this.owners, row + 1, newOwners, row, height - row - 1);
+    int[] newHashes = new int[height - 1];
+    System.arraycopy(this.rowHashes, 0, newHashes, 0, row);
+    System.arraycopy(this.rowHashes, row + 1, newHashes, row, height - row - 1);
     this.values = newMatrix;
+    this.owners = newOwners;
+    this.rowHashes = newHashes;
+    this.cellHash = ContentHash.rows(newHashes, height - 1);
+    this.shared = false;
   } // deleteRow(int)
 
   /**
@@ -225,7 +298,7 @@ public class MatrixV0<T> implements Matrix<T> {
       throw new IndexOutOfBoundsException();
     } // index check
 
-    T[][] newMatrix = (T[][]) new Object[this.height()][this.width() - 1];
+    T[][] newMatrix = (T[][]) new Object[this.height()][];
 
     for (int i = 0; i < this.height(); ++i) {
       T[] newRow = (T[]) new Object[this.width() - 1];
@@ -239,9 +312,33 @@ public class MatrixV0<T> implements Matrix<T> {
       newMatrix[i] = newRow;
     } // for each row
 
-    this.values = newMatrix;
+    this.replaceAllRows(newMatrix);
   } // deleteCol(int)
 
+  /**
+   * Append rows to the bottom of the matrix, growing the array of rows just once.
+   *
+   * @param rows The rows to append. The matrix keeps the arrays themselves, so the caller must
+   *     not change them afterwards.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   */
+  public void appendRows(T[][] rows, int count) throws ArraySizeException {
+    Matrix.checkRows(rows, count, this.width());
+    int height = this.height();
+    T[][] newMatrix = Arrays.copyOf(this.values, height + count);
+    System.arraycopy(rows, 0, newMatrix, height, count);
+    // As in insertRow, the caller still holds the rows, so their owners stay null.
+    this.owners = Arrays.copyOf(this.owners, height + count);
+    this.rowHashes = Arrays.copyOf(this.rowHashes, height + count);
+    this.values = newMatrix;
+    this.shared = false;
+    for (int row = height; row < height + count; row++) {
+      this.adjustRow(row, ContentHash.row(newMatrix[row]));
+    } // for
+  } // appendRows(T[][], int)
+
   /**
    * Fill a rectangular region of the matrix.
    *
@@ -253,13 +350,25 @@ public class MatrixV0<T> implements Matrix<T> {
    * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
    */
   public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
-    for (int i = startRow; i < endRow; i += 1) {
-      for (int j = startCol; j < endCol; j += 1) {
-        this.values[i][j] = val;
-      } // for
-    } // for
+    this.fill(startRow, startCol, endRow, endCol, val, null);
   } // fillRegion(int, int, int, int, T)
 
+  /**
+   * Fill a rectangular region of the matrix with computed values. Large regions are filled in
+   * parallel, so the generator may be called from several threads.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    this.fill(startRow, startCol, endRow, endCol, null, gen);
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
   /**
    * Fill a line (horizontal, vertical, diagonal).
    *
@@ -274,24 +383,274 @@ public class MatrixV0<T> implements Matrix<T> {
    */
   public void fillLine(
       int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
-    for (int i = startRow, j = startCol; i < endRow && j < endCol; i += deltaRow, j += deltaCol) {
-      this.values[i][j] = val;
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    if (steps == 0) {
+      return;
+    } // if
+    if (deltaRow == 0 && deltaCol == 1) {
+      this.fill(startRow, startCol, startRow + 1, startCol + steps, val, null);
+      return;
+    } // if
+    int valHash = Objects.hashCode(val);
+    if (deltaRow == 0) {
+      // One row, so one hash update.
+      T[] vals = this.writableRow(startRow);
+      int delta = 0;
+      int col = startCol;
+      for (int n = steps; n > 0; n--) {
+        delta += (valHash - Objects.hashCode(vals[col])) * ContentHash.colPower(col);
+        vals[col] = val;
+        col += deltaCol;
+      } // for
+      this.adjustRow(startRow, delta);
+      return;
+    } // if
+    int row = startRow;
+    int col = startCol;
+    for (int n = steps; n > 0; n--) {
+      T[] vals = this.writableRow(row);
+      this.adjustRow(row, (valHash - Objects.hashCode(vals[col])) * ContentHash.colPower(col));
+      vals[col] = val;
+      row += deltaRow;
+      col += deltaCol;
     } // for
   } // fillLine(int, int, int, int, int, int, T)
 
   /**
-   * A make a copy of the matrix. May share references (e.g., if individual elements are mutable,
-   * mutating them in one matrix may affect the other matrix) or may not.
+   * Draw a straight line from one cell to another, including both ends, choosing the cells with
+   * Bresenham's algorithm. Horizontal and vertical lines are filled as regions. Cells are written
+   * straight into the rows, and the hash is updated once for each row the line crosses.
    *
-   * @return a copy of the matrix.
+   * @param startRow The row of one end.
+   * @param startCol The column of one end.
+   * @param endRow The row of the other end.
+   * @param endCol The column of the other end.
+   * @param val The value to store.
+   * @throws IndexOutOfBoundsException If either end is outside the matrix, in which case nothing
+   *     is drawn.
    */
-  public Matrix<T> clone() {
-    Matrix<T> newMatrix = new MatrixV0<T>(this.width(), this.height());
-    for (int i = 0; i < this.height(); ++i) {
-      for (int j = 0; j < this.width(); ++j) {
-        newMatrix.set(i, j, this.values[i][j]);
-      } // for
+  public void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    int height = Math.abs(endRow - startRow);
+    int width = Math.abs(endCol - startCol);
+    Matrix.checkRegion(this, Math.min(startRow, endRow), Math.min(startCol, endCol), height + 1,
+        width + 1);
+    if (height == 0 || width == 0) {
+      this.fill(Math.min(startRow, endRow), Math.min(startCol, endCol),
+          Math.max(startRow, endRow) + 1, Math.max(startCol, endCol) + 1, val, null);
+      return;
+    } // if
+    int stepRow = (startRow < endRow) ? 1 : -1;
+    int stepCol = (startCol < endCol) ? 1 : -1;
+    int valHash = Objects.hashCode(val);
+    int err = width - height;
+    int row = startRow;
+    int col = startCol;
+    T[] vals = this.writableRow(row);
+    int delta = 0;
+    for (int remaining = Math.max(width, height); remaining > 0; remaining--) {
+      delta += (valHash - Objects.hashCode(vals[col])) * ContentHash.colPower(col);
+      vals[col] = val;
+      int twice = 2 * err;
+      if (twice > -height) {
+        err -= height;
+        col += stepCol;
+      } // if
+      if (twice < width) {
+        err += width;
+        this.adjustRow(row, delta);
+        delta = 0;
+        row += stepRow;
+        vals = this.writableRow(row);
+      } // if
+    } // for
+    // The loop stops at the far end without stepping past it.
+    delta += (valHash - Objects.hashCode(vals[col])) * ContentHash.colPower(col);
+    vals[col] = val;
+    this.adjustRow(row, delta);
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Copy a row into an array.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    T[] source = this.values[row];
+    if (dest.length != source.length) {
+      throw new ArraySizeException();
+    } // if
+    System.arraycopy(source, 0, dest, 0, source.length);
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.values[row].length) {
+      throw new ArraySizeException();
+    } // if
+    System.arraycopy(vals, 0, this.writableRow(row), 0, vals.length);
+    this.adjustRow(row, ContentHash.row(vals) - this.rowHashes[row]);
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column into an array.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    if (dest.length != this.values.length) {
+      throw new ArraySizeException();
+    } // if
+    for (int row = 0; row < dest.length; row++) {
+      dest[row] = this.values[row][col];
+    } // for
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void setCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.values.length) {
+      throw new ArraySizeException();
+    } // if
+    if (vals.length > 0 && (col < 0 || col >= this.width())) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    for (int row = 0; row < vals.length; row++) {
+      T[] target = this.writableRow(row);
+      this.rehashCell(row, col, target[col], vals[row]);
+      target[col] = vals[row];
+    } // for
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this matrix, a row segment at a time. The source
+   * may be this matrix, and the regions may overlap.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    if (!(src instanceof MatrixV0)) {
+      Matrix.super.copyRegion(src, srcRow, srcCol, dstRow, dstCol, height, width);
+      return;
+    } // if
+    Matrix.checkRegion(src, srcRow, srcCol, height, width);
+    Matrix.checkRegion(this, dstRow, dstCol, height, width);
+    MatrixV0<? extends T> source = (MatrixV0<? extends T>) src;
+    // Moving down within one matrix, we must write the lower rows before reading them.
+    boolean backward = (source == this) && dstRow > srcRow;
+    for (int i = 0; i < height; i++) {
+      int r = backward ? height - 1 - i : i;
+      T[] target = this.writableRow(dstRow + r);
+      int before = ContentHash.segment(target, dstCol, dstCol + width);
+      // Claiming a row may copy the array of rows, so we look up the source afterwards.
+      System.arraycopy(source.values[srcRow + r], srcCol, target, dstCol, width);
+      this.adjustRow(dstRow + r, ContentHash.segment(target, dstCol, dstCol + width) - before);
     } // for
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Perform an action on every cell, in row-major order, walking the rows directly.
+   *
+   * @param action What to do with each cell.
+   */
+  public void forEachCell(CellConsumer<? super T> action) {
+    T[][] rows = this.values;
+    for (int row = 0; row < rows.length; row++) {
+      T[] vals = rows[row];
+      for (int col = 0; col < vals.length; col++) {
+        action.accept(row, col, vals[col]);
+      } // for col
+    } // for row
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells, in row-major order, read directly from the rows.
+   *
+   * @return the stream.
+   */
+  public Stream<T> cells() {
+    return StreamSupport.stream(
+        new CellSpliterator<T>(this, this.values, 0, this.height()), false);
+  } // cells()
+
+  /**
+   * Get a stream of the rows, from top to bottom. Each row is a read-only view, not a copy.
+   *
+   * @return the stream.
+   */
+  public Stream<List<T>> rows() {
+    T[][] rows = this.values;
+    return Arrays.stream(rows).map((row) -> Collections.unmodifiableList(Arrays.asList(row)));
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells, in parallel bands of rows if the matrix is large.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    Stream<T> stream = this.cells();
+    if ((long) this.height() * this.width() >= PARALLEL_THRESHOLD) {
+      stream = stream.parallel();
+    } // if
+    return stream.reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * A make a copy of the matrix. Shares references to the elements. Takes O(1) time, since the
+   * rows are only copied when one of the two matrices writes to them.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public MatrixV0<T> clone() {
+    MatrixV0<T> newMatrix;
+    try {
+      newMatrix = (MatrixV0<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    // Fresh tokens mean that neither matrix owns any of the rows.
+    this.token = new Object();
+    newMatrix.token = new Object();
+    this.shared = true;
+    newMatrix.shared = true;
     return newMatrix;
   } // clone()
 
@@ -308,20 +667,28 @@ public class MatrixV0<T> implements Matrix<T> {
   } // equals(Object)
 
   /**
-   * Determine if this object is equal to another object.
+   * Determine if this object is equal to another object. Identical matrices, matrices of
+   * different shapes, and <code>MatrixV0</code>s with different hash codes are told apart
+   * without looking at the cells.
    *
    * @param other The object to compare.
    * @return true if the other object is a matrix with the same width, height, and equal elements;
    *     false otherwise.
    */
   public boolean equals(Matrix other) {
+    if (other == this) {
+      return true;
+    } // if identical
     if (this.height() != other.height() || this.width() != other.width()) {
       return false;
     } // if dimensions not equal
+    if (other instanceof MatrixV0 && other.hashCode() != this.hashCode()) {
+      return false;
+    } // if hash codes not equal
 
     for (int i = 0; i < this.height(); ++i) {
       for (int j = 0; j < this.width(); ++j) {
-        if (!this.values[i][j].equals(other.get(i, j))) {
+        if (!Objects.equals(this.values[i][j], other.get(i, j))) {
           return false;
         } // check each value
       } // for
@@ -332,23 +699,240 @@ public class MatrixV0<T> implements Matrix<T> {
   /**
    * Compute a hash code for this matrix. Included because any object that implements `equals` is
    * expected to implement `hashCode` and ensure that the hash codes for two equal objects are the
-   * same.
+   * same. Every kind of matrix uses <code>ContentHash</code>, which we keep up to date as the
+   * matrix changes, so this takes O(1) time. It sees only changes made through the matrix: if a
+   * cell changes its own hash code while it is in the matrix, the result is stale.
    *
    * @return the hash code.
    */
   public int hashCode() {
-    int multiplier = 7;
-    int code = this.width() + multiplier * this.height();
-    for (int row = 0; row < this.height(); row++) {
-      for (int col = 0; col < this.width(); col++) {
-        T val = this.get(row, col);
-        if (val != null) {
-          // It's okay if the following computation overflows, since
-          // it will overflow uniformly.
-          code = code * multiplier + val.hashCode();
-        } // if
-      } // for col
-    } // for row
-    return code;
+    int height = this.height();
+    return ContentHash.shape((height == 0) ? 0 : this.width(), height) + this.cellHash;
   } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Get a row that we may write to, copying it (and the array of rows) if we share them.
+   *
+   * @param row The number of the row.
+   * @return the row.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   */
+  T[] writableRow(int row) {
+    if (this.shared) {
+      this.values = this.values.clone();
+      this.owners = this.owners.clone();
+      this.rowHashes = this.rowHashes.clone();
+      this.shared = false;
+    } // if
+    T[] result = this.values[row];
+    if (this.owners[row] != this.token) {
+      result = result.clone();
+      this.values[row] = result;
+      this.owners[row] = this.token;
+    } // if
+    return result;
+  } // writableRow(int)
+
+  /**
+   * Recompute the hash from scratch, after writing to the rows without going through our
+   * methods.
+   */
+  void rehash() {
+    int[] hashes = new int[this.values.length];
+    for (int row = 0; row < hashes.length; row++) {
+      hashes[row] = ContentHash.row(this.values[row]);
+    } // for
+    this.rowHashes = hashes;
+    this.cellHash = ContentHash.rows(hashes, hashes.length);
+  } // rehash()
+
+  /**
+   * Update the hash for a change to one cell. The row must already be writable.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param old The value that was in the cell.
+   * @param val The value that will be in the cell.
+   */
+  private void rehashCell(int row, int col, T old, T val) {
+    int delta = Objects.hashCode(val) - Objects.hashCode(old);
+    this.adjustRow(row, delta * ContentHash.colPower(col));
+  } // rehashCell(int, int, T, T)
+
+  /**
+   * Update the hash for a change to a row. The row must already be writable.
+   *
+   * @param row The number of the row.
+   * @param delta The change in the hash of the row.
+   */
+  private void adjustRow(int row, int delta) {
+    this.rowHashes[row] += delta;
+    this.cellHash += delta * ContentHash.rowPower(row);
+  } // adjustRow(int, int)
+
+  /**
+   * Fill a rectangular region with a value or with generated values, in parallel if the region
+   * is large enough.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store, if gen is null.
+   * @param gen Computes the values to store, or null.
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @SuppressWarnings("unchecked")
+  private void fill(int startRow, int startCol, int endRow, int endCol, T val,
+      CellGenerator<? extends T> gen) {
+    if (startCol >= endCol) {
+      return;
+    } // if
+    // Claiming the rows changes our fields, so it happens here, before any forking.
+    T[][] rows = (T[][]) new Object[Math.max(endRow - startRow, 0)][];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = this.writableRow(startRow + i);
+    } // for
+    if (rows.length > 0 && (startCol < 0 || endCol > rows[0].length)) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    BandFill<T> task = new BandFill<T>(rows, startRow, startCol, endCol, val, gen);
+    if ((long) rows.length * (endCol - startCol) < PARALLEL_THRESHOLD) {
+      task.compute();
+    } else {
+      ForkJoinPool.commonPool().invoke(task);
+    } // if/else
+    for (int i = 0; i < rows.length; i++) {
+      this.adjustRow(startRow + i, task.deltas[i]);
+    } // for
+  } // fill(int, int, int, int, T, CellGenerator<? extends T>)
+
+  /**
+   * Replace every row with newly-built rows that we own.
+   *
+   * @param newValues The new rows.
+   */
+  private void replaceAllRows(T[][] newValues) {
+    this.values = newValues;
+    this.owners = new Object[newValues.length];
+    Arrays.fill(this.owners, this.token);
+    this.shared = false;
+    this.rehash();
+  } // replaceAllRows(T[][])
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * Fills a band of rows, splitting it in half while it has more than
+   * <code>PARALLEL_THRESHOLD</code> cells, and notes how the hash of each row changes.
+   *
+   * @param <T> The type of values stored in the matrix.
+   */
+  @SuppressWarnings("serial")
+  static class BandFill<T> extends RecursiveAction {
+    /** The rows of the region, which we may write to. */
+    final T[][] rows;
+
+    /** The row number of rows[0]. */
+    final int firstRow;
+
+    /** The left edge of the region (inclusive). */
+    final int startCol;
+
+    /** The right edge of the region (exclusive). */
+    final int endCol;
+
+    /** The value to store, if gen is null. */
+    final T val;
+
+    /** Computes the values to store, or null. */
+    final CellGenerator<? extends T> gen;
+
+    /** The hash of a row segment filled with val. */
+    final int valHash;
+
+    /** The change in the hash of each row, which the matrix applies after the fill. */
+    final int[] deltas;
+
+    /** The first of our rows (inclusive). */
+    final int lo;
+
+    /** The last of our rows (exclusive). */
+    final int hi;
+
+    /**
+     * Create a task for a whole region.
+     *
+     * @param regionRows The rows of the region, which we may write to.
+     * @param top The row number of regionRows[0].
+     * @param left The left edge of the region (inclusive).
+     * @param right The right edge of the region (exclusive).
+     * @param value The value to store, if generator is null.
+     * @param generator Computes the values to store, or null.
+     */
+    BandFill(T[][] regionRows, int top, int left, int right, T value,
+        CellGenerator<? extends T> generator) {
+      this.rows = regionRows;
+      this.firstRow = top;
+      this.startCol = left;
+      this.endCol = right;
+      this.val = value;
+      this.gen = generator;
+      this.valHash = Objects.hashCode(value) * ContentHash.colPower(left)
+          * ContentHash.powerSum(ContentHash.COL_BASE, right - left);
+      this.deltas = new int[regionRows.length];
+      this.lo = 0;
+      this.hi = regionRows.length;
+    } // BandFill(T[][], int, int, int, T, CellGenerator<? extends T>)
+
+    /**
+     * Create a task for part of a band.
+     *
+     * @param parent The task for the whole band.
+     * @param from The first row (inclusive).
+     * @param to The last row (exclusive).
+     */
+    BandFill(BandFill<T> parent, int from, int to) {
+      this.rows = parent.rows;
+      this.firstRow = parent.firstRow;
+      this.startCol = parent.startCol;
+      this.endCol = parent.endCol;
+      this.val = parent.val;
+      this.gen = parent.gen;
+      this.valHash = parent.valHash;
+      this.deltas = parent.deltas;
+      this.lo = from;
+      this.hi = to;
+    } // BandFill(BandFill<T>, int, int)
+
+    /** Fill our band, splitting it if it is big. */
+    @Override
+    protected void compute() {
+      if (this.hi - this.lo > 1
+          && (long) (this.hi - this.lo) * (this.endCol - this.startCol) > PARALLEL_THRESHOLD) {
+        int mid = (this.lo + this.hi) >>> 1;
+        invokeAll(new BandFill<T>(this, this.lo, mid), new BandFill<T>(this, mid, this.hi));
+        return;
+      } // if
+      for (int i = this.lo; i < this.hi; i++) {
+        T[] row = this.rows[i];
+        int before = ContentHash.segment(row, this.startCol, this.endCol);
+        if (this.gen == null) {
+          Arrays.fill(row, this.startCol, this.endCol, this.val);
+          this.deltas[i] = this.valHash - before;
+        } else {
+          for (int j = this.startCol; j < this.endCol; j++) {
+            row[j] = this.gen.apply(this.firstRow + i, j);
+          } // for
+          this.deltas[i] = ContentHash.segment(row, this.startCol, this.endCol) - before;
+        } // if/else
+      } // for
+    } // compute()
+  } // class BandFill
 } // class MatrixV0
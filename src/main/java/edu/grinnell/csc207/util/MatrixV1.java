@@ -0,0 +1,515 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of two-dimensional matrices that keeps spare capacity on both axes, using a
+ * gap buffer for the rows and another (shared by every row) for the columns.
+ *
+ * <p>The physical rows are <code>rows[0 .. rowGapStart)</code> followed by <code>rows[rowGapEnd
+ * .. rows.length)</code>; the slots in between are the gap. Inserting or deleting a row moves the
+ * gap to the row and then grows or shrinks it, so repeated insertions and deletions near the same
+ * place cost O(1) row moves plus the cost of building the row, and growth is amortized by
+ * doubling. Columns work the same way within each row, so inserting or deleting a column costs
+ * O(height) amortized when successive operations stay near one another. Moving a gap a long way
+ * costs time proportional to the distance moved (times the height, for columns).
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class MatrixV1<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The smallest amount of spare capacity we add when a gap fills up. */
+  static final int MIN_GROWTH = 4;
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The physical rows, with a gap of unused slots. */
+  Object[][] rows;
+
+  /** The first slot in the row gap. */
+  int rowGapStart;
+
+  /** The first slot after the row gap. */
+  int rowGapEnd;
+
+  /** The number of slots in each physical row. */
+  int colCapacity;
+
+  /** The first slot in the column gap (the same in every row). */
+  int colGapStart;
+
+  /** The first slot after the column gap (the same in every row). */
+  int colGapEnd;
+
+  /** Default value. */
+  final T defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public MatrixV1(int width, int height, T def) {
+    if (width < 0) {
+      throw new NegativeArraySizeException(Integer.toString(width));
+    } // if
+    this.rows = new Object[height][];
+    this.rowGapStart = height;
+    this.rowGapEnd = height;
+    this.colCapacity = width;
+    this.colGapStart = width;
+    this.colGapEnd = width;
+    this.defaultVal = def;
+    for (int row = 0; row < height; row++) {
+      this.rows[row] = this.newRow();
+    } // for
+  } // MatrixV1(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public MatrixV1(int width, int height) {
+    this(width, height, null);
+  } // MatrixV1(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    return (T) this.physicalRow(row)[this.physicalCol(col)];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    this.physicalRow(row)[this.physicalCol(col)] = val;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rows.length - (this.rowGapEnd - this.rowGapStart);
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.colCapacity - (this.colGapEnd - this.colGapStart);
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.checkInsertRow(row);
+    this.openRowGap(row);
+    this.rows[this.rowGapStart++] = this.newRow();
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.width()) {
+      throw new ArraySizeException();
+    } // if
+    this.checkInsertRow(row);
+    Object[] newRow = new Object[this.colCapacity];
+    System.arraycopy(vals, 0, newRow, 0, this.colGapStart);
+    System.arraycopy(
+        vals, this.colGapStart, newRow, this.colGapEnd, this.colCapacity - this.colGapEnd);
+    this.openRowGap(row);
+    this.rows[this.rowGapStart++] = newRow;
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.checkInsertCol(col);
+    this.openColGap(col);
+    for (int row = 0; row < this.height(); row++) {
+      this.physicalRow(row)[this.colGapStart] = this.defaultVal;
+    } // for
+    this.colGapStart++;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.height()) {
+      throw new ArraySizeException();
+    } // if
+    this.checkInsertCol(col);
+    this.openColGap(col);
+    for (int row = 0; row < vals.length; row++) {
+      this.physicalRow(row)[this.colGapStart] = vals[row];
+    } // for
+    this.colGapStart++;
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    if (row < 0 || row >= this.height()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    this.moveRowGap(row);
+    this.rows[this.rowGapEnd++] = null;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    if (col < 0 || col >= this.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    this.moveColGap(col);
+    for (int row = 0; row < this.height(); row++) {
+      this.physicalRow(row)[this.colGapEnd] = null;
+    } // for
+    this.colGapEnd++;
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    if (startRow < 0 || endRow > this.height() || startCol < 0 || endCol > this.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    int gap = this.colGapEnd - this.colGapStart;
+    int leftEnd = Math.min(endCol, this.colGapStart);
+    int rightStart = Math.max(startCol, this.colGapStart);
+    for (int row = startRow; row < endRow; row++) {
+      Object[] physical = this.physicalRow(row);
+      if (startCol < leftEnd) {
+        Arrays.fill(physical, startCol, leftEnd, val);
+      } // if
+      if (rightStart < endCol) {
+        Arrays.fill(physical, rightStart + gap, endCol + gap, val);
+      } // if
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.set(i, j, val);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix, including its spare capacity. Shares references to the elements.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public MatrixV1<T> clone() {
+    MatrixV1<T> copy;
+    try {
+      copy = (MatrixV1<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    copy.rows = new Object[this.rows.length][];
+    for (int row = 0; row < this.rows.length; row++) {
+      if (this.rows[row] != null) {
+        copy.rows[row] = this.rows[row].clone();
+      } // if
+    } // for
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does, so
+   * that equal matrices have equal hash codes.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find the physical row that holds a logical row.
+   *
+   * @param row The logical row.
+   * @return the physical row.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   */
+  Object[] physicalRow(int row) {
+    if (row < 0) {
+      throw new IndexOutOfBoundsException(row);
+    } // if
+    if (row < this.rowGapStart) {
+      return this.rows[row];
+    } // if
+    int physical = row + (this.rowGapEnd - this.rowGapStart);
+    if (physical >= this.rows.length) {
+      throw new IndexOutOfBoundsException(row);
+    } // if
+    return this.rows[physical];
+  } // physicalRow(int)
+
+  /**
+   * Find the physical position of a logical column.
+   *
+   * @param col The logical column.
+   * @return the index of that column within each physical row.
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   */
+  int physicalCol(int col) {
+    if (col < 0) {
+      throw new IndexOutOfBoundsException(col);
+    } // if
+    if (col < this.colGapStart) {
+      return col;
+    } // if
+    int physical = col + (this.colGapEnd - this.colGapStart);
+    if (physical >= this.colCapacity) {
+      throw new IndexOutOfBoundsException(col);
+    } // if
+    return physical;
+  } // physicalCol(int)
+
+  /**
+   * Build a new physical row filled with the default value, leaving the column gap empty.
+   *
+   * @return the new row.
+   */
+  private Object[] newRow() {
+    Object[] result = new Object[this.colCapacity];
+    if (this.defaultVal != null) {
+      Arrays.fill(result, 0, this.colGapStart, this.defaultVal);
+      Arrays.fill(result, this.colGapEnd, this.colCapacity, this.defaultVal);
+    } // if
+    return result;
+  } // newRow()
+
+  /**
+   * Make sure that a row index is appropriate for insertion.
+   *
+   * @param row The index.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  private void checkInsertRow(int row) {
+    if (row < 0 || row > this.height()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+  } // checkInsertRow(int)
+
+  /**
+   * Make sure that a column index is appropriate for insertion.
+   *
+   * @param col The index.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  private void checkInsertCol(int col) {
+    if (col < 0 || col > this.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+  } // checkInsertCol(int)
+
+  /**
+   * Move the row gap so that it starts at the given logical row. Costs time proportional to the
+   * distance moved.
+   *
+   * @param row The logical row.
+   */
+  private void moveRowGap(int row) {
+    if (row < this.rowGapStart) {
+      int count = this.rowGapStart - row;
+      System.arraycopy(this.rows, row, this.rows, this.rowGapEnd - count, count);
+      Arrays.fill(this.rows, row, Math.min(this.rowGapStart, this.rowGapEnd - count), null);
+      this.rowGapStart -= count;
+      this.rowGapEnd -= count;
+    } else if (row > this.rowGapStart) {
+      int count = row - this.rowGapStart;
+      System.arraycopy(this.rows, this.rowGapEnd, this.rows, this.rowGapStart, count);
+      Arrays.fill(this.rows, Math.max(this.rowGapEnd, row), this.rowGapEnd + count, null);
+      this.rowGapStart += count;
+      this.rowGapEnd += count;
+    } // if/else
+  } // moveRowGap(int)
+
+  /**
+   * Move the row gap to the given logical row and make sure it has room for at least one row.
+   *
+   * @param row The logical row.
+   */
+  private void openRowGap(int row) {
+    this.moveRowGap(row);
+    if (this.rowGapStart == this.rowGapEnd) {
+      int oldLength = this.rows.length;
+      int newLength = oldLength + Math.max(oldLength, MIN_GROWTH);
+      Object[][] newRows = new Object[newLength][];
+      int tail = oldLength - this.rowGapEnd;
+      System.arraycopy(this.rows, 0, newRows, 0, this.rowGapStart);
+      System.arraycopy(this.rows, this.rowGapEnd, newRows, newLength - tail, tail);
+      this.rows = newRows;
+      this.rowGapEnd = newLength - tail;
+    } // if
+  } // openRowGap(int)
+
+  /**
+   * Move the column gap so that it starts at the given logical column. Costs time proportional
+   * to the distance moved times the height.
+   *
+   * @param col The logical column.
+   */
+  private void moveColGap(int col) {
+    if (col == this.colGapStart) {
+      return;
+    } // if
+    for (int row = 0; row < this.height(); row++) {
+      Object[] physical = this.physicalRow(row);
+      if (col < this.colGapStart) {
+        int count = this.colGapStart - col;
+        System.arraycopy(physical, col, physical, this.colGapEnd - count, count);
+        Arrays.fill(physical, col, Math.min(this.colGapStart, this.colGapEnd - count), null);
+      } else {
+        int count = col - this.colGapStart;
+        System.arraycopy(physical, this.colGapEnd, physical, this.colGapStart, count);
+        Arrays.fill(physical, Math.max(this.colGapEnd, col), this.colGapEnd + count, null);
+      } // if/else
+    } // for
+    int shift = col - this.colGapStart;
+    this.colGapStart += shift;
+    this.colGapEnd += shift;
+  } // moveColGap(int)
+
+  /**
+   * Move the column gap to the given logical column and make sure it has room for at least one
+   * column.
+   *
+   * @param col The logical column.
+   */
+  private void openColGap(int col) {
+    this.moveColGap(col);
+    if (this.colGapStart == this.colGapEnd) {
+      int oldLength = this.colCapacity;
+      int newLength = oldLength + Math.max(oldLength, MIN_GROWTH);
+      int tail = oldLength - this.colGapEnd;
+      int gap = this.rowGapEnd - this.rowGapStart;
+      for (int row = 0; row < this.height(); row++) {
+        int physical = (row < this.rowGapStart) ? row : row + gap;
+        Object[] newRow = new Object[newLength];
+        System.arraycopy(this.rows[physical], 0, newRow, 0, this.colGapStart);
+        System.arraycopy(this.rows[physical], this.colGapEnd, newRow, newLength - tail, tail);
+        this.rows[physical] = newRow;
+      } // for
+      this.colCapacity = newLength;
+      this.colGapEnd = newLength - tail;
+    } // if
+  } // openColGap(int)
+} // class MatrixV1
@@ -0,0 +1,447 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * An implementation of two-dimensional matrices that stores the cells in a region quadtree.
+ * Intended for matrices that are mostly built out of large uniform rectangles.
+ *
+ * <p>The tree covers a square of physical cells whose side is a power of two. A node whose
+ * quadrant is uniform stores just the value; other nodes have four children. Filling a rectangle
+ * replaces every node it covers completely with a single leaf, so the work depends on the length
+ * of the rectangle's edges (and the depth of the tree) rather than its area, and
+ * <code>get</code> takes time proportional to the depth of the tree.
+ *
+ * <p>Nodes are never changed once built. Updates build new nodes along the paths they touch and
+ * share everything else, which makes <code>clone</code> O(width + height).
+ *
+ * <p>Logical rows and columns are mapped to physical ones with <code>IndexMap</code>s, so
+ * inserting a row or column only clears one physical row or column. After insertions in the
+ * middle, a logical rectangle may correspond to several physical ones; we fill each in turn.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class QuadTreeMatrix<T> implements Matrix<T> {
+  // +-------+-------------------------------------------------------
+  // | Nodes |
+  // +-------+
+
+  /** A node in the tree. Leaves have no children. */
+  static final class Node {
+    /** The value of every cell in the quadrant, if this is a leaf. */
+    final Object val;
+
+    /** The top-left, top-right, bottom-left, and bottom-right quadrants, or null for a leaf. */
+    final Node[] kids;
+
+    /**
+     * Build a node.
+     *
+     * @param value The value, for leaves.
+     * @param children The children, or null for a leaf.
+     */
+    Node(Object value, Node[] children) {
+      this.val = value;
+      this.kids = children;
+    } // Node(Object, Node[])
+  } // class Node
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The root of the tree. */
+  Node root;
+
+  /** The number of physical rows (and columns) covered by the tree. */
+  int side;
+
+  /** The physical rows of the logical rows. */
+  IndexMap rowIds;
+
+  /** The physical columns of the logical columns. */
+  IndexMap colIds;
+
+  /** A leaf holding the default value. */
+  final Node empty;
+
+  /** Default value. */
+  final T defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public QuadTreeMatrix(int width, int height, T def) {
+    this.rowIds = new IndexMap(height);
+    this.colIds = new IndexMap(width);
+    this.defaultVal = def;
+    this.empty = new Node(def, null);
+    this.root = this.empty;
+    this.side = 1;
+    this.grow();
+  } // QuadTreeMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public QuadTreeMatrix(int width, int height) {
+    this(width, height, null);
+  } // QuadTreeMatrix(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) {
+    int prow = this.rowIds.get(row);
+    int pcol = this.colIds.get(col);
+    Node node = this.root;
+    int half = this.side >>> 1;
+    while (node.kids != null) {
+      int quadrant = 0;
+      if (prow >= half) {
+        prow -= half;
+        quadrant += 2;
+      } // if
+      if (pcol >= half) {
+        pcol -= half;
+        quadrant += 1;
+      } // if
+      node = node.kids[quadrant];
+      half >>>= 1;
+    } // while
+    return (T) node.val;
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    int prow = this.rowIds.get(row);
+    int pcol = this.colIds.get(col);
+    this.fillPhysical(prow, pcol, prow + 1, pcol + 1, val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rowIds.size();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.colIds.size();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    int id = this.rowIds.insert(row);
+    this.grow();
+    this.fillPhysical(id, 0, id + 1, this.side, this.defaultVal);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.width()) {
+      throw new ArraySizeException();
+    } // if
+    this.insertRow(row);
+    for (int col = 0; col < vals.length; col++) {
+      this.set(row, col, vals[col]);
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    int id = this.colIds.insert(col);
+    this.grow();
+    this.fillPhysical(0, id, this.side, id + 1, this.defaultVal);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.height()) {
+      throw new ArraySizeException();
+    } // if
+    this.insertCol(col);
+    for (int row = 0; row < vals.length; row++) {
+      this.set(row, col, vals[row]);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row. The physical row keeps its contents until it is reused.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    this.rowIds.release(this.rowIds.remove(row));
+  } // deleteRow(int)
+
+  /**
+   * Delete a column. The physical column keeps its contents until it is reused.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    this.colIds.release(this.colIds.remove(col));
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    if (startRow < 0 || endRow > this.height() || startCol < 0 || endCol > this.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    // Fill each maximal block of consecutive physical rows and columns.
+    int row = startRow;
+    while (row < endRow) {
+      int prow = this.rowIds.get(row);
+      int rows = runLength(this.rowIds, row, endRow);
+      int col = startCol;
+      while (col < endCol) {
+        int pcol = this.colIds.get(col);
+        int cols = runLength(this.colIds, col, endCol);
+        this.fillPhysical(prow, pcol, prow + rows, pcol + cols, val);
+        col += cols;
+      } // while
+      row += rows;
+    } // while
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    if (deltaRow == 0 && deltaCol == 1) {
+      this.fillRegion(startRow, startCol, startRow + 1, startCol + steps, val);
+      return;
+    } // if
+    if (deltaRow == 1 && deltaCol == 0) {
+      this.fillRegion(startRow, startCol, startRow + steps, startCol + 1, val);
+      return;
+    } // if
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.set(i, j, val);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. Shares the (immutable) tree, so only the row and column mappings
+   * are copied.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public QuadTreeMatrix<T> clone() {
+    QuadTreeMatrix<T> copy;
+    try {
+      copy = (QuadTreeMatrix<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    copy.rowIds = new IndexMap(this.rowIds);
+    copy.colIds = new IndexMap(this.colIds);
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does, so
+   * that equal matrices have equal hash codes.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Determine how many logical indices, starting at a given one, map to consecutive physical
+   * indices.
+   *
+   * @param ids The mapping.
+   * @param start The first logical index.
+   * @param end The logical index at which to stop (exclusive).
+   * @return the length of the run.
+   */
+  static int runLength(IndexMap ids, int start, int end) {
+    int first = ids.get(start);
+    int length = 1;
+    while (start + length < end && ids.get(start + length) == first + length) {
+      length++;
+    } // while
+    return length;
+  } // runLength(IndexMap, int, int)
+
+  /** Make the tree big enough to cover every physical row and column in use. */
+  private void grow() {
+    int needed = Math.max(this.rowIds.nextId, this.colIds.nextId);
+    while (this.side < needed) {
+      if (this.root != this.empty) {
+        this.root = new Node(null, new Node[] {this.root, this.empty, this.empty, this.empty});
+      } // if
+      this.side *= 2;
+    } // while
+  } // grow()
+
+  /**
+   * Fill a rectangle of physical cells.
+   *
+   * @param startRow The top edge (inclusive).
+   * @param startCol The left edge (inclusive).
+   * @param endRow The bottom edge (exclusive).
+   * @param endCol The right edge (exclusive).
+   * @param val The value to store.
+   */
+  private void fillPhysical(int startRow, int startCol, int endRow, int endCol, T val) {
+    Node leaf = (val == this.defaultVal) ? this.empty : new Node(val, null);
+    int[] rect = new int[] {startRow, startCol, endRow, endCol};
+    this.root = fill(this.root, 0, 0, this.side, rect, leaf);
+  } // fillPhysical(int, int, int, int, T)
+
+  /**
+   * Fill the part of a rectangle that falls within a node's quadrant.
+   *
+   * @param node The node.
+   * @param top The first physical row of the quadrant.
+   * @param left The first physical column of the quadrant.
+   * @param size The side of the quadrant.
+   * @param rect The rectangle, as {startRow, startCol, endRow, endCol} (ends exclusive).
+   * @param leaf A leaf holding the value to store.
+   * @return the node that replaces the original.
+   */
+  static Node fill(Node node, int top, int left, int size, int[] rect, Node leaf) {
+    if (rect[2] <= top || rect[0] >= top + size || rect[3] <= left || rect[1] >= left + size) {
+      return node;
+    } // if
+    if (rect[0] <= top && rect[2] >= top + size && rect[1] <= left && rect[3] >= left + size) {
+      return leaf;
+    } // if
+    if (node.kids == null && node.val == leaf.val) {
+      return node;
+    } // if
+    int half = size >>> 1;
+    Node[] kids = new Node[4];
+    for (int quadrant = 0; quadrant < 4; quadrant++) {
+      Node kid = (node.kids == null) ? node : node.kids[quadrant];
+      int kidTop = top + (quadrant >>> 1) * half;
+      int kidLeft = left + (quadrant & 1) * half;
+      kids[quadrant] = fill(kid, kidTop, kidLeft, half, rect, leaf);
+    } // for
+    // Collapse children that are all the same leaf.
+    Node first = kids[0];
+    if (first.kids == null) {
+      boolean uniform = true;
+      for (int quadrant = 1; quadrant < 4 && uniform; quadrant++) {
+        uniform = kids[quadrant].kids == null && kids[quadrant].val == first.val;
+      } // for
+      if (uniform) {
+        return first;
+      } // if
+    } // if
+    return new Node(null, kids);
+  } // fill(Node, int, int, int, int[], Node)
+} // class QuadTreeMatrix
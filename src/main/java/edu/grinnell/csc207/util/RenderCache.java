@@ -0,0 +1,504 @@
+package edu.grinnell.csc207.util;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+/**
+ * A matrix that remembers how it was last printed, so that printing it again after a few changes
+ * costs time proportional to the changes rather than to the size of the matrix.
+ *
+ * <p>A render cache wraps another matrix and keeps the string for each cell and the text of each
+ * row. Every change made through the cache reformats just the cells it touches and marks their
+ * rows as stale; printing rebuilds only the stale rows and copies the rest. Rows that keep their
+ * contents but move, as after <code>insertRow</code> or <code>deleteRow</code>, are not rebuilt.
+ * When the widest cell changes, every row has to be padded differently, so all of them are
+ * rebuilt, but from the cached strings. <code>Matrix.print</code> uses the cache automatically.
+ *
+ * <p>All changes must go through the cache; changes made directly to the wrapped matrix are not
+ * seen.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class RenderCache<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we wrap. */
+  final Matrix<T> inner;
+
+  /** The string for each cell, by row. */
+  private ArrayList<String[]> cells;
+
+  /** The cells of each row as last rendered, or null if the row is stale. */
+  private ArrayList<String> lines;
+
+  /** The number of columns. */
+  private int cols;
+
+  /** How many cells have strings of each length. */
+  private int[] lengthCounts;
+
+  /** An upper bound on the length of the longest cell string. */
+  private int maxLength;
+
+  /** The cell width that the rows were rendered with. */
+  private int renderedWidth;
+
+  /** The column labels, as last rendered, or null. */
+  private String header;
+
+  /** The row separator, as last rendered, or null. */
+  private String separator;
+
+  /** Whether the separator has room for labels. */
+  private boolean separatorLabels;
+
+  /** Draws the pieces. */
+  private final MatrixRenderer renderer;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Wrap a matrix. Formats every cell once.
+   *
+   * @param matrix The matrix to wrap. Later changes should go through the cache.
+   */
+  public RenderCache(Matrix<T> matrix) {
+    this.inner = matrix;
+    this.renderer = new MatrixRenderer();
+    this.rebuild();
+  } // RenderCache(Matrix<T>)
+
+  /**
+   * Copy a cache, along with a copy of its matrix.
+   *
+   * @param original The cache to copy.
+   * @param matrix The copy of its matrix.
+   */
+  private RenderCache(RenderCache<T> original, Matrix<T> matrix) {
+    this.inner = matrix;
+    this.renderer = new MatrixRenderer();
+    this.cells = new ArrayList<String[]>(original.cells.size());
+    for (String[] row : original.cells) {
+      this.cells.add(row.clone());
+    } // for
+    this.lines = new ArrayList<String>(original.lines);
+    this.cols = original.cols;
+    this.lengthCounts = original.lengthCounts.clone();
+    this.maxLength = original.maxLength;
+    this.renderedWidth = original.renderedWidth;
+    this.header = original.header;
+    this.separator = original.separator;
+    this.separatorLabels = original.separatorLabels;
+  } // RenderCache(RenderCache<T>, Matrix<T>)
+
+  // +----------+----------------------------------------------------
+  // | Printing |
+  // +----------+
+
+  /**
+   * Print the matrix, in the format of <code>Matrix.print</code>, rebuilding only the rows that
+   * changed since the last time.
+   *
+   * @param pen The PrintWriter to use for printing.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   */
+  @Override
+  public void print(PrintWriter pen, boolean includeLabels) {
+    while (this.maxLength > 0 && this.lengthCounts[this.maxLength] == 0) {
+      this.maxLength--;
+    } // while
+    int cellWidth = this.maxLength + 2;
+    if (cellWidth != this.renderedWidth) {
+      this.renderedWidth = cellWidth;
+      this.invalidateAll();
+    } // if
+    if (this.separator == null || this.separatorLabels != includeLabels) {
+      this.separator = MatrixRenderer.separator(includeLabels, cellWidth, this.cols);
+      this.separatorLabels = includeLabels;
+    } // if
+
+    if (includeLabels) {
+      if (this.header == null) {
+        this.header = this.renderer.header(0, this.cols, cellWidth);
+      } // if
+      this.renderer.write(pen, this.header);
+    } // if
+    StringBuilder line = new StringBuilder();
+    for (int row = 0; row < this.lines.size(); row++) {
+      String text = this.lines.get(row);
+      if (text == null) {
+        line.setLength(0);
+        this.renderer.appendRow(line, this.cells.get(row), cellWidth);
+        text = line.toString();
+        this.lines.set(row, text);
+      } // if
+      this.renderer.writeRow(pen, this.separator, includeLabels ? row : -1, text);
+    } // for
+    this.renderer.write(pen, this.separator);
+    this.renderer.finish(pen);
+  } // print(PrintWriter, boolean)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.inner.get(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    this.inner.set(row, col, val);
+    this.setCell(row, col, Matrix.toString(val));
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.inner.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.inner.width();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.inner.insertRow(row);
+    this.addRow(row, this.format(row));
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    this.inner.insertRow(row, vals);
+    String[] strings = new String[vals.length];
+    for (int col = 0; col < vals.length; col++) {
+      strings[col] = Matrix.toString(vals[col]);
+    } // for
+    this.addRow(row, strings);
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.inner.insertCol(col);
+    String str = (this.cells.isEmpty()) ? "" : Matrix.toString(this.inner.get(0, col));
+    for (int row = 0; row < this.cells.size(); row++) {
+      this.addCell(row, col, str);
+    } // for
+    this.cols++;
+    this.invalidateAll();
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    this.inner.insertCol(col, vals);
+    for (int row = 0; row < vals.length; row++) {
+      this.addCell(row, col, Matrix.toString(vals[row]));
+    } // for
+    this.cols++;
+    this.invalidateAll();
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    this.inner.deleteRow(row);
+    for (String str : this.cells.remove(row)) {
+      this.lengthCounts[str.length()]--;
+    } // for
+    this.lines.remove(row);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    this.inner.deleteCol(col);
+    for (int row = 0; row < this.cells.size(); row++) {
+      String[] old = this.cells.get(row);
+      String[] strings = new String[old.length - 1];
+      System.arraycopy(old, 0, strings, 0, col);
+      System.arraycopy(old, col + 1, strings, col, strings.length - col);
+      this.lengthCounts[old[col].length()]--;
+      this.cells.set(row, strings);
+    } // for
+    this.cols--;
+    this.invalidateAll();
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    try {
+      this.inner.fillRegion(startRow, startCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      // We do not know how much was filled, so we start over.
+      this.rebuild();
+      throw e;
+    } // try/catch
+    String str = Matrix.toString(val);
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        this.setCell(row, col, str);
+      } // for col
+    } // for row
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    try {
+      this.inner.fillRegionWith(startRow, startCol, endRow, endCol, gen);
+    } catch (RuntimeException e) {
+      this.rebuild();
+      throw e;
+    } // try/catch
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        this.setCell(row, col, Matrix.toString(this.inner.get(row, col)));
+      } // for col
+    } // for row
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    try {
+      this.inner.fillLine(startRow, startCol, deltaRow, deltaCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      this.rebuild();
+      throw e;
+    } // try/catch
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    String str = Matrix.toString(val);
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.setCell(i, j, str);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix, along with its cache.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public RenderCache<T> clone() {
+    return new RenderCache<T>(this, (Matrix<T>) this.inner.clone());
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this.inner, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, which is that of the matrix we wrap.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return this.inner.hashCode();
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /** Throw away everything and format every cell again. */
+  private void rebuild() {
+    int height = this.inner.height();
+    this.cols = (height == 0) ? 0 : this.inner.width();
+    this.cells = new ArrayList<String[]>(height);
+    this.lines = new ArrayList<String>(height);
+    this.lengthCounts = new int[16];
+    this.maxLength = 0;
+    for (int row = 0; row < height; row++) {
+      this.addRow(row, this.format(row));
+    } // for
+    this.invalidateAll();
+  } // rebuild()
+
+  /**
+   * Format a row of the wrapped matrix.
+   *
+   * @param row The number of the row.
+   * @return the strings for its cells.
+   */
+  private String[] format(int row) {
+    String[] strings = new String[this.cols];
+    for (int col = 0; col < this.cols; col++) {
+      strings[col] = Matrix.toString(this.inner.get(row, col));
+    } // for
+    return strings;
+  } // format(int)
+
+  /**
+   * Add a row of cell strings.
+   *
+   * @param row Where the row goes.
+   * @param strings The strings.
+   */
+  private void addRow(int row, String[] strings) {
+    for (String str : strings) {
+      this.count(str);
+    } // for
+    this.cells.add(row, strings);
+    this.lines.add(row, null);
+  } // addRow(int, String[])
+
+  /**
+   * Add a cell string to a row, moving the later ones right.
+   *
+   * @param row The row.
+   * @param col Where the string goes.
+   * @param str The string.
+   */
+  private void addCell(int row, int col, String str) {
+    String[] old = this.cells.get(row);
+    String[] strings = new String[old.length + 1];
+    System.arraycopy(old, 0, strings, 0, col);
+    strings[col] = str;
+    System.arraycopy(old, col, strings, col + 1, old.length - col);
+    this.cells.set(row, strings);
+    this.count(str);
+  } // addCell(int, int, String)
+
+  /**
+   * Replace the string for one cell and mark its row as stale.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @param str The new string.
+   */
+  private void setCell(int row, int col, String str) {
+    String[] strings = this.cells.get(row);
+    this.lengthCounts[strings[col].length()]--;
+    strings[col] = str;
+    this.count(str);
+    this.lines.set(row, null);
+  } // setCell(int, int, String)
+
+  /**
+   * Note that there is one more cell string of some length.
+   *
+   * @param str The string.
+   */
+  private void count(String str) {
+    int len = str.length();
+    if (len >= this.lengthCounts.length) {
+      int[] counts = new int[Math.max(len + 1, 2 * this.lengthCounts.length)];
+      System.arraycopy(this.lengthCounts, 0, counts, 0, this.lengthCounts.length);
+      this.lengthCounts = counts;
+    } // if
+    this.lengthCounts[len]++;
+    this.maxLength = Math.max(this.maxLength, len);
+  } // count(String)
+
+  /** Mark every row, as well as the header and separator, as stale. */
+  private void invalidateAll() {
+    for (int row = 0; row < this.lines.size(); row++) {
+      this.lines.set(row, null);
+    } // for
+    this.header = null;
+    this.separator = null;
+  } // invalidateAll()
+} // class RenderCache
@@ -0,0 +1,123 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * Element-wise loops written as plain Java, for when the Vector API is not available. The JIT
+ * vectorizes some of these loops by itself, but not the comparisons or the sums.
+ *
+ * @author Your Name Here
+ */
+class ScalarKernels implements Kernels {
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  @Override
+  public void add(double[] a, double[] b, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = a[i] + b[i];
+    } // for
+  } // add(double[], double[], double[])
+
+  @Override
+  public void multiply(double[] a, double[] b, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = a[i] * b[i];
+    } // for
+  } // multiply(double[], double[], double[])
+
+  @Override
+  public void multiplyAdd(double[] a, double[] b, double[] c, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = Math.fma(a[i], b[i], c[i]);
+    } // for
+  } // multiplyAdd(double[], double[], double[], double[])
+
+  @Override
+  public void scale(double[] a, double factor, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = a[i] * factor;
+    } // for
+  } // scale(double[], double, double[])
+
+  @Override
+  public void min(double[] a, double[] b, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = Math.min(a[i], b[i]);
+    } // for
+  } // min(double[], double[], double[])
+
+  @Override
+  public void max(double[] a, double[] b, double[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = Math.max(a[i], b[i]);
+    } // for
+  } // max(double[], double[], double[])
+
+  @Override
+  public void threshold(double[] a, double limit, double val) {
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] > limit) {
+        a[i] = val;
+      } // if
+    } // for
+  } // threshold(double[], double, double)
+
+  @Override
+  public double sum(double[] a) {
+    double sum = 0.0;
+    for (double val : a) {
+      sum += val;
+    } // for
+    return sum;
+  } // sum(double[])
+
+  // +----------+----------------------------------------------------
+  // | Integers |
+  // +----------+
+
+  @Override
+  public void add(int[] a, int[] b, int[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = a[i] + b[i];
+    } // for
+  } // add(int[], int[], int[])
+
+  @Override
+  public void multiply(int[] a, int[] b, int[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = a[i] * b[i];
+    } // for
+  } // multiply(int[], int[], int[])
+
+  @Override
+  public void min(int[] a, int[] b, int[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = Math.min(a[i], b[i]);
+    } // for
+  } // min(int[], int[], int[])
+
+  @Override
+  public void max(int[] a, int[] b, int[] dst) {
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = Math.max(a[i], b[i]);
+    } // for
+  } // max(int[], int[], int[])
+
+  @Override
+  public void threshold(int[] a, int limit, int val) {
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] > limit) {
+        a[i] = val;
+      } // if
+    } // for
+  } // threshold(int[], int, int)
+
+  @Override
+  public long sum(int[] a) {
+    long sum = 0;
+    for (int val : a) {
+      sum += val;
+    } // for
+    return sum;
+  } // sum(int[])
+} // class ScalarKernels
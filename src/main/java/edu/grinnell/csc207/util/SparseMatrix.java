@@ -0,0 +1,403 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Objects;
+
+/**
+ * An implementation of two-dimensional matrices that stores only the cells that differ from the
+ * default value. Intended for very large matrices that are mostly default.
+ *
+ * <p>Cells are keyed by a pair of physical ids, one for the row and one for the column. The
+ * logical-to-physical mappings are kept in two <code>IndexMap</code>s, so inserting a row or
+ * column only shifts an array of ids and never touches the stored cells. Deleting a row or column
+ * removes the cells it held, which costs time proportional to the number of stored cells. Memory
+ * use is proportional to the number of non-default cells, plus four bytes per row and column.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class SparseMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The non-default cells, keyed by physical row id and physical column id. */
+  LongObjectMap<T> cells;
+
+  /** The physical ids of the rows. */
+  IndexMap rowIds;
+
+  /** The physical ids of the columns. */
+  IndexMap colIds;
+
+  /** Default value. */
+  final T defaultVal;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   * Takes time proportional to width + height, not width * height.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public SparseMatrix(int width, int height, T def) {
+    this.cells = new LongObjectMap<T>();
+    this.rowIds = new IndexMap(height);
+    this.colIds = new IndexMap(width);
+    this.defaultVal = def;
+  } // SparseMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public SparseMatrix(int width, int height) {
+    this(width, height, null);
+  } // SparseMatrix(int, int)
+
+  // +-------------------+-------------------------------------------
+  // | Sparse operations |
+  // +-------------------+
+
+  /**
+   * Determine how many cells hold something other than the default value.
+   *
+   * @return the number of stored cells.
+   */
+  public int storedCells() {
+    return this.cells.size();
+  } // storedCells()
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.cells.getOrDefault(this.key(row, col), this.defaultVal);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    long key = this.key(row, col);
+    if (Objects.equals(val, this.defaultVal)) {
+      this.cells.remove(key);
+    } else {
+      this.cells.put(key, val);
+    } // if/else
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rowIds.size();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.colIds.size();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value. Does not touch any stored cells.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.rowIds.insert(row);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.width()) {
+      throw new ArraySizeException();
+    } // if
+    this.rowIds.insert(row);
+    for (int col = 0; col < vals.length; col++) {
+      this.set(row, col, vals[col]);
+    } // for
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value. Does not touch any stored cells.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.colIds.insert(col);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.height()) {
+      throw new ArraySizeException();
+    } // if
+    this.colIds.insert(col);
+    for (int row = 0; row < vals.length; row++) {
+      this.set(row, col, vals[row]);
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    int id = this.rowIds.remove(row);
+    this.cells.removeHalf(id, true);
+    this.rowIds.release(id);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    int id = this.colIds.remove(col);
+    this.cells.removeHalf(id, false);
+    this.colIds.release(id);
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix. Filling with the default value costs time
+   * proportional to the smaller of the region and the number of stored cells.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    if (startRow < 0 || endRow > this.height() || startCol < 0 || endCol > this.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    long area = (long) (endRow - startRow) * (endCol - startCol);
+    if (Objects.equals(val, this.defaultVal) && area > this.cells.size()) {
+      this.clearRegion(startRow, startCol, endRow, endCol);
+      return;
+    } // if
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        this.set(row, col, val);
+      } // for col
+    } // for row
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    int i = startRow;
+    int j = startCol;
+    for (int n = steps; n > 0; n--) {
+      this.set(i, j, val);
+      i += deltaRow;
+      j += deltaCol;
+    } // for
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix. Shares references to the elements. Takes time proportional to the
+   * number of stored cells plus the width and height.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public SparseMatrix<T> clone() {
+    SparseMatrix<T> copy;
+    try {
+      copy = (SparseMatrix<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    } // try/catch
+    copy.cells = new LongObjectMap<T>(this.cells);
+    copy.rowIds = new IndexMap(this.rowIds);
+    copy.colIds = new IndexMap(this.colIds);
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object. Comparing two sparse matrices with the
+   * same default takes time proportional to the number of stored cells.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    if (other instanceof SparseMatrix) {
+      SparseMatrix<?> that = (SparseMatrix<?>) other;
+      if (Objects.equals(this.defaultVal, that.defaultVal)) {
+        return this.sparseEquals(that);
+      } // if
+    } // if
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does, so
+   * that equal matrices have equal hash codes. The hash starts as if every cell held the default,
+   * using closed-form geometric sums, and each stored cell then adds the difference it makes.
+   * Finding where each stored cell is means building the positions of the rows and columns, and
+   * the table of cells never shrinks, so this takes O(s + w + h) time, where s is the most cells
+   * ever stored at once, rather than time proportional to the area.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    int width = this.width();
+    int height = this.height();
+    int defaultHash = Objects.hashCode(this.defaultVal);
+    int code = defaultHash * ContentHash.powerSum(ContentHash.ROW_BASE, height)
+        * ContentHash.powerSum(ContentHash.COL_BASE, width);
+    int[] rowPos = this.rowIds.positions();
+    int[] colPos = this.colIds.positions();
+    for (int slot = 0; slot < this.cells.capacity(); slot++) {
+      long key = this.cells.keyAt(slot);
+      if (key != LongObjectMap.EMPTY) {
+        code += (Objects.hashCode(this.cells.valueAt(slot)) - defaultHash)
+            * ContentHash.rowPower(rowPos[(int) (key >>> 32)])
+            * ContentHash.colPower(colPos[(int) key]);
+      } // if
+    } // for
+    return ContentHash.shape(width, height) + code;
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Compute the key for a logical cell.
+   *
+   * @param row The logical row.
+   * @param col The logical column.
+   * @return the key.
+   * @throws IndexOutOfBoundsException If either the row or column is out of bounds.
+   */
+  private long key(int row, int col) {
+    return ((long) this.rowIds.get(row) << 32) | this.colIds.get(col);
+  } // key(int, int)
+
+  /**
+   * Remove every stored cell in a region by scanning the stored cells.
+   *
+   * @param startRow The top edge (inclusive).
+   * @param startCol The left edge (inclusive).
+   * @param endRow The bottom edge (exclusive).
+   * @param endCol The right edge (exclusive).
+   */
+  private void clearRegion(int startRow, int startCol, int endRow, int endCol) {
+    int[] rowPos = this.rowIds.positions();
+    int[] colPos = this.colIds.positions();
+    long[] doomed = new long[this.cells.size()];
+    int count = 0;
+    for (int slot = 0; slot < this.cells.capacity(); slot++) {
+      long key = this.cells.keyAt(slot);
+      if (key != LongObjectMap.EMPTY) {
+        int row = rowPos[(int) (key >>> 32)];
+        int col = colPos[(int) key];
+        if (row >= startRow && row < endRow && col >= startCol && col < endCol) {
+          doomed[count++] = key;
+        } // if
+      } // if
+    } // for
+    for (int i = 0; i < count; i++) {
+      this.cells.remove(doomed[i]);
+    } // for
+  } // clearRegion(int, int, int, int)
+
+  /**
+   * Compare with another sparse matrix that has the same default value.
+   *
+   * @param that The other matrix.
+   * @return true if the two have the same dimensions and contents and false otherwise.
+   */
+  private boolean sparseEquals(SparseMatrix<?> that) {
+    if (this.height() != that.height() || this.width() != that.width()
+        || this.cells.size() != that.cells.size()) {
+      return false;
+    } // if
+    int[] rowPos = this.rowIds.positions();
+    int[] colPos = this.colIds.positions();
+    for (int slot = 0; slot < this.cells.capacity(); slot++) {
+      long key = this.cells.keyAt(slot);
+      if (key != LongObjectMap.EMPTY) {
+        int row = rowPos[(int) (key >>> 32)];
+        int col = colPos[(int) key];
+        if (!Objects.equals(this.cells.valueAt(slot), that.get(row, col))) {
+          return false;
+        } // if
+      } // if
+    } // for
+    return true;
+  } // sparseEquals(SparseMatrix<?>)
+} // class SparseMatrix
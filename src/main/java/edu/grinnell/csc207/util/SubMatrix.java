@@ -0,0 +1,458 @@
+package edu.grinnell.csc207.util;
+
+import java.util.Arrays;
+
+/**
+ * A live view of a rectangular region of another matrix. Reads and writes go straight through
+ * to the parent, with the positions shifted, and bulk operations become the corresponding bulk
+ * operations on the parent. Views of views go straight to the original parent.
+ *
+ * <p>A view cannot change shape, so the structural mutators throw
+ * <code>UnsupportedOperationException</code>. If the parent changes shape, the view keeps its
+ * offsets. <code>clone</code> copies the region into a new <code>MatrixV0</code>, with the
+ * parent's default value where we know it.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+class SubMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we view. */
+  final Matrix<T> parent;
+
+  /** The row of the parent that is our row 0. */
+  final int top;
+
+  /** The column of the parent that is our column 0. */
+  final int left;
+
+  /** The number of rows. */
+  final int rows;
+
+  /** The number of columns. */
+  final int cols;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view of a region.
+   *
+   * @param matrix The matrix to view.
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @throws IndexOutOfBoundsException If the region does not fit in the matrix.
+   */
+  SubMatrix(Matrix<T> matrix, int startRow, int startCol, int endRow, int endCol) {
+    if (startRow < 0 || startRow > endRow || endRow > matrix.height()
+        || startCol < 0 || startCol > endCol || endCol > matrix.width()) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    this.parent = matrix;
+    this.top = startRow;
+    this.left = startCol;
+    this.rows = endRow - startRow;
+    this.cols = endCol - startCol;
+  } // SubMatrix(Matrix<T>, int, int, int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    this.checkCell(row, col);
+    return this.parent.get(this.top + row, this.left + col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    this.checkCell(row, col);
+    this.parent.set(this.top + row, this.left + col, val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.rows;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.cols;
+  } // width()
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param row The number of the row to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // insertRow(int)
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // insertRow(int, T[])
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param col The number of the column to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // insertCol(int)
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // insertCol(int, T[])
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param row The number of the row to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // deleteRow(int)
+
+  /**
+   * Views cannot change shape.
+   *
+   * @param col The number of the column to delete.
+   * @throws UnsupportedOperationException Always.
+   */
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Views cannot change shape");
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    Matrix.checkRegion(this, startRow, startCol, endRow - startRow, endCol - startCol);
+    this.parent.fillRegion(this.top + startRow, this.left + startCol, this.top + endRow,
+        this.left + endCol, val);
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values. The generator sees positions
+   * in this view.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    Matrix.checkRegion(this, startRow, startCol, endRow - startRow, endCol - startCol);
+    int rowOffset = this.top;
+    int colOffset = this.left;
+    this.parent.fillRegionWith(this.top + startRow, this.left + startCol, this.top + endRow,
+        this.left + endCol, (row, col) -> gen.apply(row - rowOffset, col - colOffset));
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    Matrix.checkLine(this, startRow, startCol, deltaRow, deltaCol, steps);
+    if (steps == 0) {
+      return;
+    } // if
+    // The line stays in the view, and shifting it does not change its length.
+    this.parent.fillLine(this.top + startRow, this.left + startCol, deltaRow, deltaCol,
+        this.top + endRow, this.left + endCol, val);
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy the values in a row into an array. Copies the parent's row in bulk.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    if (dest.length != this.cols) {
+      throw new ArraySizeException();
+    } // if
+    this.checkCell(row, 0);
+    if (this.cols == this.parent.width()) {
+      this.parent.getRow(this.top + row, dest);
+    } else {
+      T[] whole = Arrays.copyOf(dest, this.parent.width());
+      this.parent.getRow(this.top + row, whole);
+      System.arraycopy(whole, this.left, dest, 0, this.cols);
+    } // if/else
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row. Full-width rows are replaced in bulk; the cells of partial rows
+   * are set one at a time, so that writes to the rest of the parent's row are never undone.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    if (vals.length != this.cols) {
+      throw new ArraySizeException();
+    } // if
+    this.checkCell(row, 0);
+    if (this.cols == this.parent.width()) {
+      this.parent.setRow(this.top + row, vals);
+    } else {
+      for (int col = 0; col < this.cols; col++) {
+        this.parent.set(this.top + row, this.left + col, vals[col]);
+      } // for
+    } // if/else
+  } // setRow(int, T[])
+
+  /**
+   * Copy the values in a column into an array. Copies the parent's column in bulk.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    if (dest.length != this.rows) {
+      throw new ArraySizeException();
+    } // if
+    this.checkCell(0, col);
+    if (this.rows == this.parent.height()) {
+      this.parent.getCol(this.left + col, dest);
+    } else {
+      T[] whole = Arrays.copyOf(dest, this.parent.height());
+      this.parent.getCol(this.left + col, whole);
+      System.arraycopy(whole, this.top, dest, 0, this.rows);
+    } // if/else
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column. Full-height columns are replaced in bulk; the cells of
+   * partial columns are set one at a time.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void setCol(int col, T[] vals) throws ArraySizeException {
+    if (vals.length != this.rows) {
+      throw new ArraySizeException();
+    } // if
+    this.checkCell(0, col);
+    if (this.rows == this.parent.height()) {
+      this.parent.setCol(this.left + col, vals);
+    } else {
+      for (int row = 0; row < this.rows; row++) {
+        this.parent.set(this.top + row, this.left + col, vals[row]);
+      } // for
+    } // if/else
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this view, as a copy into the parent. Copies from
+   * views of the same parent become copies within the parent, so overlaps are handled.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    Matrix.checkRegion(src, srcRow, srcCol, height, width);
+    Matrix.checkRegion(this, dstRow, dstCol, height, width);
+    if (src instanceof SubMatrix && ((SubMatrix<?>) src).parent == this.parent) {
+      SubMatrix<?> view = (SubMatrix<?>) src;
+      this.parent.copyRegion(this.parent, view.top + srcRow, view.left + srcCol,
+          this.top + dstRow, this.left + dstCol, height, width);
+    } else {
+      this.parent.copyRegion(src, srcRow, srcCol, this.top + dstRow, this.left + dstCol,
+          height, width);
+    } // if/else
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Get a view of a region of this view, which views the parent directly.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @return the view.
+   * @throws IndexOutOfBoundsException If the region does not fit in this view.
+   */
+  public Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol) {
+    if (startRow < 0 || startRow > endRow || endRow > this.rows
+        || startCol < 0 || startCol > endCol || endCol > this.cols) {
+      throw new IndexOutOfBoundsException();
+    } // if
+    return new SubMatrix<T>(this.parent, this.top + startRow, this.left + startCol,
+        this.top + endRow, this.left + endCol);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Copy the region into a new matrix. The copy has the parent's default value if the parent is
+   * one of the implementations that <code>defaultOf</code> knows, and null otherwise.
+   *
+   * @return the copy.
+   */
+  public MatrixV0<T> clone() {
+    MatrixV0<T> copy = new MatrixV0<T>(this.cols, this.rows, defaultOf(this.parent));
+    copy.copyRegion(this.parent, this.top, this.left, 0, 0, this.rows, this.cols);
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find the default value of a matrix, for copies of views. The interface does not expose
+   * default values, so we know them only for the implementations in this package that keep
+   * one, and for views of those.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @return the default value, or null if it is null or unknown.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T defaultOf(Matrix<T> matrix) {
+    if (matrix instanceof MatrixV0) {
+      return ((MatrixV0<T>) matrix).defaultVal;
+    } else if (matrix instanceof MatrixV1) {
+      return ((MatrixV1<T>) matrix).defaultVal;
+    } else if (matrix instanceof SparseMatrix) {
+      return ((SparseMatrix<T>) matrix).defaultVal;
+    } else if (matrix instanceof QuadTreeMatrix) {
+      return ((QuadTreeMatrix<T>) matrix).defaultVal;
+    } else if (matrix instanceof ConcurrentMatrix) {
+      return ((ConcurrentMatrix<T>) matrix).defaultVal;
+    } else if (matrix instanceof IntMatrix) {
+      return (T) (Integer) ((IntMatrix) matrix).defaultVal;
+    } else if (matrix instanceof DoubleMatrix) {
+      return (T) (Double) ((DoubleMatrix) matrix).defaultVal;
+    } else if (matrix instanceof SubMatrix) {
+      return defaultOf(((SubMatrix<T>) matrix).parent);
+    } else if (matrix instanceof TransposedMatrix) {
+      return defaultOf(((TransposedMatrix<T>) matrix).parent);
+    } else {
+      return null;
+    } // if/else
+  } // defaultOf(Matrix<T>)
+
+  /**
+   * Make sure that a cell is in the view.
+   *
+   * @param row The row of the cell.
+   * @param col The column of the cell.
+   * @throws IndexOutOfBoundsException If it is not.
+   */
+  private void checkCell(int row, int col) {
+    if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+      throw new IndexOutOfBoundsException();
+    } // if
+  } // checkCell(int, int)
+} // class SubMatrix
@@ -0,0 +1,730 @@
+package edu.grinnell.csc207.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A matrix that tells listeners what changed, so that they need not compare the whole matrix to
+ * find out.
+ *
+ * <p>A tracked matrix wraps another matrix. Each change made through it is recorded as a
+ * <code>MatrixChange</code>: a rectangle of cells whose values may have changed, or a range of
+ * rows or columns that were inserted or deleted. Changes are delivered to the listeners after
+ * each operation, or, for the operations in an <code>update</code>, once at the end. Within a
+ * batch, rectangles of cells are merged when their union is no bigger than the two of them, and
+ * at most <code>MAX_RECTANGLES</code> of them are kept between structural changes, so a batch
+ * stays small however many cells change. Neighbouring insertions or deletions merge, too.
+ *
+ * <p>With no listeners, nothing is recorded, and each operation costs one extra check.
+ *
+ * <p>All changes must go through the tracked matrix; changes made directly to the wrapped matrix
+ * are not seen.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class TrackedMatrix<T> implements Matrix<T> {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The most rectangles of cells that a batch keeps between structural changes. */
+  static final int MAX_RECTANGLES = 16;
+
+  /** The listeners of a matrix that has none. */
+  private static final MatrixListener[] NO_LISTENERS = new MatrixListener[0];
+
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we wrap. */
+  final Matrix<T> inner;
+
+  /** The listeners. Replaced, never changed, when someone joins or leaves. */
+  private MatrixListener[] listeners;
+
+  /** The changes that have not yet been delivered. */
+  private ArrayList<MatrixChange> pending;
+
+  /** How many of the pending changes, at the end, are changes of cells. */
+  private int trailingCells;
+
+  /** How many calls to update are in progress. */
+  private int depth;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Wrap a matrix.
+   *
+   * @param matrix The matrix to wrap. Later changes should go through the tracked matrix.
+   */
+  public TrackedMatrix(Matrix<T> matrix) {
+    this.inner = matrix;
+    this.listeners = NO_LISTENERS;
+    this.pending = new ArrayList<MatrixChange>();
+    this.trailingCells = 0;
+    this.depth = 0;
+  } // TrackedMatrix(Matrix<T>)
+
+  // +-----------+---------------------------------------------------
+  // | Listeners |
+  // +-----------+
+
+  /**
+   * Start telling a listener about changes.
+   *
+   * @param listener The listener.
+   */
+  public void addListener(MatrixListener listener) {
+    MatrixListener[] more = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+    more[this.listeners.length] = listener;
+    this.listeners = more;
+  } // addListener(MatrixListener)
+
+  /**
+   * Stop telling a listener about changes.
+   *
+   * @param listener The listener.
+   * @return true if the listener was listening and false otherwise.
+   */
+  public boolean removeListener(MatrixListener listener) {
+    for (int i = 0; i < this.listeners.length; i++) {
+      if (this.listeners[i] == listener) {
+        MatrixListener[] fewer = new MatrixListener[this.listeners.length - 1];
+        System.arraycopy(this.listeners, 0, fewer, 0, i);
+        System.arraycopy(this.listeners, i + 1, fewer, i, fewer.length - i);
+        this.listeners = fewer;
+        if (fewer.length == 0) {
+          this.pending.clear();
+          this.trailingCells = 0;
+        } // if
+        return true;
+      } // if
+    } // for
+    return false;
+  } // removeListener(MatrixListener)
+
+  /**
+   * Make a batch of changes, which the listeners hear about together at the end. Batches may
+   * nest; only the outermost one delivers. The changes are delivered even if
+   * <code>edits</code> throws an exception, since they were made.
+   *
+   * @param edits The changes to make, which should go through the matrix they are given.
+   */
+  public void update(Consumer<? super Matrix<T>> edits) {
+    this.depth++;
+    try {
+      edits.accept(this);
+    } finally {
+      this.depth--;
+      if (this.depth == 0) {
+        this.flush();
+      } // if
+    } // try/finally
+  } // update(Consumer<? super Matrix<T>>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.inner.get(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    this.inner.set(row, col, val);
+    if (this.listeners.length != 0) {
+      this.cellsChanged(row, col, row + 1, col + 1);
+    } // if
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.inner.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.inner.width();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.inner.insertRow(row);
+    if (this.listeners.length != 0) {
+      this.rowsChanged(MatrixChange.Kind.ROWS_INSERTED, row, row + 1);
+    } // if
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    this.inner.insertRow(row, vals);
+    if (this.listeners.length != 0) {
+      this.rowsChanged(MatrixChange.Kind.ROWS_INSERTED, row, row + 1);
+    } // if
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.inner.insertCol(col);
+    if (this.listeners.length != 0) {
+      this.colsChanged(MatrixChange.Kind.COLS_INSERTED, col, col + 1);
+    } // if
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    this.inner.insertCol(col, vals);
+    if (this.listeners.length != 0) {
+      this.colsChanged(MatrixChange.Kind.COLS_INSERTED, col, col + 1);
+    } // if
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    this.inner.deleteRow(row);
+    if (this.listeners.length != 0) {
+      this.rowsChanged(MatrixChange.Kind.ROWS_DELETED, row, row + 1);
+    } // if
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    this.inner.deleteCol(col);
+    if (this.listeners.length != 0) {
+      this.colsChanged(MatrixChange.Kind.COLS_DELETED, col, col + 1);
+    } // if
+  } // deleteCol(int)
+
+  /**
+   * Append rows to the bottom of the matrix.
+   *
+   * @param rows The rows to append.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   */
+  public void appendRows(T[][] rows, int count) throws ArraySizeException {
+    int height = this.inner.height();
+    this.inner.appendRows(rows, count);
+    if (this.listeners.length != 0 && count > 0) {
+      this.rowsChanged(MatrixChange.Kind.ROWS_INSERTED, height, height + count);
+    } // if
+  } // appendRows(T[][], int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    try {
+      this.inner.fillRegion(startRow, startCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      // We do not know how much was filled, so everything may have changed.
+      this.allChanged();
+      throw e;
+    } // try/catch
+    if (this.listeners.length != 0) {
+      this.cellsChanged(startRow, startCol, endRow, endCol);
+    } // if
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    try {
+      this.inner.fillRegionWith(startRow, startCol, endRow, endCol, gen);
+    } catch (RuntimeException e) {
+      this.allChanged();
+      throw e;
+    } // try/catch
+    if (this.listeners.length != 0) {
+      this.cellsChanged(startRow, startCol, endRow, endCol);
+    } // if
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal). Reports the smallest rectangle that holds the
+   * line.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    try {
+      this.inner.fillLine(startRow, startCol, deltaRow, deltaCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      this.allChanged();
+      throw e;
+    } // try/catch
+    if (this.listeners.length == 0 || startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    int steps = Matrix.lineLength(startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    int lastRow = startRow + (steps - 1) * deltaRow;
+    int lastCol = startCol + (steps - 1) * deltaCol;
+    this.cellsChanged(Math.min(startRow, lastRow), Math.min(startCol, lastCol),
+        Math.max(startRow, lastRow) + 1, Math.max(startCol, lastCol) + 1);
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Draw a straight line from one cell to another, including both ends, choosing the cells with
+   * Bresenham's algorithm.
+   *
+   * @param startRow The row of one end.
+   * @param startCol The column of one end.
+   * @param endRow The row of the other end.
+   * @param endCol The column of the other end.
+   * @param val The value to store.
+   * @throws IndexOutOfBoundsException If either end is outside the matrix, in which case nothing
+   *     is drawn.
+   */
+  public void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    try {
+      this.inner.drawLine(startRow, startCol, endRow, endCol, val);
+    } catch (RuntimeException e) {
+      this.allChanged();
+      throw e;
+    } // try/catch
+    if (this.listeners.length != 0) {
+      this.cellsChanged(Math.min(startRow, endRow), Math.min(startCol, endCol),
+          Math.max(startRow, endRow) + 1, Math.max(startCol, endCol) + 1);
+    } // if
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw a batch of straight lines, as with <code>drawLine</code>. Segment i runs from
+   * (ends[4i], ends[4i+1]) to (ends[4i+2], ends[4i+3]).
+   *
+   * @param ends The ends of the segments, four numbers per segment.
+   * @param count The number of segments to draw.
+   * @param val The value to store.
+   * @throws IllegalArgumentException If ends holds fewer than count segments.
+   * @throws IndexOutOfBoundsException If any end is outside the matrix, in which case nothing is
+   *     drawn.
+   */
+  public void drawLines(int[] ends, int count, T val) {
+    // The listeners hear about the whole batch at once.
+    this.update((matrix) -> Matrix.super.drawLines(ends, count, val));
+  } // drawLines(int[], int, T)
+
+  /**
+   * Copy a row into an array.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    this.inner.getRow(row, dest);
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    this.inner.setRow(row, vals);
+    if (this.listeners.length != 0) {
+      this.cellsChanged(row, 0, row + 1, vals.length);
+    } // if
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column into an array.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    this.inner.getCol(col, dest);
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void setCol(int col, T[] vals) throws ArraySizeException {
+    this.inner.setCol(col, vals);
+    if (this.listeners.length != 0) {
+      this.cellsChanged(0, col, vals.length, col + 1);
+    } // if
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this matrix.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    try {
+      this.inner.copyRegion((src == this) ? this.inner : src, srcRow, srcCol, dstRow, dstCol,
+          height, width);
+    } catch (RuntimeException e) {
+      this.allChanged();
+      throw e;
+    } // try/catch
+    if (this.listeners.length != 0) {
+      this.cellsChanged(dstRow, dstCol, dstRow + height, dstCol + width);
+    } // if
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Perform an action on every cell, in row-major order.
+   *
+   * @param action What to do with each cell.
+   */
+  public void forEachCell(CellConsumer<? super T> action) {
+    this.inner.forEachCell(action);
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells, in row-major order.
+   *
+   * @return the stream.
+   */
+  public Stream<T> cells() {
+    return this.inner.cells();
+  } // cells()
+
+  /**
+   * Get a stream of the rows, from top to bottom.
+   *
+   * @return the stream.
+   */
+  public Stream<List<T>> rows() {
+    return this.inner.rows();
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    return this.inner.reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * Make a copy of the matrix, which starts with no listeners.
+   *
+   * @return a copy of the matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public TrackedMatrix<T> clone() {
+    return new TrackedMatrix<T>((Matrix<T>) this.inner.clone());
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this.inner, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, which is that of the matrix we wrap.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return this.inner.hashCode();
+  } // hashCode()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Record that some cells may have changed, merging them with the rectangles already pending.
+   *
+   * @param top The top edge (inclusive).
+   * @param left The left edge (inclusive).
+   * @param bottom The bottom edge (exclusive).
+   * @param right The right edge (exclusive).
+   */
+  private void cellsChanged(int top, int left, int bottom, int right) {
+    if (top >= bottom || left >= right) {
+      return;
+    } // if
+    MatrixChange change = new MatrixChange(MatrixChange.Kind.CELLS, top, left, bottom, right);
+    // Changes of cells commute, so any of the trailing ones may absorb this one.
+    int first = this.pending.size() - this.trailingCells;
+    int i = first;
+    while (i < this.pending.size()) {
+      MatrixChange other = this.pending.get(i);
+      MatrixChange union = union(change, other);
+      if (union.area() <= change.area() + other.area()) {
+        // The union may now absorb one we already passed, so we start over.
+        this.pending.remove(i);
+        this.trailingCells--;
+        change = union;
+        i = first;
+      } else {
+        i++;
+      } // if/else
+    } // while
+    if (this.trailingCells == MAX_RECTANGLES) {
+      int best = first;
+      long growth = Long.MAX_VALUE;
+      for (int j = first; j < this.pending.size(); j++) {
+        MatrixChange other = this.pending.get(j);
+        long more = union(change, other).area() - other.area();
+        if (more < growth) {
+          best = j;
+          growth = more;
+        } // if
+      } // for
+      change = union(change, this.pending.remove(best));
+      this.trailingCells--;
+    } // if
+    this.pending.add(change);
+    this.trailingCells++;
+    this.deliverUnlessBatched();
+  } // cellsChanged(int, int, int, int)
+
+  /**
+   * Record that rows were inserted or deleted, merging with the previous change if that
+   * inserted or deleted the neighbouring rows.
+   *
+   * @param kind ROWS_INSERTED or ROWS_DELETED.
+   * @param top The first row (inclusive).
+   * @param bottom The last row (exclusive).
+   */
+  private void rowsChanged(MatrixChange.Kind kind, int top, int bottom) {
+    int height = this.inner.height();
+    int width = (height == 0) ? 0 : this.inner.width();
+    int first = top;
+    int count = bottom - top;
+    MatrixChange last = this.last(kind);
+    if (last != null && kind == MatrixChange.Kind.ROWS_INSERTED
+        && top >= last.startRow && top <= last.endRow) {
+      // The new rows went in among or next to the ones inserted before.
+      first = last.startRow;
+      count += last.endRow - last.startRow;
+      this.pending.remove(this.pending.size() - 1);
+    } else if (last != null && kind == MatrixChange.Kind.ROWS_DELETED
+        && top <= last.startRow && bottom >= last.startRow) {
+      // The deleted rows were next to the gap left by the ones deleted before.
+      count += last.endRow - last.startRow;
+      this.pending.remove(this.pending.size() - 1);
+    } // if/else
+    this.structureChanged(new MatrixChange(kind, first, 0, first + count, width));
+  } // rowsChanged(MatrixChange.Kind, int, int)
+
+  /**
+   * Record that columns were inserted or deleted, merging with the previous change if that
+   * inserted or deleted the neighbouring columns.
+   *
+   * @param kind COLS_INSERTED or COLS_DELETED.
+   * @param left The first column (inclusive).
+   * @param right The last column (exclusive).
+   */
+  private void colsChanged(MatrixChange.Kind kind, int left, int right) {
+    int height = this.inner.height();
+    int first = left;
+    int count = right - left;
+    MatrixChange last = this.last(kind);
+    if (last != null && kind == MatrixChange.Kind.COLS_INSERTED
+        && left >= last.startCol && left <= last.endCol) {
+      first = last.startCol;
+      count += last.endCol - last.startCol;
+      this.pending.remove(this.pending.size() - 1);
+    } else if (last != null && kind == MatrixChange.Kind.COLS_DELETED
+        && left <= last.startCol && right >= last.startCol) {
+      count += last.endCol - last.startCol;
+      this.pending.remove(this.pending.size() - 1);
+    } // if/else
+    this.structureChanged(new MatrixChange(kind, 0, first, height, first + count));
+  } // colsChanged(MatrixChange.Kind, int, int)
+
+  /**
+   * Get the last pending change, if it is of a given kind.
+   *
+   * @param kind The kind.
+   * @return the change, or null.
+   */
+  private MatrixChange last(MatrixChange.Kind kind) {
+    if (this.pending.isEmpty()) {
+      return null;
+    } // if
+    MatrixChange last = this.pending.get(this.pending.size() - 1);
+    return (last.kind == kind) ? last : null;
+  } // last(MatrixChange.Kind)
+
+  /**
+   * Record a structural change.
+   *
+   * @param change The change.
+   */
+  private void structureChanged(MatrixChange change) {
+    this.pending.add(change);
+    this.trailingCells = 0;
+    this.deliverUnlessBatched();
+  } // structureChanged(MatrixChange)
+
+  /** Record that any cell may have changed, after an operation failed part way through. */
+  private void allChanged() {
+    if (this.listeners.length != 0) {
+      int height = this.inner.height();
+      this.cellsChanged(0, 0, height, (height == 0) ? 0 : this.inner.width());
+    } // if
+  } // allChanged()
+
+  /** Deliver the pending changes now, unless we are in the middle of a batch. */
+  private void deliverUnlessBatched() {
+    if (this.depth == 0) {
+      this.flush();
+    } // if
+  } // deliverUnlessBatched()
+
+  /** Deliver the pending changes, if there are any. */
+  private void flush() {
+    if (this.pending.isEmpty()) {
+      return;
+    } // if
+    List<MatrixChange> batch = Collections.unmodifiableList(this.pending);
+    this.pending = new ArrayList<MatrixChange>();
+    this.trailingCells = 0;
+    for (MatrixListener listener : this.listeners) {
+      listener.changed(batch);
+    } // for
+  } // flush()
+
+  /**
+   * Find the smallest rectangle that holds two others.
+   *
+   * @param a One rectangle.
+   * @param b The other.
+   * @return a change of cells covering both.
+   */
+  private static MatrixChange union(MatrixChange a, MatrixChange b) {
+    return new MatrixChange(MatrixChange.Kind.CELLS, Math.min(a.startRow, b.startRow),
+        Math.min(a.startCol, b.startCol), Math.max(a.endRow, b.endRow),
+        Math.max(a.endCol, b.endCol));
+  } // union(MatrixChange, MatrixChange)
+} // class TrackedMatrix
@@ -0,0 +1,305 @@
+package edu.grinnell.csc207.util;
+
+/**
+ * A live view of the transpose of another matrix. Row r, column c of the view is row c, column r
+ * of the parent. Every operation becomes the mirrored operation on the parent, so inserting a row
+ * in the view inserts a column in the parent, and filling a row fills a column.
+ *
+ * <p><code>clone</code> copies the transpose into a new <code>MatrixV0</code>, with the parent's
+ * default value where we know it.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+class TransposedMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix we view. */
+  final Matrix<T> parent;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view of the transpose of a matrix.
+   *
+   * @param matrix The matrix to view.
+   */
+  TransposedMatrix(Matrix<T> matrix) {
+    this.parent = matrix;
+  } // TransposedMatrix(Matrix<T>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.parent.get(col, row);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void set(int row, int col, T val) {
+    this.parent.set(col, row, val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.parent.width();
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.parent.height();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value, as a column of the parent.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public void insertRow(int row) {
+    this.parent.insertCol(row);
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values, as a column of the parent.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void insertRow(int row, T[] vals) throws ArraySizeException {
+    this.parent.insertCol(row, vals);
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value, as a row of the parent.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public void insertCol(int col) {
+    this.parent.insertRow(col);
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values, as a row of the parent.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void insertCol(int col, T[] vals) throws ArraySizeException {
+    this.parent.insertRow(col, vals);
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row, which is a column of the parent.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public void deleteRow(int row) {
+    this.parent.deleteCol(row);
+  } // deleteRow(int)
+
+  /**
+   * Delete a column, which is a row of the parent.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public void deleteCol(int col) {
+    this.parent.deleteRow(col);
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    this.parent.fillRegion(startCol, startRow, endCol, endRow, val);
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values. The generator sees positions
+   * in this view.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    this.parent.fillRegionWith(startCol, startRow, endCol, endRow,
+        (row, col) -> gen.apply(col, row));
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    this.parent.fillLine(startCol, startRow, deltaCol, deltaRow, endCol, endRow, val);
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Copy a row into an array, as a column of the parent.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    this.parent.getCol(row, dest);
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row, as a column of the parent.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is out of bounds.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public void setRow(int row, T[] vals) throws ArraySizeException {
+    this.parent.setCol(row, vals);
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column into an array, as a row of the parent.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    this.parent.getRow(col, dest);
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column, as a row of the parent.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is out of bounds.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public void setCol(int col, T[] vals) throws ArraySizeException {
+    this.parent.setRow(col, vals);
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this view, as a copy of the transpose of src into
+   * the parent.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol, int dstRow,
+      int dstCol, int height, int width) {
+    Matrix<? extends T> flipped = (src instanceof TransposedMatrix)
+        ? ((TransposedMatrix<? extends T>) src).parent
+        : src.transposeView();
+    this.parent.copyRegion(flipped, srcCol, srcRow, dstCol, dstRow, width, height);
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Get the transpose of this view, which is the parent.
+   *
+   * @return the parent.
+   */
+  public Matrix<T> transposeView() {
+    return this.parent;
+  } // transposeView()
+
+  /**
+   * Copy the transpose into a new matrix. The copy has the parent's default value if
+   * <code>SubMatrix.defaultOf</code> knows it, and null otherwise.
+   *
+   * @return the copy.
+   */
+  public MatrixV0<T> clone() {
+    MatrixV0<T> copy =
+        new MatrixV0<T>(this.width(), this.height(), SubMatrix.defaultOf(this.parent));
+    copy.copyRegion(this, 0, 0, 0, 0, this.height(), this.width());
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this, (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, using <code>ContentHash</code> as every matrix does.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return ContentHash.of(this);
+  } // hashCode()
+} // class TransposedMatrix
@@ -0,0 +1,481 @@
+package edu.grinnell.csc207.util;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A matrix that hands out consistent, immutable snapshots of itself in O(1) time.
+ *
+ * <p>The matrix is a sequence of versions. Each mutation clones the current version (which,
+ * thanks to the copy-on-write rows of <code>MatrixV0</code>, copies only the array of rows and the
+ * rows it writes to), changes the clone, and publishes it through a volatile field. Published
+ * versions are never written to again, so readers, including <code>snapshot</code>,
+ * <code>get</code>, and <code>hashCode</code>, never take a lock and never see a half-finished
+ * change. Writers take a lock only to order themselves; they never wait for readers. Old versions
+ * are ordinary garbage once no snapshot refers to them.
+ *
+ * <p>Because every mutation publishes a version, a single <code>set</code> costs time
+ * proportional to the height plus the width. Use <code>update</code> to apply many changes as one
+ * version. Long walks, such as <code>Matrix.print</code>, should walk a snapshot, since each call
+ * to <code>get</code> on the matrix itself reads the latest version.
+ *
+ * @author Your Name Here
+ * @param <T> The type of values stored in the matrix.
+ */
+public class VersionedMatrix<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The latest published version. */
+  private volatile MatrixV0<T> version;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value, used to fill all the cells.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public VersionedMatrix(int width, int height, T def) {
+    this.version = new MatrixV0<T>(width, height, def);
+  } // VersionedMatrix(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @throws NegativeArraySizeException If either the width or height are negative.
+   */
+  public VersionedMatrix(int width, int height) {
+    this(width, height, null);
+  } // VersionedMatrix(int, int)
+
+  /**
+   * Create a new matrix that starts at a published version.
+   *
+   * @param published The version, which must never be written to again.
+   */
+  private VersionedMatrix(MatrixV0<T> published) {
+    this.version = published;
+  } // VersionedMatrix(MatrixV0<T>)
+
+  // +-----------+---------------------------------------------------
+  // | Snapshots |
+  // +-----------+
+
+  /**
+   * Get an immutable view of the current contents of the matrix. Takes O(1) time and never
+   * blocks.
+   *
+   * @return the snapshot.
+   */
+  public MatrixSnapshot<T> snapshot() {
+    return new MatrixSnapshot<T>(this.version);
+  } // snapshot()
+
+  /**
+   * Apply a batch of changes as one new version. Readers see all of the changes or none of them.
+   * If <code>edits</code> throws an exception, none of the changes are published. The edits must
+   * not keep the matrix they are given.
+   *
+   * @param edits The changes to make.
+   */
+  public synchronized void update(Consumer<? super Matrix<T>> edits) {
+    MatrixV0<T> next = this.version.clone();
+    edits.accept(next);
+    this.version = next;
+  } // update(Consumer<? super Matrix<T>>)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column in the latest version.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @return the value at the specified location.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public T get(int row, int col) {
+    return this.version.get(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public synchronized void set(int row, int col, T val) {
+    MatrixV0<T> next = this.version.clone();
+    next.set(row, col, val);
+    this.version = next;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the latest version.
+   *
+   * @return the number of rows.
+   */
+  public int height() {
+    return this.version.height();
+  } // height()
+
+  /**
+   * Determine the number of columns in the latest version.
+   *
+   * @return the number of columns.
+   */
+  public int width() {
+    return this.version.width();
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  public synchronized void insertRow(int row) {
+    MatrixV0<T> next = this.version.clone();
+    next.insertRow(row);
+    this.version = next;
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public synchronized void insertRow(int row, T[] vals) throws ArraySizeException {
+    MatrixV0<T> next = this.version.clone();
+    // MatrixV0 keeps the array, and the caller could change it under a published version.
+    next.insertRow(row, vals.clone());
+    this.version = next;
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  public synchronized void insertCol(int col) {
+    MatrixV0<T> next = this.version.clone();
+    next.insertCol(col);
+    this.version = next;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public synchronized void insertCol(int col, T[] vals) throws ArraySizeException {
+    MatrixV0<T> next = this.version.clone();
+    next.insertCol(col, vals);
+    this.version = next;
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   */
+  public synchronized void deleteRow(int row) {
+    MatrixV0<T> next = this.version.clone();
+    next.deleteRow(row);
+    this.version = next;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   */
+  public synchronized void deleteCol(int col) {
+    MatrixV0<T> next = this.version.clone();
+    next.deleteCol(col);
+    this.version = next;
+  } // deleteCol(int)
+
+  /**
+   * Append rows to the bottom of the matrix, as a single new version.
+   *
+   * @param rows The rows to append.
+   * @param count The number of rows to append, from the start of rows.
+   * @throws ArraySizeException If the size of any of the rows is not the same as the width of the
+   *     matrix.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized void appendRows(T[][] rows, int count) throws ArraySizeException {
+    T[][] copies = (T[][]) new Object[count][];
+    for (int i = 0; i < count; i++) {
+      copies[i] = rows[i].clone();
+    } // for
+    MatrixV0<T> next = this.version.clone();
+    next.appendRows(copies, count);
+    this.version = next;
+  } // appendRows(T[][], int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public synchronized void fillRegion(int startRow, int startCol, int endRow, int endCol, T val) {
+    MatrixV0<T> next = this.version.clone();
+    next.fillRegion(startRow, startCol, endRow, endCol, val);
+    this.version = next;
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a rectangular region of the matrix with computed values, as one new version.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param gen Computes the value for each cell from its row and column.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public synchronized void fillRegionWith(
+      int startRow, int startCol, int endRow, int endCol, CellGenerator<? extends T> gen) {
+    MatrixV0<T> next = this.version.clone();
+    next.fillRegionWith(startRow, startCol, endRow, endCol, gen);
+    this.version = next;
+  } // fillRegionWith(int, int, int, int, CellGenerator<? extends T>)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal).
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   * @throw IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public synchronized void fillLine(
+      int startRow, int startCol, int deltaRow, int deltaCol, int endRow, int endCol, T val) {
+    MatrixV0<T> next = this.version.clone();
+    next.fillLine(startRow, startCol, deltaRow, deltaCol, endRow, endCol, val);
+    this.version = next;
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Draw a straight line from one cell to another, including both ends, choosing the cells with
+   * Bresenham's algorithm, as one new version.
+   *
+   * @param startRow The row of one end.
+   * @param startCol The column of one end.
+   * @param endRow The row of the other end.
+   * @param endCol The column of the other end.
+   * @param val The value to store.
+   * @throws IndexOutOfBoundsException If either end is outside the matrix, in which case nothing
+   *     is drawn.
+   */
+  public synchronized void drawLine(int startRow, int startCol, int endRow, int endCol, T val) {
+    MatrixV0<T> next = this.version.clone();
+    next.drawLine(startRow, startCol, endRow, endCol, val);
+    this.version = next;
+  } // drawLine(int, int, int, int, T)
+
+  /**
+   * Draw a batch of straight lines, as one new version. Segment i runs from (ends[4i],
+   * ends[4i+1]) to (ends[4i+2], ends[4i+3]).
+   *
+   * @param ends The ends of the segments, four numbers per segment.
+   * @param count The number of segments to draw.
+   * @param val The value to store.
+   * @throws IllegalArgumentException If ends holds fewer than count segments.
+   * @throws IndexOutOfBoundsException If any end is outside the matrix, in which case nothing is
+   *     drawn.
+   */
+  public synchronized void drawLines(int[] ends, int count, T val) {
+    MatrixV0<T> next = this.version.clone();
+    next.drawLines(ends, count, val);
+    this.version = next;
+  } // drawLines(int[], int, T)
+
+  /**
+   * Copy a row of the latest version into an array.
+   *
+   * @param row The number of the row.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of dest is not the same as the width of the matrix.
+   */
+  public void getRow(int row, T[] dest) throws ArraySizeException {
+    this.version.getRow(row, dest);
+  } // getRow(int, T[])
+
+  /**
+   * Replace the values in a row, as one new version.
+   *
+   * @param row The number of the row.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *     height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  public synchronized void setRow(int row, T[] vals) throws ArraySizeException {
+    MatrixV0<T> next = this.version.clone();
+    next.setRow(row, vals);
+    this.version = next;
+  } // setRow(int, T[])
+
+  /**
+   * Copy a column of the latest version into an array.
+   *
+   * @param col The number of the column.
+   * @param dest The array to fill.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of dest is not the same as the height of the matrix.
+   */
+  public void getCol(int col, T[] dest) throws ArraySizeException {
+    this.version.getCol(col, dest);
+  } // getCol(int, T[])
+
+  /**
+   * Replace the values in a column, as one new version.
+   *
+   * @param col The number of the column.
+   * @param vals The new values.
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *     width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  public synchronized void setCol(int col, T[] vals) throws ArraySizeException {
+    MatrixV0<T> next = this.version.clone();
+    next.setCol(col, vals);
+    this.version = next;
+  } // setCol(int, T[])
+
+  /**
+   * Copy a rectangular region of a matrix into this matrix, as one new version.
+   *
+   * @param src The matrix to copy from.
+   * @param srcRow The top edge of the region in src.
+   * @param srcCol The left edge of the region in src.
+   * @param dstRow The top edge of the region in this matrix.
+   * @param dstCol The left edge of the region in this matrix.
+   * @param height The number of rows to copy.
+   * @param width The number of columns to copy.
+   * @throws IndexOutOfBoundsException If either region does not fit in its matrix.
+   */
+  public synchronized void copyRegion(Matrix<? extends T> src, int srcRow, int srcCol,
+      int dstRow, int dstCol, int height, int width) {
+    MatrixV0<T> current = this.version;
+    MatrixV0<T> next = current.clone();
+    // Copying from ourselves means copying from the version we started with, which the new
+    // version never writes to, so overlap is not a problem.
+    next.copyRegion((src == this) ? current : src, srcRow, srcCol, dstRow, dstCol, height,
+        width);
+    this.version = next;
+  } // copyRegion(Matrix<? extends T>, int, int, int, int, int, int)
+
+  /**
+   * Perform an action on every cell of the current version, in row-major order. Writers work
+   * on new versions, so they cannot disturb the traversal.
+   *
+   * @param action What to do with each cell.
+   */
+  public void forEachCell(CellConsumer<? super T> action) {
+    this.version.forEachCell(action);
+  } // forEachCell(CellConsumer<? super T>)
+
+  /**
+   * Get a stream of the values in the cells of the current version, in row-major order.
+   *
+   * @return the stream.
+   */
+  public Stream<T> cells() {
+    return this.version.cells();
+  } // cells()
+
+  /**
+   * Get a stream of the rows of the current version, from top to bottom.
+   *
+   * @return the stream.
+   */
+  public Stream<List<T>> rows() {
+    return this.version.rows();
+  } // rows()
+
+  /**
+   * Combine the values in all of the cells of the current version.
+   *
+   * @param <R> The type of the result.
+   * @param identity The result for an empty matrix.
+   * @param accumulator Adds a value to a partial result.
+   * @param combiner Combines two partial results.
+   * @return the combined result.
+   */
+  public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator,
+      BinaryOperator<R> combiner) {
+    return this.version.reduce(identity, accumulator, combiner);
+  } // reduce(R, BiFunction<R, ? super T, R>, BinaryOperator<R>)
+
+  /**
+   * Make a copy of the matrix. Takes O(1) time, since the copy starts at the current version.
+   *
+   * @return a copy of the matrix.
+   */
+  public VersionedMatrix<T> clone() {
+    return new VersionedMatrix<T>(this.version);
+  } // clone()
+
+  /**
+   * Determine if the current version is equal to another object.
+   *
+   * @param other The object to compare.
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *     false otherwise.
+   */
+  public boolean equals(Object other) {
+    return (other instanceof Matrix) && Matrix.contentEquals(this.snapshot(), (Matrix<?>) other);
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for the current version, using the same scheme as <code>MatrixV0</code>.
+   *
+   * @return the hash code.
+   */
+  public int hashCode() {
+    return this.version.hashCode();
+  } // hashCode()
+} // class VersionedMatrix
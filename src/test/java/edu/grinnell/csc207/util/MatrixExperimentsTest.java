@@ -27,7 +27,16 @@ import org.junit.jupiter.api.Test;
 class MatrixExperimentsTest {
   @Test
   void matrixExperimentsAsTest() throws ArraySizeException {
-    Matrix<String> sample = new MatrixV0<String>(5, 6, "O");
+    runExperiments(new MatrixV0<String>(5, 6, "O"));
+  } // matrixExperimentsAsTest()
+
+  /**
+   * Run the experiments on a particular matrix, so that the tests for other implementations can
+   * reuse them.
+   *
+   * @param sample A 5x6 matrix whose default value is "O".
+   */
+  static void runExperiments(Matrix<String> sample) throws ArraySizeException {
     for (int row = 0; row < 6; row++) {
       for (int col = 0; col < 5; col++) {
         sample.set(row, col, "X");
@@ -296,5 +305,5 @@ class MatrixExperimentsTest {
       """,
         sample,
         "Matrix.fillRegion");
-  } // matrixExperimentsAsTest()
+  } // runExperiments(Matrix<String>)
 } // MatrixExperimentsTest
@@ -0,0 +1,109 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the thread-safe matrices, {@link ConcurrentMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestConcurrentMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new ConcurrentMatrix<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /**
+   * Writers on separate rows, readers everywhere, and a thread that keeps growing and shrinking
+   * the matrix should neither lose writes nor see torn fills.
+   */
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    final int size = 16;
+    final int rounds = 2000;
+    ConcurrentMatrix<Integer> matrix = new ConcurrentMatrix<Integer>(size, size, -1);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> tasks = new ArrayList<Future<?>>();
+      for (int t = 0; t < 2; t++) {
+        final int first = t * (size / 2);
+        tasks.add(pool.submit(() -> {
+          for (int round = 0; round < rounds; round++) {
+            for (int row = first; row < first + size / 2; row++) {
+              matrix.set(row, round % size, round);
+            } // for
+          } // for
+        }));
+      } // for
+      tasks.add(pool.submit(() -> {
+        for (int round = 0; round < rounds; round++) {
+          matrix.insertCol(size);
+          matrix.insertRow(size);
+          matrix.deleteRow(size);
+          matrix.deleteCol(size);
+        } // for
+      }));
+      tasks.add(pool.submit(() -> {
+        for (int round = 0; round < rounds; round++) {
+          Integer left = matrix.get(0, round % size);
+          assertTrue(left >= -1 && left < rounds, "M: sane value");
+        } // for
+      }));
+      for (Future<?> task : tasks) {
+        task.get();
+      } // for
+    } finally {
+      pool.shutdown();
+    } // try/finally
+    assertEquals(size, matrix.height(), "M: height restored");
+    assertEquals(size, matrix.width(), "M: width restored");
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        int last = rounds - size + col;
+        assertEquals(last, matrix.get(row, col), "M: last write to " + row + "," + col);
+      } // for col
+    } // for row
+  } // testConcurrentAccess()
+
+  /** A fill across many rows should look atomic to other threads. */
+  @Test
+  public void testAtomicFill() throws Exception {
+    ConcurrentMatrix<Integer> matrix = new ConcurrentMatrix<Integer>(4, 200, 0);
+    Thread filler = new Thread(() -> {
+      for (int i = 1; i <= 500; i++) {
+        matrix.fillRegion(0, 0, 200, 4, i);
+      } // for
+    });
+    filler.start();
+    while (filler.isAlive()) {
+      ConcurrentMatrix<Integer> copy = matrix.clone();
+      int first = copy.get(0, 0);
+      assertEquals(first, copy.get(199, 3), "M: snapshot is not torn");
+    } // while
+    filler.join();
+    assertEquals(500, matrix.get(100, 2), "M: last fill wins");
+  } // testAtomicFill()
+
+  /** A generator may read the matrix it fills, directly or through a materialized view. */
+  @Test
+  public void testSelfReadingGenerator() {
+    ConcurrentMatrix<Integer> matrix = new ConcurrentMatrix<Integer>(3, 3, 0);
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      matrix.fillRegionWith(0, 0, 3, 3, (row, col) -> matrix.get(row, col) + row * 3 + col);
+      matrix.map((val) -> val * 2).materialize(matrix, true);
+    });
+    assertMatrixEquals(new Integer[][] {{0, 2, 4}, {6, 8, 10}, {12, 14, 16}}, matrix,
+        "M: after filling from itself");
+  } // testSelfReadingGenerator()
+} // class TestConcurrentMatrix
@@ -0,0 +1,168 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the delimited text importer and exporter, {@link DelimitedText} and
+ * {@link CellParser}.
+ *
+ * @author Your Name Here
+ */
+class TestDelimitedText {
+  /**
+   * A channel that hands out a few bytes at a time, so that fields straddle every possible
+   * refill of the importer's buffer.
+   */
+  static class Trickle implements ReadableByteChannel {
+    /** The text. */
+    final byte[] bytes;
+
+    /** The most bytes to hand out at once. */
+    final int step;
+
+    /** The number of bytes handed out so far. */
+    int pos;
+
+    /**
+     * Create a channel.
+     *
+     * @param text The text.
+     * @param most The most bytes to hand out at once.
+     */
+    Trickle(String text, int most) {
+      this.bytes = text.getBytes(StandardCharsets.UTF_8);
+      this.step = most;
+    } // Trickle(String, int)
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (this.pos == this.bytes.length) {
+        return -1;
+      } // if
+      int count = Math.min(Math.min(this.step, dst.remaining()), this.bytes.length - this.pos);
+      dst.put(this.bytes, this.pos, count);
+      this.pos += count;
+      return count;
+    } // read(ByteBuffer)
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    } // isOpen()
+
+    @Override
+    public void close() {
+    } // close()
+  } // class Trickle
+
+  /**
+   * Write a matrix to a string.
+   *
+   * @param matrix The matrix.
+   * @param delimiter The delimiter.
+   * @return the text.
+   */
+  static String write(Matrix<?> matrix, byte delimiter) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DelimitedText.write(Channels.newChannel(out), matrix, delimiter);
+    return out.toString(StandardCharsets.UTF_8);
+  } // write(Matrix<?>, byte)
+
+  /** Strings that need quoting, nulls, and non-ASCII text should survive a round trip. */
+  @Test
+  public void testStringRoundTrip() throws ArraySizeException, IOException {
+    MatrixV0<String> matrix = new MatrixV0<String>(3, 2, "plain");
+    matrix.setRow(0, new String[] {"a,b", "say \"hi\"", null});
+    matrix.setRow(1, new String[] {"", "two\nlines", "naïve ∞"});
+    String csv = write(matrix, DelimitedText.COMMA);
+    assertEquals(
+        "\"a,b\",\"say \"\"hi\"\"\",\n\"\",\"two\nlines\",naïve ∞\n", csv, "I: quoted CSV");
+    for (int step = 1; step < 8; step++) {
+      Matrix<String> copy = DelimitedText.read(
+          new Trickle(csv, step), DelimitedText.COMMA, String.class, CellParser.strings(), "");
+      assertTrue(Matrix.contentEquals(matrix, copy), "I: read back " + step + " at a time");
+    } // for
+    assertTrue(write(matrix, DelimitedText.TAB).startsWith("a,b\t\"say \"\"hi\"\"\"\t\n"),
+        "I: commas need no quotes in TSV, but quotation marks still do");
+  } // testStringRoundTrip()
+
+  /** Integer rows should be appended to an existing matrix, across several batches. */
+  @Test
+  public void testAppendIntegers() throws ArraySizeException, IOException {
+    StringBuilder text = new StringBuilder("1,-2,2147483647\r\n-2147483648,+5,0\r\n");
+    for (int row = 2; row < 3000; row++) {
+      text.append(row).append(',').append(-row).append(',').append(row * row).append('\n');
+    } // for
+    IntMatrix matrix = new IntMatrix(3, 1, 9);
+    DelimitedText.append(new Trickle(text.toString(), 4096), matrix, DelimitedText.COMMA,
+        Integer.class, CellParser.integers());
+    assertEquals(3001, matrix.height(), "I: every line appended");
+    Integer[] row = new Integer[3];
+    matrix.getRow(1, row);
+    assertArrayEquals(new Integer[] {1, -2, Integer.MAX_VALUE}, row, "I: first line");
+    matrix.getRow(2, row);
+    assertArrayEquals(new Integer[] {Integer.MIN_VALUE, 5, 0}, row, "I: second line");
+    assertEquals(2999 * 2999, matrix.getInt(3000, 2), "I: last row");
+    assertEquals(text.toString().replace("\r", "").replace("+", ""),
+        write(matrix, DelimitedText.COMMA).substring(6), "I: written back");
+  } // testAppendIntegers()
+
+  /** The double parser should agree with Double.parseDouble. */
+  @Test
+  public void testDoubles() {
+    Random random = new Random(207);
+    String[] fixed = {"0", "-0", "0.5", ".5", "5.", "-1.25", "3.14159", "1e10", "-2.5E-3",
+        "123456789012345678", "0.1000000000000000055511151231257827", "NaN", "+7"};
+    CellParser<Double> parser = CellParser.doubles();
+    for (int i = 0; i < fixed.length + 2000; i++) {
+      String str = (i < fixed.length)
+          ? fixed[i]
+          : String.format("%." + random.nextInt(18) + "f", random.nextDouble() * 1000 - 500);
+      byte[] bytes = ("x" + str + "y").getBytes(StandardCharsets.UTF_8);
+      assertEquals(Double.parseDouble(str), parser.parse(bytes, 1, bytes.length - 1), str);
+    } // for
+    assertThrows(NumberFormatException.class, () -> parser.parse(new byte[] {'-', '.'}, 0, 2));
+  } // testDoubles()
+
+  /** Malformed text should be reported with its line. */
+  @Test
+  public void testErrors() {
+    IOException e = assertThrows(IOException.class,
+        () -> DelimitedText.read(new Trickle("1\t2\n3\tx\n", 3), DelimitedText.TAB,
+            Integer.class, CellParser.integers(), 0));
+    assertEquals("Line 2, field 2: Not an integer", e.getMessage(), "E: bad integer");
+    e = assertThrows(IOException.class,
+        () -> DelimitedText.read(new Trickle("a,b\nc\n", 3), DelimitedText.COMMA,
+            String.class, CellParser.strings(), ""));
+    assertEquals("Line 2 has 1 fields rather than 2", e.getMessage(), "E: short line");
+    assertThrows(IOException.class,
+        () -> DelimitedText.read(new Trickle("\"a\"b\n", 3), DelimitedText.COMMA,
+            String.class, CellParser.strings(), ""));
+    assertThrows(IOException.class,
+        () -> DelimitedText.read(new Trickle("\"a\n", 3), DelimitedText.COMMA,
+            String.class, CellParser.strings(), ""));
+  } // testErrors()
+
+  /** A field longer than the buffer should make the buffer grow. */
+  @Test
+  public void testLongField() throws IOException {
+    String big = "x".repeat(3 * DelimitedText.BUFFER_SIZE);
+    Matrix<String> matrix = DelimitedText.read(new Trickle("a," + big + "\n" + big + ",b", 5000),
+        DelimitedText.COMMA, String.class, CellParser.strings(), "");
+    assertEquals(big, matrix.get(0, 1), "I: first long field");
+    assertEquals(big, matrix.get(1, 0), "I: second long field");
+    assertEquals("b", matrix.get(1, 1), "I: after the long field");
+  } // testLongField()
+} // class TestDelimitedText
@@ -0,0 +1,171 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the undoable matrix, {@link JournaledMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestJournaledMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new JournaledMatrix<T>(new MatrixV0<T>(width, height, def));
+  } // newMatrix(int, int, T)
+
+  /** Undoing every step of a random session should pass back through every state. */
+  @Test
+  public void testUndoRedo() throws ArraySizeException {
+    Random random = new Random(207);
+    JournaledMatrix<String> matrix =
+        new JournaledMatrix<String>(new MatrixV0<String>(4, 4, "o"));
+    List<MatrixV0<String>> states = new ArrayList<MatrixV0<String>>();
+    states.add(new MatrixV0<String>(4, 4, "o"));
+    String[] samples = new String[] {"x", "y", null};
+    for (int step = 0; step < 300; step++) {
+      int height = matrix.height();
+      int width = matrix.width();
+      String val = samples[random.nextInt(samples.length)];
+      int row = random.nextInt(height);
+      int col = random.nextInt(width);
+      switch (random.nextInt(9)) {
+        case 0:
+          String[] vals = new String[width];
+          Arrays.fill(vals, "r");
+          vals[0] = val;
+          matrix.insertRow(random.nextInt(height + 1), vals);
+          break;
+        case 1:
+          matrix.insertCol(random.nextInt(width + 1));
+          break;
+        case 2:
+          if (height > 1) {
+            matrix.deleteRow(row);
+          } // if
+          break;
+        case 3:
+          if (width > 1) {
+            matrix.deleteCol(col);
+          } // if
+          break;
+        case 4:
+          matrix.fillLine(row, col, random.nextInt(2), 1, height, width, val);
+          break;
+        case 5:
+          matrix.fillRegion(row, col, height, random.nextInt(col, width + 1), val);
+          break;
+        case 6:
+          matrix.fillRegionWith(0, 0, row + 1, col + 1, (r, c) -> (r + c) % 2 == 0 ? val : "z");
+          break;
+        case 7:
+          matrix.copyRegion(matrix, 0, 0, row, col, height - row, width - col);
+          break;
+        default:
+          matrix.set(row, col, val);
+          break;
+      } // switch
+      // Steps that change nothing, such as empty fills, leave nothing to undo.
+      if (matrix.done.size() == states.size()) {
+        states.add(copy(matrix));
+      } // if
+    } // for
+    for (int i = states.size() - 2; i >= 0; i--) {
+      assertTrue(matrix.undo(), "J: undo " + i);
+      assertEquals(states.get(i), matrix, "J: after undoing to " + i);
+    } // for
+    assertFalse(matrix.canUndo(), "J: nothing left to undo");
+    while (matrix.redo()) {
+      // Redo everything.
+    } // while
+    assertEquals(states.get(states.size() - 1), matrix, "J: after redoing everything");
+  } // testUndoRedo()
+
+  /** Fills keep only the runs they overwrite, and undo restores the same objects. */
+  @Test
+  public void testCompact() {
+    String old = new String("old");
+    JournaledMatrix<String> matrix =
+        new JournaledMatrix<String>(new MatrixV0<String>(1000, 1000, old));
+    matrix.fillRegion(0, 0, 1000, 1000, "new");
+    JournaledMatrix.RegionEdit<String> edit =
+        (JournaledMatrix.RegionEdit<String>) matrix.done.get(0);
+    assertEquals(1, edit.old.count, "J: one run overwritten");
+    assertEquals(1, edit.now.count, "J: one run written");
+    matrix.fillRegion(10, 10, 20, 20, "newer");
+    matrix.undo();
+    matrix.undo();
+    assertSame(old, matrix.get(15, 15), "J: the same object");
+    matrix.redo();
+    assertEquals("new", matrix.get(15, 15), "J: redone");
+    assertTrue(matrix.canRedo(), "J: one more to redo");
+    matrix.set(0, 0, "other");
+    assertFalse(matrix.canRedo(), "J: a new edit forgets what was undone");
+  } // testCompact()
+
+  /** Primitive matrices box a new value on every get, but equal cells should still share runs. */
+  @Test
+  public void testCompactPrimitive() {
+    JournaledMatrix<Integer> ints = new JournaledMatrix<Integer>(new IntMatrix(500, 500, 7));
+    ints.fillRegion(0, 0, 500, 500, 1000);
+    JournaledMatrix.RegionEdit<Integer> edit =
+        (JournaledMatrix.RegionEdit<Integer>) ints.done.get(0);
+    assertEquals(1, edit.old.count, "J: one run of integers overwritten");
+    ints.undo();
+    assertEquals(7, ints.get(499, 499), "J: integers undone");
+    JournaledMatrix<Double> doubles =
+        new JournaledMatrix<Double>(new DoubleMatrix(500, 500, 0.5));
+    doubles.fillRegionWith(0, 0, 500, 500, (row, col) -> (row < 250) ? 1000.0 : 2000.0);
+    JournaledMatrix.RegionEdit<Double> next =
+        (JournaledMatrix.RegionEdit<Double>) doubles.done.get(0);
+    assertEquals(1, next.old.count, "J: one run of doubles overwritten");
+    assertEquals(2, next.now.count, "J: two runs of doubles written");
+  } // testCompactPrimitive()
+
+  /** A batch undoes as one edit, and a failed batch changes nothing. */
+  @Test
+  public void testUpdate() throws ArraySizeException {
+    JournaledMatrix<Integer> matrix =
+        new JournaledMatrix<Integer>(new MatrixV0<Integer>(3, 3, 0));
+    matrix.update((m) -> {
+      m.set(0, 0, 1);
+      m.insertRow(1);
+      m.fillRegion(1, 0, 2, 3, 2);
+    });
+    assertMatrixEquals(new Integer[][] {{1, 0, 0}, {2, 2, 2}, {0, 0, 0}, {0, 0, 0}}, matrix,
+        "M: after update");
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.update((m) -> {
+      m.deleteCol(0);
+      m.set(9, 9, 3);
+    }));
+    assertMatrixEquals(new Integer[][] {{1, 0, 0}, {2, 2, 2}, {0, 0, 0}, {0, 0, 0}}, matrix,
+        "M: after failed update");
+    assertThrows(IllegalStateException.class, () -> matrix.update((m) -> matrix.undo()));
+    assertTrue(matrix.undo(), "J: undo the update");
+    assertFalse(matrix.canUndo(), "J: the update was one edit");
+    assertMatrixEquals(new Integer[][] {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}}, matrix,
+        "M: after undo");
+  } // testUpdate()
+
+  /**
+   * Copy the contents of a matrix.
+   *
+   * @param matrix The matrix.
+   * @return a copy.
+   */
+  static MatrixV0<String> copy(Matrix<String> matrix) {
+    MatrixV0<String> result = new MatrixV0<String>(matrix.width(), matrix.height());
+    result.copyRegion(matrix, 0, 0, 0, 0, matrix.height(), matrix.width());
+    return result;
+  } // copy(Matrix<String>)
+} // class TestJournaledMatrix
@@ -0,0 +1,94 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the kernels in use, which are SIMD kernels when the tree is built and run with the
+ * <code>vector</code> profile, agree with the scalar kernels.
+ *
+ * @author Your Name Here
+ */
+class TestKernels {
+  /** The reference kernels. */
+  static final Kernels SCALAR = new ScalarKernels();
+
+  /** Odd and even lengths, so that every possible leftover after whole vectors gets tried. */
+  static final int[] LENGTHS = {0, 1, 3, 7, 8, 15, 16, 17, 31, 64, 100, 1001};
+
+  /** Element-wise operations on doubles, including the awkward values. */
+  @Test
+  public void testDoubles() {
+    Random random = new Random(207);
+    double[] special = {Double.NaN, -0.0, 0.0, Double.POSITIVE_INFINITY, Double.MIN_VALUE};
+    for (int length : LENGTHS) {
+      double[] a = new double[length];
+      double[] b = new double[length];
+      double[] c = new double[length];
+      for (int i = 0; i < length; i++) {
+        a[i] = (i % 13 == 5) ? special[i % special.length] : random.nextGaussian();
+        b[i] = (i % 11 == 3) ? special[i % special.length] : random.nextGaussian();
+        c[i] = random.nextGaussian();
+      } // for
+      double[] expected = new double[length];
+      double[] actual = new double[length];
+      SCALAR.add(a, b, expected);
+      Kernels.INSTANCE.add(a, b, actual);
+      assertArrayEquals(expected, actual, "add " + length);
+      SCALAR.multiply(a, b, expected);
+      Kernels.INSTANCE.multiply(a, b, actual);
+      assertArrayEquals(expected, actual, "multiply " + length);
+      SCALAR.multiplyAdd(a, b, c, expected);
+      Kernels.INSTANCE.multiplyAdd(a, b, c, actual);
+      assertArrayEquals(expected, actual, "multiplyAdd " + length);
+      SCALAR.scale(a, -3.5, expected);
+      Kernels.INSTANCE.scale(a, -3.5, actual);
+      assertArrayEquals(expected, actual, "scale " + length);
+      SCALAR.min(a, b, expected);
+      Kernels.INSTANCE.min(a, b, actual);
+      assertArrayEquals(expected, actual, "min " + length);
+      SCALAR.max(a, b, expected);
+      Kernels.INSTANCE.max(a, b, actual);
+      assertArrayEquals(expected, actual, "max " + length);
+      expected = a.clone();
+      actual = a.clone();
+      SCALAR.threshold(expected, 0.5, 9.0);
+      Kernels.INSTANCE.threshold(actual, 0.5, 9.0);
+      assertArrayEquals(expected, actual, "threshold " + length);
+      assertEquals(SCALAR.sum(c), Kernels.INSTANCE.sum(c), 1e-9, "sum " + length);
+    } // for
+  } // testDoubles()
+
+  /** Element-wise operations on ints, including overflow. */
+  @Test
+  public void testInts() {
+    Random random = new Random(207);
+    for (int length : LENGTHS) {
+      int[] a = random.ints(length).toArray();
+      int[] b = random.ints(length, -100, 100).toArray();
+      int[] expected = new int[length];
+      int[] actual = new int[length];
+      SCALAR.add(a, b, expected);
+      Kernels.INSTANCE.add(a, b, actual);
+      assertArrayEquals(expected, actual, "add " + length);
+      SCALAR.multiply(a, b, expected);
+      Kernels.INSTANCE.multiply(a, b, actual);
+      assertArrayEquals(expected, actual, "multiply " + length);
+      SCALAR.min(a, b, expected);
+      Kernels.INSTANCE.min(a, b, actual);
+      assertArrayEquals(expected, actual, "min " + length);
+      SCALAR.max(a, b, expected);
+      Kernels.INSTANCE.max(a, b, actual);
+      assertArrayEquals(expected, actual, "max " + length);
+      expected = a.clone();
+      actual = a.clone();
+      SCALAR.threshold(expected, 0, -1);
+      Kernels.INSTANCE.threshold(actual, 0, -1);
+      assertArrayEquals(expected, actual, "threshold " + length);
+      assertEquals(SCALAR.sum(a), Kernels.INSTANCE.sum(a), "sum " + length);
+    } // for
+  } // testInts()
+} // class TestKernels
@@ -0,0 +1,137 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the file-backed matrix, {@link MappedDoubleMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestMappedDoubleMatrix {
+  /** Where the files go. */
+  @TempDir
+  Path dir;
+
+  /** The basic structural operations. */
+  @Test
+  public void testStructure() throws ArraySizeException, IOException {
+    Path file = this.dir.resolve("matrix.bin");
+    try (MappedDoubleMatrix matrix = new MappedDoubleMatrix(file, 2, 2, 1.0)) {
+      assertEquals(2 * 2 * Double.BYTES, Files.size(file), "M: the cells are in the file");
+      matrix.setDouble(0, 0, 0.5);
+      matrix.insertCol(2, new Double[] {1.5, 2.5});
+      matrix.insertRow(0);
+      assertMatrixEquals(
+          new Double[][] {{1.0, 1.0, 1.0}, {0.5, 1.0, 1.5}, {1.0, 1.0, 2.5}},
+          matrix,
+          "M: after insertions");
+      assertEquals(2.5, matrix.getDouble(2, 2), "M: getDouble");
+      matrix.deleteRow(1);
+      matrix.deleteCol(0);
+      matrix.fillRegion(0, 0, 1, 2, -1.0);
+      matrix.fillLine(0, 0, 1, 1, 2, 2, 9.0);
+      assertMatrixEquals(new Double[][] {{9.0, -1.0}, {1.0, 9.0}}, matrix, "M: after fills");
+      matrix.flush();
+
+      assertThrows(IndexOutOfBoundsException.class, () -> matrix.getDouble(2, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> matrix.insertCol(3));
+      assertThrows(ArraySizeException.class, () -> matrix.insertRow(0, new Double[] {1.0}));
+      assertEquals(2, matrix.width(), "M: failed insertions change nothing");
+    } // try
+  } // testStructure()
+
+  /** Clones should be independent, and equal to ordinary matrices. */
+  @Test
+  public void testCloneAndEquals() throws IOException {
+    try (MappedDoubleMatrix matrix = new MappedDoubleMatrix(3, 3, 2.0, 6);
+        MappedDoubleMatrix copy = matrix.clone()) {
+      DoubleMatrix plain = new DoubleMatrix(3, 3, 2.0);
+      assertTrue(matrix.equals(plain), "M: equal to a DoubleMatrix");
+      assertEquals(plain.hashCode(), matrix.hashCode(), "M: same hash code");
+      assertTrue(copy.equals(matrix), "M: equal to its clone");
+      copy.setDouble(1, 1, 0.0);
+      assertFalse(copy.equals(matrix), "M: clone is independent");
+      assertEquals(2.0, matrix.getDouble(1, 1), "M: original unchanged");
+    } // try
+  } // testCloneAndEquals()
+
+  /**
+   * A long random sequence of operations should leave the matrix just like a DoubleMatrix. The
+   * chunks hold eight cells, so cells land on both sides of many chunk boundaries, and the matrix
+   * starts empty, so the slots are widened and the file grown many times.
+   */
+  @Test
+  public void testAgainstDoubleMatrix() throws ArraySizeException, IOException {
+    Random random = new Random(207);
+    DoubleMatrix expected = new DoubleMatrix(0, 0, 0.25);
+    try (MappedDoubleMatrix matrix = new MappedDoubleMatrix(0, 0, 0.25, 6)) {
+      for (int step = 0; step < 2000; step++) {
+        int height = expected.height();
+        int width = expected.width();
+        double val = random.nextInt(100);
+        switch (random.nextInt(6)) {
+          case 0:
+            int row = random.nextInt(height + 1);
+            expected.insertRow(row);
+            matrix.insertRow(row);
+            break;
+          case 1:
+            int col = random.nextInt(width + 1);
+            Double[] vals = new Double[height];
+            for (int i = 0; i < height; i++) {
+              vals[i] = (double) random.nextInt(100);
+            } // for
+            expected.insertCol(col, vals);
+            matrix.insertCol(col, vals);
+            break;
+          case 2:
+            if (height > 0 && random.nextInt(3) == 0) {
+              row = random.nextInt(height);
+              expected.deleteRow(row);
+              matrix.deleteRow(row);
+            } // if
+            break;
+          case 3:
+            if (width > 0 && random.nextInt(3) == 0) {
+              col = random.nextInt(width);
+              expected.deleteCol(col);
+              matrix.deleteCol(col);
+            } // if
+            break;
+          case 4:
+            int top = random.nextInt(height + 1);
+            int left = random.nextInt(width + 1);
+            int bottom = top + random.nextInt(height - top + 1);
+            int right = left + random.nextInt(width - left + 1);
+            expected.fillRegion(top, left, bottom, right, val);
+            matrix.fillRegion(top, left, bottom, right, val);
+            break;
+          default:
+            if (height > 0 && width > 0) {
+              row = random.nextInt(height);
+              col = random.nextInt(width);
+              expected.setDouble(row, col, val);
+              matrix.setDouble(row, col, val);
+            } // if
+            break;
+        } // switch
+        if (step % 50 == 0) {
+          assertTrue(expected.equals(matrix), "M: after step " + step);
+        } // if
+      } // for
+      assertTrue(expected.equals(matrix), "M: at the end");
+      assertEquals(expected.hashCode(), matrix.hashCode(), "M: same hash code");
+    } // try
+  } // testAgainstDoubleMatrix()
+} // class TestMappedDoubleMatrix
@@ -1,11 +1,19 @@
 package edu.grinnell.csc207.util;
 
 import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -14,28 +22,71 @@ import org.junit.jupiter.api.Test;
  * @author Samuel A. Rebelsky
  */
 class TestMatrix {
+  // +-----------+---------------------------------------------------
+  // | Factories |
+  // +-----------+
+
+  /**
+   * Build a matrix to test. Subclasses override this so that the same tests run on other
+   * implementations.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @param def The default value.
+   * @return a new matrix.
+   */
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new MatrixV0<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /**
+   * Build a matrix to test, with null as the default value.
+   *
+   * @param width The width of the matrix.
+   * @param height The height of the matrix.
+   * @return a new matrix.
+   */
+  <T> Matrix<T> newMatrix(int width, int height) {
+    return this.<T>newMatrix(width, height, null);
+  } // newMatrix(int, int)
+
+  /**
+   * Check the internals of a matrix built by <code>newMatrix</code>, after each step of
+   * <code>testAgainstMatrixV0</code>. Subclasses override this to check what only their
+   * implementation can get wrong.
+   *
+   * @param matrix The matrix.
+   * @param step The number of the step, for messages.
+   */
+  void checkInternals(Matrix<?> matrix, int step) {
+  } // checkInternals(Matrix<?>, int)
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
   /** Make sure that we can create and change 1x1 matrices. */
   @Test
   public void testOneByOne() {
     Integer five = Integer.valueOf(5);
     Integer six = Integer.valueOf(6);
 
-    Matrix<Integer> oneByOneA = new MatrixV0<Integer>(1, 1);
+    Matrix<Integer> oneByOneA = this.<Integer>newMatrix(1, 1);
     assertMatrixEquals(new Integer[][] {{null}}, oneByOneA, "one-by-one of null");
     oneByOneA.set(0, 0, five);
     assertMatrixEquals(new Integer[][] {{five}}, oneByOneA, "after setting one-by-one to five");
 
-    Matrix<String> oneByOneB = new MatrixV0<String>(1, 1);
+    Matrix<String> oneByOneB = this.<String>newMatrix(1, 1);
     assertMatrixEquals(new String[][] {{null}}, oneByOneB, "one-by-one of null");
     oneByOneB.set(0, 0, "hi");
     assertMatrixEquals(new String[][] {{"hi"}}, oneByOneB, "after setting one-by-one to 'hi'");
 
-    Matrix<Integer> oneByOneC = new MatrixV0<Integer>(1, 1, five);
+    Matrix<Integer> oneByOneC = this.<Integer>newMatrix(1, 1, five);
     assertMatrixEquals(new Integer[][] {{five}}, oneByOneC, "one-by-one of 5");
     oneByOneC.set(0, 0, six);
     assertMatrixEquals(new Integer[][] {{six}}, oneByOneC, "after setting one-by-one to six");
 
-    Matrix<String> oneByOneD = new MatrixV0<String>(1, 1, " ");
+    Matrix<String> oneByOneD = this.<String>newMatrix(1, 1, " ");
     assertMatrixEquals(new String[][] {{" "}}, oneByOneD, "one-by-one of space");
     oneByOneD.set(0, 0, "");
     assertMatrixEquals(
@@ -52,7 +103,7 @@ class TestMatrix {
     Integer i4 = Integer.valueOf(4);
     Integer i5 = Integer.valueOf(5);
 
-    Matrix<Integer> horizA = new MatrixV0<Integer>(5, 1);
+    Matrix<Integer> horizA = this.<Integer>newMatrix(5, 1);
     assertMatrixEquals(
         new Integer[][] {{null, null, null, null, null}}, horizA, "R: 5x1 matrix of null");
     horizA.set(0, 0, i0);
@@ -110,7 +161,7 @@ class TestMatrix {
         horizA,
         "M: insert last column / 5x1 matrix now 6x1 matrix");
 
-    Matrix<Integer> horizB = new MatrixV0<Integer>(3, 1, i5);
+    Matrix<Integer> horizB = this.<Integer>newMatrix(3, 1, i5);
     assertMatrixEquals(new Integer[][] {{i5, i5, i5}}, horizB, "R: 3x1 matrix of 5");
     horizB.set(0, 0, i3);
     horizB.set(0, 1, i2);
@@ -166,7 +217,7 @@ class TestMatrix {
     String s4 = "four";
     String s5 = "five";
 
-    Matrix<String> vertA = new MatrixV0<String>(1, 5);
+    Matrix<String> vertA = this.<String>newMatrix(1, 5);
     assertMatrixEquals(
         new String[][] {{null}, {null}, {null}, {null}, {null}}, vertA, "R: 1x5 matrix of null");
     vertA.set(0, 0, s0);
@@ -224,7 +275,7 @@ class TestMatrix {
         vertA,
         "M: insert last column / 1x5 matrix now 1x6 matrix");
 
-    Matrix<String> vertB = new MatrixV0<String>(1, 3, s5);
+    Matrix<String> vertB = this.<String>newMatrix(1, 3, s5);
     assertMatrixEquals(new String[][] {{s5}, {s5}, {s5}}, vertB, "R: 1x3 matrix of 5");
     vertB.set(0, 0, s3);
     vertB.set(1, 0, s2);
@@ -275,7 +326,7 @@ class TestMatrix {
   /** Test for exceptions in set. */
   @Test
   public void testSetException() {
-    Matrix<String> matrix = new MatrixV0(7, 3);
+    Matrix<String> matrix = this.<String>newMatrix(7, 3);
     assertThrows(
         IndexOutOfBoundsException.class,
         () -> {
@@ -317,7 +368,7 @@ class TestMatrix {
   /** Test for exceptions in get. */
   @Test
   public void testGetException() {
-    Matrix<String> matrix = new MatrixV0(3, 6);
+    Matrix<String> matrix = this.<String>newMatrix(3, 6);
     assertThrows(
         IndexOutOfBoundsException.class,
         () -> {
@@ -359,7 +410,7 @@ class TestMatrix {
   /** Exception in insertRow. */
   @Test
   public void testInsertRowException() {
-    Matrix<Integer> matrix = new MatrixV0<Integer>(5, 3);
+    Matrix<Integer> matrix = this.<Integer>newMatrix(5, 3);
     Integer four = Integer.valueOf(4);
 
     assertThrows(
@@ -405,7 +456,7 @@ class TestMatrix {
   /** Exception in insertCol. */
   @Test
   public void testInsertColException() {
-    Matrix<String> matrix = new MatrixV0<String>(5, 3);
+    Matrix<String> matrix = this.<String>newMatrix(5, 3);
 
     assertThrows(
         IndexOutOfBoundsException.class,
@@ -450,7 +501,7 @@ class TestMatrix {
   /** Some assorted tests. */
   @Test
   void testAssorted() {
-    Matrix<String> strings = new MatrixV0(4, 2, " ");
+    Matrix<String> strings = this.<String>newMatrix(4, 2, " ");
     assertMatrixEquals(
         new String[][] {
           {" ", " ", " ", " "},
@@ -534,22 +585,254 @@ class TestMatrix {
         "E: After deleting column 1");
   } // testAssorted()
 
+  /** Clones should not be affected by changes to the original, or vice versa. */
+  @Test
+  public void testCloneIndependence() throws ArraySizeException {
+    Matrix<String> original = this.<String>newMatrix(3, 3, "a");
+    original.set(1, 1, "b");
+    Matrix<String> copy = original.clone();
+    original.set(0, 0, "c");
+    copy.fillRegion(2, 0, 3, 3, "d");
+    copy.insertRow(0, new String[] {"e", "e", "e"});
+    original.deleteCol(2);
+    assertMatrixEquals(
+        new String[][] {{"c", "a"}, {"a", "b"}, {"a", "a"}}, original, "M: original after edits");
+    assertMatrixEquals(
+        new String[][] {{"e", "e", "e"}, {"a", "a", "a"}, {"a", "b", "a"}, {"d", "d", "d"}},
+        copy,
+        "M: copy after edits");
+  } // testCloneIndependence()
+
+  /** Generated fills should compute each cell from its position. */
+  @Test
+  public void testFillGenerator() {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(4, 3, 0);
+    matrix.fillRegionWith(1, 1, 3, 4, (row, col) -> row * 10 + col);
+    matrix.fillRegionWith(0, 0, 3, 0, (row, col) -> -1);
+    assertMatrixEquals(
+        new Integer[][] {{0, 0, 0, 0}, {0, 11, 12, 13}, {0, 21, 22, 23}},
+        matrix,
+        "M: after generated fill");
+    matrix.fillRegion(2, 0, 3, 2, null);
+    assertMatrixEquals(
+        new Integer[][] {{0, 0, 0, 0}, {0, 11, 12, 13}, {null, null, 22, 23}},
+        matrix,
+        "M: after filling with null");
+  } // testFillGenerator()
+
+  /** Lines should include both ends, and a batch with a bad segment should draw nothing. */
+  @Test
+  public void testDrawLine() {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(6, 4, 0);
+    matrix.drawLine(0, 0, 2, 5, 1);
+    matrix.drawLine(3, 5, 0, 1, 2);
+    matrix.drawLine(3, 0, 3, 2, 3);
+    Integer[][] expected =
+        new Integer[][] {{1, 2, 0, 0, 0, 0}, {0, 0, 2, 1, 0, 0}, {0, 0, 0, 2, 2, 1},
+          {3, 3, 3, 0, 0, 2}};
+    assertMatrixEquals(expected, matrix, "M: after drawing lines");
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.drawLine(0, 0, 4, 0, 9));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.drawLines(new int[] {0, 0, 1, 1, 0, 0, 0, 6}, 2, 9));
+    assertThrows(IllegalArgumentException.class,
+        () -> matrix.drawLines(new int[] {0, 0, 1, 1, 0, 0}, 2, 9));
+    assertMatrixEquals(expected, matrix, "M: after failed draws");
+    matrix.drawLines(new int[] {0, 5, 3, 4, 1, 0, 1, 0, 9, 9}, 2, 4);
+    assertMatrixEquals(
+        new Integer[][] {{1, 2, 0, 0, 0, 4}, {4, 0, 2, 1, 0, 4}, {0, 0, 0, 2, 4, 1},
+          {3, 3, 3, 0, 4, 2}},
+        matrix,
+        "M: after drawing a batch");
+  } // testDrawLine()
+
+  /** Lines that never end or that leave the matrix should be refused before anything changes. */
+  @Test
+  public void testBadLines() {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(3, 3, 0);
+    assertThrows(IllegalArgumentException.class, () -> matrix.fillLine(0, 0, 0, 0, 3, 3, 1));
+    assertThrows(IllegalArgumentException.class, () -> matrix.fillLine(2, 2, -1, 0, 3, 3, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillLine(2, 0, -1, 1, 3, 4, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillLine(1, 1, 1, 1, 5, 5, 1));
+    assertMatrixEquals(new Integer[][] {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}}, matrix,
+        "M: after bad lines");
+  } // testBadLines()
+
+  /** Rows, columns, and regions should move in bulk. */
+  @Test
+  public void testBulkTransfer() throws ArraySizeException {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(3, 3, 0);
+    matrix.setRow(0, new Integer[] {1, 2, 3});
+    matrix.setCol(2, new Integer[] {4, 5, 6});
+    Integer[] row = new Integer[3];
+    matrix.getRow(0, row);
+    assertArrayEquals(new Integer[] {1, 2, 4}, row, "M: row 0");
+    Integer[] col = new Integer[3];
+    matrix.getCol(2, col);
+    assertArrayEquals(new Integer[] {4, 5, 6}, col, "M: column 2");
+    assertThrows(ArraySizeException.class, () -> matrix.getRow(0, new Integer[2]));
+    assertThrows(ArraySizeException.class, () -> matrix.setCol(0, new Integer[4]));
+
+    // Overlapping copies within the matrix, in both directions.
+    matrix.copyRegion(matrix, 0, 0, 1, 1, 2, 2);
+    assertMatrixEquals(
+        new Integer[][] {{1, 2, 4}, {0, 1, 2}, {0, 0, 0}}, matrix, "M: copy down and right");
+    matrix.copyRegion(matrix, 1, 0, 0, 1, 2, 2);
+    assertMatrixEquals(
+        new Integer[][] {{1, 0, 1}, {0, 0, 0}, {0, 0, 0}}, matrix, "M: copy up and right");
+
+    // Copies from a different kind of matrix.
+    Matrix<Integer> other = new MatrixV1<Integer>(2, 1, 9);
+    matrix.copyRegion(other, 0, 0, 2, 1, 1, 2);
+    assertMatrixEquals(
+        new Integer[][] {{1, 0, 1}, {0, 0, 0}, {0, 9, 9}}, matrix, "M: copy from elsewhere");
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.copyRegion(other, 0, 0, 2, 2, 1, 2));
+  } // testBulkTransfer()
+
+  /** Appending a batch of rows. */
+  @Test
+  public void testAppendRows() throws ArraySizeException {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(2, 1, 0);
+    Integer[][] rows = new Integer[][] {{1, 2}, {3, 4}, {5}};
+    matrix.appendRows(rows, 2);
+    assertMatrixEquals(new Integer[][] {{0, 0}, {1, 2}, {3, 4}}, matrix, "M: two rows appended");
+    assertThrows(ArraySizeException.class, () -> matrix.appendRows(rows, 3));
+    assertEquals(3, matrix.height(), "M: nothing appended from a bad batch");
+    matrix.set(1, 0, 7);
+    assertEquals(1, rows[0][0], "M: later changes do not show through the batch");
+  } // testAppendRows()
+
+  /** Visiting every cell, with callbacks, streams, and reductions. */
+  @Test
+  public void testIteration() {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(3, 2, 0);
+    matrix.fillRegionWith(0, 0, 2, 3, (row, col) -> row * 10 + col);
+    List<String> visits = new ArrayList<String>();
+    matrix.forEachCell((row, col, val) -> visits.add(row + "," + col + "=" + val));
+    assertEquals(List.of("0,0=0", "0,1=1", "0,2=2", "1,0=10", "1,1=11", "1,2=12"), visits,
+        "I: forEachCell");
+    assertEquals(List.of(0, 1, 2, 10, 11, 12), matrix.cells().collect(Collectors.toList()),
+        "I: cells");
+    assertEquals(List.of(List.of(0, 1, 2), List.of(10, 11, 12)),
+        matrix.rows().collect(Collectors.toList()), "I: rows");
+    assertEquals(36, (int) matrix.reduce(0, (sum, val) -> sum + val, Integer::sum), "I: reduce");
+
+    // Enough cells that a parallel stream splits into bands, some starting mid-row.
+    Matrix<Integer> big = this.<Integer>newMatrix(150, 120, 0);
+    big.fillRegionWith(0, 0, 120, 150, (row, col) -> row * 150 + col);
+    List<Integer> expected = IntStream.range(0, 150 * 120).boxed().collect(Collectors.toList());
+    assertEquals(expected, big.cells().parallel().collect(Collectors.toList()), "I: parallel");
+    Spliterator<Integer> cells = big.cells().spliterator();
+    cells.tryAdvance((val) -> { });
+    Spliterator<Integer> prefix = cells.trySplit();
+    assertEquals(150 * 120 - 1, prefix.estimateSize() + cells.estimateSize(), "I: split sizes");
+    assertEquals(150 * 120 * (150 * 120 - 1) / 2,
+        (long) big.reduce(0L, (sum, val) -> sum + val, Long::sum), "I: big reduce");
+  } // testIteration()
+
+  /** Sub-matrix and transpose views share cells with their parent. */
+  @Test
+  public void testViews() throws ArraySizeException {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(4, 3, 0);
+    matrix.fillRegionWith(0, 0, 3, 4, (row, col) -> row * 10 + col);
+    Matrix<Integer> sub = matrix.subMatrix(1, 1, 3, 3);
+    assertMatrixEquals(new Integer[][] {{11, 12}, {21, 22}}, sub, "V: sub view");
+    sub.set(0, 0, 99);
+    assertEquals(99, matrix.get(1, 1), "V: writes to the view reach the parent");
+    matrix.set(2, 2, 77);
+    assertEquals(77, sub.get(1, 1), "V: writes to the parent reach the view");
+    assertThrows(IndexOutOfBoundsException.class, () -> sub.get(0, 2));
+    assertThrows(UnsupportedOperationException.class, () -> sub.insertRow(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.subMatrix(0, 0, 4, 1));
+
+    // Bulk operations and views of views.
+    sub.setRow(1, new Integer[] {5, 6});
+    Integer[] col = new Integer[2];
+    sub.getCol(1, col);
+    assertArrayEquals(new Integer[] {12, 6}, col, "V: column of the view");
+    sub.subMatrix(0, 1, 2, 2).fillRegion(0, 0, 2, 1, 8);
+    sub.fillLine(0, 0, 1, 1, 2, 2, 4);
+    assertMatrixEquals(new Integer[][] {{0, 1, 2, 3}, {10, 4, 8, 13}, {20, 5, 4, 23}}, matrix,
+        "V: bulk writes through the view");
+    sub.copyRegion(matrix, 0, 0, 0, 0, 2, 2);
+    assertMatrixEquals(new Integer[][] {{0, 1}, {10, 4}}, sub, "V: copy into the view");
+    assertThrows(IndexOutOfBoundsException.class, () -> sub.fillLine(0, 0, 1, -1, 2, 2, 9));
+    assertMatrixEquals(new Integer[][] {{0, 1, 2, 3}, {10, 0, 1, 13}, {20, 10, 4, 23}}, matrix,
+        "V: a line that leaves the view writes nothing");
+
+    // The transpose.
+    Matrix<Integer> flip = matrix.transposeView();
+    assertEquals(4, flip.height(), "V: transpose height");
+    assertEquals(3, flip.width(), "V: transpose width");
+    assertEquals(13, flip.get(3, 1), "V: transpose get");
+    flip.setRow(0, new Integer[] {7, 8, 9});
+    Integer[] row = new Integer[3];
+    matrix.getCol(0, row);
+    assertArrayEquals(new Integer[] {7, 8, 9}, row, "V: a row of the view is a column");
+    flip.insertRow(4, new Integer[] {-1, -2, -3});
+    assertEquals(5, matrix.width(), "V: inserting a row inserts a column");
+    assertEquals(-3, matrix.get(2, 4), "V: values of the inserted column");
+    assertTrue(flip.transposeView() == matrix, "V: transpose of the transpose");
+
+    // Clones are independent copies.
+    Matrix<Integer> copy = flip.clone();
+    assertEquals(flip, copy, "V: clone of the transpose");
+    copy.set(0, 0, 1000);
+    assertEquals(7, matrix.get(0, 0), "V: clone is independent");
+    Matrix<Integer> subCopy = matrix.subMatrix(0, 0, 2, 2).clone();
+    assertMatrixEquals(new Integer[][] {{7, 1}, {8, 0}}, subCopy, "V: clone of the sub view");
+    assertEquals(subCopy.hashCode(), matrix.subMatrix(0, 0, 2, 2).hashCode(), "V: hash codes");
+  } // testViews()
+
+  /** Lazy maps and zips. */
+  @Test
+  public void testLazy() {
+    Matrix<Integer> matrix = this.<Integer>newMatrix(3, 2, 0);
+    matrix.fillRegionWith(0, 0, 2, 3, (row, col) -> row * 10 + col);
+    Matrix<String> labels = matrix.map((val) -> val * 2).map((val) -> "#" + val);
+    assertMatrixEquals(new String[][] {{"#0", "#2", "#4"}, {"#20", "#22", "#24"}}, labels,
+        "L: chained maps");
+    matrix.set(0, 0, 5);
+    assertEquals("#10", labels.get(0, 0), "L: maps read the current values");
+    Matrix<String> zipped = labels.zipWith(matrix.map((val) -> -val), (str, val) -> str + val);
+    assertEquals("#24-12", zipped.get(1, 2), "L: zip of two lazy matrices");
+    assertThrows(UnsupportedOperationException.class, () -> labels.set(0, 0, "x"));
+    assertThrows(IllegalArgumentException.class,
+        () -> matrix.zipWith(this.<Integer>newMatrix(2, 3, 0), Integer::sum));
+
+    // Materializing into other implementations.
+    IntMatrix sums = matrix.zipWith(matrix, Integer::sum).materialize(new IntMatrix(3, 2, 0));
+    assertMatrixEquals(new Integer[][] {{10, 2, 4}, {20, 22, 24}}, sums, "L: materialized");
+    Matrix<Integer> copy = matrix.map((val) -> val + 1).clone();
+    matrix.set(0, 0, 0);
+    assertEquals(6, copy.get(0, 0), "L: clones are evaluated");
+    assertThrows(IllegalArgumentException.class,
+        () -> matrix.map((val) -> val).materialize(new IntMatrix(2, 2, 0)));
+
+    // Enough cells that a parallel sweep splits.
+    Matrix<Integer> big = this.<Integer>newMatrix(300, 300, 1);
+    Matrix<Integer> result = big.map((val) -> val + 1).zipWith(big, (a, b) -> a * 10 + b)
+        .materialize(new MatrixV0<Integer>(300, 300), true);
+    assertEquals(300 * 300 * 21, (int) result.reduce(0, (sum, val) -> sum + val, Integer::sum),
+        "L: parallel materialize");
+  } // testLazy()
+
   /** Some fun with equality. */
   @Test
   public void testEquals() throws ArraySizeException {
     // Build five equivalent matrices in different ways.
-    Matrix<String> matrix0 = new MatrixV0<String>(4, 3, "X");
+    Matrix<String> matrix0 = this.<String>newMatrix(4, 3, "X");
 
-    Matrix<String> matrix1 = new MatrixV0<String>(3, 3, "X");
+    Matrix<String> matrix1 = this.<String>newMatrix(3, 3, "X");
     matrix1.insertCol(1);
 
-    Matrix<String> matrix2 = new MatrixV0<String>(4, 3);
+    Matrix<String> matrix2 = this.<String>newMatrix(4, 3);
     matrix2.fillRegion(0, 0, 3, 4, "EX".substring(1));
 
-    Matrix<String> matrix3 = new MatrixV0<String>(4, 2, new String("X"));
+    Matrix<String> matrix3 = this.<String>newMatrix(4, 2, new String("X"));
     matrix3.insertRow(0, new String[] {"X", "X", "X", "X"});
 
-    Matrix<String> matrix4 = new MatrixV0<String>(5, 4, "X" + "");
+    Matrix<String> matrix4 = this.<String>newMatrix(5, 4, "X" + "");
     matrix4.deleteRow(0);
     matrix4.deleteCol(1);
 
@@ -618,4 +901,78 @@ class TestMatrix {
       } // for j
     } // for i
   } // testEquals()
+
+  /** The assignment's sample should behave as it does for MatrixV0. */
+  @Test
+  public void testExperiments() throws ArraySizeException {
+    MatrixExperimentsTest.runExperiments(this.<String>newMatrix(5, 6, "O"));
+  } // testExperiments()
+
+  /** A long random sequence of operations should match MatrixV0. */
+  @Test
+  public void testAgainstMatrixV0() throws ArraySizeException {
+    Random random = new Random(207);
+    Matrix<Integer> expected = new MatrixV0<Integer>(3, 3, -1);
+    Matrix<Integer> actual = this.<Integer>newMatrix(3, 3, -1);
+    Matrix<?> snapshot = actual.clone();
+    for (int step = 0; step < 2000; step++) {
+      int height = expected.height();
+      int width = expected.width();
+      switch (random.nextInt(8)) {
+        case 0:
+          int row = random.nextInt(height + 1);
+          expected.insertRow(row);
+          actual.insertRow(row);
+          break;
+        case 1:
+          int col = random.nextInt(width + 1);
+          Integer[] vals = new Integer[height];
+          for (int i = 0; i < height; i++) {
+            vals[i] = step * 100 + i;
+          } // for
+          expected.insertCol(col, vals);
+          actual.insertCol(col, vals);
+          break;
+        case 2:
+          col = random.nextInt(width + 1);
+          expected.insertCol(col);
+          actual.insertCol(col);
+          break;
+        case 3:
+          if (height > 1) {
+            row = random.nextInt(height);
+            expected.deleteRow(row);
+            actual.deleteRow(row);
+          } // if
+          break;
+        case 4:
+          if (width > 1) {
+            col = random.nextInt(width);
+            expected.deleteCol(col);
+            actual.deleteCol(col);
+          } // if
+          break;
+        case 5:
+          int r0 = random.nextInt(height);
+          int c0 = random.nextInt(width);
+          int r1 = r0 + random.nextInt(height - r0 + 1);
+          int c1 = c0 + random.nextInt(width - c0 + 1);
+          int fill = (step % 3 == 0) ? -1 : step;
+          expected.fillRegion(r0, c0, r1, c1, fill);
+          actual.fillRegion(r0, c0, r1, c1, fill);
+          break;
+        default:
+          row = random.nextInt(height);
+          col = random.nextInt(width);
+          expected.set(row, col, step);
+          actual.set(row, col, step);
+          break;
+      } // switch
+      assertTrue(expected.equals(actual), "E: matches MatrixV0 after step " + step);
+      assertEquals(expected.hashCode(), actual.hashCode(), "E: hash after step " + step);
+      this.checkInternals(actual, step);
+    } // for
+    assertTrue(actual.clone().equals(expected), "E: clone matches");
+    assertTrue(snapshot.equals(new MatrixV0<Integer>(3, 3, -1)), "E: early clone unchanged");
+  } // testAgainstMatrixV0()
 } // TestMatrix
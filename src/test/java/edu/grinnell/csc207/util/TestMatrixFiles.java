@@ -0,0 +1,96 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the binary matrix format, {@link MatrixFiles} and {@link MappedMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestMatrixFiles {
+  /** Where the files go. */
+  @TempDir
+  Path dir;
+
+  /** Numeric matrices should survive a trip through a file, loaded or mapped. */
+  @Test
+  public void testNumericRoundTrip() throws IOException {
+    IntMatrix ints = new IntMatrix(300, 200, 7);
+    ints.fillRegionWith(10, 20, 150, 290, (row, col) -> row * 1000 + col);
+    ints.insertCol(0);
+    Path intFile = this.dir.resolve("ints.mtx");
+    MatrixFiles.write(intFile, ints);
+    assertEquals(16 + 4 + 301 * 200 * 4, Files.size(intFile), "F: file size");
+    Matrix<?> loaded = MatrixFiles.load(intFile);
+    assertInstanceOf(IntMatrix.class, loaded);
+    assertTrue(ints.equals(loaded), "F: loaded integers");
+    MappedMatrix<Integer> mappedInts = MatrixFiles.map(intFile, Integer.class);
+    assertEquals(20030, mappedInts.getInt(20, 31), "F: mapped cell");
+    assertTrue(mappedInts.equals(ints), "F: mapped integers");
+    assertEquals(ints.hashCode(), mappedInts.hashCode(), "F: mapped hash code");
+
+    DoubleMatrix doubles = new DoubleMatrix(5, 4, 0.5);
+    doubles.setDouble(3, 4, Math.PI);
+    Path doubleFile = this.dir.resolve("doubles.mtx");
+    MatrixFiles.write(doubleFile, doubles);
+    assertTrue(doubles.equals(MatrixFiles.load(doubleFile)), "F: loaded doubles");
+    MappedMatrix<Double> mappedDoubles = MatrixFiles.map(doubleFile, Double.class);
+    assertEquals(Math.PI, mappedDoubles.getDouble(3, 4), "F: mapped double");
+    assertThrows(UnsupportedOperationException.class, () -> mappedDoubles.set(0, 0, 1.0));
+    assertThrows(IOException.class, () -> MatrixFiles.map(doubleFile, Integer.class));
+  } // testNumericRoundTrip()
+
+  /** Generic matrices should keep their strings, nulls, and default values. */
+  @Test
+  public void testMatrixV0RoundTrip() throws IOException {
+    MatrixV0<String> strings = new MatrixV0<String>(3, 2, "é");
+    strings.set(0, 1, null);
+    strings.set(1, 2, "a longer string, ∞");
+    Path file = this.dir.resolve("strings.mtx");
+    MatrixFiles.write(file, strings);
+    Matrix<?> loaded = MatrixFiles.load(file);
+    assertTrue(Matrix.contentEquals(strings, loaded), "F: loaded strings");
+    loaded.insertRow(0);
+    assertEquals("é", loaded.get(0, 0), "F: default value survives");
+
+    MatrixV0<Integer> boxed = new MatrixV0<Integer>(2, 2, 3);
+    boxed.set(1, 0, -4);
+    MatrixFiles.write(file, boxed);
+    loaded = MatrixFiles.load(file);
+    assertInstanceOf(IntMatrix.class, loaded);
+    assertTrue(Matrix.contentEquals(boxed, loaded), "F: boxed integers become an IntMatrix");
+
+    MatrixV0<Integer> saved = boxed.clone();
+    boxed.set(0, 0, null);
+    assertThrows(IllegalArgumentException.class, () -> MatrixFiles.write(file, boxed));
+    MatrixV0<Integer> noDefault = new MatrixV0<Integer>(2, 2);
+    noDefault.fillRegion(0, 0, 2, 2, 5);
+    assertThrows(IllegalArgumentException.class, () -> MatrixFiles.write(file, noDefault));
+    MatrixV0<Object> mixed = new MatrixV0<Object>(2, 2, "a");
+    mixed.set(1, 1, 1.5);
+    assertThrows(IllegalArgumentException.class, () -> MatrixFiles.write(file, mixed));
+    assertTrue(Matrix.contentEquals(saved, MatrixFiles.load(file)),
+        "F: rejected writes leave the file alone");
+  } // testMatrixV0RoundTrip()
+
+  /** Files that are not matrix files should be rejected. */
+  @Test
+  public void testBadFiles() throws IOException {
+    Path file = this.dir.resolve("bad.mtx");
+    Files.writeString(file, "Not a matrix, just some text.");
+    assertThrows(IOException.class, () -> MatrixFiles.load(file));
+    MatrixFiles.write(file, new IntMatrix(10, 10));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrows(IOException.class, () -> MatrixFiles.map(file, Integer.class));
+  } // testBadFiles()
+} // class TestMatrixFiles
@@ -0,0 +1,119 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for flood fills and labeling, {@link MatrixRegions}.
+ *
+ * @author Your Name Here
+ */
+class TestMatrixRegions {
+  /** A small map. */
+  static final String[] MAP = new String[] {"#..#", "#.##", "..#.", "##.."};
+
+  /**
+   * Copy a map into a matrix, one character per cell.
+   *
+   * @param matrix The matrix, which must be as large as the map.
+   * @param map The map.
+   * @return the matrix.
+   */
+  static Matrix<String> fill(Matrix<String> matrix, String[] map) {
+    for (int row = 0; row < map.length; row++) {
+      for (int col = 0; col < map[row].length(); col++) {
+        matrix.set(row, col, map[row].substring(col, col + 1));
+      } // for col
+    } // for row
+    return matrix;
+  } // fill(Matrix<String>, String[])
+
+  /** Fills should stop at the edges of their regions, with or without corners. */
+  @Test
+  public void testFloodFill() {
+    Matrix<String> direct = fill(new MatrixV0<String>(4, 4), MAP);
+    Matrix<String> other = fill(new SparseMatrix<String>(4, 4, "#"), MAP);
+    for (Matrix<String> matrix : new Matrix[] {direct, other}) {
+      assertEquals(5, MatrixRegions.floodFill(matrix, 0, 1, "~"), "R: cells in a 4-region");
+      assertEquals(3, MatrixRegions.floodFill(matrix, 2, 3, "~", true), "R: cells in an 8-region");
+      assertEquals(0, MatrixRegions.floodFill(matrix, 2, 3, "~"), "R: already filled");
+      assertMatrixEquals(
+          new String[][] {{"#", "~", "~", "#"}, {"#", "~", "#", "#"}, {"~", "~", "#", "~"},
+            {"#", "#", "~", "~"}},
+          matrix,
+          "M: after flood fills");
+      assertThrows(IndexOutOfBoundsException.class,
+          () -> MatrixRegions.floodFill(matrix, 4, 0, "~"));
+    } // for
+    assertEquals(ContentHash.of(direct), direct.hashCode(), "H: after flood fills");
+  } // testFloodFill()
+
+  /** A long, winding region should not overflow the stack. */
+  @Test
+  public void testSnake() {
+    int size = 1000;
+    MatrixV0<String> matrix = new MatrixV0<String>(size, size, ".");
+    for (int row = 1; row < size; row += 2) {
+      int gap = (row % 4 == 1) ? size - 1 : 0;
+      matrix.fillRegion(row, 0, row + 1, size, "#");
+      matrix.set(row, gap, ".");
+    } // for
+    assertEquals(size / 2 + 1, MatrixRegions.countRegions(matrix, false, false),
+        "R: one region per wall, plus the path");
+    assertEquals(size * size / 2 + size / 2, MatrixRegions.floodFill(matrix, 0, 0, "~"),
+        "R: the whole path");
+    assertEquals("~", matrix.get(size - 2, size - 1), "R: the far end of the path");
+  } // testSnake()
+
+  /** Labels should number the regions in order, with or without corners. */
+  @Test
+  public void testLabel() {
+    for (Matrix<String> matrix : new Matrix[] {
+        fill(new MatrixV0<String>(4, 4), MAP), fill(new MatrixV1<String>(4, 4), MAP)}) {
+      assertMatrixEquals(
+          new Integer[][] {{1, 2, 2, 3}, {1, 2, 3, 3}, {2, 2, 3, 4}, {5, 5, 4, 4}},
+          MatrixRegions.label(matrix, false),
+          "M: 4-connected labels");
+      assertMatrixEquals(
+          new Integer[][] {{1, 2, 2, 3}, {1, 2, 3, 3}, {2, 2, 3, 2}, {3, 3, 2, 2}},
+          MatrixRegions.label(matrix, true),
+          "M: 8-connected labels");
+      assertEquals(5, MatrixRegions.countRegions(matrix, false, false), "R: 4-connected count");
+      assertEquals(3, MatrixRegions.countRegions(matrix, true, false), "R: 8-connected count");
+    } // for
+    assertEquals(0, MatrixRegions.countRegions(new MatrixV0<String>(3, 0), true, true),
+        "R: no cells");
+  } // testLabel()
+
+  /** Parallel labeling should agree with sequential labeling and with repeated flood fills. */
+  @Test
+  public void testParallelLabel() {
+    Random random = new Random(207);
+    MatrixV0<Integer> matrix = new MatrixV0<Integer>(700, 700, 0);
+    matrix.fillRegionWith(0, 0, 700, 700, (row, col) -> random.nextInt(3));
+    for (boolean diagonal : new boolean[] {false, true}) {
+      IntMatrix labels = MatrixRegions.label(matrix, diagonal, false);
+      assertTrue(labels.equals(MatrixRegions.label(matrix, diagonal, true)),
+          "R: parallel labels, diagonal " + diagonal);
+      int count = MatrixRegions.countRegions(matrix, diagonal, true);
+      MatrixV0<Integer> copy = matrix.clone();
+      int fills = 0;
+      for (int row = 0; row < 700; row++) {
+        for (int col = 0; col < 700; col++) {
+          int val = copy.get(row, col);
+          if (val < 3) {
+            MatrixRegions.floodFill(copy, row, col, val + 3, diagonal);
+            fills++;
+            assertEquals(fills, labels.getInt(row, col), "R: first cell of a region");
+          } // if
+        } // for col
+      } // for row
+      assertEquals(fills, count, "R: one fill per region, diagonal " + diagonal);
+    } // for
+  } // testParallelLabel()
+} // class TestMatrixRegions
@@ -0,0 +1,129 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MatrixRenderer}.
+ *
+ * @author Your Name Here
+ */
+class TestMatrixRenderer {
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Print a matrix the way <code>Matrix.print</code> did before it had a renderer, one cell at a
+   * time.
+   *
+   * @param matrix The matrix.
+   * @param includeLabels Whether to include labels.
+   * @return the text.
+   */
+  static String legacyPrint(Matrix<?> matrix, boolean includeLabels) {
+    StringWriter out = new StringWriter();
+    PrintWriter pen = new PrintWriter(out);
+    int width = matrix.width();
+    int height = matrix.height();
+    int cellWidth = 0;
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        cellWidth = Math.max(cellWidth, Matrix.toString(matrix.get(row, col)).length());
+      } // for col
+    } // for row
+    cellWidth += 2;
+    if (includeLabels) {
+      pen.print(" ".repeat(4));
+      for (int col = 0; col < width; col++) {
+        Matrix.printCell(pen, String.format("%2d", col), cellWidth + 1);
+      } // for
+      pen.println();
+    } // if
+    for (int row = 0; row < height; row++) {
+      if (includeLabels) {
+        pen.print(" ".repeat(4));
+      } // if
+      Matrix.printRowSeparator(pen, cellWidth, width);
+      if (includeLabels) {
+        pen.printf(" %2d ", row);
+      } // if
+      for (int col = 0; col < width; col++) {
+        pen.print("|");
+        Matrix.printCell(pen, Matrix.toString(matrix.get(row, col)), cellWidth);
+      } // for col
+      pen.println("|");
+    } // for row
+    if (includeLabels) {
+      pen.print(" ".repeat(4));
+    } // if
+    Matrix.printRowSeparator(pen, cellWidth, width);
+    pen.flush();
+    return out.toString();
+  } // legacyPrint(Matrix<?>, boolean)
+
+  /**
+   * Print a matrix with <code>Matrix.print</code>.
+   *
+   * @param matrix The matrix.
+   * @param includeLabels Whether to include labels.
+   * @return the text.
+   */
+  static String print(Matrix<?> matrix, boolean includeLabels) {
+    StringWriter out = new StringWriter();
+    Matrix.print(new PrintWriter(out), matrix, includeLabels);
+    return out.toString();
+  } // print(Matrix<?>, boolean)
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
+  /** The output should be exactly what it was, for all sorts of contents. */
+  @Test
+  public void testSameAsBefore() {
+    Random random = new Random(207);
+    String[] samples = new String[] {"", "a", "bb", "ccc", "dddd", null, "a longer string"};
+    for (int trial = 0; trial < 50; trial++) {
+      int width = 1 + random.nextInt(14);
+      int height = 1 + random.nextInt(14);
+      Matrix<String> matrix = new MatrixV0<String>(width, height, "");
+      int distinct = 1 + random.nextInt(samples.length);
+      for (int row = 0; row < height; row++) {
+        for (int col = 0; col < width; col++) {
+          matrix.set(row, col, samples[random.nextInt(distinct)]);
+        } // for col
+      } // for row
+      assertEquals(legacyPrint(matrix, false), print(matrix, false), "P: trial " + trial);
+      assertEquals(legacyPrint(matrix, true), print(matrix, true), "P: labeled trial " + trial);
+    } // for
+    Matrix<Integer> big = new MatrixV1<Integer>(120, 105, 0);
+    assertEquals(legacyPrint(big, true), print(big, true), "P: three-digit labels");
+  } // testSameAsBefore()
+
+  /** Viewports should show just the requested cells, sized to fit them. */
+  @Test
+  public void testViewport() {
+    Matrix<Integer> matrix = new MatrixV0<Integer>(20, 20, 0);
+    matrix.fillRegionWith(0, 0, 20, 20, (row, col) -> row * 100 + col);
+    StringWriter out = new StringWriter();
+    PrintWriter pen = new PrintWriter(out);
+    Matrix.print(pen, matrix, true, 9, 11, 2, 2);
+    String nl = System.lineSeparator();
+    assertEquals(
+        "      11     12   " + nl
+            + "    +------+------+" + nl
+            + "  9 | 911  | 912  |" + nl
+            + "    +------+------+" + nl
+            + " 10 | 1011 | 1012 |" + nl
+            + "    +------+------+" + nl,
+        out.toString());
+    assertThrows(IndexOutOfBoundsException.class, () -> Matrix.print(pen, matrix, true, 19, 0, 2,
+        1));
+  } // testViewport()
+} // class TestMatrixRenderer
@@ -0,0 +1,191 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the internals of {@link MatrixV0}. The behavior is covered by {@link TestMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestMatrixV0 {
+  /** Clones share rows until someone writes to them. */
+  @Test
+  public void testCopyOnWrite() {
+    MatrixV0<Object> original = new MatrixV0<Object>(4, 4, 0);
+    MatrixV0<Object> copy = original.clone();
+    assertSame(original.values, copy.values, "C: clone shares the array of rows");
+
+    copy.set(1, 1, 5);
+    assertNotSame(original.values[1], copy.values[1], "C: written row is copied");
+    assertSame(original.values[2], copy.values[2], "C: other rows are still shared");
+
+    original.insertRow(0);
+    original.deleteRow(4);
+    assertSame(original.values[3], copy.values[2], "C: moved rows are still shared");
+
+    original.set(3, 0, 7);
+    assertMatrixEquals(
+        new Integer[][] {{0, 0, 0, 0}, {0, 5, 0, 0}, {0, 0, 0, 0}, {0, 0, 0, 0}},
+        copy,
+        "M: copy is unaffected by writes to the original");
+  } // testCopyOnWrite()
+
+  /** Clones of clones still copy before writing. */
+  @Test
+  public void testRepeatedClones() {
+    MatrixV0<String> first = new MatrixV0<String>(2, 2, "a");
+    MatrixV0<String> second = first.clone();
+    MatrixV0<String> third = second.clone();
+    third.set(0, 0, "c");
+    second.set(0, 1, "b");
+    assertMatrixEquals(new String[][] {{"a", "a"}, {"a", "a"}}, first, "M: first");
+    assertMatrixEquals(new String[][] {{"a", "b"}, {"a", "a"}}, second, "M: second");
+    assertMatrixEquals(new String[][] {{"c", "a"}, {"a", "a"}}, third, "M: third");
+  } // testRepeatedClones()
+
+  /** Fills big enough to run in parallel should still fill exactly the region. */
+  @Test
+  public void testParallelFill() {
+    int size = 600;
+    MatrixV0<Object> original = new MatrixV0<Object>(size, size, 0);
+    MatrixV0<Object> copy = original.clone();
+    copy.fillRegion(1, 2, size - 1, size - 2, 1);
+    copy.fillRegionWith(100, 100, 500, 500, (row, col) -> row * size + col);
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        Object expected = 0;
+        if (row >= 100 && row < 500 && col >= 100 && col < 500) {
+          expected = row * size + col;
+        } else if (row >= 1 && row < size - 1 && col >= 2 && col < size - 2) {
+          expected = 1;
+        } // if/else
+        assertEquals(expected, copy.get(row, col), "C: cell " + row + "," + col);
+        assertEquals(0, original.get(row, col), "C: original untouched");
+      } // for col
+    } // for row
+  } // testParallelFill()
+
+  /** The hash kept up to date as the matrix changes matches one computed from scratch. */
+  @Test
+  public void testIncrementalHash() throws Exception {
+    MatrixV0<Object> matrix = new MatrixV0<Object>(5, 4, "x");
+    MatrixV0<Object> copy = matrix.clone();
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: new matrix");
+    matrix.set(1, 2, "y");
+    matrix.set(3, 4, null);
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after set");
+    assertEquals(ContentHash.of(copy), copy.hashCode(), "H: clone unaffected");
+    matrix.fillRegion(0, 1, 3, 4, "z");
+    matrix.fillRegionWith(2, 0, 4, 2, (row, col) -> row * 10 + col);
+    matrix.fillLine(0, 0, 1, 1, 4, 5, "d");
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after fills");
+    matrix.setRow(1, new Object[] {1, 2, null, 4, 5});
+    matrix.setCol(3, new Object[] {"a", "b", "c", "d"});
+    matrix.copyRegion(matrix, 0, 0, 1, 1, 3, 4);
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after row, col, and copy");
+    matrix.insertRow(2);
+    matrix.insertCol(0);
+    matrix.deleteRow(0);
+    matrix.deleteCol(3);
+    matrix.appendRows(new Object[][] {{7, 7, 7, 7, 7}}, 1);
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after structural changes");
+    assertEquals(ContentHash.of(copy), copy.hashCode(), "H: clone still unaffected");
+
+    MatrixV0<Object> big = new MatrixV0<Object>(600, 600, 0);
+    big.fillRegionWith(1, 2, 599, 598, (row, col) -> row ^ col);
+    assertEquals(ContentHash.of(big), big.hashCode(), "H: after parallel fill");
+  } // testIncrementalHash()
+
+  /** Lines are measured before they are filled, so bad lines change nothing. */
+  @Test
+  public void testFillLine() {
+    MatrixV0<Integer> matrix = new MatrixV0<Integer>(6, 4, 0);
+    matrix.fillLine(0, 0, 0, 2, 1, 6, 5);
+    matrix.fillLine(1, 5, 1, -2, 4, 6, 6);
+    matrix.fillLine(3, 1, 0, 1, 4, 4, 7);
+    Integer[][] expected =
+        new Integer[][] {{5, 0, 5, 0, 5, 0}, {0, 0, 0, 0, 0, 6}, {0, 0, 0, 6, 0, 0},
+          {0, 7, 7, 7, 0, 0}};
+    assertMatrixEquals(expected, matrix, "M: after fills");
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after fills");
+    assertEquals(3, Matrix.lineLength(0, 0, 2, 1, 5, 9), "L: stops at the last row");
+    assertEquals(0, Matrix.lineLength(2, 0, 0, 0, 2, 9), "L: empty");
+    assertThrows(IllegalArgumentException.class, () -> matrix.fillLine(0, 0, 0, 0, 4, 6, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillLine(3, 0, -1, 1, 4, 6, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillLine(0, 2, 1, 1, 9, 9, 1));
+    assertMatrixEquals(expected, matrix, "M: after failed fills");
+    matrix.drawLines(new int[] {0, 0, 3, 5, 3, 0, 0, 5, 2, 1, 2, 4}, 3, 8);
+    assertEquals(ContentHash.of(matrix), matrix.hashCode(), "H: after lines");
+  } // testFillLine()
+
+  /** Equality copes with nulls and with matrices that differ in one cell. */
+  @Test
+  public void testEquals() {
+    MatrixV0<Object> matrix = new MatrixV0<Object>(3, 3);
+    MatrixV0<Object> other = new MatrixV0<Object>(3, 3);
+    assertEquals(matrix, other, "E: all null");
+    matrix.set(2, 2, "a");
+    assertFalse(matrix.equals(other), "E: null and non-null");
+    assertFalse(other.equals(matrix), "E: non-null and null");
+    other.set(2, 2, "a");
+    assertEquals(matrix, other, "E: same cells");
+    assertEquals(matrix.hashCode(), other.hashCode(), "H: same cells");
+    SparseMatrix<Object> sparse = new SparseMatrix<Object>(3, 3);
+    sparse.set(2, 2, "a");
+    assertEquals(sparse, matrix, "E: sparse");
+    assertEquals(sparse.hashCode(), matrix.hashCode(), "H: sparse");
+  } // testEquals()
+
+  /**
+   * Cells that change their own hash codes in place leave the matrix hash stale, as documented.
+   * Taking a cell out before changing it keeps the hash right.
+   */
+  @Test
+  public void testMutableCells() {
+    List<Integer> cell = new ArrayList<Integer>(List.of(1));
+    MatrixV0<List<Integer>> matrix = new MatrixV0<List<Integer>>(2, 2, List.of());
+    matrix.set(0, 0, cell);
+    int before = matrix.hashCode();
+    cell.add(2);
+    MatrixV0<List<Integer>> other = new MatrixV0<List<Integer>>(2, 2, List.of());
+    other.set(0, 0, List.of(1, 2));
+    assertEquals(before, matrix.hashCode(), "H: the hash misses changes inside a cell");
+    assertFalse(matrix.equals(other), "E: so equals tells the matrices apart");
+    assertTrue(Matrix.contentEquals(matrix, other), "E: though the contents are equal");
+
+    List<Integer> safe = new ArrayList<Integer>(List.of(1));
+    MatrixV0<List<Integer>> careful = new MatrixV0<List<Integer>>(2, 2, List.of());
+    careful.set(0, 0, safe);
+    careful.set(0, 0, List.of());
+    safe.add(2);
+    careful.set(0, 0, safe);
+    assertEquals(other.hashCode(), careful.hashCode(), "H: after taking the cell out to change it");
+    assertTrue(careful.equals(other), "E: after taking the cell out to change it");
+  } // testMutableCells()
+
+  /** Copies of views keep the default value of the matrix they view. */
+  @Test
+  public void testViewCloneDefault() {
+    MatrixV0<String> matrix = new MatrixV0<String>(3, 2, "d");
+    matrix.set(0, 1, "x");
+    Matrix<String> copy = matrix.transposeView().subMatrix(1, 0, 3, 2).clone();
+    copy.insertRow(0);
+    assertMatrixEquals(
+        new String[][] {{"d", "d"}, {"x", "d"}, {"d", "d"}},
+        copy,
+        "M: sub view of a transpose, after inserting a row");
+    Matrix<String> sub = matrix.subMatrix(0, 0, 1, 3).clone();
+    sub.insertCol(3);
+    assertMatrixEquals(new String[][] {{"d", "x", "d", "d"}}, sub, "M: sub view, with a column");
+  } // testViewCloneDefault()
+} // class TestMatrixV0
@@ -0,0 +1,83 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the gap-buffer matrices, {@link MatrixV1}.
+ *
+ * @author Your Name Here
+ */
+class TestMatrixV1 extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new MatrixV1<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /** Streaming appends at either end should keep everything in order. */
+  @Test
+  public void testAppends() throws ArraySizeException {
+    MatrixV1<Integer> matrix = new MatrixV1<Integer>(1, 1, 0);
+    for (int i = 1; i <= 20; i++) {
+      matrix.insertRow(matrix.height(), new Integer[] {i});
+    } // for
+    for (int i = 1; i <= 20; i++) {
+      matrix.insertCol(0);
+    } // for
+    assertEquals(21, matrix.height(), "M: height after appends");
+    assertEquals(21, matrix.width(), "M: width after appends");
+    for (int row = 0; row < 21; row++) {
+      assertEquals(row, matrix.get(row, 20), "M: last column, row " + row);
+      assertEquals(0, matrix.get(row, 0), "M: first column, row " + row);
+    } // for
+  } // testAppends()
+
+  /** Indices that land in the spare capacity are still out of bounds. */
+  @Test
+  public void testBounds() {
+    MatrixV1<String> matrix = new MatrixV1<String>(2, 2, "a");
+    matrix.insertRow(1);
+    matrix.insertCol(1);
+    matrix.deleteRow(0);
+    matrix.deleteCol(0);
+    assertMatrixEquals(new String[][] {{"a", "a"}, {"a", "a"}}, matrix, "M: after churn");
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(2, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(0, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.set(-1, 0, "b"));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.deleteCol(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillRegion(0, 0, 3, 1, "b"));
+  } // testBounds()
+
+  @Override
+  void checkInternals(Matrix<?> matrix, int step) {
+    assertTrue(gapsEmpty((MatrixV1<?>) matrix), "E: gaps hold no stale values after step " + step);
+  } // checkInternals(Matrix<?>, int)
+
+  /**
+   * Determine whether the gaps of a matrix hold nothing, so that they keep nothing reachable.
+   *
+   * @param matrix The matrix.
+   * @return true if every slot in the row gap and in the column gap of every row is null.
+   */
+  static boolean gapsEmpty(MatrixV1<?> matrix) {
+    for (int physical = 0; physical < matrix.rows.length; physical++) {
+      Object[] row = matrix.rows[physical];
+      if (physical >= matrix.rowGapStart && physical < matrix.rowGapEnd) {
+        if (row != null) {
+          return false;
+        } // if
+      } else {
+        for (int col = matrix.colGapStart; col < matrix.colGapEnd; col++) {
+          if (row[col] != null) {
+            return false;
+          } // if
+        } // for
+      } // if/else
+    } // for
+    return true;
+  } // gapsEmpty(MatrixV1<?>)
+} // class TestMatrixV1
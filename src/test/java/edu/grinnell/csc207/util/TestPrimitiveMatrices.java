@@ -0,0 +1,175 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the unboxed matrices, {@link IntMatrix} and {@link DoubleMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestPrimitiveMatrices {
+  /** The basic structural operations on integer matrices. */
+  @Test
+  public void testIntStructure() throws ArraySizeException {
+    IntMatrix matrix = new IntMatrix(3, 2, 7);
+    assertMatrixEquals(new Integer[][] {{7, 7, 7}, {7, 7, 7}}, matrix, "R: 3x2 of 7");
+
+    matrix.setInt(0, 1, 1);
+    matrix.set(1, 2, 2);
+    assertEquals(1, matrix.getInt(0, 1), "M: getInt after setInt");
+    assertEquals(2, matrix.getInt(1, 2), "M: getInt after set");
+
+    matrix.insertCol(1);
+    matrix.insertRow(2, new Integer[] {3, 4, 5, 6});
+    assertMatrixEquals(
+        new Integer[][] {{7, 7, 1, 7}, {7, 7, 7, 2}, {3, 4, 5, 6}},
+        matrix,
+        "M: after insertCol and insertRow");
+
+    matrix.deleteCol(0);
+    matrix.deleteRow(0);
+    assertMatrixEquals(new Integer[][] {{7, 7, 2}, {4, 5, 6}}, matrix, "M: after deletions");
+
+    matrix.fillRegion(0, 1, 2, 3, 0);
+    matrix.fillLine(0, 0, 1, 1, 2, 2, 9);
+    assertMatrixEquals(new Integer[][] {{9, 0, 0}, {4, 9, 0}}, matrix, "M: after fills");
+
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.deleteCol(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.insertRow(3));
+    assertThrows(ArraySizeException.class, () -> matrix.insertCol(0, new Integer[] {1}));
+    assertThrows(NullPointerException.class, () -> matrix.insertCol(1, new Integer[] {1, null}));
+    assertMatrixEquals(new Integer[][] {{9, 0, 0}, {4, 9, 0}}, matrix, "M: after a null column");
+  } // testIntStructure()
+
+  /** Deleting every row should not lose track of the width. */
+  @Test
+  public void testIntEmpty() {
+    IntMatrix matrix = new IntMatrix(4, 1);
+    matrix.deleteRow(0);
+    assertEquals(0, matrix.height(), "M: no rows left");
+    assertEquals(4, matrix.width(), "M: width survives");
+    matrix.insertRow(0);
+    assertMatrixEquals(new Integer[][] {{0, 0, 0, 0}}, matrix, "M: re-inserted row");
+  } // testIntEmpty()
+
+  /** The basic structural operations on double matrices. */
+  @Test
+  public void testDoubleStructure() throws ArraySizeException {
+    DoubleMatrix matrix = new DoubleMatrix(2, 2);
+    matrix.setDouble(0, 0, 0.5);
+    matrix.insertCol(2, new Double[] {1.5, 2.5});
+    matrix.insertRow(0);
+    assertMatrixEquals(
+        new Double[][] {{0.0, 0.0, 0.0}, {0.5, 0.0, 1.5}, {0.0, 0.0, 2.5}},
+        matrix,
+        "M: after insertions");
+    assertEquals(2.5, matrix.getDouble(2, 2), "M: getDouble");
+    matrix.deleteRow(1);
+    matrix.fillRegion(0, 0, 1, 2, -1.0);
+    assertMatrixEquals(
+        new Double[][] {{-1.0, -1.0, 0.0}, {0.0, 0.0, 2.5}}, matrix, "M: after fillRegion");
+    assertThrows(NullPointerException.class, () -> matrix.insertCol(0, new Double[] {1.0, null}));
+    assertEquals(3, matrix.width(), "M: width after a null column");
+  } // testDoubleStructure()
+
+  /** Clones should be independent and equal to boxed matrices. */
+  @Test
+  public void testCloneAndEquals() {
+    IntMatrix ints = new IntMatrix(3, 3, 1);
+    IntMatrix copy = ints.clone();
+    copy.setInt(1, 1, 5);
+    assertEquals(1, ints.getInt(1, 1), "E: original unchanged by clone");
+    assertFalse(ints.equals(copy), "E: clone differs after set");
+
+    Matrix<Integer> boxed = new MatrixV0<Integer>(3, 3, 1);
+    boxed.set(1, 1, 5);
+    assertTrue(copy.equals(boxed), "E: IntMatrix equals MatrixV0");
+    assertTrue(boxed.equals(copy), "E: MatrixV0 equals IntMatrix");
+    assertEquals(boxed.hashCode(), copy.hashCode(), "E: hash codes agree");
+
+    DoubleMatrix doubles = new DoubleMatrix(2, 1, 0.25);
+    Matrix<Double> boxedDoubles = new MatrixV0<Double>(2, 1, 0.25);
+    assertTrue(doubles.equals(boxedDoubles), "E: DoubleMatrix equals MatrixV0");
+    assertEquals(boxedDoubles.hashCode(), doubles.hashCode(), "E: double hash codes agree");
+    assertTrue(doubles.equals(doubles.clone()), "E: DoubleMatrix equals its clone");
+  } // testCloneAndEquals()
+
+  /** Products, sums, scaling, and transposition of double matrices. */
+  @Test
+  public void testDoubleArithmetic() {
+    DoubleMatrix left = new DoubleMatrix(3, 2);
+    left.fillRegionWith(0, 0, 2, 3, (row, col) -> (double) (row * 3 + col + 1));
+    DoubleMatrix right = left.transpose();
+    assertMatrixEquals(new Double[][] {{1.0, 4.0}, {2.0, 5.0}, {3.0, 6.0}}, right, "A: transpose");
+    assertMatrixEquals(new Double[][] {{14.0, 32.0}, {32.0, 77.0}}, left.multiply(right),
+        "A: 2x3 times 3x2");
+    assertMatrixEquals(new Double[][] {{2.0, 4.0, 6.0}, {8.0, 10.0, 12.0}}, left.add(left),
+        "A: sum");
+    assertMatrixEquals(new Double[][] {{-1.0, -2.0, -3.0}, {-4.0, -5.0, -6.0}}, left.scale(-1),
+        "A: scaled");
+    assertThrows(IllegalArgumentException.class, () -> left.multiply(left));
+    assertThrows(IllegalArgumentException.class, () -> left.add(right));
+
+    // Big enough to split across threads, with sizes that are not multiples of the tile.
+    Random random = new Random(207);
+    DoubleMatrix a = new DoubleMatrix(170, 150);
+    DoubleMatrix b = new DoubleMatrix(130, 170);
+    a.fillRegionWith(0, 0, 150, 170, (row, col) -> random.nextDouble() - 0.5);
+    b.fillRegionWith(0, 0, 170, 130, (row, col) -> random.nextDouble() - 0.5);
+    DoubleMatrix product = a.multiply(b);
+    assertEquals(130, product.width(), "A: width of product");
+    assertEquals(150, product.height(), "A: height of product");
+    for (int row = 0; row < 150; row++) {
+      for (int col = 0; col < 130; col++) {
+        double expected = 0.0;
+        for (int k = 0; k < 170; k++) {
+          expected += a.getDouble(row, k) * b.getDouble(k, col);
+        } // for k
+        assertEquals(expected, product.getDouble(row, col), "A: product cell");
+      } // for col
+    } // for row
+  } // testDoubleArithmetic()
+
+  /** Element-wise arithmetic on both kinds of matrix. */
+  @Test
+  public void testElementwise() {
+    DoubleMatrix doubles = new DoubleMatrix(3, 2, 1.0);
+    doubles.fillRegionWith(0, 0, 2, 3, (row, col) -> (double) (row * 3 + col));
+    DoubleMatrix twos = new DoubleMatrix(3, 2, 2.0);
+    assertMatrixEquals(new Double[][] {{0.0, 2.0, 4.0}, {6.0, 8.0, 10.0}},
+        doubles.multiplyCells(twos), "E: products");
+    assertMatrixEquals(new Double[][] {{2.0, 4.0, 6.0}, {8.0, 10.0, 12.0}},
+        doubles.multiplyAdd(twos, twos), "E: multiply-add");
+    assertMatrixEquals(new Double[][] {{0.0, 1.0, 2.0}, {2.0, 2.0, 2.0}}, doubles.min(twos),
+        "E: minima");
+    assertMatrixEquals(new Double[][] {{2.0, 2.0, 2.0}, {3.0, 4.0, 5.0}}, doubles.max(twos),
+        "E: maxima");
+    assertEquals(15.0, doubles.sum(), "E: sum");
+    doubles.threshold(2.5, -1.0);
+    assertMatrixEquals(new Double[][] {{0.0, 1.0, 2.0}, {-1.0, -1.0, -1.0}}, doubles,
+        "E: after threshold");
+    assertThrows(IllegalArgumentException.class,
+        () -> doubles.multiplyAdd(twos, new DoubleMatrix(2, 3)));
+    DoubleMatrix sum = doubles.add(twos);
+    sum.insertRow(0);
+    assertEquals(3.0, sum.get(0, 0), "E: results have defaults computed from the operands'");
+
+    IntMatrix ints = new IntMatrix(20, 3, 7);
+    ints.fillRegionWith(0, 0, 3, 20, (row, col) -> row * 20 + col - 30);
+    IntMatrix big = new IntMatrix(20, 3, Integer.MAX_VALUE);
+    assertEquals(Integer.MIN_VALUE + 6, ints.add(big).getInt(1, 17), "E: sums wrap");
+    assertEquals(900, ints.multiplyCells(ints.max(ints)).getInt(0, 0), "E: products, maxima");
+    assertEquals(-30, ints.min(big).getInt(0, 0), "E: minima");
+    assertEquals(3L * Integer.MAX_VALUE * 20, big.sum(), "E: sums do not overflow");
+    ints.threshold(0, 0);
+    assertEquals(0, ints.getInt(2, 19), "E: after threshold");
+    assertEquals(-30, ints.getInt(0, 0), "E: small values survive threshold");
+  } // testElementwise()
+} // class TestPrimitiveMatrices
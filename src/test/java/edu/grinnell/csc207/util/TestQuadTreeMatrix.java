@@ -0,0 +1,49 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the region-compressed matrices, {@link QuadTreeMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestQuadTreeMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new QuadTreeMatrix<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /** Filling a huge region should collapse into a handful of nodes. */
+  @Test
+  public void testHugeFill() {
+    QuadTreeMatrix<String> matrix = new QuadTreeMatrix<String>(1 << 20, 1 << 20, ".");
+    matrix.fillRegion(0, 0, 1 << 19, 1 << 19, "#");
+    assertEquals("#", matrix.get(0, 0), "M: inside the fill");
+    assertEquals("#", matrix.get((1 << 19) - 1, (1 << 19) - 1), "M: far corner of the fill");
+    assertEquals(".", matrix.get(1 << 19, 0), "M: just outside the fill");
+    assertTrue(matrix.root.kids[0].kids == null, "M: the filled quadrant is a single leaf");
+    matrix.fillRegion(0, 0, 1 << 20, 1 << 20, ".");
+    assertSame(matrix.empty, matrix.root, "M: refilling with the default collapses the tree");
+  } // testHugeFill()
+
+  /** Inserting in the middle splits fills across physical rectangles. */
+  @Test
+  public void testFragmentedFill() throws ArraySizeException {
+    QuadTreeMatrix<String> matrix = new QuadTreeMatrix<String>(3, 3, "a");
+    matrix.insertRow(1, new String[] {"b", "b", "b"});
+    matrix.insertCol(1);
+    matrix.deleteRow(0);
+    matrix.insertRow(3);
+    matrix.fillRegion(1, 0, 4, 3, "c");
+    assertMatrixEquals(
+        new String[][] {{"b", "a", "b", "b"}, {"c", "c", "c", "a"}, {"c", "c", "c", "a"},
+          {"c", "c", "c", "a"}},
+        matrix,
+        "M: after fragmenting inserts and a fill");
+  } // testFragmentedFill()
+} // class TestQuadTreeMatrix
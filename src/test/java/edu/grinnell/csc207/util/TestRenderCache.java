@@ -0,0 +1,131 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the incremental printer, {@link RenderCache}.
+ *
+ * @author Your Name Here
+ */
+class TestRenderCache extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new RenderCache<T>(new MatrixV0<T>(width, height, def));
+  } // newMatrix(int, int, T)
+
+  /** A value that counts how often it is converted to a string. */
+  static class Counted {
+    /** The number of calls to toString, across all values. */
+    static int conversions = 0;
+
+    /** The text. */
+    final String text;
+
+    /**
+     * Create a value.
+     *
+     * @param str The text.
+     */
+    Counted(String str) {
+      this.text = str;
+    } // Counted(String)
+
+    @Override
+    public String toString() {
+      conversions++;
+      return this.text;
+    } // toString()
+  } // class Counted
+
+  /**
+   * Print a matrix to a string.
+   *
+   * @param matrix The matrix.
+   * @param includeLabels Whether to include labels.
+   * @return the text.
+   */
+  static String print(Matrix<?> matrix, boolean includeLabels) {
+    StringWriter out = new StringWriter();
+    Matrix.print(new PrintWriter(out), matrix, includeLabels);
+    return out.toString();
+  } // print(Matrix<?>, boolean)
+
+  /** Reprinting after a change should only format what changed. */
+  @Test
+  public void testFormatsOnlyChanges() {
+    RenderCache<Counted> matrix =
+        new RenderCache<Counted>(new MatrixV0<Counted>(30, 30, new Counted("a")));
+    print(matrix, true);
+    Counted.conversions = 0;
+    matrix.set(3, 4, new Counted("b"));
+    matrix.fillRegion(5, 5, 10, 10, new Counted("c"));
+    matrix.deleteRow(0);
+    print(matrix, true);
+    assertEquals(2, Counted.conversions, "R: one conversion per new value");
+  } // testFormatsOnlyChanges()
+
+  /** A long random sequence of operations should print just as the wrapped matrix would. */
+  @Test
+  public void testAgainstRenderer() throws ArraySizeException {
+    Random random = new Random(207);
+    MatrixV0<String> plain = new MatrixV0<String>(3, 3, "o");
+    RenderCache<String> cached = new RenderCache<String>(plain.clone());
+    String[] samples = new String[] {"", "x", "yy", null, "zzzz"};
+    for (int step = 0; step < 500; step++) {
+      int height = plain.height();
+      int width = plain.width();
+      String val = samples[random.nextInt(samples.length)];
+      switch (random.nextInt(6)) {
+        case 0:
+          int row = random.nextInt(height + 1);
+          plain.insertRow(row);
+          cached.insertRow(row);
+          break;
+        case 1:
+          int col = random.nextInt(width + 1);
+          String[] vals = new String[height];
+          for (int i = 0; i < height; i++) {
+            vals[i] = samples[random.nextInt(samples.length)];
+          } // for
+          plain.insertCol(col, vals);
+          cached.insertCol(col, vals);
+          break;
+        case 2:
+          if (height > 1) {
+            row = random.nextInt(height);
+            plain.deleteRow(row);
+            cached.deleteRow(row);
+          } // if
+          break;
+        case 3:
+          if (width > 1) {
+            col = random.nextInt(width);
+            plain.deleteCol(col);
+            cached.deleteCol(col);
+          } // if
+          break;
+        case 4:
+          int r0 = random.nextInt(height);
+          int c0 = random.nextInt(width);
+          plain.fillLine(r0, c0, 1, 1, height, width, val);
+          cached.fillLine(r0, c0, 1, 1, height, width, val);
+          break;
+        default:
+          row = random.nextInt(height);
+          col = random.nextInt(width);
+          plain.set(row, col, val);
+          cached.set(row, col, val);
+          break;
+      } // switch
+      if (step % 7 == 0) {
+        boolean labels = random.nextBoolean();
+        assertEquals(print(plain, labels), print(cached, labels), "R: after step " + step);
+      } // if
+    } // for
+  } // testAgainstRenderer()
+} // class TestRenderCache
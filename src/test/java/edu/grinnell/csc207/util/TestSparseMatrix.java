@@ -0,0 +1,58 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the default-compressed matrices, {@link SparseMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestSparseMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new SparseMatrix<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /** A huge, mostly-default matrix should only store what was set. */
+  @Test
+  public void testHuge() {
+    SparseMatrix<String> matrix = new SparseMatrix<String>(100000, 100000, ".");
+    matrix.set(99999, 99999, "corner");
+    matrix.fillRegion(10, 10, 20, 20, "#");
+    assertEquals(101, matrix.storedCells(), "M: stored after fills");
+    matrix.insertRow(0);
+    matrix.insertCol(0);
+    assertEquals("corner", matrix.get(100000, 100000), "M: corner moved");
+    assertEquals("#", matrix.get(11, 11), "M: region moved");
+    assertEquals(".", matrix.get(10, 10), "M: old region corner is default");
+    matrix.deleteRow(15);
+    assertEquals(91, matrix.storedCells(), "M: deleted row drops its cells");
+    matrix.fillRegion(0, 0, 100000, 100000, ".");
+    assertEquals(1, matrix.storedCells(), "M: clearing most of the matrix");
+    matrix.set(99999, 100000, ".");
+    assertEquals(0, matrix.storedCells(), "M: setting to the default removes the cell");
+  } // testHuge()
+
+  /** Sparse matrices compare with each other without walking every cell. */
+  @Test
+  public void testEquals() throws ArraySizeException {
+    SparseMatrix<String> left = new SparseMatrix<String>(3, 3, "X");
+    SparseMatrix<String> right = new SparseMatrix<String>(3, 2);
+    right.fillRegion(0, 0, 2, 3, "X");
+    right.insertRow(1, new String[] {"X", "X", "X"});
+    assertTrue(left.equals(right), "E: built differently");
+    assertEquals(left.hashCode(), right.hashCode(), "E: hash codes agree");
+    assertTrue(left.equals(new MatrixV0<String>(3, 3, "X")), "E: equals MatrixV0");
+    right.set(2, 2, null);
+    assertFalse(left.equals(right), "E: after setting a cell to null");
+    assertMatrixEquals(
+        new String[][] {{"X", "X", "X"}, {"X", "X", "X"}, {"X", "X", null}},
+        right,
+        "M: null stored in a matrix with a non-null default");
+  } // testEquals()
+} // class TestSparseMatrix
@@ -0,0 +1,180 @@
+package edu.grinnell.csc207.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the change-tracking matrix, {@link TrackedMatrix}.
+ *
+ * @author Your Name Here
+ */
+class TestTrackedMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    // A listener makes the inherited tests record their changes, too.
+    TrackedMatrix<T> matrix = new TrackedMatrix<T>(new MatrixV0<T>(width, height, def));
+    matrix.addListener((changes) -> { });
+    return matrix;
+  } // newMatrix(int, int, T)
+
+  /**
+   * Make a change of cells.
+   *
+   * @param top The top edge (inclusive).
+   * @param left The left edge (inclusive).
+   * @param bottom The bottom edge (exclusive).
+   * @param right The right edge (exclusive).
+   * @return the change.
+   */
+  static MatrixChange cells(int top, int left, int bottom, int right) {
+    return new MatrixChange(MatrixChange.Kind.CELLS, top, left, bottom, right);
+  } // cells(int, int, int, int)
+
+  /** Each change outside a batch is delivered at once. */
+  @Test
+  public void testSingleChanges() {
+    TrackedMatrix<Integer> matrix = new TrackedMatrix<Integer>(new MatrixV0<Integer>(6, 5, 0));
+    List<List<MatrixChange>> batches = new ArrayList<List<MatrixChange>>();
+    matrix.addListener(batches::add);
+    matrix.set(1, 2, 3);
+    matrix.fillLine(1, 1, 1, 2, 5, 6, 4);
+    matrix.insertCol(2);
+    matrix.deleteRow(4);
+    assertEquals(List.of(
+        List.of(cells(1, 2, 2, 3)),
+        List.of(cells(1, 1, 4, 6)),
+        List.of(new MatrixChange(MatrixChange.Kind.COLS_INSERTED, 0, 2, 5, 3)),
+        List.of(new MatrixChange(MatrixChange.Kind.ROWS_DELETED, 4, 0, 5, 7))),
+        batches, "C: one batch per change");
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.fillRegion(0, 0, 9, 9, 1));
+    assertEquals(List.of(cells(0, 0, 4, 7)), batches.get(4), "C: a failed fill taints all");
+  } // testSingleChanges()
+
+  /** A batch merges neighbouring changes and stays small. */
+  @Test
+  public void testBatches() {
+    TrackedMatrix<Integer> matrix = new TrackedMatrix<Integer>(new MatrixV0<Integer>(50, 50, 0));
+    List<List<MatrixChange>> batches = new ArrayList<List<MatrixChange>>();
+    matrix.addListener(batches::add);
+    matrix.update((m) -> {
+      for (int col = 0; col < 10; col++) {
+        m.set(3, col, 1);
+      } // for
+      m.fillRegion(4, 0, 6, 10, 2);
+      m.insertRow(7);
+      m.insertRow(7);
+      m.insertRow(9);
+      m.deleteCol(5);
+      m.deleteCol(4);
+      m.deleteCol(4);
+    });
+    assertEquals(List.of(List.of(
+        cells(3, 0, 6, 10),
+        new MatrixChange(MatrixChange.Kind.ROWS_INSERTED, 7, 0, 10, 50),
+        new MatrixChange(MatrixChange.Kind.COLS_DELETED, 0, 4, 53, 7))),
+        batches, "C: merged batch");
+
+    batches.clear();
+    Random random = new Random(207);
+    int[][] cells = new int[200][];
+    matrix.update((m) -> {
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = new int[] {random.nextInt(50), random.nextInt(47)};
+        m.set(cells[i][0], cells[i][1], i);
+      } // for
+    });
+    assertEquals(1, batches.size(), "C: one batch");
+    List<MatrixChange> batch = batches.get(0);
+    assertTrue(batch.size() <= TrackedMatrix.MAX_RECTANGLES, "C: few rectangles");
+    for (int[] cell : cells) {
+      assertTrue(batch.stream().anyMatch((change) -> change.startRow() <= cell[0]
+          && cell[0] < change.endRow() && change.startCol() <= cell[1]
+          && cell[1] < change.endCol()), "C: covers " + cell[0] + "," + cell[1]);
+    } // for
+  } // testBatches()
+
+  /** A replica that copies only what the changes name should keep up with the matrix. */
+  @Test
+  public void testReplica() throws ArraySizeException {
+    Random random = new Random(207);
+    TrackedMatrix<String> matrix = new TrackedMatrix<String>(new MatrixV0<String>(4, 4, "o"));
+    MatrixV0<String> replica = new MatrixV0<String>(4, 4, "o");
+    matrix.addListener((changes) -> {
+      for (MatrixChange change : changes) {
+        int rows = change.endRow() - change.startRow();
+        int cols = change.endCol() - change.startCol();
+        switch (change.kind()) {
+          case ROWS_INSERTED:
+            for (int i = 0; i < rows; i++) {
+              replica.insertRow(change.startRow());
+            } // for
+            break;
+          case ROWS_DELETED:
+            for (int i = 0; i < rows; i++) {
+              replica.deleteRow(change.startRow());
+            } // for
+            break;
+          case COLS_INSERTED:
+            for (int i = 0; i < cols; i++) {
+              replica.insertCol(change.startCol());
+            } // for
+            break;
+          case COLS_DELETED:
+            for (int i = 0; i < cols; i++) {
+              replica.deleteCol(change.startCol());
+            } // for
+            break;
+          default:
+            break;
+        } // switch
+        if (change.kind() != MatrixChange.Kind.ROWS_DELETED
+            && change.kind() != MatrixChange.Kind.COLS_DELETED) {
+          replica.copyRegion(matrix, change.startRow(), change.startCol(), change.startRow(),
+              change.startCol(), rows, cols);
+        } // if
+      } // for
+    });
+    String[] samples = new String[] {"x", "y", null};
+    for (int step = 0; step < 500; step++) {
+      int height = matrix.height();
+      int width = matrix.width();
+      String val = samples[random.nextInt(samples.length)];
+      int row = random.nextInt(height);
+      int col = random.nextInt(width);
+      switch (random.nextInt(7)) {
+        case 0:
+          matrix.insertRow(random.nextInt(height + 1), new String[width]);
+          break;
+        case 1:
+          matrix.insertCol(random.nextInt(width + 1));
+          break;
+        case 2:
+          if (height > 1) {
+            matrix.deleteRow(row);
+          } // if
+          break;
+        case 3:
+          if (width > 1) {
+            matrix.deleteCol(col);
+          } // if
+          break;
+        case 4:
+          matrix.fillLine(row, col, random.nextInt(2), 1, height, width, val);
+          break;
+        case 5:
+          matrix.fillRegion(row, col, height, random.nextInt(col, width + 1), val);
+          break;
+        default:
+          matrix.set(row, col, val);
+          break;
+      } // switch
+      assertEquals(matrix, replica, "C: after step " + step);
+    } // for
+  } // testReplica()
+} // class TestTrackedMatrix
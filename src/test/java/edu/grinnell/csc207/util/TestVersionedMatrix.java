@@ -0,0 +1,91 @@
+package edu.grinnell.csc207.util;
+
+import static edu.grinnell.csc207.util.MatrixAssertions.assertMatrixEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the multi-version matrices, {@link VersionedMatrix} and {@link MatrixSnapshot}.
+ *
+ * @author Your Name Here
+ */
+class TestVersionedMatrix extends TestMatrix {
+  @Override
+  <T> Matrix<T> newMatrix(int width, int height, T def) {
+    return new VersionedMatrix<T>(width, height, def);
+  } // newMatrix(int, int, T)
+
+  /** Snapshots should keep showing the version they were taken from, and refuse changes. */
+  @Test
+  public void testSnapshots() throws ArraySizeException {
+    VersionedMatrix<String> matrix = new VersionedMatrix<String>(2, 2, "a");
+    MatrixSnapshot<String> before = matrix.snapshot();
+    String[] row = new String[] {"b", "c"};
+    matrix.insertRow(1, row);
+    row[0] = "x";
+    matrix.set(0, 0, "d");
+    matrix.insertCol(0);
+    MatrixSnapshot<String> after = matrix.snapshot();
+    matrix.update((m) -> {
+      m.deleteCol(0);
+      m.fillRegion(0, 0, 3, 2, "e");
+    });
+    assertMatrixEquals(new String[][] {{"a", "a"}, {"a", "a"}}, before, "M: first snapshot");
+    assertMatrixEquals(new String[][] {{"a", "d", "a"}, {"a", "b", "c"}, {"a", "a", "a"}},
+        after, "M: second snapshot");
+    assertMatrixEquals(new String[][] {{"e", "e"}, {"e", "e"}, {"e", "e"}}, matrix,
+        "M: latest version");
+    assertEquals(matrix.hashCode(), matrix.snapshot().hashCode(), "M: snapshot hash");
+    assertThrows(UnsupportedOperationException.class, () -> before.set(0, 0, "z"));
+    assertThrows(UnsupportedOperationException.class, () -> before.insertCol(0));
+  } // testSnapshots()
+
+  /** A failed change should not publish anything. */
+  @Test
+  public void testFailedUpdate() {
+    VersionedMatrix<Integer> matrix = new VersionedMatrix<Integer>(2, 2, 0);
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.update((m) -> {
+          m.set(0, 0, 1);
+          m.set(5, 5, 1);
+        }));
+    assertMatrixEquals(new Integer[][] {{0, 0}, {0, 0}}, matrix, "M: unchanged");
+  } // testFailedUpdate()
+
+  /** Readers should never see a half-finished change while a writer keeps reshaping. */
+  @Test
+  public void testReadersSeeWholeVersions() throws Exception {
+    VersionedMatrix<Integer> matrix = new VersionedMatrix<Integer>(4, 4, 0);
+    AtomicBoolean done = new AtomicBoolean(false);
+    Thread writer = new Thread(() -> {
+      for (int i = 1; i <= 2000; i++) {
+        final int val = i;
+        matrix.update((m) -> {
+          if (val % 2 == 0) {
+            m.insertCol(m.width());
+          } else {
+            m.deleteCol(m.width() - 1);
+          } // if/else
+          m.fillRegion(0, 0, m.height(), m.width(), val);
+        });
+      } // for
+      done.set(true);
+    });
+    writer.start();
+    while (!done.get()) {
+      MatrixSnapshot<Integer> snap = matrix.snapshot();
+      int first = snap.get(0, 0);
+      int expectedWidth = (first % 2 == 0) ? 4 : 3;
+      assertEquals(expectedWidth, snap.width(), "M: width matches contents");
+      for (int row = 0; row < snap.height(); row++) {
+        for (int col = 0; col < snap.width(); col++) {
+          assertEquals(first, snap.get(row, col), "M: cell " + row + "," + col);
+        } // for col
+      } // for row
+    } // while
+    writer.join();
+  } // testReadersSeeWholeVersions()
+} // class TestVersionedMatrix
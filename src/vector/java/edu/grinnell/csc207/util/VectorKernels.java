@@ -0,0 +1,275 @@
+package edu.grinnell.csc207.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Element-wise loops written with the incubating Vector API, so that each step works on as many
+ * values as the hardware's widest vectors hold. Each loop handles whole vectors and then the
+ * leftover values one at a time.
+ *
+ * <p>Only compiled with the <code>vector</code> profile, and only chosen when the
+ * <code>jdk.incubator.vector</code> module is present at run time.
+ *
+ * @author Your Name Here
+ */
+class VectorKernels implements Kernels {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Vectors of doubles. */
+  static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+  /** Vectors of ints. */
+  static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+  /** Vectors of longs, the same size as the vectors of ints and so with half as many lanes. */
+  static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create the kernels.
+   *
+   * @throws UnsupportedOperationException If the hardware has no useful vectors, in which case
+   *     the Vector API would be much slower than plain loops.
+   */
+  VectorKernels() {
+    if (DOUBLES.length() < 2) {
+      throw new UnsupportedOperationException("No SIMD support");
+    } // if
+  } // VectorKernels()
+
+  // +---------+-----------------------------------------------------
+  // | Doubles |
+  // +---------+
+
+  @Override
+  public void add(double[] a, double[] b, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i).add(DoubleVector.fromArray(DOUBLES, b, i))
+          .intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = a[i] + b[i];
+      i++;
+    } // while
+  } // add(double[], double[], double[])
+
+  @Override
+  public void multiply(double[] a, double[] b, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i).mul(DoubleVector.fromArray(DOUBLES, b, i))
+          .intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = a[i] * b[i];
+      i++;
+    } // while
+  } // multiply(double[], double[], double[])
+
+  @Override
+  public void multiplyAdd(double[] a, double[] b, double[] c, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i)
+          .fma(DoubleVector.fromArray(DOUBLES, b, i), DoubleVector.fromArray(DOUBLES, c, i))
+          .intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = Math.fma(a[i], b[i], c[i]);
+      i++;
+    } // while
+  } // multiplyAdd(double[], double[], double[], double[])
+
+  @Override
+  public void scale(double[] a, double factor, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i).mul(factor).intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = a[i] * factor;
+      i++;
+    } // while
+  } // scale(double[], double, double[])
+
+  @Override
+  public void min(double[] a, double[] b, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i).min(DoubleVector.fromArray(DOUBLES, b, i))
+          .intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = Math.min(a[i], b[i]);
+      i++;
+    } // while
+  } // min(double[], double[], double[])
+
+  @Override
+  public void max(double[] a, double[] b, double[] dst) {
+    int bound = DOUBLES.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector.fromArray(DOUBLES, a, i).max(DoubleVector.fromArray(DOUBLES, b, i))
+          .intoArray(dst, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = Math.max(a[i], b[i]);
+      i++;
+    } // while
+  } // max(double[], double[], double[])
+
+  @Override
+  public void threshold(double[] a, double limit, double val) {
+    int bound = DOUBLES.loopBound(a.length);
+    int i = 0;
+    while (i < bound) {
+      DoubleVector vals = DoubleVector.fromArray(DOUBLES, a, i);
+      VectorMask<Double> over = vals.compare(VectorOperators.GT, limit);
+      vals.blend(val, over).intoArray(a, i);
+      i += DOUBLES.length();
+    } // while
+    while (i < a.length) {
+      if (a[i] > limit) {
+        a[i] = val;
+      } // if
+      i++;
+    } // while
+  } // threshold(double[], double, double)
+
+  @Override
+  public double sum(double[] a) {
+    int bound = DOUBLES.loopBound(a.length);
+    DoubleVector sums = DoubleVector.zero(DOUBLES);
+    int i = 0;
+    while (i < bound) {
+      sums = sums.add(DoubleVector.fromArray(DOUBLES, a, i));
+      i += DOUBLES.length();
+    } // while
+    double sum = sums.reduceLanes(VectorOperators.ADD);
+    while (i < a.length) {
+      sum += a[i];
+      i++;
+    } // while
+    return sum;
+  } // sum(double[])
+
+  // +----------+----------------------------------------------------
+  // | Integers |
+  // +----------+
+
+  @Override
+  public void add(int[] a, int[] b, int[] dst) {
+    int bound = INTS.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      IntVector.fromArray(INTS, a, i).add(IntVector.fromArray(INTS, b, i)).intoArray(dst, i);
+      i += INTS.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = a[i] + b[i];
+      i++;
+    } // while
+  } // add(int[], int[], int[])
+
+  @Override
+  public void multiply(int[] a, int[] b, int[] dst) {
+    int bound = INTS.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      IntVector.fromArray(INTS, a, i).mul(IntVector.fromArray(INTS, b, i)).intoArray(dst, i);
+      i += INTS.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = a[i] * b[i];
+      i++;
+    } // while
+  } // multiply(int[], int[], int[])
+
+  @Override
+  public void min(int[] a, int[] b, int[] dst) {
+    int bound = INTS.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      IntVector.fromArray(INTS, a, i).min(IntVector.fromArray(INTS, b, i)).intoArray(dst, i);
+      i += INTS.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = Math.min(a[i], b[i]);
+      i++;
+    } // while
+  } // min(int[], int[], int[])
+
+  @Override
+  public void max(int[] a, int[] b, int[] dst) {
+    int bound = INTS.loopBound(dst.length);
+    int i = 0;
+    while (i < bound) {
+      IntVector.fromArray(INTS, a, i).max(IntVector.fromArray(INTS, b, i)).intoArray(dst, i);
+      i += INTS.length();
+    } // while
+    while (i < dst.length) {
+      dst[i] = Math.max(a[i], b[i]);
+      i++;
+    } // while
+  } // max(int[], int[], int[])
+
+  @Override
+  public void threshold(int[] a, int limit, int val) {
+    int bound = INTS.loopBound(a.length);
+    int i = 0;
+    while (i < bound) {
+      IntVector vals = IntVector.fromArray(INTS, a, i);
+      vals.blend(val, vals.compare(VectorOperators.GT, limit)).intoArray(a, i);
+      i += INTS.length();
+    } // while
+    while (i < a.length) {
+      if (a[i] > limit) {
+        a[i] = val;
+      } // if
+      i++;
+    } // while
+  } // threshold(int[], int, int)
+
+  @Override
+  public long sum(int[] a) {
+    // Each int vector widens into two long vectors, which cannot overflow.
+    int bound = INTS.loopBound(a.length);
+    LongVector sums = LongVector.zero(LONGS);
+    int i = 0;
+    while (i < bound) {
+      IntVector vals = IntVector.fromArray(INTS, a, i);
+      sums = sums.add(vals.convertShape(VectorOperators.I2L, LONGS, 0))
+          .add(vals.convertShape(VectorOperators.I2L, LONGS, 1));
+      i += INTS.length();
+    } // while
+    long sum = sums.reduceLanes(VectorOperators.ADD);
+    while (i < a.length) {
+      sum += a[i];
+      i++;
+    } // while
+    return sum;
+  } // sum(int[])
+} // class VectorKernels